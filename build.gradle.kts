@@ -12,6 +12,7 @@ plugins {
     id("com.github.sgtsilvio.gradle.utf8")
     id("com.github.sgtsilvio.gradle.metadata")
     id("com.github.sgtsilvio.gradle.javadoc-links")
+    id("me.champeau.gradle.jmh")
 }
 
 
@@ -94,7 +95,7 @@ dependencies {
 
 /* ******************** optional dependencies ******************** */
 
-listOf("websocket", "proxy", "epoll").forEach {
+listOf("websocket", "proxy", "epoll", "dns").forEach {
     java.registerFeature(it) {
         usingSourceSet(sourceSets["main"])
     }
@@ -104,6 +105,7 @@ dependencies {
     "websocketImplementation"("io.netty:netty-codec-http:${property("netty.version")}")
     "proxyImplementation"("io.netty:netty-handler-proxy:${property("netty.version")}")
     "epollImplementation"("io.netty:netty-transport-native-epoll:${property("netty.version")}:linux-x86_64")
+    "dnsImplementation"("io.netty:netty-resolver-dns:${property("netty.version")}")
 }
 
 
@@ -137,6 +139,14 @@ dependencies {
 }
 
 
+/* ******************** jmh ******************** */
+
+jmh {
+    jmhVersion = "${property("jmh.version")}"
+    includeTests = true
+}
+
+
 /* ******************** jars ******************** */
 
 allprojects {
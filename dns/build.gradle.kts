@@ -0,0 +1,28 @@
+plugins {
+    id("java-platform")
+}
+
+
+/* ******************** metadata ******************** */
+
+description = "Adds dependencies for the HiveMQ MQTT Client DNS module"
+
+metadata {
+    moduleName = "com.hivemq.client.mqtt.dns"
+    readableName = "HiveMQ MQTT Client DNS module"
+}
+
+
+/* ******************** dependencies ******************** */
+
+javaPlatform {
+    allowDependencies()
+}
+
+dependencies {
+    api(rootProject)
+}
+
+configurations.runtime {
+    extendsFrom(rootProject.configurations["dnsImplementation"])
+}
@@ -12,12 +12,13 @@ pluginManagement {
         id("com.github.sgtsilvio.gradle.utf8") version "${extra["plugin.utf8.version"]}"
         id("com.github.sgtsilvio.gradle.metadata") version "${extra["plugin.metadata.version"]}"
         id("com.github.sgtsilvio.gradle.javadoc-links") version "${extra["plugin.javadoc-links.version"]}"
+        id("me.champeau.gradle.jmh") version "${extra["plugin.jmh.version"]}"
     }
 }
 
 rootProject.name = "hivemq-mqtt-client"
 
-listOf("websocket", "proxy", "epoll", "reactor", "examples").forEach { module ->
+listOf("websocket", "proxy", "epoll", "dns", "reactor", "examples").forEach { module ->
     include("${rootProject.name}-$module")
     project(":${rootProject.name}-$module").projectDir = file(module)
 }
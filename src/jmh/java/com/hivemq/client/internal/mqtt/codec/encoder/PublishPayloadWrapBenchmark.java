@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares copying a heap payload into the encoded byte buffer with wrapping it next to the encoded header, as the
+ * publish encoders do depending on {@link MqttMessageEncoderUtil#WRAP_HEAP_PAYLOAD_THRESHOLD}.
+ * <p>
+ * With {@code transport = nio} the encoded byte buffer is then passed through the same step as the NIO and epoll
+ * transports, which copy byte buffers with heap components into a new direct byte buffer before they are written to
+ * the socket. With {@code transport = heap} the byte buffer is written as is, like transports that accept heap byte
+ * buffers.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublishPayloadWrapBenchmark {
+
+    private static final int HEADER_LENGTH = 12;
+
+    @Param({"1024", "8192", "65536", "262144"})
+    public int size;
+
+    @Param({"copy", "wrap"})
+    public @NotNull String strategy = "copy";
+
+    @Param({"nio", "heap"})
+    public @NotNull String transport = "nio";
+
+    private final @NotNull ByteBufAllocator allocator = ByteBufAllocator.DEFAULT;
+    private final byte @NotNull [] header = new byte[HEADER_LENGTH];
+    private @NotNull ByteBuffer payload = ByteBuffer.allocate(0);
+    private boolean wrap;
+    private boolean copyToDirect;
+
+    @Setup
+    public void setup() {
+        payload = ByteBuffer.allocate(size);
+        wrap = strategy.equals("wrap");
+        copyToDirect = transport.equals("nio");
+    }
+
+    @Benchmark
+    public int encode() {
+        ByteBuf out;
+        if (wrap) {
+            final ByteBuf headerBuf = allocator.ioBuffer(HEADER_LENGTH, HEADER_LENGTH);
+            headerBuf.writeBytes(header);
+            out = Unpooled.wrappedUnmodifiableBuffer(headerBuf, Unpooled.wrappedBuffer(payload));
+        } else {
+            final int length = HEADER_LENGTH + size;
+            out = allocator.ioBuffer(length, length);
+            out.writeBytes(header);
+            out.writeBytes(payload.duplicate());
+        }
+        if (copyToDirect && !out.isDirect()) { // AbstractNioByteChannel/AbstractEpollChannel.filterOutboundMessage
+            final int readableBytes = out.readableBytes();
+            final ByteBuf direct = allocator.directBuffer(readableBytes);
+            direct.writeBytes(out, out.readerIndex(), readableBytes);
+            out.release();
+            out = direct;
+        }
+        final int readableBytes = out.readableBytes();
+        out.release();
+        return readableBytes;
+    }
+}
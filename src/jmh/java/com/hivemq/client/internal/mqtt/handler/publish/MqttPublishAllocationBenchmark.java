@@ -0,0 +1,160 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish;
+
+import com.hivemq.client.internal.mqtt.handler.MqttTestBroker;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures sending and receiving batches of publishes over a connection to a local test broker. Run it with the GC
+ * profiler ({@code -prof gc}) and compare {@code gc.alloc.rate.norm}, the bytes allocated per publish, to notice
+ * regressions of the allocation rate of the publish paths.
+ * <p>
+ * The bytes allocated per publish without the socket are pinned by the {@code MqttPublishAllocationTest}.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttPublishAllocationBenchmark {
+
+    private static final int BATCH = 1_000;
+    private static final int PAYLOAD_LENGTH = 16;
+
+    @Param({"AT_MOST_ONCE", "AT_LEAST_ONCE", "EXACTLY_ONCE"})
+    public @NotNull MqttQos qos = MqttQos.AT_MOST_ONCE;
+
+    private @Nullable MqttTestBroker broker;
+    private @Nullable Mqtt5AsyncClient client;
+    private @Nullable Mqtt5Publish publish;
+    private final @NotNull AtomicInteger acknowledged = new AtomicInteger();
+    private volatile @NotNull CountDownLatch received = new CountDownLatch(0);
+
+    @Setup
+    public void setup() throws IOException {
+        final MqttTestBroker broker = new MqttTestBroker(this::onPacket);
+        final Mqtt5AsyncClient client = MqttClient.builder()
+                .useMqttVersion5()
+                .identifier("benchmark")
+                .serverAddress(broker.getAddress())
+                .buildAsync();
+        client.publishes(MqttGlobalPublishFilter.ALL, publish -> received.countDown());
+        client.connect().join();
+        this.broker = broker;
+        this.client = client;
+        publish = Mqtt5Publish.builder().topic("topic").qos(qos).payload(new byte[PAYLOAD_LENGTH]).build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        assert (client != null) && (broker != null);
+        client.disconnect().join();
+        broker.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publish() {
+        assert (client != null) && (publish != null);
+        @SuppressWarnings("unchecked") final CompletableFuture<Mqtt5PublishResult>[] futures =
+                new CompletableFuture[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            futures[i] = client.publish(publish);
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * Subscribes, which makes the test broker send a batch of publishes, and waits until all of them are received and
+     * acknowledged, so that the packet identifiers can be reused by the next batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void receive() throws InterruptedException {
+        assert client != null;
+        received = new CountDownLatch(BATCH);
+        acknowledged.set(0);
+        client.subscribeWith().topicFilter("topic").qos(qos).send().join();
+        received.await();
+        if (qos != MqttQos.AT_MOST_ONCE) {
+            while (acknowledged.get() < BATCH) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void onPacket(
+            final @NotNull MqttTestBroker.Connection connection, final @NotNull MqttTestBroker.Packet packet)
+            throws IOException {
+
+        switch (packet.getType()) {
+            case PUBACK:
+            case PUBCOMP:
+                acknowledged.incrementAndGet();
+                break;
+            case PUBREC:
+                connection.write(0x62, 2, packet.getBody()[0], packet.getBody()[1]);
+                break;
+            case SUBSCRIBE:
+                final byte[] body = packet.getBody();
+                connection.write(0x90, 4, body[0], body[1], 0, body[body.length - 1]);
+                final int propertiesLength = body[2];
+                final int topicLength = packet.readUnsignedShort(3 + propertiesLength);
+                writePublishes(connection, new String(body, 5 + propertiesLength, topicLength, StandardCharsets.UTF_8));
+                break;
+            default:
+                MqttTestBroker.ACKNOWLEDGE_ALL.onPacket(connection, packet);
+        }
+    }
+
+    private void writePublishes(final @NotNull MqttTestBroker.Connection connection, final @NotNull String topic)
+            throws IOException {
+
+        final byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        final int qos = this.qos.getCode();
+        final int packetIdentifierLength = (qos == 0) ? 0 : 2;
+        final int remainingLength = 2 + topicBytes.length + packetIdentifierLength + 1 + PAYLOAD_LENGTH;
+        for (int i = 1; i <= BATCH; i++) {
+            connection.write(0x30 | (qos << 1), remainingLength, topicBytes.length >> 8, topicBytes.length);
+            connection.write(topicBytes);
+            if (qos > 0) {
+                connection.write(i >> 8, i);
+            }
+            connection.write(0); // properties length
+            connection.write(new byte[PAYLOAD_LENGTH]);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+
+/**
+ * Measures the delivery of a publish to a subscriber that requests one publish at a time while another subscriber is
+ * stalled and has a backlog of queued publishes.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MqttIncomingPublishServiceBenchmark {
+
+    @Param({"10", "1000"})
+    public int queuedMessages;
+
+    private @Nullable MqttClientConfig clientConfig;
+    private @Nullable EventLoop eventLoop;
+    private final @NotNull RequestingSubscriber stalled = new RequestingSubscriber();
+    private final @NotNull RequestingSubscriber subscriber = new RequestingSubscriber();
+    private @Nullable MqttStatefulPublish publish;
+    private @Nullable Runnable onPublish;
+
+    @Setup
+    public void setup() {
+        final MqttClientConfig clientConfig =
+                ((MqttRxClient) MqttClient.builder().identifier("benchmark").useMqttVersion5().buildRx()).getConfig();
+        final EventLoop eventLoop = clientConfig.acquireEventLoop();
+        final MqttIncomingPublishService incomingPublishService =
+                clientConfig.getClientComponent().incomingQosHandler().incomingPublishService;
+        this.clientConfig = clientConfig;
+        this.eventLoop = eventLoop;
+
+        new MqttGlobalIncomingPublishFlowable(MqttGlobalPublishFilter.ALL, clientConfig, false).subscribe(stalled);
+        new MqttGlobalIncomingPublishFlowable(MqttGlobalPublishFilter.ALL, clientConfig, false).subscribe(subscriber);
+
+        final MqttPublish publish = (MqttPublish) Mqtt5Publish.builder().topic("topic").build();
+        this.publish = publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        onPublish = () -> incomingPublishService.onPublishQos0(
+                new MqttStatefulPublishWithFlows(this.publish), queuedMessages);
+
+        for (int i = 0; i < queuedMessages; i++) {
+            eventLoop.submit(onPublish).syncUninterruptibly();
+        }
+        subscriber.request(queuedMessages);
+        eventLoop.submit(() -> {}).syncUninterruptibly();
+    }
+
+    @TearDown
+    public void tearDown() {
+        stalled.cancel();
+        subscriber.cancel();
+        assert clientConfig != null;
+        clientConfig.releaseEventLoop();
+    }
+
+    @Benchmark
+    public void publishWithStalledSubscriber() {
+        assert (eventLoop != null) && (onPublish != null);
+        eventLoop.submit(onPublish).syncUninterruptibly();
+        subscriber.request(1);
+    }
+
+    private static class RequestingSubscriber implements Subscriber<Mqtt5Publish> {
+
+        private @Nullable Subscription subscription;
+
+        @Override
+        public void onSubscribe(final @NotNull Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(final @NotNull Mqtt5Publish publish) {}
+
+        @Override
+        public void onError(final @NotNull Throwable throwable) {}
+
+        @Override
+        public void onComplete() {}
+
+        void request(final long n) {
+            assert subscription != null;
+            subscription.request(n);
+        }
+
+        void cancel() {
+            assert subscription != null;
+            subscription.cancel();
+        }
+    }
+}
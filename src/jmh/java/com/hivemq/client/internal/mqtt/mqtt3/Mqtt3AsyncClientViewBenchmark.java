@@ -0,0 +1,194 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.mqtt3;
+
+import com.hivemq.client.internal.mqtt.handler.MqttTestBroker;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt3.Mqtt3AsyncClient;
+import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
+import com.hivemq.client.mqtt.mqtt5.Mqtt5AsyncClient;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares the {@link Mqtt3AsyncClient} with the {@link Mqtt5AsyncClient} end to end: batches of publishes are sent
+ * to and received from a local test broker. Run it with the GC profiler ({@code -prof gc}) to compare the bytes
+ * allocated per publish ({@code gc.alloc.rate.norm}) of the MQTT 3 views with the MQTT 5 messages.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Mqtt3AsyncClientViewBenchmark {
+
+    private static final int BATCH = 1_000;
+    private static final int PAYLOAD_LENGTH = 16;
+
+    @Param({"3", "5"})
+    public int mqttVersion;
+
+    @Param({"AT_MOST_ONCE", "AT_LEAST_ONCE"})
+    public @NotNull MqttQos qos = MqttQos.AT_MOST_ONCE;
+
+    private @Nullable MqttTestBroker broker;
+    private @Nullable Mqtt3AsyncClient mqtt3Client;
+    private @Nullable Mqtt5AsyncClient mqtt5Client;
+    private @Nullable Mqtt3Publish mqtt3Publish;
+    private @Nullable Mqtt5Publish mqtt5Publish;
+    private final @NotNull AtomicInteger acknowledged = new AtomicInteger();
+    private volatile @NotNull CountDownLatch received = new CountDownLatch(0);
+
+    @Setup
+    public void setup() throws IOException {
+        final MqttTestBroker broker = new MqttTestBroker(this::onPacket);
+        this.broker = broker;
+        if (mqttVersion == 3) {
+            final Mqtt3AsyncClient client = MqttClient.builder()
+                    .useMqttVersion3()
+                    .identifier("benchmark")
+                    .serverAddress(broker.getAddress())
+                    .buildAsync();
+            client.publishes(MqttGlobalPublishFilter.ALL, publish -> received.countDown());
+            client.connect().join();
+            mqtt3Client = client;
+            mqtt3Publish = Mqtt3Publish.builder().topic("topic").qos(qos).payload(new byte[PAYLOAD_LENGTH]).build();
+        } else {
+            final Mqtt5AsyncClient client = MqttClient.builder()
+                    .useMqttVersion5()
+                    .identifier("benchmark")
+                    .serverAddress(broker.getAddress())
+                    .buildAsync();
+            client.publishes(MqttGlobalPublishFilter.ALL, publish -> received.countDown());
+            client.connect().join();
+            mqtt5Client = client;
+            mqtt5Publish = Mqtt5Publish.builder().topic("topic").qos(qos).payload(new byte[PAYLOAD_LENGTH]).build();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        assert broker != null;
+        if (mqtt3Client != null) {
+            mqtt3Client.disconnect().join();
+        }
+        if (mqtt5Client != null) {
+            mqtt5Client.disconnect().join();
+        }
+        broker.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void publish() {
+        final CompletableFuture<?>[] futures = new CompletableFuture[BATCH];
+        if (mqtt3Client != null) {
+            assert mqtt3Publish != null;
+            for (int i = 0; i < BATCH; i++) {
+                futures[i] = mqtt3Client.publish(mqtt3Publish);
+            }
+        } else {
+            assert (mqtt5Client != null) && (mqtt5Publish != null);
+            for (int i = 0; i < BATCH; i++) {
+                futures[i] = mqtt5Client.publish(mqtt5Publish);
+            }
+        }
+        CompletableFuture.allOf(futures).join();
+    }
+
+    /**
+     * Subscribes, which makes the test broker send a batch of publishes, and waits until all of them are received and
+     * acknowledged, so that the packet identifiers can be reused by the next batch.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void receive() throws InterruptedException {
+        received = new CountDownLatch(BATCH);
+        acknowledged.set(0);
+        if (mqtt3Client != null) {
+            mqtt3Client.subscribeWith().topicFilter("topic").qos(qos).send().join();
+        } else {
+            assert mqtt5Client != null;
+            mqtt5Client.subscribeWith().topicFilter("topic").qos(qos).send().join();
+        }
+        received.await();
+        if (qos != MqttQos.AT_MOST_ONCE) {
+            while (acknowledged.get() < BATCH) {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void onPacket(
+            final @NotNull MqttTestBroker.Connection connection, final @NotNull MqttTestBroker.Packet packet)
+            throws IOException {
+
+        switch (packet.getType()) {
+            case PUBACK:
+                acknowledged.incrementAndGet();
+                break;
+            case SUBSCRIBE:
+                final byte[] body = packet.getBody();
+                final int propertiesLength = (mqttVersion == 5) ? 1 + body[2] : 0;
+                if (mqttVersion == 5) {
+                    connection.write(0x90, 4, body[0], body[1], 0, body[body.length - 1]);
+                } else {
+                    connection.write(0x90, 3, body[0], body[1], body[body.length - 1]);
+                }
+                final int topicLength = packet.readUnsignedShort(2 + propertiesLength);
+                writePublishes(connection, new String(body, 4 + propertiesLength, topicLength, StandardCharsets.UTF_8));
+                break;
+            default:
+                MqttTestBroker.ACKNOWLEDGE_ALL.onPacket(connection, packet);
+        }
+    }
+
+    private void writePublishes(final @NotNull MqttTestBroker.Connection connection, final @NotNull String topic)
+            throws IOException {
+
+        final byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        final int qos = this.qos.getCode();
+        final int packetIdentifierLength = (qos == 0) ? 0 : 2;
+        final int propertiesLength = (mqttVersion == 5) ? 1 : 0;
+        final int remainingLength = 2 + topicBytes.length + packetIdentifierLength + propertiesLength + PAYLOAD_LENGTH;
+        for (int i = 1; i <= BATCH; i++) {
+            connection.write(0x30 | (qos << 1), remainingLength, topicBytes.length >> 8, topicBytes.length);
+            connection.write(topicBytes);
+            if (qos > 0) {
+                connection.write(i >> 8, i);
+            }
+            if (mqttVersion == 5) {
+                connection.write(0); // properties length
+            }
+            connection.write(new byte[PAYLOAD_LENGTH]);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import com.hivemq.client.internal.util.collections.DirectIntIndex;
+import com.hivemq.client.internal.util.collections.IntIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures acknowledging random in-flight packet identifiers and allocating new ones: acknowledged ids are removed from
+ * the in-flight index and returned, then new ids are allocated and added to the index. Acknowledging multiple ids before
+ * the new ids are allocated ({@code acks}) fragments the free ids, the score is the time for all {@code acks}.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketIdentifierBenchmark {
+
+    private static final int MAX_ID = UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE;
+    private static final int ACK_ORDER_SIZE = 1 << 20;
+
+    @Param({"ranges", "bitmap"})
+    public @Nullable String implementation;
+
+    @Param({"1000", "32768", "65535"})
+    public int inFlight;
+
+    @Param({"1", "64"})
+    public int acks;
+
+    private @Nullable Ranges ranges;
+    private @Nullable IntIndex<InFlight> intIndex;
+    private @Nullable IdBitmap bitmap;
+    private @Nullable DirectIntIndex<InFlight> directIndex;
+    private int @Nullable [] inFlightIds;
+    private @Nullable InFlight @Nullable [] acked;
+    private final int @NotNull [] ackOrder = new int[ACK_ORDER_SIZE];
+    private int ackIndex;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        for (int i = 0; i < ACK_ORDER_SIZE; i++) {
+            ackOrder[i] = random.nextInt(inFlight);
+        }
+        final int[] inFlightIds = new int[inFlight];
+        if ("ranges".equals(implementation)) {
+            final Ranges ranges = new Ranges(1, MAX_ID);
+            final IntIndex<InFlight> intIndex = new IntIndex<>(new IntIndex.Spec<>(x -> x.packetIdentifier));
+            for (int i = 0; i < inFlight; i++) {
+                inFlightIds[i] = ranges.getId();
+                intIndex.put(new InFlight(i, inFlightIds[i]));
+            }
+            this.ranges = ranges;
+            this.intIndex = intIndex;
+        } else {
+            final IdBitmap bitmap = new IdBitmap(1, MAX_ID);
+            final DirectIntIndex<InFlight> directIndex = new DirectIntIndex<>(x -> x.packetIdentifier);
+            for (int i = 0; i < inFlight; i++) {
+                inFlightIds[i] = bitmap.getId();
+                directIndex.put(new InFlight(i, inFlightIds[i]));
+            }
+            this.bitmap = bitmap;
+            this.directIndex = directIndex;
+        }
+        this.inFlightIds = inFlightIds;
+        acked = new InFlight[acks];
+    }
+
+    @Benchmark
+    public int ackAndAllocate() {
+        final int[] inFlightIds = this.inFlightIds;
+        final InFlight[] acked = this.acked;
+        assert (inFlightIds != null) && (acked != null);
+        int ackedCount = 0;
+        for (int i = 0; i < acks; i++) {
+            final int slot = ackOrder[ackIndex];
+            ackIndex = (ackIndex + 1) & (ACK_ORDER_SIZE - 1);
+            final int packetIdentifier = inFlightIds[slot];
+            if (packetIdentifier != 0) { // not already acknowledged in this invocation
+                inFlightIds[slot] = 0;
+                acked[ackedCount++] = ack(packetIdentifier);
+            }
+        }
+        for (int i = 0; i < ackedCount; i++) {
+            final InFlight inFlight = acked[i];
+            assert inFlight != null;
+            inFlightIds[inFlight.slot] = allocate(inFlight);
+        }
+        return ackedCount;
+    }
+
+    private @NotNull InFlight ack(final int packetIdentifier) {
+        final InFlight inFlight;
+        if (ranges != null) {
+            assert intIndex != null;
+            inFlight = intIndex.remove(packetIdentifier);
+            ranges.returnId(packetIdentifier);
+        } else {
+            assert (bitmap != null) && (directIndex != null);
+            inFlight = directIndex.remove(packetIdentifier);
+            bitmap.returnId(packetIdentifier);
+        }
+        assert inFlight != null;
+        return inFlight;
+    }
+
+    private int allocate(final @NotNull InFlight inFlight) {
+        if (ranges != null) {
+            assert intIndex != null;
+            inFlight.packetIdentifier = ranges.getId();
+            intIndex.put(inFlight);
+        } else {
+            assert (bitmap != null) && (directIndex != null);
+            inFlight.packetIdentifier = bitmap.getId();
+            directIndex.put(inFlight);
+        }
+        return inFlight.packetIdentifier;
+    }
+
+    private static class InFlight {
+
+        final int slot;
+        int packetIdentifier;
+
+        InFlight(final int slot, final int packetIdentifier) {
+            this.slot = slot;
+            this.packetIdentifier = packetIdentifier;
+        }
+    }
+}
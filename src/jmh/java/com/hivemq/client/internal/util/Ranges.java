@@ -21,6 +21,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
+ * Previous id allocator, replaced by {@link IdBitmap}. Kept as the baseline of the {@link PacketIdentifierBenchmark}.
+ *
  * @author Silvio Giebl
  */
 @NotThreadSafe
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares UTF-8 validation of a payload via a copied byte array with validation directly on the payload buffer.
+ *
+ * @author Silvio Giebl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Utf8UtilBenchmark {
+
+    private static final @NotNull String MULTILINGUAL_CHARACTERS =
+            "a\u00E4\u00F6\u00FC\u00DF\u00E9\u00E8\u00E7\u00F1\u00F8\u00E5" +
+            "\u20AC\u4E2D\u6587\u65E5\u672C\u8A9E\uD55C\uAD6D\uC5B4" +
+            "\u0395\u03BB\u03BB\u03B7\u03BD\u03B9\u03BA\u03AC\u0440\u0443\u0441\u0441\u043A\u0438\u0439\uD83D\uDE00";
+
+    @Param({"ascii", "multilingual"})
+    public @NotNull String content = "ascii";
+
+    @Param({"64", "1024", "65536"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean direct;
+
+    private @NotNull ByteBuffer payload = ByteBuffer.allocate(0);
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(0);
+        final StringBuilder stringBuilder = new StringBuilder(size);
+        while (stringBuilder.length() < size) {
+            if (content.equals("ascii")) {
+                stringBuilder.append((char) (0x20 + random.nextInt(0x5F)));
+            } else {
+                stringBuilder.appendCodePoint(MULTILINGUAL_CHARACTERS.codePointAt(
+                        MULTILINGUAL_CHARACTERS.offsetByCodePoints(0,
+                                random.nextInt(MULTILINGUAL_CHARACTERS.codePointCount(0,
+                                        MULTILINGUAL_CHARACTERS.length())))));
+            }
+        }
+        final byte[] bytes = stringBuilder.toString().getBytes(StandardCharsets.UTF_8);
+        payload = ByteBufferUtil.allocate(bytes.length, direct);
+        payload.put(bytes).flip();
+    }
+
+    @Benchmark
+    public long copyAndValidate() {
+        return Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload));
+    }
+
+    @Benchmark
+    public long validateByteBuffer() {
+        return Utf8Util.isWellFormed(payload);
+    }
+}
@@ -26,6 +26,9 @@ import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 
 /**
+ * Previous index of in-flight messages, replaced by {@link DirectIntIndex}. Kept as the baseline of the {@link
+ * com.hivemq.client.internal.util.PacketIdentifierBenchmark}.
+ *
  * @author Silvio Giebl
  */
 @NotThreadSafe
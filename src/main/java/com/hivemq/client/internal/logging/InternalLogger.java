@@ -36,4 +36,8 @@ public interface InternalLogger {
     void warn(@NotNull String format, @NotNull Object arg);
 
     void warn(@NotNull String format, @NotNull Object arg1, @NotNull Object arg2);
+
+    boolean isDebugEnabled();
+
+    void debug(@NotNull String format, @NotNull Object @NotNull ... args);
 }
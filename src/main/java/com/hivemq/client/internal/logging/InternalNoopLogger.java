@@ -47,4 +47,12 @@ class InternalNoopLogger implements InternalLogger {
 
     @Override
     public void warn(final @NotNull String format, final @NotNull Object arg1, final @NotNull Object arg2) {}
+
+    @Override
+    public boolean isDebugEnabled() {
+        return false;
+    }
+
+    @Override
+    public void debug(final @NotNull String format, final @NotNull Object @NotNull ... args) {}
 }
@@ -65,4 +65,14 @@ class InternalSlf4jLogger implements InternalLogger {
     public void warn(final @NotNull String format, final @NotNull Object arg1, final @NotNull Object arg2) {
         delegate.warn(format, arg1, arg2);
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return delegate.isDebugEnabled();
+    }
+
+    @Override
+    public void debug(final @NotNull String format, final @NotNull Object @NotNull ... args) {
+        delegate.debug(format, args);
+    }
 }
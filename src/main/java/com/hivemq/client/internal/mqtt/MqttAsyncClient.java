@@ -16,12 +16,15 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFuture;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnect;
 import com.hivemq.client.internal.mqtt.message.disconnect.MqttDisconnectBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
@@ -46,9 +49,12 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Silvio Giebl
@@ -240,7 +246,22 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
     public @NotNull CompletableFuture<@NotNull Mqtt5PublishResult> publish(final @Nullable Mqtt5Publish publish) {
         final MqttPublish mqttPublish = MqttChecks.publish(publish);
 
-        return RxFutureConverter.toFuture(delegate.publish(mqttPublish));
+        final MqttPayloadCodecConfig payloadCodecConfig =
+                delegate.getConfig().getAdvancedConfig().getPayloadCodecConfig();
+        final Executor executor = (payloadCodecConfig == null) ? null : payloadCodecConfig.getRawExecutor();
+        if (executor == null) {
+            return publish(delegate.preparePublish(mqttPublish), Function.identity(), Function.identity());
+        }
+        return CompletableFuture.supplyAsync(() -> delegate.preparePublish(mqttPublish), executor)
+                .thenCompose(encoded -> publish(encoded, Function.identity(), Function.identity()));
+    }
+
+    public <R> @NotNull CompletableFuture<@NotNull R> publish(
+            final @NotNull MqttPublish publish,
+            final @NotNull Function<? super MqttPublishResult, ? extends R> resultMapper,
+            final @NotNull Function<Throwable, Throwable> errorMapper) {
+
+        return new MqttAckFuture<>(delegate.getConfig(), publish, resultMapper, errorMapper);
     }
 
     @Override
@@ -270,6 +291,22 @@ public class MqttAsyncClient implements Mqtt5AsyncClient {
         return new MqttDisconnectBuilder.Send<>(this::disconnect);
     }
 
+    @Override
+    public @NotNull CompletableFuture<List<Mqtt5Publish>> drainAndDisconnect(
+            final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        return drainAndDisconnect(MqttDisconnect.DEFAULT, drainTimeout, timeUnit);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<List<Mqtt5Publish>> drainAndDisconnect(
+            final @Nullable Mqtt5Disconnect disconnect, final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        final MqttDisconnect mqttDisconnect = MqttChecks.disconnect(disconnect);
+
+        return RxFutureConverter.toFuture(delegate.drainAndDisconnect(mqttDisconnect, drainTimeout, timeUnit));
+    }
+
     @Override
     public @NotNull MqttClientConfig getConfig() {
         return delegate.getConfig();
@@ -52,6 +52,7 @@ import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CountDownLatch;
@@ -161,7 +162,7 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
     public @NotNull Mqtt5PublishResult publish(final @Nullable Mqtt5Publish publish) {
         final MqttPublish mqttPublish = MqttChecks.publish(publish);
         try {
-            return delegate.publishUnsafe(mqttPublish).blockingGet();
+            return delegate.publishUnsafe(delegate.preparePublish(mqttPublish)).blockingGet();
         } catch (final RuntimeException e) {
             throw AsyncRuntimeException.fillInStackTrace(e);
         }
@@ -201,6 +202,23 @@ public class MqttBlockingClient implements Mqtt5BlockingClient {
         return new MqttDisconnectBuilder.SendVoid(this::disconnect);
     }
 
+    @Override
+    public @NotNull List<Mqtt5Publish> drainAndDisconnect(final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+        return drainAndDisconnect(MqttDisconnect.DEFAULT, drainTimeout, timeUnit);
+    }
+
+    @Override
+    public @NotNull List<Mqtt5Publish> drainAndDisconnect(
+            final @Nullable Mqtt5Disconnect disconnect, final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        final MqttDisconnect mqttDisconnect = MqttChecks.disconnect(disconnect);
+        try {
+            return delegate.drainAndDisconnectUnsafe(mqttDisconnect, drainTimeout, timeUnit).blockingGet();
+        } catch (final RuntimeException e) {
+            throw AsyncRuntimeException.fillInStackTrace(e);
+        }
+    }
+
     @Override
     public @NotNull MqttClientConfig getConfig() {
         return delegate.getConfig();
@@ -18,6 +18,8 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
 import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttServerAddressSelector;
+import com.hivemq.client.internal.mqtt.handler.ssl.MqttSslContextCache;
 import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
 import com.hivemq.client.internal.mqtt.ioc.SingletonComponent;
 import com.hivemq.client.internal.mqtt.message.auth.MqttSimpleAuth;
@@ -37,10 +39,10 @@ import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
 import com.hivemq.client.mqtt.mqtt5.message.auth.Mqtt5SimpleAuth;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
 import io.netty.channel.EventLoop;
-import io.netty.handler.ssl.SslContext;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetSocketAddress;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -67,7 +69,9 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     private final @NotNull AtomicReference<@NotNull MqttClientState> state;
     private volatile @Nullable MqttClientConnectionConfig connectionConfig;
     private @NotNull MqttClientTransportConfigImpl currentTransportConfig;
-    private @Nullable SslContext currentSslContext;
+    private @NotNull InetSocketAddress currentServerAddress;
+    private final @NotNull MqttServerAddressSelector serverAddressSelector = new MqttServerAddressSelector();
+    private @Nullable MqttSslContextCache.Entry currentSslContext;
     private boolean resubscribeIfSessionExpired;
     private boolean republishIfSessionExpired;
 
@@ -94,6 +98,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
 
         state = new AtomicReference<>(MqttClientState.DISCONNECTED);
         currentTransportConfig = transportConfig;
+        currentServerAddress = transportConfig.getServerAddress();
     }
 
     @Override
@@ -179,9 +184,7 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
             eventLoopAcquireCount++;
             EventLoop eventLoop = this.eventLoop;
             if (eventLoop == null) {
-                this.eventLoop = eventLoop =
-                        NettyEventLoopProvider.INSTANCE.acquireEventLoop(executorConfig.getRawNettyExecutor(),
-                                executorConfig.getRawNettyThreads());
+                this.eventLoop = eventLoop = NettyEventLoopProvider.INSTANCE.acquireEventLoop(executorConfig);
             }
             return eventLoop;
         }
@@ -197,8 +200,9 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
                     synchronized (state) {
                         if (eventLoopAcquireCount == this.eventLoopAcquireCount) { // eventLoop has not been reacquired
                             this.eventLoop = null;
+                            releaseSslContext();
                             // releaseEventLoop must be the last statement so everything is cleaned up even if it throws
-                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(executorConfig.getRawNettyExecutor());
+                            NettyEventLoopProvider.INSTANCE.releaseEventLoop(eventLoop, executorConfig);
                         }
                     }
                 });
@@ -243,18 +247,39 @@ public class MqttClientConfig implements Mqtt5ClientConfig {
     public void setCurrentTransportConfig(final @NotNull MqttClientTransportConfigImpl currentTransportConfig) {
         if (!this.currentTransportConfig.equals(currentTransportConfig)) {
             this.currentTransportConfig = currentTransportConfig;
-            currentSslContext = null;
+            currentServerAddress = currentTransportConfig.getServerAddress();
+            releaseSslContext();
         }
     }
 
-    public @Nullable SslContext getCurrentSslContext() {
+    public @NotNull InetSocketAddress getCurrentServerAddress() {
+        return currentServerAddress;
+    }
+
+    public void setCurrentServerAddress(final @NotNull InetSocketAddress currentServerAddress) {
+        this.currentServerAddress = currentServerAddress;
+    }
+
+    public @NotNull MqttServerAddressSelector getServerAddressSelector() {
+        return serverAddressSelector;
+    }
+
+    public @Nullable MqttSslContextCache.Entry getCurrentSslContext() {
         return currentSslContext;
     }
 
-    public void setCurrentSslContext(final @Nullable SslContext currentSslContext) {
+    public void setCurrentSslContext(final @Nullable MqttSslContextCache.Entry currentSslContext) {
         this.currentSslContext = currentSslContext;
     }
 
+    private void releaseSslContext() {
+        final MqttSslContextCache.Entry currentSslContext = this.currentSslContext;
+        if (currentSslContext != null) {
+            this.currentSslContext = null;
+            MqttSslContextCache.INSTANCE.release(currentSslContext);
+        }
+    }
+
     public boolean isResubscribeIfSessionExpired() {
         return resubscribeIfSessionExpired;
     }
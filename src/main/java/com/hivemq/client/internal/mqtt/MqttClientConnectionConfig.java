@@ -16,7 +16,6 @@
 
 package com.hivemq.client.internal.mqtt;
 
-import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasAutoMapping;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
@@ -28,6 +27,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Optional;
+import java.util.OptionalLong;
 
 /**
  * @author Silvio Giebl
@@ -61,6 +61,7 @@ public class MqttClientConnectionConfig
     private final @NotNull MqttQos maximumQos;
     private final @NotNull Channel channel;
     private final int flags;
+    private volatile long pingRoundTripTimeNanos = -1;
 
     public MqttClientConnectionConfig(
             final @NotNull MqttClientTransportConfigImpl transportConfig,
@@ -78,7 +79,7 @@ public class MqttClientConnectionConfig
             final boolean responseInformationRequested,
             final int sendMaximum,
             final int sendMaximumPacketSize,
-            final int sendTopicAliasMaximum,
+            final @Nullable MqttTopicAliasMapping sendTopicAliasMapping,
             final @NotNull MqttQos maximumQos,
             final boolean retainAvailable,
             final boolean wildcardSubscriptionAvailable,
@@ -95,8 +96,7 @@ public class MqttClientConnectionConfig
         this.topicAliasMaximum = (short) topicAliasMaximum;
         this.sendMaximum = (short) sendMaximum;
         this.sendMaximumPacketSize = sendMaximumPacketSize;
-        this.sendTopicAliasMapping =
-                (sendTopicAliasMaximum == 0) ? null : new MqttTopicAliasAutoMapping(sendTopicAliasMaximum);
+        this.sendTopicAliasMapping = sendTopicAliasMapping;
         this.maximumQos = maximumQos;
         this.channel = channel;
 
@@ -262,4 +262,14 @@ public class MqttClientConnectionConfig
     public @NotNull Channel getChannel() {
         return channel;
     }
+
+    @Override
+    public @NotNull OptionalLong getPingRoundTripTimeNanos() {
+        final long pingRoundTripTimeNanos = this.pingRoundTripTimeNanos;
+        return (pingRoundTripTimeNanos == -1) ? OptionalLong.empty() : OptionalLong.of(pingRoundTripTimeNanos);
+    }
+
+    public void setPingRoundTripTimeNanos(final long pingRoundTripTimeNanos) {
+        this.pingRoundTripTimeNanos = pingRoundTripTimeNanos;
+    }
 }
@@ -17,6 +17,8 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.mqtt.MqttClientExecutorConfig;
+import com.hivemq.client.mqtt.MqttConnectAdmission;
+import com.hivemq.client.mqtt.MqttPublishRateLimiter;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,20 +34,35 @@ import java.util.concurrent.Executor;
 public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
 
     public static final int DEFAULT_NETTY_THREADS = 0;
+    public static final @NotNull MqttEventLoopPlacementImpl DEFAULT_NETTY_EVENT_LOOP_PLACEMENT =
+            MqttEventLoopPlacementImpl.ROUND_ROBIN;
     public static final @NotNull MqttClientExecutorConfigImpl DEFAULT =
-            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, DEFAULT_APPLICATION_SCHEDULER);
+            new MqttClientExecutorConfigImpl(null, DEFAULT_NETTY_THREADS, null, DEFAULT_NETTY_EVENT_LOOP_PLACEMENT, null,
+                    null, DEFAULT_APPLICATION_SCHEDULER);
 
     private final @Nullable Executor nettyExecutor;
     private final int nettyThreads;
+    private final @Nullable String nettyGroup;
+    private final @NotNull MqttEventLoopPlacementImpl nettyEventLoopPlacement;
+    private final @Nullable MqttConnectAdmissionImpl connectAdmission;
+    private final @Nullable MqttPublishRateLimiterImpl publishRateLimiter;
     private final @NotNull Scheduler applicationScheduler;
 
     MqttClientExecutorConfigImpl(
             final @Nullable Executor nettyExecutor,
             final int nettyThreads,
+            final @Nullable String nettyGroup,
+            final @NotNull MqttEventLoopPlacementImpl nettyEventLoopPlacement,
+            final @Nullable MqttConnectAdmissionImpl connectAdmission,
+            final @Nullable MqttPublishRateLimiterImpl publishRateLimiter,
             final @NotNull Scheduler applicationScheduler) {
 
         this.nettyExecutor = nettyExecutor;
         this.nettyThreads = nettyThreads;
+        this.nettyGroup = nettyGroup;
+        this.nettyEventLoopPlacement = nettyEventLoopPlacement;
+        this.connectAdmission = connectAdmission;
+        this.publishRateLimiter = publishRateLimiter;
         this.applicationScheduler = applicationScheduler;
     }
 
@@ -67,6 +84,38 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         return nettyThreads;
     }
 
+    @Override
+    public @NotNull Optional<String> getNettyGroup() {
+        return Optional.ofNullable(nettyGroup);
+    }
+
+    public @Nullable String getRawNettyGroup() {
+        return nettyGroup;
+    }
+
+    @Override
+    public @NotNull MqttEventLoopPlacementImpl getNettyEventLoopPlacement() {
+        return nettyEventLoopPlacement;
+    }
+
+    @Override
+    public @NotNull Optional<MqttConnectAdmission> getConnectAdmission() {
+        return Optional.ofNullable(connectAdmission);
+    }
+
+    public @Nullable MqttConnectAdmissionImpl getRawConnectAdmission() {
+        return connectAdmission;
+    }
+
+    @Override
+    public @NotNull Optional<MqttPublishRateLimiter> getPublishRateLimiter() {
+        return Optional.ofNullable(publishRateLimiter);
+    }
+
+    public @Nullable MqttPublishRateLimiterImpl getRawPublishRateLimiter() {
+        return publishRateLimiter;
+    }
+
     @Override
     public @NotNull Scheduler getApplicationScheduler() {
         return applicationScheduler;
@@ -88,6 +137,10 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
         final MqttClientExecutorConfigImpl that = (MqttClientExecutorConfigImpl) o;
 
         return Objects.equals(nettyExecutor, that.nettyExecutor) && (nettyThreads == that.nettyThreads) &&
+                Objects.equals(nettyGroup, that.nettyGroup) &&
+                nettyEventLoopPlacement.equals(that.nettyEventLoopPlacement) &&
+                Objects.equals(connectAdmission, that.connectAdmission) &&
+                Objects.equals(publishRateLimiter, that.publishRateLimiter) &&
                 applicationScheduler.equals(that.applicationScheduler);
     }
 
@@ -95,6 +148,10 @@ public class MqttClientExecutorConfigImpl implements MqttClientExecutorConfig {
     public int hashCode() {
         int result = Objects.hashCode(nettyExecutor);
         result = 31 * result + nettyThreads;
+        result = 31 * result + Objects.hashCode(nettyGroup);
+        result = 31 * result + nettyEventLoopPlacement.hashCode();
+        result = 31 * result + Objects.hashCode(connectAdmission);
+        result = 31 * result + Objects.hashCode(publishRateLimiter);
         result = 31 * result + applicationScheduler.hashCode();
         return result;
     }
@@ -18,6 +18,9 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.MqttClientExecutorConfigBuilder;
+import com.hivemq.client.mqtt.MqttConnectAdmission;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import com.hivemq.client.mqtt.MqttPublishRateLimiter;
 import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -32,6 +35,11 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
 
     private @Nullable Executor nettyExecutor;
     private int nettyThreads = MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS;
+    private @Nullable String nettyGroup;
+    private @NotNull MqttEventLoopPlacementImpl nettyEventLoopPlacement =
+            MqttClientExecutorConfigImpl.DEFAULT_NETTY_EVENT_LOOP_PLACEMENT;
+    private @Nullable MqttConnectAdmissionImpl connectAdmission;
+    private @Nullable MqttPublishRateLimiterImpl publishRateLimiter;
     private @NotNull Scheduler applicationScheduler = MqttClientExecutorConfigImpl.DEFAULT_APPLICATION_SCHEDULER;
 
     MqttClientExecutorConfigImplBuilder() {}
@@ -39,6 +47,10 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
     MqttClientExecutorConfigImplBuilder(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
         nettyExecutor = executorConfig.getRawNettyExecutor();
         nettyThreads = executorConfig.getRawNettyThreads();
+        nettyGroup = executorConfig.getRawNettyGroup();
+        nettyEventLoopPlacement = executorConfig.getNettyEventLoopPlacement();
+        connectAdmission = executorConfig.getRawConnectAdmission();
+        publishRateLimiter = executorConfig.getRawPublishRateLimiter();
         applicationScheduler = executorConfig.getApplicationScheduler();
     }
 
@@ -58,13 +70,37 @@ public abstract class MqttClientExecutorConfigImplBuilder<B extends MqttClientEx
         return self();
     }
 
+    public @NotNull B nettyGroup(final @Nullable String nettyGroup) {
+        this.nettyGroup = (nettyGroup == null) ? null : Checks.notEmpty(nettyGroup, "Netty group");
+        return self();
+    }
+
+    public @NotNull B nettyEventLoopPlacement(final @Nullable MqttEventLoopPlacement nettyEventLoopPlacement) {
+        this.nettyEventLoopPlacement = Checks.notImplemented(nettyEventLoopPlacement, MqttEventLoopPlacementImpl.class,
+                "Netty event loop placement");
+        return self();
+    }
+
+    public @NotNull B connectAdmission(final @Nullable MqttConnectAdmission connectAdmission) {
+        this.connectAdmission =
+                Checks.notImplementedOrNull(connectAdmission, MqttConnectAdmissionImpl.class, "Connect admission");
+        return self();
+    }
+
+    public @NotNull B publishRateLimiter(final @Nullable MqttPublishRateLimiter publishRateLimiter) {
+        this.publishRateLimiter = Checks.notImplementedOrNull(
+                publishRateLimiter, MqttPublishRateLimiterImpl.class, "Publish rate limiter");
+        return self();
+    }
+
     public @NotNull B applicationScheduler(final @Nullable Scheduler applicationScheduler) {
         this.applicationScheduler = Checks.notNull(applicationScheduler, "Application scheduler");
         return self();
     }
 
     public @NotNull MqttClientExecutorConfigImpl build() {
-        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, applicationScheduler);
+        return new MqttClientExecutorConfigImpl(nettyExecutor, nettyThreads, nettyGroup, nettyEventLoopPlacement,
+                connectAdmission, publishRateLimiter, applicationScheduler);
     }
 
     public static class Default extends MqttClientExecutorConfigImplBuilder<Default>
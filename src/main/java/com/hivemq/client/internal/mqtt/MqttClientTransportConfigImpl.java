@@ -17,6 +17,7 @@
 package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.InetSocketAddressUtil;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,33 +32,55 @@ import java.util.Optional;
 public class MqttClientTransportConfigImpl implements MqttClientTransportConfig {
 
     public static final @NotNull MqttClientTransportConfigImpl DEFAULT = new MqttClientTransportConfigImpl(
-            InetSocketAddressUtil.create(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT), null, null,
-            null, null, DEFAULT_SOCKET_CONNECT_TIMEOUT_MS, DEFAULT_MQTT_CONNECT_TIMEOUT_MS);
+            InetSocketAddressUtil.create(MqttClient.DEFAULT_SERVER_HOST, MqttClient.DEFAULT_SERVER_PORT),
+            ImmutableList.of(), DEFAULT_SERVER_ADDRESS_SELECTION, false, false, null, null, null, null,
+            DEFAULT_SOCKET_CONNECT_TIMEOUT_MS, DEFAULT_MQTT_CONNECT_TIMEOUT_MS, false, DEFAULT_PING_TIMEOUT_MS, false);
 
     private final @NotNull InetSocketAddress serverAddress;
+    private final @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses;
+    private final @NotNull MqttServerAddressSelection serverAddressSelection;
+    private final boolean resolveAllServerAddresses;
+    private final boolean happyEyeballs;
     private final @Nullable InetSocketAddress localAddress;
     private final @Nullable MqttClientSslConfigImpl sslConfig;
     private final @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private final @Nullable MqttProxyConfigImpl proxyConfig;
     private final int socketConnectTimeoutMs;
     private final int mqttConnectTimeoutMs;
+    private final boolean fastStart;
+    private final int pingTimeoutMs;
+    private final boolean pingRespRequired;
 
     MqttClientTransportConfigImpl(
             final @NotNull InetSocketAddress serverAddress,
+            final @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses,
+            final @NotNull MqttServerAddressSelection serverAddressSelection,
+            final boolean resolveAllServerAddresses,
+            final boolean happyEyeballs,
             final @Nullable InetSocketAddress localAddress,
             final @Nullable MqttClientSslConfigImpl sslConfig,
             final @Nullable MqttWebSocketConfigImpl webSocketConfig,
             final @Nullable MqttProxyConfigImpl proxyConfig,
             final int socketConnectTimeoutMs,
-            final int mqttConnectTimeoutMs) {
+            final int mqttConnectTimeoutMs,
+            final boolean fastStart,
+            final int pingTimeoutMs,
+            final boolean pingRespRequired) {
 
         this.serverAddress = serverAddress;
+        this.failoverServerAddresses = failoverServerAddresses;
+        this.serverAddressSelection = serverAddressSelection;
+        this.resolveAllServerAddresses = resolveAllServerAddresses;
+        this.happyEyeballs = happyEyeballs;
         this.localAddress = localAddress;
         this.sslConfig = sslConfig;
         this.webSocketConfig = webSocketConfig;
         this.proxyConfig = proxyConfig;
         this.socketConnectTimeoutMs = socketConnectTimeoutMs;
         this.mqttConnectTimeoutMs = mqttConnectTimeoutMs;
+        this.fastStart = fastStart;
+        this.pingTimeoutMs = pingTimeoutMs;
+        this.pingRespRequired = pingRespRequired;
     }
 
     @Override
@@ -65,7 +88,27 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return serverAddress;
     }
 
-    public @NotNull InetSocketAddress getRemoteAddress() {
+    @Override
+    public @NotNull ImmutableList<InetSocketAddress> getFailoverServerAddresses() {
+        return failoverServerAddresses;
+    }
+
+    @Override
+    public @NotNull MqttServerAddressSelection getServerAddressSelection() {
+        return serverAddressSelection;
+    }
+
+    @Override
+    public boolean isResolveAllServerAddresses() {
+        return resolveAllServerAddresses;
+    }
+
+    @Override
+    public boolean isHappyEyeballs() {
+        return happyEyeballs;
+    }
+
+    public @NotNull InetSocketAddress getRemoteAddress(final @NotNull InetSocketAddress serverAddress) {
         return (proxyConfig == null) ? serverAddress : proxyConfig.getAddress();
     }
 
@@ -115,6 +158,21 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         return mqttConnectTimeoutMs;
     }
 
+    @Override
+    public boolean isFastStart() {
+        return fastStart;
+    }
+
+    @Override
+    public int getPingTimeoutMs() {
+        return pingTimeoutMs;
+    }
+
+    @Override
+    public boolean isPingRespRequired() {
+        return pingRespRequired;
+    }
+
     @Override
     public MqttClientTransportConfigImplBuilder.@NotNull Default extend() {
         return new MqttClientTransportConfigImplBuilder.Default(this);
@@ -130,22 +188,34 @@ public class MqttClientTransportConfigImpl implements MqttClientTransportConfig
         }
         final MqttClientTransportConfigImpl that = (MqttClientTransportConfigImpl) o;
 
-        return serverAddress.equals(that.serverAddress) && Objects.equals(localAddress, that.localAddress) &&
+        return serverAddress.equals(that.serverAddress) &&
+                failoverServerAddresses.equals(that.failoverServerAddresses) &&
+                (serverAddressSelection == that.serverAddressSelection) &&
+                (resolveAllServerAddresses == that.resolveAllServerAddresses) &&
+                (happyEyeballs == that.happyEyeballs) && Objects.equals(localAddress, that.localAddress) &&
                 Objects.equals(sslConfig, that.sslConfig) && Objects.equals(webSocketConfig, that.webSocketConfig) &&
                 Objects.equals(proxyConfig, that.proxyConfig) &&
                 (socketConnectTimeoutMs == that.socketConnectTimeoutMs) &&
-                (mqttConnectTimeoutMs == that.mqttConnectTimeoutMs);
+                (mqttConnectTimeoutMs == that.mqttConnectTimeoutMs) && (fastStart == that.fastStart) &&
+                (pingTimeoutMs == that.pingTimeoutMs) && (pingRespRequired == that.pingRespRequired);
     }
 
     @Override
     public int hashCode() {
         int result = serverAddress.hashCode();
+        result = 31 * result + failoverServerAddresses.hashCode();
+        result = 31 * result + serverAddressSelection.hashCode();
+        result = 31 * result + Boolean.hashCode(resolveAllServerAddresses);
+        result = 31 * result + Boolean.hashCode(happyEyeballs);
         result = 31 * result + Objects.hashCode(localAddress);
         result = 31 * result + Objects.hashCode(sslConfig);
         result = 31 * result + Objects.hashCode(webSocketConfig);
         result = 31 * result + Objects.hashCode(proxyConfig);
         result = 31 * result + Integer.hashCode(socketConnectTimeoutMs);
         result = 31 * result + Integer.hashCode(mqttConnectTimeoutMs);
+        result = 31 * result + Boolean.hashCode(fastStart);
+        result = 31 * result + Integer.hashCode(pingTimeoutMs);
+        result = 31 * result + Boolean.hashCode(pingRespRequired);
         return result;
     }
 }
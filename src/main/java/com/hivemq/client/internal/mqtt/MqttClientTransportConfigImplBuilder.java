@@ -18,15 +18,18 @@ package com.hivemq.client.internal.mqtt;
 
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.internal.util.InetSocketAddressUtil;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.MqttClientSslConfig;
 import com.hivemq.client.mqtt.MqttClientTransportConfigBuilder;
 import com.hivemq.client.mqtt.MqttProxyConfig;
+import com.hivemq.client.mqtt.MqttServerAddressSelection;
 import com.hivemq.client.mqtt.MqttWebSocketConfig;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
@@ -40,12 +43,20 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     private @Nullable InetSocketAddress serverAddress;
     private @NotNull Object serverHost = DEFAULT_SERVER_HOST; // String or InetAddress
     private int serverPort = -1;
+    private @NotNull ImmutableList<InetSocketAddress> failoverServerAddresses = ImmutableList.of();
+    private @NotNull MqttServerAddressSelection serverAddressSelection =
+            MqttClientTransportConfigImpl.DEFAULT_SERVER_ADDRESS_SELECTION;
+    private boolean resolveAllServerAddresses;
+    private boolean happyEyeballs;
     private @Nullable InetSocketAddress localAddress;
     private @Nullable MqttClientSslConfigImpl sslConfig;
     private @Nullable MqttWebSocketConfigImpl webSocketConfig;
     private @Nullable MqttProxyConfigImpl proxyConfig;
     private int socketConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_SOCKET_CONNECT_TIMEOUT_MS;
     private int mqttConnectTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_MQTT_CONNECT_TIMEOUT_MS;
+    private boolean fastStart;
+    private int pingTimeoutMs = MqttClientTransportConfigImpl.DEFAULT_PING_TIMEOUT_MS;
+    private boolean pingRespRequired;
 
     MqttClientTransportConfigImplBuilder() {}
 
@@ -57,22 +68,36 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         serverAddress = builder.serverAddress;
         serverHost = builder.serverHost;
         serverPort = builder.serverPort;
+        failoverServerAddresses = builder.failoverServerAddresses;
+        serverAddressSelection = builder.serverAddressSelection;
+        resolveAllServerAddresses = builder.resolveAllServerAddresses;
+        happyEyeballs = builder.happyEyeballs;
         localAddress = builder.localAddress;
         sslConfig = builder.sslConfig;
         webSocketConfig = builder.webSocketConfig;
         proxyConfig = builder.proxyConfig;
         socketConnectTimeoutMs = builder.socketConnectTimeoutMs;
         mqttConnectTimeoutMs = builder.mqttConnectTimeoutMs;
+        fastStart = builder.fastStart;
+        pingTimeoutMs = builder.pingTimeoutMs;
+        pingRespRequired = builder.pingRespRequired;
     }
 
     void set(final @NotNull MqttClientTransportConfigImpl transportConfig) {
         serverAddress = transportConfig.getServerAddress();
+        failoverServerAddresses = transportConfig.getFailoverServerAddresses();
+        serverAddressSelection = transportConfig.getServerAddressSelection();
+        resolveAllServerAddresses = transportConfig.isResolveAllServerAddresses();
+        happyEyeballs = transportConfig.isHappyEyeballs();
         localAddress = transportConfig.getRawLocalAddress();
         sslConfig = transportConfig.getRawSslConfig();
         webSocketConfig = transportConfig.getRawWebSocketConfig();
         proxyConfig = transportConfig.getRawProxyConfig();
         socketConnectTimeoutMs = transportConfig.getSocketConnectTimeoutMs();
         mqttConnectTimeoutMs = transportConfig.getMqttConnectTimeoutMs();
+        fastStart = transportConfig.isFastStart();
+        pingTimeoutMs = transportConfig.getPingTimeoutMs();
+        pingRespRequired = transportConfig.isPingRespRequired();
     }
 
     abstract @NotNull B self();
@@ -114,6 +139,35 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return self();
     }
 
+    public @NotNull B failoverServerAddresses(final @Nullable Collection<@Nullable InetSocketAddress> addresses) {
+        failoverServerAddresses = ImmutableList.copyOf(addresses, "Failover server addresses");
+        return self();
+    }
+
+    public @NotNull B addFailoverServerAddress(final @Nullable InetSocketAddress address) {
+        Checks.notNull(address, "Failover server address");
+        failoverServerAddresses = ImmutableList.<InetSocketAddress>builder(failoverServerAddresses.size() + 1)
+                .addAll(failoverServerAddresses)
+                .add(address)
+                .build();
+        return self();
+    }
+
+    public @NotNull B serverAddressSelection(final @Nullable MqttServerAddressSelection serverAddressSelection) {
+        this.serverAddressSelection = Checks.notNull(serverAddressSelection, "Server address selection");
+        return self();
+    }
+
+    public @NotNull B resolveAllServerAddresses(final boolean resolveAllServerAddresses) {
+        this.resolveAllServerAddresses = resolveAllServerAddresses;
+        return self();
+    }
+
+    public @NotNull B happyEyeballs(final boolean happyEyeballs) {
+        this.happyEyeballs = happyEyeballs;
+        return self();
+    }
+
     public @NotNull B localAddress(final @Nullable InetSocketAddress address) {
         if (address == null) {
             localAddress = null;
@@ -229,6 +283,23 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
         return self();
     }
 
+    public @NotNull B fastStart(final boolean fastStart) {
+        this.fastStart = fastStart;
+        return self();
+    }
+
+    public @NotNull B pingTimeout(final long timeout, final @Nullable TimeUnit timeUnit) {
+        Checks.notNull(timeUnit, "Time unit");
+        this.pingTimeoutMs =
+                (int) Checks.range(timeUnit.toMillis(timeout), 0, Integer.MAX_VALUE, "Ping timeout in milliseconds");
+        return self();
+    }
+
+    public @NotNull B pingRespRequired(final boolean pingRespRequired) {
+        this.pingRespRequired = pingRespRequired;
+        return self();
+    }
+
     private @NotNull InetSocketAddress getServerAddress() {
         if (serverAddress != null) {
             return serverAddress;
@@ -256,8 +327,9 @@ public abstract class MqttClientTransportConfigImplBuilder<B extends MqttClientT
     }
 
     @NotNull MqttClientTransportConfigImpl buildTransportConfig() {
-        return new MqttClientTransportConfigImpl(getServerAddress(), localAddress, sslConfig, webSocketConfig,
-                proxyConfig, socketConnectTimeoutMs, mqttConnectTimeoutMs);
+        return new MqttClientTransportConfigImpl(getServerAddress(), failoverServerAddresses, serverAddressSelection,
+                resolveAllServerAddresses, happyEyeballs, localAddress, sslConfig, webSocketConfig, proxyConfig,
+                socketConnectTimeoutMs, mqttConnectTimeoutMs, fastStart, pingTimeoutMs, pingRespRequired);
     }
 
     public static class Default extends MqttClientTransportConfigImplBuilder<Default>
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.mqtt.MqttConnectAdmission;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket with an additional cap on the amount of admitted connection attempts that have not been released yet.
+ *
+ * @author Silvio Giebl
+ */
+@ThreadSafe
+public class MqttConnectAdmissionImpl implements MqttConnectAdmission {
+
+    public static @NotNull MqttConnectAdmissionImpl of(
+            final double connectsPerSecond, final int burst, final int maxConcurrentConnects) {
+
+        if (!(connectsPerSecond > 0)) {
+            throw new IllegalArgumentException("Connects per second must be positive. Found: " + connectsPerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("Burst must be at least 1. Found: " + burst);
+        }
+        if (maxConcurrentConnects < 1) {
+            throw new IllegalArgumentException(
+                    "Maximum concurrent connects must be at least 1. Found: " + maxConcurrentConnects);
+        }
+        return new MqttConnectAdmissionImpl(connectsPerSecond, burst, maxConcurrentConnects);
+    }
+
+    private final double connectsPerSecond;
+    private final int burst;
+    private final int maxConcurrentConnects;
+    private final double nanosPerToken;
+
+    private double tokens;
+    private long lastRefillNanos;
+    private int inProgress;
+    private final @NotNull ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private boolean refillScheduled;
+
+    private MqttConnectAdmissionImpl(final double connectsPerSecond, final int burst, final int maxConcurrentConnects) {
+        this.connectsPerSecond = connectsPerSecond;
+        this.burst = burst;
+        this.maxConcurrentConnects = maxConcurrentConnects;
+        nanosPerToken = TimeUnit.SECONDS.toNanos(1) / connectsPerSecond;
+        tokens = burst;
+        lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Executes the given connection attempt on the given event loop as soon as it is admitted. Every admitted attempt
+     * must be {@link #release() released} when it is no longer in progress.
+     *
+     * @param eventLoop the event loop to execute the connection attempt on.
+     * @param connect   the connection attempt.
+     */
+    public void admit(final @NotNull EventLoop eventLoop, final @NotNull Runnable connect) {
+        synchronized (this) {
+            if (!waiters.isEmpty() || !tryAcquire()) {
+                waiters.add(new Waiter(eventLoop, connect));
+                scheduleRefill();
+                return;
+            }
+        }
+        eventLoop.execute(connect);
+    }
+
+    public void release() {
+        synchronized (this) {
+            inProgress--;
+        }
+        admitWaiters();
+    }
+
+    private void admitWaiters() {
+        while (true) {
+            final Waiter waiter;
+            synchronized (this) {
+                if (waiters.isEmpty()) {
+                    return;
+                }
+                if (!tryAcquire()) {
+                    scheduleRefill();
+                    return;
+                }
+                waiter = waiters.poll();
+            }
+            waiter.eventLoop.execute(waiter.connect);
+        }
+    }
+
+    private void onRefill() {
+        synchronized (this) {
+            refillScheduled = false;
+        }
+        admitWaiters();
+    }
+
+    private boolean tryAcquire() {
+        if (inProgress >= maxConcurrentConnects) {
+            return false;
+        }
+        final long nanos = System.nanoTime();
+        tokens = Math.min(burst, tokens + (nanos - lastRefillNanos) / nanosPerToken);
+        lastRefillNanos = nanos;
+        if (tokens < 1) {
+            return false;
+        }
+        tokens--;
+        inProgress++;
+        return true;
+    }
+
+    private void scheduleRefill() {
+        // waiters that are only limited by the concurrent connects are admitted on release
+        if (refillScheduled || (tokens >= 1)) {
+            return;
+        }
+        final Waiter waiter = waiters.peek();
+        assert waiter != null : "scheduleRefill is only called if waiters are present";
+        refillScheduled = true;
+        final long delayNanos = (long) Math.ceil((1 - tokens) * nanosPerToken);
+        waiter.eventLoop.schedule(this::onRefill, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    synchronized int getInProgress() {
+        return inProgress;
+    }
+
+    @Override
+    public double getConnectsPerSecond() {
+        return connectsPerSecond;
+    }
+
+    @Override
+    public int getBurst() {
+        return burst;
+    }
+
+    @Override
+    public int getMaxConcurrentConnects() {
+        return maxConcurrentConnects;
+    }
+
+    private static class Waiter {
+
+        final @NotNull EventLoop eventLoop;
+        final @NotNull Runnable connect;
+
+        Waiter(final @NotNull EventLoop eventLoop, final @NotNull Runnable connect) {
+            this.eventLoop = eventLoop;
+            this.connect = connect;
+        }
+    }
+}
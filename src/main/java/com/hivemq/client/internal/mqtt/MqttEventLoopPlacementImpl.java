@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.annotations.Immutable;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * @author Silvio Giebl
+ */
+@Immutable
+public abstract class MqttEventLoopPlacementImpl implements MqttEventLoopPlacement {
+
+    public static final @NotNull MqttEventLoopPlacementImpl ROUND_ROBIN = new MqttEventLoopPlacementImpl() {
+        @Override
+        public int select(
+                final @NotNull EventLoop @NotNull [] eventLoops, final int @NotNull [] clientCounts,
+                final int nextIndex) {
+
+            return nextIndex;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "roundRobin";
+        }
+    };
+
+    public static final @NotNull MqttEventLoopPlacementImpl LEAST_CLIENTS = new MqttEventLoopPlacementImpl() {
+        @Override
+        public int select(
+                final @NotNull EventLoop @NotNull [] eventLoops, final int @NotNull [] clientCounts,
+                final int nextIndex) {
+
+            int selected = 0;
+            for (int i = 1; i < clientCounts.length; i++) {
+                if (clientCounts[i] < clientCounts[selected]) {
+                    selected = i;
+                }
+            }
+            return selected;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "leastClients";
+        }
+    };
+
+    public static final @NotNull MqttEventLoopPlacementImpl LEAST_PENDING_TASKS = new MqttEventLoopPlacementImpl() {
+        @Override
+        public int select(
+                final @NotNull EventLoop @NotNull [] eventLoops, final int @NotNull [] clientCounts,
+                final int nextIndex) {
+
+            int selected = 0;
+            int selectedPendingTasks = pendingTasks(eventLoops[0]);
+            for (int i = 1; i < eventLoops.length; i++) {
+                final int pendingTasks = pendingTasks(eventLoops[i]);
+                if ((pendingTasks < selectedPendingTasks) ||
+                        ((pendingTasks == selectedPendingTasks) && (clientCounts[i] < clientCounts[selected]))) {
+                    selected = i;
+                    selectedPendingTasks = pendingTasks;
+                }
+            }
+            return selected;
+        }
+
+        private int pendingTasks(final @NotNull EventLoop eventLoop) {
+            if (eventLoop instanceof SingleThreadEventExecutor) {
+                return ((SingleThreadEventExecutor) eventLoop).pendingTasks();
+            }
+            return 0;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "leastPendingTasks";
+        }
+    };
+
+    public static @NotNull MqttEventLoopPlacementImpl index(final int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Event loop index must not be negative. Found: " + index);
+        }
+        return new Index(index);
+    }
+
+    /**
+     * Selects the event loop for a client.
+     *
+     * @param eventLoops   the event loops of the event loop group.
+     * @param clientCounts the amount of clients currently using each of the event loops.
+     * @param nextIndex    the next index in round robin order.
+     * @return the index of the selected event loop.
+     */
+    public abstract int select(
+            @NotNull EventLoop @NotNull [] eventLoops, int @NotNull [] clientCounts, int nextIndex);
+
+    private static class Index extends MqttEventLoopPlacementImpl {
+
+        private final int index;
+
+        Index(final int index) {
+            this.index = index;
+        }
+
+        @Override
+        public int select(
+                final @NotNull EventLoop @NotNull [] eventLoops, final int @NotNull [] clientCounts,
+                final int nextIndex) {
+
+            return index % eventLoops.length;
+        }
+
+        @Override
+        public boolean equals(final @Nullable Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Index)) {
+                return false;
+            }
+            return index == ((Index) o).index;
+        }
+
+        @Override
+        public int hashCode() {
+            return Integer.hashCode(index);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "index(" + index + ")";
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.mqtt.MqttPublishRateLimiter;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets for the amount of messages and encoded bytes with a burst of one second.
+ *
+ * @author Silvio Giebl
+ */
+@ThreadSafe
+public class MqttPublishRateLimiterImpl implements MqttPublishRateLimiter {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    public static @NotNull MqttPublishRateLimiterImpl of(final double messagesPerSecond, final double bytesPerSecond) {
+        if (!(messagesPerSecond > 0)) {
+            throw new IllegalArgumentException("Messages per second must be positive. Found: " + messagesPerSecond);
+        }
+        if (!(bytesPerSecond > 0)) {
+            throw new IllegalArgumentException("Bytes per second must be positive. Found: " + bytesPerSecond);
+        }
+        return new MqttPublishRateLimiterImpl(messagesPerSecond, bytesPerSecond);
+    }
+
+    private final double messagesPerSecond;
+    private final double bytesPerSecond;
+    private final double messageBurst;
+    private final double messagesPerNano;
+    private final double bytesPerNano;
+
+    private double messageTokens;
+    private double byteTokens;
+    private long lastRefillNanos;
+
+    private long windowStartNanos;
+    private long windowMessages;
+    private long windowBytes;
+    private double messageRate;
+    private double byteRate;
+    private final @NotNull AtomicLong throttleTimeNanos = new AtomicLong();
+
+    private MqttPublishRateLimiterImpl(final double messagesPerSecond, final double bytesPerSecond) {
+        this.messagesPerSecond = messagesPerSecond;
+        this.bytesPerSecond = bytesPerSecond;
+        messageBurst = Math.max(1, messagesPerSecond);
+        messagesPerNano = messagesPerSecond / WINDOW_NANOS;
+        bytesPerNano = bytesPerSecond / WINDOW_NANOS;
+        messageTokens = messageBurst;
+        byteTokens = bytesPerSecond;
+        lastRefillNanos = windowStartNanos = System.nanoTime();
+    }
+
+    /**
+     * Tries to acquire the tokens for sending a Publish message.
+     * <p>
+     * A message is admitted as long as the byte bucket is not in debt, so messages that are larger than the burst are
+     * not blocked forever but delay the following messages instead.
+     *
+     * @param bytes the encoded length of the Publish message.
+     * @return 0 if the tokens were acquired, otherwise the nanoseconds after which the next attempt can succeed.
+     */
+    public synchronized long tryAcquire(final int bytes) {
+        final long nanos = System.nanoTime();
+        refill(nanos);
+        if ((messageTokens < 1) || (byteTokens < 0)) {
+            final double messageDelay = (messageTokens < 1) ? (1 - messageTokens) / messagesPerNano : 0;
+            final double byteDelay = (byteTokens < 0) ? -byteTokens / bytesPerNano : 0;
+            return Math.max(1, (long) Math.ceil(Math.max(messageDelay, byteDelay)));
+        }
+        messageTokens--;
+        byteTokens -= bytes;
+        roll(nanos);
+        windowMessages++;
+        windowBytes += bytes;
+        return 0;
+    }
+
+    public void addThrottleTime(final long nanos) {
+        throttleTimeNanos.addAndGet(nanos);
+    }
+
+    private void refill(final long nanos) {
+        final long elapsed = nanos - lastRefillNanos;
+        lastRefillNanos = nanos;
+        // infinite rates are never refilled as their tokens stay infinite
+        if (Double.isFinite(messagesPerSecond)) {
+            messageTokens = Math.min(messageBurst, messageTokens + elapsed * messagesPerNano);
+        }
+        if (Double.isFinite(bytesPerSecond)) {
+            byteTokens = Math.min(bytesPerSecond, byteTokens + elapsed * bytesPerNano);
+        }
+    }
+
+    private void roll(final long nanos) {
+        final long elapsed = nanos - windowStartNanos;
+        if (elapsed < WINDOW_NANOS) {
+            return;
+        }
+        if (elapsed < 2 * WINDOW_NANOS) {
+            messageRate = (double) windowMessages * WINDOW_NANOS / elapsed;
+            byteRate = (double) windowBytes * WINDOW_NANOS / elapsed;
+        } else { // nothing was sent in the last second
+            messageRate = 0;
+            byteRate = 0;
+        }
+        windowStartNanos = nanos;
+        windowMessages = 0;
+        windowBytes = 0;
+    }
+
+    @Override
+    public double getMessagesPerSecond() {
+        return messagesPerSecond;
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    @Override
+    public synchronized double getCurrentMessageRate() {
+        roll(System.nanoTime());
+        return messageRate;
+    }
+
+    @Override
+    public synchronized double getCurrentByteRate() {
+        roll(System.nanoTime());
+        return byteRate;
+    }
+
+    @Override
+    public long getThrottleTimeNanos() {
+        return throttleTimeNanos.get();
+    }
+}
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
 import com.hivemq.client.internal.mqtt.handler.auth.MqttReAuthCompletable;
 import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckSingle;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectCompletable;
@@ -24,6 +25,7 @@ import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttSubscribedPu
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckFlowable;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingle;
 import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttAckSingleFlowable;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttDrainSingle;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttSubAckSingle;
 import com.hivemq.client.internal.mqtt.handler.subscribe.MqttUnsubAckSingle;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
@@ -58,6 +60,9 @@ import io.reactivex.internal.fuseable.ScalarCallable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Silvio Giebl
  */
@@ -207,7 +212,27 @@ public class MqttRxClient implements Mqtt5RxClient {
     public @NotNull Flowable<Mqtt5PublishResult> publish(final @Nullable Flowable<Mqtt5Publish> publishFlowable) {
         Checks.notNull(publishFlowable, "Publish flowable");
 
-        return publish(publishFlowable, PUBLISH_MAPPER);
+        final MqttPayloadCodecConfig payloadCodecConfig = clientConfig.getAdvancedConfig().getPayloadCodecConfig();
+        if (payloadCodecConfig == null) {
+            return publish(publishFlowable, PUBLISH_MAPPER);
+        }
+        final Scheduler scheduler = payloadCodecConfig.getScheduler();
+        // encoding on the scheduler of the codec bypasses the fast path for single Publish messages
+        return publish((scheduler == null) ? publishFlowable : publishFlowable.observeOn(scheduler),
+                publish -> payloadCodecConfig.encode(MqttChecks.publish(publish)));
+    }
+
+    /**
+     * Prepares an outgoing publish before it is passed to the event loop. The payload is encoded with the payload
+     * codec if configured. Pre-encoding happens afterwards on the same thread when the publish is passed to the
+     * outgoing QoS handler, without modifying the publish.
+     *
+     * @param publish the outgoing publish.
+     * @return the prepared publish.
+     */
+    @NotNull MqttPublish preparePublish(final @NotNull MqttPublish publish) {
+        final MqttPayloadCodecConfig payloadCodecConfig = clientConfig.getAdvancedConfig().getPayloadCodecConfig();
+        return (payloadCodecConfig == null) ? publish : payloadCodecConfig.encode(publish);
     }
 
     public <P> @NotNull Flowable<Mqtt5PublishResult> publish(
@@ -265,6 +290,40 @@ public class MqttRxClient implements Mqtt5RxClient {
         return new MqttDisconnectBuilder.Nested<>(this::disconnect);
     }
 
+    @Override
+    public @NotNull Single<List<Mqtt5Publish>> drainAndDisconnect(
+            final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        return drainAndDisconnect(MqttDisconnect.DEFAULT, drainTimeout, timeUnit);
+    }
+
+    @Override
+    public @NotNull Single<List<Mqtt5Publish>> drainAndDisconnect(
+            final @Nullable Mqtt5Disconnect disconnect, final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        return drainAndDisconnect(MqttChecks.disconnect(disconnect), drainTimeout, timeUnit);
+    }
+
+    @NotNull Single<List<Mqtt5Publish>> drainAndDisconnect(
+            final @NotNull MqttDisconnect disconnect, final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        return drainAndDisconnectUnsafe(disconnect, drainTimeout, timeUnit).observeOn(
+                clientConfig.getExecutorConfig().getApplicationScheduler());
+    }
+
+    @NotNull Single<List<Mqtt5Publish>> drainAndDisconnectUnsafe(
+            final @NotNull MqttDisconnect disconnect, final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        Checks.notNull(timeUnit, "Time unit");
+        final long drainTimeoutNanos =
+                Checks.range(timeUnit.toNanos(drainTimeout), 0, Long.MAX_VALUE, "Drain timeout");
+        return Single.defer(() -> {
+            final MqttDrainSingle drain = new MqttDrainSingle(clientConfig, drainTimeoutNanos);
+            return drain.flatMap(undelivered -> disconnectUnsafe(disconnect).toSingleDefault(undelivered))
+                    .doFinally(drain::endDrain);
+        });
+    }
+
     @Override
     public @NotNull MqttClientConfig getConfig() {
         return clientConfig;
@@ -28,23 +28,36 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
 
     static final @NotNull MqttWebSocketConfigImpl DEFAULT =
             new MqttWebSocketConfigImpl(DEFAULT_SERVER_PATH, DEFAULT_QUERY_STRING, DEFAULT_MQTT_SUBPROTOCOL,
-                    DEFAULT_HANDSHAKE_TIMEOUT_MS);
+                    DEFAULT_HANDSHAKE_TIMEOUT_MS, false, DEFAULT_COMPRESSION_THRESHOLD, false,
+                    DEFAULT_MAX_PACKED_FRAME_SIZE);
 
     private final @NotNull String serverPath;
     private final @NotNull String queryString;
     private final @NotNull String subprotocol;
     private final int handshakeTimeoutMs;
+    private final boolean compressionEnabled;
+    private final int compressionThreshold;
+    private final boolean framePackingEnabled;
+    private final int maxPackedFrameSize;
 
     MqttWebSocketConfigImpl(
             final @NotNull String serverPath,
             final @NotNull String queryString,
             final @NotNull String subprotocol,
-            final int handshakeTimeoutMs) {
+            final int handshakeTimeoutMs,
+            final boolean compressionEnabled,
+            final int compressionThreshold,
+            final boolean framePackingEnabled,
+            final int maxPackedFrameSize) {
 
         this.serverPath = serverPath;
         this.queryString = queryString;
         this.subprotocol = subprotocol;
         this.handshakeTimeoutMs = handshakeTimeoutMs;
+        this.compressionEnabled = compressionEnabled;
+        this.compressionThreshold = compressionThreshold;
+        this.framePackingEnabled = framePackingEnabled;
+        this.maxPackedFrameSize = maxPackedFrameSize;
     }
 
     @Override
@@ -67,6 +80,26 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         return handshakeTimeoutMs;
     }
 
+    @Override
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    @Override
+    public boolean isFramePackingEnabled() {
+        return framePackingEnabled;
+    }
+
+    @Override
+    public int getMaxPackedFrameSize() {
+        return maxPackedFrameSize;
+    }
+
     @Override
     public MqttWebSocketConfigImplBuilder.@NotNull Default extend() {
         return new MqttWebSocketConfigImplBuilder.Default(this);
@@ -83,7 +116,10 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         final MqttWebSocketConfigImpl that = (MqttWebSocketConfigImpl) o;
 
         return serverPath.equals(that.serverPath) && queryString.equals(that.queryString) &&
-                subprotocol.equals(that.subprotocol) && (handshakeTimeoutMs == that.handshakeTimeoutMs);
+                subprotocol.equals(that.subprotocol) && (handshakeTimeoutMs == that.handshakeTimeoutMs) &&
+                (compressionEnabled == that.compressionEnabled) &&
+                (compressionThreshold == that.compressionThreshold) &&
+                (framePackingEnabled == that.framePackingEnabled) && (maxPackedFrameSize == that.maxPackedFrameSize);
     }
 
     @Override
@@ -92,6 +128,10 @@ public class MqttWebSocketConfigImpl implements MqttWebSocketConfig {
         result = 31 * result + queryString.hashCode();
         result = 31 * result + subprotocol.hashCode();
         result = 31 * result + Integer.hashCode(handshakeTimeoutMs);
+        result = 31 * result + Boolean.hashCode(compressionEnabled);
+        result = 31 * result + Integer.hashCode(compressionThreshold);
+        result = 31 * result + Boolean.hashCode(framePackingEnabled);
+        result = 31 * result + Integer.hashCode(maxPackedFrameSize);
         return result;
     }
 }
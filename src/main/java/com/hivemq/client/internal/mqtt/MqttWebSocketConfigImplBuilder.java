@@ -33,6 +33,10 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
     private @NotNull String queryString = MqttWebSocketConfigImpl.DEFAULT_QUERY_STRING;
     private @NotNull String subprotocol = MqttWebSocketConfigImpl.DEFAULT_MQTT_SUBPROTOCOL;
     private int handshakeTimeoutMs = MqttWebSocketConfigImpl.DEFAULT_HANDSHAKE_TIMEOUT_MS;
+    private boolean compressionEnabled;
+    private int compressionThreshold = MqttWebSocketConfigImpl.DEFAULT_COMPRESSION_THRESHOLD;
+    private boolean framePackingEnabled;
+    private int maxPackedFrameSize = MqttWebSocketConfigImpl.DEFAULT_MAX_PACKED_FRAME_SIZE;
 
     MqttWebSocketConfigImplBuilder() {}
 
@@ -42,6 +46,10 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
             queryString = webSocketConfig.getQueryString();
             subprotocol = webSocketConfig.getSubprotocol();
             handshakeTimeoutMs = webSocketConfig.getHandshakeTimeoutMs();
+            compressionEnabled = webSocketConfig.isCompressionEnabled();
+            compressionThreshold = webSocketConfig.getCompressionThreshold();
+            framePackingEnabled = webSocketConfig.isFramePackingEnabled();
+            maxPackedFrameSize = webSocketConfig.getMaxPackedFrameSize();
         }
     }
 
@@ -70,8 +78,31 @@ public abstract class MqttWebSocketConfigImplBuilder<B extends MqttWebSocketConf
         return self();
     }
 
+    public @NotNull B compressionEnabled(final boolean compressionEnabled) {
+        this.compressionEnabled = compressionEnabled;
+        return self();
+    }
+
+    public @NotNull B compressionThreshold(final int compressionThreshold) {
+        this.compressionThreshold =
+                (int) Checks.range(compressionThreshold, 0, Integer.MAX_VALUE, "Compression threshold");
+        return self();
+    }
+
+    public @NotNull B framePackingEnabled(final boolean framePackingEnabled) {
+        this.framePackingEnabled = framePackingEnabled;
+        return self();
+    }
+
+    public @NotNull B maxPackedFrameSize(final int maxPackedFrameSize) {
+        this.maxPackedFrameSize =
+                (int) Checks.range(maxPackedFrameSize, 1, Integer.MAX_VALUE, "Maximum packed frame size");
+        return self();
+    }
+
     public @NotNull MqttWebSocketConfigImpl build() {
-        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol, handshakeTimeoutMs);
+        return new MqttWebSocketConfigImpl(serverPath, queryString, subprotocol, handshakeTimeoutMs,
+                compressionEnabled, compressionThreshold, framePackingEnabled, maxPackedFrameSize);
     }
 
     public static class Default extends MqttWebSocketConfigImplBuilder<Default> implements MqttWebSocketConfigBuilder {
@@ -16,8 +16,11 @@
 
 package com.hivemq.client.internal.mqtt.advanced;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasStrategies;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,20 +31,33 @@ import java.util.Objects;
  */
 public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
 
-    public static final @NotNull MqttClientAdvancedConfig DEFAULT = new MqttClientAdvancedConfig(false, false, null);
+    public static final @NotNull MqttClientAdvancedConfig DEFAULT =
+            new MqttClientAdvancedConfig(false, false, null, MqttTopicAliasStrategies.AUTO, null, false, false);
 
     private final boolean allowServerReAuth;
     private final boolean validatePayloadFormat;
     private final @Nullable MqttClientInterceptors interceptors;
+    private final @NotNull Mqtt5TopicAliasStrategy topicAliasStrategy;
+    private final @Nullable MqttPayloadCodecConfig payloadCodecConfig;
+    private final boolean preEncodePublishes;
+    private final boolean strictPublishPriority;
 
     MqttClientAdvancedConfig(
             final boolean allowServerReAuth,
             final boolean validatePayloadFormat,
-            final @Nullable MqttClientInterceptors interceptors) {
+            final @Nullable MqttClientInterceptors interceptors,
+            final @NotNull Mqtt5TopicAliasStrategy topicAliasStrategy,
+            final @Nullable MqttPayloadCodecConfig payloadCodecConfig,
+            final boolean preEncodePublishes,
+            final boolean strictPublishPriority) {
 
         this.allowServerReAuth = allowServerReAuth;
         this.validatePayloadFormat = validatePayloadFormat;
         this.interceptors = interceptors;
+        this.topicAliasStrategy = topicAliasStrategy;
+        this.payloadCodecConfig = payloadCodecConfig;
+        this.preEncodePublishes = preEncodePublishes;
+        this.strictPublishPriority = strictPublishPriority;
     }
 
     @Override
@@ -59,6 +75,26 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         return interceptors;
     }
 
+    @Override
+    public @NotNull Mqtt5TopicAliasStrategy getTopicAliasStrategy() {
+        return topicAliasStrategy;
+    }
+
+    @Override
+    public @Nullable MqttPayloadCodecConfig getPayloadCodecConfig() {
+        return payloadCodecConfig;
+    }
+
+    @Override
+    public boolean isPreEncodePublishes() {
+        return preEncodePublishes;
+    }
+
+    @Override
+    public boolean isStrictPublishPriority() {
+        return strictPublishPriority;
+    }
+
     @Override
     public MqttClientAdvancedConfigBuilder.@NotNull Default extend() {
         return new MqttClientAdvancedConfigBuilder.Default(this);
@@ -75,7 +111,10 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         final MqttClientAdvancedConfig that = (MqttClientAdvancedConfig) o;
 
         return (allowServerReAuth == that.allowServerReAuth) && (validatePayloadFormat == that.validatePayloadFormat) &&
-                Objects.equals(interceptors, that.interceptors);
+                Objects.equals(interceptors, that.interceptors) && topicAliasStrategy.equals(that.topicAliasStrategy) &&
+                Objects.equals(payloadCodecConfig, that.payloadCodecConfig) &&
+                (preEncodePublishes == that.preEncodePublishes) &&
+                (strictPublishPriority == that.strictPublishPriority);
     }
 
     @Override
@@ -83,6 +122,10 @@ public class MqttClientAdvancedConfig implements Mqtt5ClientAdvancedConfig {
         int result = Boolean.hashCode(allowServerReAuth);
         result = 31 * result + Boolean.hashCode(validatePayloadFormat);
         result = 31 * result + Objects.hashCode(interceptors);
+        result = 31 * result + topicAliasStrategy.hashCode();
+        result = 31 * result + Objects.hashCode(payloadCodecConfig);
+        result = 31 * result + Boolean.hashCode(preEncodePublishes);
+        result = 31 * result + Boolean.hashCode(strictPublishPriority);
         return result;
     }
 }
@@ -16,11 +16,16 @@
 
 package com.hivemq.client.internal.mqtt.advanced;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfigBuilder;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptorsBuilder;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasStrategies;
 import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.mqtt5.advanced.Mqtt5ClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,6 +39,10 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
     private boolean allowServerReAuth;
     private boolean validatePayloadFormat;
     private @Nullable MqttClientInterceptors interceptors;
+    private @NotNull Mqtt5TopicAliasStrategy topicAliasStrategy = MqttTopicAliasStrategies.AUTO;
+    private @Nullable MqttPayloadCodecConfig payloadCodecConfig;
+    private boolean preEncodePublishes;
+    private boolean strictPublishPriority;
 
     MqttClientAdvancedConfigBuilder() {}
 
@@ -41,6 +50,10 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         allowServerReAuth = advancedConfig.isAllowServerReAuth();
         validatePayloadFormat = advancedConfig.isValidatePayloadFormat();
         interceptors = advancedConfig.getInterceptors();
+        topicAliasStrategy = advancedConfig.getTopicAliasStrategy();
+        payloadCodecConfig = advancedConfig.getPayloadCodecConfig();
+        preEncodePublishes = advancedConfig.isPreEncodePublishes();
+        strictPublishPriority = advancedConfig.isStrictPublishPriority();
     }
 
     abstract @NotNull B self();
@@ -64,8 +77,34 @@ public abstract class MqttClientAdvancedConfigBuilder<B extends MqttClientAdvanc
         return new MqttClientInterceptorsBuilder.Nested<>(interceptors, this::interceptors);
     }
 
+    public @NotNull B topicAliasStrategy(final @Nullable Mqtt5TopicAliasStrategy topicAliasStrategy) {
+        this.topicAliasStrategy = Checks.notNull(topicAliasStrategy, "Topic alias strategy");
+        return self();
+    }
+
+    public @NotNull B payloadCodecConfig(final @Nullable Mqtt5PayloadCodecConfig payloadCodecConfig) {
+        this.payloadCodecConfig =
+                Checks.notImplementedOrNull(payloadCodecConfig, MqttPayloadCodecConfig.class, "Payload codec config");
+        return self();
+    }
+
+    public MqttPayloadCodecConfigBuilder.@NotNull Nested<B> payloadCodecConfig() {
+        return new MqttPayloadCodecConfigBuilder.Nested<>(payloadCodecConfig, this::payloadCodecConfig);
+    }
+
+    public @NotNull B preEncodePublishes(final boolean preEncodePublishes) {
+        this.preEncodePublishes = preEncodePublishes;
+        return self();
+    }
+
+    public @NotNull B strictPublishPriority(final boolean strictPublishPriority) {
+        this.strictPublishPriority = strictPublishPriority;
+        return self();
+    }
+
     public @NotNull MqttClientAdvancedConfig build() {
-        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors);
+        return new MqttClientAdvancedConfig(allowServerReAuth, validatePayloadFormat, interceptors, topicAliasStrategy,
+                payloadCodecConfig, preEncodePublishes, strictPublishPriority);
     }
 
     public static class Default extends MqttClientAdvancedConfigBuilder<Default>
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.codec;
+
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
+import io.netty.util.concurrent.FastThreadLocal;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Payload codec that compresses with the deflate algorithm in the zlib format.
+ * <p>
+ * The deflater, the inflater and the scratch buffers are pooled per thread, so encoding or decoding a payload only
+ * allocates the exactly sized result.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttDeflatePayloadCodec implements Mqtt5PayloadCodec {
+
+    public static final @NotNull MqttDeflatePayloadCodec DEFAULT =
+            new MqttDeflatePayloadCodec(Deflater.DEFAULT_COMPRESSION);
+    private static final @NotNull String NAME = "deflate";
+    private static final int MIN_SCRATCH_SIZE = 1024;
+    private static final int MAX_RETAINED_SCRATCH_SIZE = 1024 * 1024; // larger scratch buffers are not pooled
+
+    private static final @NotNull FastThreadLocal<Inflater> INFLATERS = new FastThreadLocal<Inflater>() {
+        @Override
+        protected @NotNull Inflater initialValue() {
+            return new Inflater();
+        }
+    };
+    private static final @NotNull FastThreadLocal<Scratch> SCRATCHES = new FastThreadLocal<Scratch>() {
+        @Override
+        protected @NotNull Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    public static @NotNull MqttDeflatePayloadCodec of(final int level) {
+        Checks.range(level, Deflater.NO_COMPRESSION, Deflater.BEST_COMPRESSION, "Deflate compression level");
+        return new MqttDeflatePayloadCodec(level);
+    }
+
+    private final int level;
+    private final @NotNull FastThreadLocal<Deflater> deflaters = new FastThreadLocal<Deflater>() {
+        @Override
+        protected @NotNull Deflater initialValue() {
+            return new Deflater(level);
+        }
+    };
+
+    private MqttDeflatePayloadCodec(final int level) {
+        this.level = level;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull ByteBuffer encode(final @NotNull ByteBuffer payload) {
+        final Scratch scratch = SCRATCHES.get();
+        final Deflater deflater = deflaters.get();
+        try {
+            setInput(payload, scratch, deflater::setInput);
+            deflater.finish();
+            byte[] output = scratch.output(payload.remaining());
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == output.length) {
+                    output = scratch.growOutput(output, Integer.MAX_VALUE);
+                }
+                length += deflater.deflate(output, length, output.length - length);
+            }
+            return ByteBuffer.wrap(Arrays.copyOf(output, length));
+        } finally {
+            deflater.reset();
+        }
+    }
+
+    @Override
+    public @NotNull ByteBuffer decode(final @NotNull ByteBuffer payload, final int maximumLength) {
+        final Scratch scratch = SCRATCHES.get();
+        final Inflater inflater = INFLATERS.get();
+        try {
+            setInput(payload, scratch, inflater::setInput);
+            // inflating one byte more than the maximum length detects an oversized payload without inflating it fully
+            final int limit = (maximumLength == Integer.MAX_VALUE) ? maximumLength : maximumLength + 1;
+            byte[] output = scratch.output(payload.remaining() * 4);
+            int length = 0;
+            while (!inflater.finished()) {
+                if (length == output.length) {
+                    output = scratch.growOutput(output, limit);
+                }
+                final int inflated = inflater.inflate(output, length, Math.min(output.length, limit) - length);
+                if ((inflated == 0) && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Payload is not a complete deflate stream.");
+                }
+                length += inflated;
+                if (length > maximumLength) {
+                    throw new IllegalArgumentException(
+                            "Decoded payload must not be larger than " + maximumLength + " bytes.");
+                }
+            }
+            return ByteBuffer.wrap(Arrays.copyOf(output, length));
+        } catch (final DataFormatException e) {
+            throw new IllegalArgumentException("Payload is not a valid deflate stream.", e);
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private static void setInput(
+            final @NotNull ByteBuffer payload, final @NotNull Scratch scratch, final @NotNull InputSetter setter) {
+
+        final int length = payload.remaining();
+        if (payload.hasArray()) {
+            setter.setInput(payload.array(), payload.arrayOffset() + payload.position(), length);
+        } else {
+            final byte[] input = scratch.input(length);
+            payload.duplicate().get(input, 0, length);
+            setter.setInput(input, 0, length);
+        }
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttDeflatePayloadCodec)) {
+            return false;
+        }
+        final MqttDeflatePayloadCodec that = (MqttDeflatePayloadCodec) o;
+
+        return level == that.level;
+    }
+
+    @Override
+    public int hashCode() {
+        return Integer.hashCode(level);
+    }
+
+    @FunctionalInterface
+    private interface InputSetter {
+
+        void setInput(byte @NotNull [] input, int offset, int length);
+    }
+
+    private static class Scratch {
+
+        private byte @NotNull [] input = new byte[0];
+        private byte @NotNull [] output = new byte[0];
+
+        byte @NotNull [] input(final int length) {
+            if (input.length >= length) {
+                return input;
+            }
+            final byte[] input = new byte[Math.max(MIN_SCRATCH_SIZE, length)];
+            if (input.length <= MAX_RETAINED_SCRATCH_SIZE) {
+                this.input = input;
+            }
+            return input;
+        }
+
+        byte @NotNull [] output(final int expectedLength) {
+            if (output.length >= MIN_SCRATCH_SIZE) {
+                return output;
+            }
+            final int length = Math.min(Math.max(MIN_SCRATCH_SIZE, expectedLength), MAX_RETAINED_SCRATCH_SIZE);
+            return output = new byte[length];
+        }
+
+        byte @NotNull [] growOutput(final byte @NotNull [] current, final int maximumLength) {
+            final byte[] output = Arrays.copyOf(current, (int) Math.min((long) current.length << 1, maximumLength));
+            if (output.length <= MAX_RETAINED_SCRATCH_SIZE) {
+                this.output = output;
+            }
+            return output;
+        }
+    }
+}
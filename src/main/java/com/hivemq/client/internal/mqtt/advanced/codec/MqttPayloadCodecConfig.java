@@ -0,0 +1,209 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.codec;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import io.reactivex.Scheduler;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * @author Silvio Giebl
+ */
+public class MqttPayloadCodecConfig implements Mqtt5PayloadCodecConfig {
+
+    private final @NotNull Mqtt5PayloadCodec codec;
+    private final int compressionThreshold;
+    private final int maximumDecodedSize;
+    private final @Nullable Executor executor;
+    private final @Nullable Scheduler scheduler;
+
+    MqttPayloadCodecConfig(
+            final @NotNull Mqtt5PayloadCodec codec,
+            final int compressionThreshold,
+            final int maximumDecodedSize,
+            final @Nullable Executor executor) {
+
+        this.codec = codec;
+        this.compressionThreshold = compressionThreshold;
+        this.maximumDecodedSize = maximumDecodedSize;
+        this.executor = executor;
+        scheduler = (executor == null) ? null : Schedulers.from(executor);
+    }
+
+    @Override
+    public @NotNull Mqtt5PayloadCodec getCodec() {
+        return codec;
+    }
+
+    @Override
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    @Override
+    public int getMaximumDecodedSize() {
+        return maximumDecodedSize;
+    }
+
+    @Override
+    public @NotNull Optional<Executor> getExecutor() {
+        return Optional.ofNullable(executor);
+    }
+
+    public @Nullable Executor getRawExecutor() {
+        return executor;
+    }
+
+    public @Nullable Scheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Encodes the payload of an outgoing Publish message if it is larger than the compression threshold, not already
+     * encoded and not marked as UTF-8 by its payload format indicator.
+     *
+     * @param publish the outgoing Publish message.
+     * @return the Publish message with the encoded payload or the given Publish message if it is not encoded.
+     */
+    public @NotNull MqttPublish encode(final @NotNull MqttPublish publish) {
+        final ByteBuffer payload = publish.getRawPayload();
+        if ((payload == null) || (payload.remaining() <= compressionThreshold) ||
+                (publish.getRawFilePayload() != null) ||
+                (publish.getRawPayloadFormatIndicator() == Mqtt5PayloadFormatIndicator.UTF_8) ||
+                isEncoded(publish.getUserProperties())) {
+            return publish;
+        }
+        return publish.extend().payloadCodec(codec).build();
+    }
+
+    /**
+     * Checks whether the payload of an incoming Publish message is marked as encoded with the codec of this
+     * configuration and therefore has to be {@link #decode decoded}.
+     *
+     * @param publish the incoming Publish message.
+     * @return whether the payload has to be decoded.
+     */
+    public boolean isDecodable(final @NotNull MqttStatefulPublish publish) {
+        final MqttPublish stateless = publish.stateless();
+        return (stateless.getRawPayload() != null) &&
+                (indexOfContentEncoding(stateless.getUserProperties().asList(), codec.getName()) != -1);
+    }
+
+    /**
+     * Decodes the payload of an incoming Publish message if it is marked as encoded with the codec of this
+     * configuration. The marker is removed from the User Properties of the decoded Publish message.
+     *
+     * @param publish           the incoming Publish message.
+     * @param maximumPacketSize the maximum packet size of the client which further restricts the maximum decoded
+     *                          size.
+     * @return the Publish message with the decoded payload or the given Publish message if it is not encoded.
+     * @throws IllegalArgumentException if the payload can not be decoded or the decoded payload would be too large.
+     */
+    public @NotNull MqttStatefulPublish decode(final @NotNull MqttStatefulPublish publish, final int maximumPacketSize) {
+        final MqttPublish stateless = publish.stateless();
+        final ImmutableList<MqttUserPropertyImpl> userProperties = stateless.getUserProperties().asList();
+        final int markerIndex = indexOfContentEncoding(userProperties, codec.getName());
+        final ByteBuffer payload = stateless.getRawPayload();
+        if ((markerIndex == -1) || (payload == null)) {
+            return publish;
+        }
+        final ImmutableList.Builder<MqttUserPropertyImpl> builder = ImmutableList.builder(userProperties.size() - 1);
+        for (int i = 0; i < userProperties.size(); i++) {
+            if (i != markerIndex) {
+                builder.add(userProperties.get(i));
+            }
+        }
+        final int topicAlias =
+                publish.getTopicAlias() | (publish.isNewTopicAlias() ? MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW : 0);
+        final int maximumLength = Math.min(maximumDecodedSize, maximumPacketSize);
+        return stateless.extend()
+                .payload(codec.decode(payload.duplicate(), maximumLength))
+                .userProperties(MqttUserPropertiesImpl.of(builder.build()))
+                .build()
+                .createStateful(publish.getPacketIdentifier(), publish.isDup(), topicAlias,
+                        publish.getSubscriptionIdentifiers());
+    }
+
+    public static boolean isEncoded(final @NotNull MqttUserPropertiesImpl userProperties) {
+        return indexOfContentEncoding(userProperties.asList(), null) != -1;
+    }
+
+    public static @NotNull MqttUserPropertiesImpl withContentEncoding(
+            final @NotNull MqttUserPropertiesImpl userProperties, final @NotNull String codecName) {
+
+        final ImmutableList<MqttUserPropertyImpl> list = userProperties.asList();
+        return MqttUserPropertiesImpl.of(ImmutableList.<MqttUserPropertyImpl>builder(list.size() + 1)
+                .addAll(list)
+                .add(MqttUserPropertyImpl.of(CONTENT_ENCODING_USER_PROPERTY, codecName))
+                .build());
+    }
+
+    private static int indexOfContentEncoding(
+            final @NotNull ImmutableList<MqttUserPropertyImpl> userProperties, final @Nullable String codecName) {
+
+        for (int i = 0; i < userProperties.size(); i++) {
+            final MqttUserPropertyImpl userProperty = userProperties.get(i);
+            if (userProperty.getName().toString().equals(CONTENT_ENCODING_USER_PROPERTY) &&
+                    ((codecName == null) || userProperty.getValue().toString().equals(codecName))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public MqttPayloadCodecConfigBuilder.@NotNull Default extend() {
+        return new MqttPayloadCodecConfigBuilder.Default(this);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttPayloadCodecConfig)) {
+            return false;
+        }
+        final MqttPayloadCodecConfig that = (MqttPayloadCodecConfig) o;
+
+        return codec.equals(that.codec) && (compressionThreshold == that.compressionThreshold) &&
+                (maximumDecodedSize == that.maximumDecodedSize) && Objects.equals(executor, that.executor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = codec.hashCode();
+        result = 31 * result + Integer.hashCode(compressionThreshold);
+        result = 31 * result + Integer.hashCode(maximumDecodedSize);
+        result = 31 * result + Objects.hashCode(executor);
+        return result;
+    }
+}
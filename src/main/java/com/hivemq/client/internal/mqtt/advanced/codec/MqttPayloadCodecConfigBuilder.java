@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.codec;
+
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * @author Silvio Giebl
+ */
+public abstract class MqttPayloadCodecConfigBuilder<B extends MqttPayloadCodecConfigBuilder<B>> {
+
+    private @NotNull Mqtt5PayloadCodec codec = MqttDeflatePayloadCodec.DEFAULT;
+    private int compressionThreshold = Mqtt5PayloadCodecConfig.DEFAULT_COMPRESSION_THRESHOLD;
+    private int maximumDecodedSize = Mqtt5PayloadCodecConfig.DEFAULT_MAXIMUM_DECODED_SIZE;
+    private @Nullable Executor executor;
+
+    MqttPayloadCodecConfigBuilder() {}
+
+    MqttPayloadCodecConfigBuilder(final @Nullable MqttPayloadCodecConfig payloadCodecConfig) {
+        if (payloadCodecConfig != null) {
+            codec = payloadCodecConfig.getCodec();
+            compressionThreshold = payloadCodecConfig.getCompressionThreshold();
+            maximumDecodedSize = payloadCodecConfig.getMaximumDecodedSize();
+            executor = payloadCodecConfig.getRawExecutor();
+        }
+    }
+
+    abstract @NotNull B self();
+
+    public @NotNull B codec(final @Nullable Mqtt5PayloadCodec codec) {
+        this.codec = Checks.notNull(codec, "Payload codec");
+        return self();
+    }
+
+    public @NotNull B compressionThreshold(final int compressionThreshold) {
+        this.compressionThreshold =
+                (int) Checks.range(compressionThreshold, 0, Integer.MAX_VALUE, "Compression threshold");
+        return self();
+    }
+
+    public @NotNull B maximumDecodedSize(final int maximumDecodedSize) {
+        this.maximumDecodedSize = MqttChecks.packetSize(maximumDecodedSize, "Maximum decoded size");
+        return self();
+    }
+
+    public @NotNull B executor(final @Nullable Executor executor) {
+        this.executor = executor;
+        return self();
+    }
+
+    public @NotNull MqttPayloadCodecConfig build() {
+        return new MqttPayloadCodecConfig(codec, compressionThreshold, maximumDecodedSize, executor);
+    }
+
+    public static class Default extends MqttPayloadCodecConfigBuilder<Default>
+            implements Mqtt5PayloadCodecConfigBuilder {
+
+        public Default() {}
+
+        Default(final @Nullable MqttPayloadCodecConfig payloadCodecConfig) {
+            super(payloadCodecConfig);
+        }
+
+        @Override
+        @NotNull Default self() {
+            return this;
+        }
+    }
+
+    public static class Nested<P> extends MqttPayloadCodecConfigBuilder<Nested<P>>
+            implements Mqtt5PayloadCodecConfigBuilder.Nested<P> {
+
+        private final @NotNull Function<? super MqttPayloadCodecConfig, P> parentConsumer;
+
+        public Nested(
+                final @Nullable MqttPayloadCodecConfig payloadCodecConfig,
+                final @NotNull Function<? super MqttPayloadCodecConfig, P> parentConsumer) {
+
+            super(payloadCodecConfig);
+            this.parentConsumer = parentConsumer;
+        }
+
+        @Override
+        @NotNull Nested<P> self() {
+            return this;
+        }
+
+        @Override
+        public @NotNull P applyPayloadCodecConfig() {
+            return parentConsumer.apply(build());
+        }
+    }
+}
@@ -198,7 +198,7 @@ public class Mqtt5PublishDecoder implements MqttMessageDecoder {
             payload.position(0);
 
             if ((payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) && context.validatePayloadFormat() &&
-                    (Utf8Util.isWellFormed(ByteBufferUtil.getBytes(payload)) != 0)) {
+                    (Utf8Util.isWellFormed(payload) != 0)) {
                 throw new MqttDecoderException(Mqtt5DisconnectReasonCode.PAYLOAD_FORMAT_INVALID,
                         "payload is not valid UTF-8");
             }
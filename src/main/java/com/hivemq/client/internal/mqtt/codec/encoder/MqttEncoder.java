@@ -17,14 +17,19 @@
 package com.hivemq.client.internal.mqtt.codec.encoder;
 
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.MqttMessage;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufAllocator;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseCombiner;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 
@@ -52,6 +57,9 @@ public class MqttEncoder extends ChannelDuplexHandler {
 
     public void onConnected(final @NotNull MqttClientConnectionConfig connectionConfig) {
         context.setMaximumPacketSize(connectionConfig.getSendMaximumPacketSize());
+        final MqttClientTransportConfigImpl transportConfig = connectionConfig.getTransportConfig();
+        context.setFileRegionSupported(
+                (transportConfig.getRawSslConfig() == null) && (transportConfig.getRawWebSocketConfig() == null));
     }
 
     @Override
@@ -67,12 +75,38 @@ public class MqttEncoder extends ChannelDuplexHandler {
                 throw new UnsupportedOperationException();
             }
             final ByteBuf out = messageEncoder.castAndEncode(message, context);
-            ctx.write(out, promise);
+            final MqttFilePayload filePayload = getFilePayload(message);
+            if (filePayload == null) {
+                ctx.write(out, promise);
+            } else if (promise.isVoid()) {
+                ctx.write(out, promise);
+                ctx.write(filePayload.toFileRegion(), promise);
+            } else {
+                // the header and the file region are written separately, a failure of either fails the promise
+                final PromiseCombiner promiseCombiner = new PromiseCombiner(ctx.executor());
+                promiseCombiner.add(ctx.write(out));
+                promiseCombiner.add(ctx.write(filePayload.toFileRegion()));
+                promiseCombiner.finish(promise);
+            }
         } else {
             ctx.write(msg, promise);
         }
     }
 
+    /**
+     * Returns the file backed payload of the given message if the encoder only encoded the message without the payload.
+     *
+     * @param message the encoded message.
+     * @return the file backed payload that has to be written after the encoded message or null if the message has been
+     *         encoded completely.
+     */
+    private @Nullable MqttFilePayload getFilePayload(final @NotNull MqttMessage message) {
+        if (context.isFileRegionSupported() && (message instanceof MqttStatefulPublish)) {
+            return ((MqttStatefulPublish) message).stateless().getRawFilePayload();
+        }
+        return null;
+    }
+
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
         if (inRead) {
@@ -27,6 +27,7 @@ public class MqttEncoderContext {
 
     private final @NotNull ByteBufAllocator allocator;
     private int maximumPacketSize = MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT;
+    private boolean fileRegionSupported;
 
     MqttEncoderContext(final @NotNull ByteBufAllocator allocator) {
         this.allocator = allocator;
@@ -43,4 +44,15 @@ public class MqttEncoderContext {
     void setMaximumPacketSize(final int maximumPacketSize) {
         this.maximumPacketSize = maximumPacketSize;
     }
+
+    /**
+     * @return whether payloads backed by a file can be written as a file region directly to the socket.
+     */
+    public boolean isFileRegionSupported() {
+        return fileRegionSupported;
+    }
+
+    void setFileRegionSupported(final boolean fileRegionSupported) {
+        this.fileRegionSupported = fileRegionSupported;
+    }
 }
@@ -34,6 +34,17 @@ import java.nio.ByteBuffer;
  */
 public final class MqttMessageEncoderUtil {
 
+    /**
+     * Minimum size of a heap payload so that it is wrapped instead of copied into the encoded byte buffer.
+     * <p>
+     * The NIO and epoll transports copy byte buffers with heap components into a new direct byte buffer before they are
+     * written to the socket, so with them a wrapped heap payload is still copied once, only later. The
+     * PublishPayloadWrapBenchmark shows that wrapping is then twice as slow for 1 KiB payloads (the composite byte
+     * buffer and the copy by the transport) and on par with copying from 8 KiB on. Transports that write heap byte
+     * buffers as they are do not copy a wrapped payload at all.
+     */
+    public static final int WRAP_HEAP_PAYLOAD_THRESHOLD = 8 * 1024;
+
     /**
      * Calculates the encoded length of a MQTT message with the given remaining length.
      *
@@ -86,6 +97,19 @@ public final class MqttMessageEncoderUtil {
         }
     }
 
+    /**
+     * Checks whether the given payload should be wrapped instead of copied into the encoded byte buffer.
+     * <p>
+     * Direct payloads are always wrapped. Heap payloads are wrapped if they are at least {@link
+     * #WRAP_HEAP_PAYLOAD_THRESHOLD} bytes.
+     *
+     * @param payload the payload.
+     * @return whether the payload should be wrapped.
+     */
+    public static boolean wrapPayload(final @NotNull ByteBuffer payload) {
+        return payload.isDirect() || (payload.remaining() >= WRAP_HEAP_PAYLOAD_THRESHOLD);
+    }
+
     public static @NotNull MqttEncodeException maximumPacketSizeExceeded(
             final @NotNull MqttMessage message, final int encodedLength, final int maxPacketSize) {
 
@@ -30,6 +30,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.nio.ByteBuffer;
 
+import static com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil.encodedPacketLength;
+import static com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil.wrapPayload;
+
 /**
  * @author Silvio Giebl
  */
@@ -41,19 +44,26 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
     @Inject
     Mqtt3PublishEncoder() {}
 
-    @Override
-    int remainingLength(final @NotNull MqttStatefulPublish message) {
-        final MqttPublish stateless = message.stateless();
+    /**
+     * Calculates the encoded length of the Publish packet of the given publish, including the fixed header.
+     *
+     * @param publish the publish.
+     * @return the encoded length of the Publish packet.
+     */
+    public static int encodedLength(final @NotNull MqttPublish publish) {
+        return encodedPacketLength(statelessRemainingLength(publish));
+    }
 
+    private static int statelessRemainingLength(final @NotNull MqttPublish publish) {
         int remainingLength = 0;
 
-        remainingLength += stateless.getTopic().encodedLength();
+        remainingLength += publish.getTopic().encodedLength();
 
-        if (stateless.getQos() != MqttQos.AT_MOST_ONCE) {
+        if (publish.getQos() != MqttQos.AT_MOST_ONCE) {
             remainingLength += 2;
         }
 
-        final ByteBuffer payload = stateless.getRawPayload();
+        final ByteBuffer payload = publish.getRawPayload();
         if (payload != null) {
             remainingLength += payload.remaining();
         }
@@ -61,6 +71,11 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
         return remainingLength;
     }
 
+    @Override
+    int remainingLength(final @NotNull MqttStatefulPublish message) {
+        return statelessRemainingLength(message.stateless());
+    }
+
     @Override
     @NotNull ByteBuf encode(
             final @NotNull MqttStatefulPublish message,
@@ -68,12 +83,16 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
             final int encodedLength,
             final int remainingLength) {
 
-        final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        final MqttPublish stateless = message.stateless();
+        final ByteBuffer payload = stateless.getRawPayload();
+        if ((payload != null) && wrapPayload(payload)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
             encode(message, out, remainingLength);
+            if (context.isFileRegionSupported() && (stateless.getRawFilePayload() != null)) {
+                return out; // the payload is written as file region by the MqttEncoder
+            }
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
         final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
@@ -119,7 +138,7 @@ public class Mqtt3PublishEncoder extends Mqtt3MessageEncoder<MqttStatefulPublish
 
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && !payload.isDirect()) {
+        if ((payload != null) && !wrapPayload(payload)) {
             out.writeBytes(payload.duplicate());
         }
     }
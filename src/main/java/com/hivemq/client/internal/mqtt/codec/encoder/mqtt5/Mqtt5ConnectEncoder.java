@@ -51,12 +51,8 @@ public class Mqtt5ConnectEncoder extends MqttMessageEncoder<MqttStatefulConnect>
     private static final int VARIABLE_HEADER_FIXED_LENGTH =
             6 /* protocol name */ + 1 /* protocol version */ + 1 /* connect flags */ + 2 /* keep alive */;
 
-    private final @NotNull Mqtt5PublishEncoder publishEncoder;
-
     @Inject
-    Mqtt5ConnectEncoder(final @NotNull Mqtt5PublishEncoder publishEncoder) {
-        this.publishEncoder = publishEncoder;
-    }
+    Mqtt5ConnectEncoder() {}
 
     @Override
     protected @NotNull ByteBuf encode(
@@ -176,7 +172,7 @@ public class Mqtt5ConnectEncoder extends MqttMessageEncoder<MqttStatefulConnect>
             return -1;
         }
 
-        int willPropertyLength = publishEncoder.fixedPropertyLength(willPublish);
+        int willPropertyLength = Mqtt5PublishEncoder.fixedPropertyLength(willPublish);
         willPropertyLength += willPublish.getUserProperties().encodedLength();
         willPropertyLength +=
                 intPropertyEncodedLength(willPublish.getDelayInterval(), MqttWillPublish.DEFAULT_DELAY_INTERVAL);
@@ -310,7 +306,7 @@ public class Mqtt5ConnectEncoder extends MqttMessageEncoder<MqttStatefulConnect>
         if (willPublish != null) {
             MqttVariableByteInteger.encode(willPropertyLength, out);
 
-            publishEncoder.encodeFixedProperties(willPublish, out);
+            Mqtt5PublishEncoder.encodeFixedProperties(willPublish, out);
             willPublish.getUserProperties().encode(out);
             encodeIntProperty(MqttWillPublishProperty.WILL_DELAY_INTERVAL, willPublish.getDelayInterval(),
                     MqttWillPublish.DEFAULT_DELAY_INTERVAL, out);
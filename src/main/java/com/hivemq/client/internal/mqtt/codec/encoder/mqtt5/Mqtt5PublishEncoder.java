@@ -32,6 +32,9 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.nio.ByteBuffer;
 
+import static com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil.encodedLengthWithHeader;
+import static com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil.encodedPacketLength;
+import static com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil.wrapPayload;
 import static com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5MessageEncoderUtil.*;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttPublish.NO_MESSAGE_EXPIRY;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty.*;
@@ -48,6 +51,58 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
     @Inject
     Mqtt5PublishEncoder() {}
 
+    /**
+     * Pre-encodes the parts of the given publish that do not depend on the connection, so the event loop only has to
+     * encode the fixed header, the topic or topic alias and the packet identifier and copy the pre-encoded bytes.
+     * <p>
+     * The pre-encoded bytes consist of the properties except the topic alias and the payload if it is copied into the
+     * encoded byte buffer. They are not used if the user properties must be omitted because of the maximum packet
+     * size.
+     * <p>
+     * The publish is not modified, as it may be shared by the application.
+     *
+     * @param publish the publish to pre-encode.
+     * @return the pre-encoded bytes.
+     */
+    public static byte @NotNull [] preEncode(final @NotNull MqttPublish publish) {
+        final ByteBuffer payload = publish.getRawPayload();
+        final boolean copyPayload = (payload != null) && !wrapPayload(payload);
+        final int length = fixedPropertyLength(publish) + publish.getUserProperties().encodedLength() +
+                (copyPayload ? payload.remaining() : 0);
+        final byte[] preEncoded = new byte[length];
+        final ByteBuf out = Unpooled.wrappedBuffer(preEncoded).writerIndex(0);
+        encodeFixedProperties(publish, out);
+        publish.getUserProperties().encode(out);
+        if (copyPayload) {
+            out.writeBytes(payload.duplicate());
+        }
+        return preEncoded;
+    }
+
+    /**
+     * Calculates the encoded length of the Publish packet of the given publish, including the fixed header.
+     * <p>
+     * The length does not depend on the connection: it does not include a topic alias, so the Publish packet is a few
+     * bytes shorter if its topic is replaced by a topic alias, and it includes the user properties, even if they are
+     * omitted because of the maximum packet size.
+     *
+     * @param publish the publish.
+     * @return the encoded length of the Publish packet.
+     */
+    public static int encodedLength(final @NotNull MqttPublish publish) {
+        int remainingLength = publish.getTopic().encodedLength();
+        if (publish.getQos() != MqttQos.AT_MOST_ONCE) {
+            remainingLength += 2;
+        }
+        final ByteBuffer payload = publish.getRawPayload();
+        if (payload != null) {
+            remainingLength += payload.remaining();
+        }
+        remainingLength +=
+                encodedLengthWithHeader(fixedPropertyLength(publish) + publish.getUserProperties().encodedLength());
+        return encodedPacketLength(remainingLength);
+    }
+
     @Override
     int remainingLengthWithoutProperties(final @NotNull MqttStatefulPublish message) {
         final MqttPublish stateless = message.stateless();
@@ -89,7 +144,11 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         return propertyLength;
     }
 
-    final int fixedPropertyLength(final @NotNull MqttPublish publish) {
+    static int fixedPropertyLength(final @NotNull MqttPublish publish) {
+        return publish.fixedPropertyLength(Mqtt5PublishEncoder::calculateFixedPropertyLength);
+    }
+
+    private static int calculateFixedPropertyLength(final @NotNull MqttPublish publish) {
         int propertyLength = 0;
 
         propertyLength += intPropertyEncodedLength(publish.getRawMessageExpiryInterval(), NO_MESSAGE_EXPIRY);
@@ -110,12 +169,16 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int propertyLength,
             final int omittedProperties) {
 
-        final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && payload.isDirect()) {
+        final MqttPublish stateless = message.stateless();
+        final ByteBuffer payload = stateless.getRawPayload();
+        if ((payload != null) && wrapPayload(payload)) {
             final int encodedLengthWithoutPayload = encodedLength - payload.remaining();
             final ByteBuf out =
                     context.getAllocator().ioBuffer(encodedLengthWithoutPayload, encodedLengthWithoutPayload);
             encode(message, out, remainingLength, propertyLength, omittedProperties);
+            if (context.isFileRegionSupported() && (stateless.getRawFilePayload() != null)) {
+                return out; // the payload is written as file region by the MqttEncoder
+            }
             return Unpooled.wrappedUnmodifiableBuffer(out, Unpooled.wrappedBuffer(payload));
         }
         final ByteBuf out = context.getAllocator().ioBuffer(encodedLength, encodedLength);
@@ -132,6 +195,15 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int omittedProperties) {
 
         encodeFixedHeader(message, out, remainingLength);
+        final byte[] preEncoded = message.getPreEncoded();
+        if ((preEncoded != null) && (omittedProperties == 0) && message.getSubscriptionIdentifiers().isEmpty()) {
+            encodeTopicAndPacketIdentifier(message, out);
+            MqttVariableByteInteger.encode(propertyLength, out);
+            // properties may be in any order, so the topic alias is encoded before the pre-encoded properties
+            encodeShortProperty(TOPIC_ALIAS, message.getTopicAlias(), DEFAULT_NO_TOPIC_ALIAS, out);
+            out.writeBytes(preEncoded); // contains the payload if it is not wrapped
+            return;
+        }
         encodeVariableHeader(message, out, propertyLength, omittedProperties);
         encodePayload(message, out);
     }
@@ -161,6 +233,13 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
             final int propertyLength,
             final int omittedProperties) {
 
+        encodeTopicAndPacketIdentifier(message, out);
+        encodeProperties(message, out, propertyLength, omittedProperties);
+    }
+
+    private void encodeTopicAndPacketIdentifier(
+            final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
+
         final MqttPublish stateless = message.stateless();
 
         if ((message.getTopicAlias() == DEFAULT_NO_TOPIC_ALIAS) || message.isNewTopicAlias()) {
@@ -172,8 +251,6 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         if (stateless.getQos() != MqttQos.AT_MOST_ONCE) {
             out.writeShort(message.getPacketIdentifier());
         }
-
-        encodeProperties(message, out, propertyLength, omittedProperties);
     }
 
     private void encodeProperties(
@@ -195,9 +272,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
         }
     }
 
-    final void encodeFixedProperties(
-            final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
-
+    static void encodeFixedProperties(final @NotNull MqttPublish publish, final @NotNull ByteBuf out) {
         encodeIntProperty(MESSAGE_EXPIRY_INTERVAL, publish.getRawMessageExpiryInterval(), NO_MESSAGE_EXPIRY, out);
         encodeNullableProperty(PAYLOAD_FORMAT_INDICATOR, publish.getRawPayloadFormatIndicator(), out);
         encodeNullableProperty(CONTENT_TYPE, publish.getRawContentType(), out);
@@ -207,7 +282,7 @@ public class Mqtt5PublishEncoder extends Mqtt5MessageWithUserPropertiesEncoder<M
 
     private void encodePayload(final @NotNull MqttStatefulPublish message, final @NotNull ByteBuf out) {
         final ByteBuffer payload = message.stateless().getRawPayload();
-        if ((payload != null) && !payload.isDirect()) {
+        if ((payload != null) && !wrapPayload(payload)) {
             out.writeBytes(payload.duplicate());
         }
     }
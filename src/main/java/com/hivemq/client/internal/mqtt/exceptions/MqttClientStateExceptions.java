@@ -32,5 +32,9 @@ public final class MqttClientStateExceptions {
         return new MqttClientStateException("MQTT client is already connected or connecting.");
     }
 
+    public static @NotNull MqttClientStateException disconnecting() {
+        return new MqttClientStateException("MQTT client is disconnecting.");
+    }
+
     private MqttClientStateExceptions() {}
 }
@@ -37,7 +37,6 @@ import dagger.Lazy;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
-import io.netty.channel.socket.SocketChannel;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
@@ -92,12 +91,6 @@ public class MqttChannelInitializer extends ChannelInboundHandlerAdapter {
     @Override
     public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
         ctx.pipeline().remove(this);
-
-        ((SocketChannel) ctx.channel()).config()
-                .setKeepAlive(true)
-                .setTcpNoDelay(true)
-                .setConnectTimeoutMillis(clientConfig.getCurrentTransportConfig().getSocketConnectTimeoutMs());
-
         initProxy(ctx.channel());
     }
 
@@ -46,6 +46,7 @@ public class MqttSession {
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
     private boolean hasSession;
+    private boolean startedEarly;
     private @Nullable ScheduledFuture<?> expireFuture;
 
     @Inject
@@ -59,6 +60,46 @@ public class MqttSession {
         this.outgoingQosHandler = outgoingQosHandler;
     }
 
+    /**
+     * Starts the session before the ConnAck message is received (fast start) if the client does not have a session.
+     * Without a session the outcome of the ConnAck message does not change the client side session state, so the
+     * session handlers can already send messages with the given provisional connection config.
+     *
+     * @param connectionConfig the provisional connection config.
+     * @param pipeline         the pipeline of the connection.
+     * @param eventLoop        the event loop of the connection.
+     * @return whether the session was started early.
+     */
+    @CallByThread("Netty EventLoop")
+    public boolean startEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig,
+            final @NotNull ChannelPipeline pipeline,
+            final @NotNull EventLoop eventLoop) {
+
+        if (hasSession) {
+            return false;
+        }
+        hasSession = true;
+        startedEarly = true;
+
+        addHandlers(pipeline);
+        subscriptionHandler.onSessionStartEarly(connectionConfig, eventLoop);
+        incomingQosHandler.onSessionStartEarly(connectionConfig, eventLoop);
+        outgoingQosHandler.onSessionStartEarly(connectionConfig, eventLoop);
+        return true;
+    }
+
+    @CallByThread("Netty EventLoop")
+    public void abortEarlyStart() {
+        if (startedEarly) {
+            startedEarly = false;
+            hasSession = false;
+            outgoingQosHandler.onSessionStartAborted();
+            incomingQosHandler.onSessionStartAborted();
+            subscriptionHandler.onSessionStartAborted();
+        }
+    }
+
     @CallByThread("Netty EventLoop")
     public void startOrResume(
             final @NotNull MqttConnAck connAck,
@@ -66,6 +107,14 @@ public class MqttSession {
             final @NotNull ChannelPipeline pipeline,
             final @NotNull EventLoop eventLoop) {
 
+        if (startedEarly) {
+            startedEarly = false;
+            subscriptionHandler.onSessionStartConfirmed(connectionConfig, eventLoop);
+            incomingQosHandler.onSessionStartConfirmed(connectionConfig, eventLoop);
+            outgoingQosHandler.onSessionStartConfirmed(connectionConfig, eventLoop);
+            return;
+        }
+
         if (hasSession && !connAck.isSessionPresent()) {
             final String message = "Session expired as CONNACK did not contain the session present flag.";
             end(new MqttSessionExpiredException(message, new Mqtt5ConnAckException(connAck, message)));
@@ -77,14 +126,18 @@ public class MqttSession {
             expireFuture = null;
         }
 
-        pipeline.addAfter(MqttDecoder.NAME, MqttSubscriptionHandler.NAME, subscriptionHandler);
-        pipeline.addAfter(MqttDecoder.NAME, MqttIncomingQosHandler.NAME, incomingQosHandler);
-        pipeline.addAfter(MqttDecoder.NAME, MqttOutgoingQosHandler.NAME, outgoingQosHandler);
+        addHandlers(pipeline);
         subscriptionHandler.onSessionStartOrResume(connectionConfig, eventLoop);
         incomingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
         outgoingQosHandler.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
+    private void addHandlers(final @NotNull ChannelPipeline pipeline) {
+        pipeline.addAfter(MqttDecoder.NAME, MqttSubscriptionHandler.NAME, subscriptionHandler);
+        pipeline.addAfter(MqttDecoder.NAME, MqttIncomingQosHandler.NAME, incomingQosHandler);
+        pipeline.addAfter(MqttDecoder.NAME, MqttOutgoingQosHandler.NAME, outgoingQosHandler);
+    }
+
     @CallByThread("Netty EventLoop")
     public void expire(
             final @NotNull Throwable cause,
@@ -35,6 +35,37 @@ public abstract class MqttSessionAwareHandler extends MqttConnectionAwareHandler
         hasSession = true;
     }
 
+    /**
+     * Called instead of {@link #onSessionStartOrResume} if the session is started before the ConnAck message is
+     * received (fast start). The connection config is only provisional until {@link #onSessionStartConfirmed} is
+     * called.
+     *
+     * @param connectionConfig the provisional connection config.
+     * @param eventLoop        the event loop of the connection.
+     */
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        onSessionStartOrResume(connectionConfig, eventLoop);
+    }
+
+    /**
+     * Called if the ConnAck message confirms a session that was {@link #onSessionStartEarly started early}.
+     *
+     * @param connectionConfig the connection config negotiated with the ConnAck message.
+     * @param eventLoop        the event loop of the connection.
+     */
+    public void onSessionStartConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {}
+
+    /**
+     * Called if the connection is closed before a session that was {@link #onSessionStartEarly started early} is
+     * confirmed. The state must be reset as if the session was never started, but without failing any flows.
+     */
+    public void onSessionStartAborted() {
+        hasSession = false;
+    }
+
     public void onSessionEnd(final @NotNull Throwable cause) {
         hasSession = false;
     }
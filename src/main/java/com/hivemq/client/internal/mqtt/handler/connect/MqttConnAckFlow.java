@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.handler.connect;
 
+import com.hivemq.client.internal.mqtt.MqttConnectAdmissionImpl;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.reactivex.SingleObserver;
 import io.reactivex.disposables.Disposable;
@@ -30,16 +31,20 @@ public class MqttConnAckFlow {
     private final @Nullable SingleObserver<? super Mqtt5ConnAck> observer;
     private final @NotNull Disposable disposable;
     private final int attempts;
+    private final long delayNanos;
+    private @Nullable MqttConnectAdmissionImpl admission;
     private boolean done;
 
     MqttConnAckFlow(final @NotNull SingleObserver<? super Mqtt5ConnAck> observer) {
         this.observer = observer;
         disposable = new MqttConnAckDisposable();
         attempts = 0;
+        delayNanos = 0;
     }
 
     @SuppressWarnings("CopyConstructorMissesField")
-    MqttConnAckFlow(final @Nullable MqttConnAckFlow oldFlow) {
+    MqttConnAckFlow(final @Nullable MqttConnAckFlow oldFlow, final long delayNanos) {
+        this.delayNanos = delayNanos;
         if (oldFlow == null) {
             observer = null;
             disposable = new MqttConnAckDisposable();
@@ -56,10 +61,24 @@ public class MqttConnAckFlow {
             return false;
         }
         done = true;
+        releaseAdmission();
         return true;
     }
 
+    void setAdmission(final @NotNull MqttConnectAdmissionImpl admission) {
+        this.admission = admission;
+    }
+
+    void releaseAdmission() {
+        final MqttConnectAdmissionImpl admission = this.admission;
+        if (admission != null) {
+            this.admission = null;
+            admission.release();
+        }
+    }
+
     void onSuccess(final @NotNull Mqtt5ConnAck connAck) {
+        releaseAdmission();
         if (observer != null) {
             observer.onSuccess(connAck);
         }
@@ -79,6 +98,10 @@ public class MqttConnAckFlow {
         return attempts;
     }
 
+    long getDelayNanos() {
+        return delayNanos;
+    }
+
     private static class MqttConnAckDisposable implements Disposable {
 
         private volatile boolean disposed;
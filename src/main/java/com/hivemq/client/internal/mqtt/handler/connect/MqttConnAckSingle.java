@@ -16,11 +16,14 @@
 
 package com.hivemq.client.internal.mqtt.handler.connect;
 
+import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttConnectAdmissionImpl;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.ioc.ConnectionComponent;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientDisconnectedContextImpl;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientReconnector;
 import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
@@ -31,12 +34,15 @@ import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.Future;
 import io.reactivex.Single;
 import io.reactivex.SingleObserver;
 import io.reactivex.internal.disposables.EmptyDisposable;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static com.hivemq.client.mqtt.MqttClientState.*;
@@ -74,35 +80,92 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull MqttConnAckFlow flow,
             final @NotNull EventLoop eventLoop) {
 
+        final MqttConnectAdmissionImpl connectAdmission = clientConfig.getExecutorConfig().getRawConnectAdmission();
+        if (connectAdmission == null) {
+            admittedConnect(clientConfig, connect, flow, eventLoop);
+        } else {
+            connectAdmission.admit(eventLoop, () -> {
+                flow.setAdmission(connectAdmission);
+                admittedConnect(clientConfig, connect, flow, eventLoop);
+            });
+        }
+    }
+
+    private static void admittedConnect(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop) {
+
         if (flow.getDisposable().isDisposed()) {
-            clientConfig.releaseEventLoop();
-            clientConfig.getRawState().set(DISCONNECTED);
+            cancelConnect(clientConfig, flow);
         } else {
-            final Bootstrap bootstrap = clientConfig.getClientComponent()
+            final ConnectionComponent connectionComponent = clientConfig.getClientComponent()
                     .connectionComponentBuilder()
                     .connect(connect)
                     .connAckFlow(flow)
-                    .build()
-                    .bootstrap();
+                    .build();
 
             final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
+            final Future<List<InetSocketAddress>> serverAddresses =
+                    clientConfig.getServerAddressSelector().select(transportConfig, eventLoop);
+            serverAddresses.addListener(future -> {
+                // the connect may have been cancelled while the server addresses were resolved
+                if (flow.getDisposable().isDisposed()) {
+                    cancelConnect(clientConfig, flow);
+                } else {
+                    connectToServerAddresses(clientConfig, connect, flow, eventLoop, connectionComponent,
+                            transportConfig, serverAddresses.getNow());
+                }
+            });
+        }
+    }
 
-            bootstrap.group(eventLoop)
-                    .connect(transportConfig.getRemoteAddress(), transportConfig.getRawLocalAddress())
-                    .addListener(future -> {
-                        final Throwable cause = future.cause();
-                        if (cause != null) {
-                            final ConnectionFailedException e = new ConnectionFailedException(cause);
-                            if (eventLoop.inEventLoop()) {
-                                reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
-                            } else {
-                                eventLoop.execute(
-                                        () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
-                                                eventLoop));
-                            }
-                        }
-                    });
+    private static void cancelConnect(
+            final @NotNull MqttClientConfig clientConfig, final @NotNull MqttConnAckFlow flow) {
+
+        flow.releaseAdmission();
+        clientConfig.releaseEventLoop();
+        clientConfig.getRawState().set(DISCONNECTED);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private static void connectToServerAddresses(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull ConnectionComponent connectionComponent,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull List<InetSocketAddress> serverAddresses) {
+
+        if (transportConfig.isHappyEyeballs() && (serverAddresses.size() > 1) &&
+                (transportConfig.getRawProxyConfig() == null)) {
+            final Bootstrap bootstrap = connectionComponent.bootstrap().group(eventLoop);
+            new MqttConnectRace(clientConfig, connect, flow, eventLoop, bootstrap,
+                    connectionComponent.channelInitializer(), transportConfig, serverAddresses).start();
+            return;
         }
+
+        final InetSocketAddress serverAddress = serverAddresses.get(0);
+        clientConfig.setCurrentServerAddress(serverAddress);
+
+        connectionComponent.bootstrap()
+                .group(eventLoop)
+                .connect(transportConfig.getRemoteAddress(serverAddress), transportConfig.getRawLocalAddress())
+                .addListener(future -> {
+                    final Throwable cause = future.cause();
+                    if (cause != null) {
+                        final ConnectionFailedException e = new ConnectionFailedException(cause);
+                        if (eventLoop.inEventLoop()) {
+                            reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow, eventLoop);
+                        } else {
+                            eventLoop.execute(
+                                    () -> reconnect(clientConfig, MqttDisconnectSource.CLIENT, e, connect, flow,
+                                            eventLoop));
+                        }
+                    }
+                });
     }
 
     public static void reconnect(
@@ -114,7 +177,8 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull EventLoop eventLoop) {
 
         if (flow.setDone()) {
-            reconnect(clientConfig, source, cause, connect, flow.getAttempts() + 1, flow, eventLoop);
+            reconnect(clientConfig, source, cause, connect, flow.getAttempts() + 1, flow.getDelayNanos(), flow,
+                    eventLoop);
         }
     }
 
@@ -125,7 +189,7 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull MqttConnect connect,
             final @NotNull EventLoop eventLoop) {
 
-        reconnect(clientConfig, source, cause, connect, 0, null, eventLoop);
+        reconnect(clientConfig, source, cause, connect, 0, 0, null, eventLoop);
     }
 
     private static void reconnect(
@@ -134,11 +198,16 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
             final @NotNull Throwable cause,
             final @NotNull MqttConnect connect,
             final int attempts,
+            final long previousDelayNanos,
             final @Nullable MqttConnAckFlow flow,
             final @NotNull EventLoop eventLoop) {
 
-        final MqttClientReconnector reconnector =
-                new MqttClientReconnector(eventLoop, attempts, connect, clientConfig.getCurrentTransportConfig());
+        if (source != MqttDisconnectSource.USER) {
+            clientConfig.getServerAddressSelector().onFailure(clientConfig.getCurrentServerAddress());
+        }
+
+        final MqttClientReconnector reconnector = new MqttClientReconnector(eventLoop, attempts, previousDelayNanos,
+                connect, clientConfig.getCurrentTransportConfig());
         final MqttClientDisconnectedContext context =
                 MqttClientDisconnectedContextImpl.of(clientConfig, source, cause, reconnector);
 
@@ -152,13 +221,15 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
 
         if (reconnector.isReconnect()) {
             clientConfig.getRawState().set(DISCONNECTED_RECONNECT);
+            final long delayNanos = reconnector.getDelay(TimeUnit.NANOSECONDS);
             eventLoop.schedule(() -> {
                 reconnector.getFuture().whenComplete((ignored, throwable) -> {
                     if (reconnector.isReconnect()) {
                         if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, CONNECTING_RECONNECT)) {
 
                             clientConfig.setCurrentTransportConfig(reconnector.getTransportConfig());
-                            connect(clientConfig, reconnector.getConnect(), new MqttConnAckFlow(flow), eventLoop);
+                            connect(clientConfig, reconnector.getConnect(), new MqttConnAckFlow(flow, delayNanos),
+                                    eventLoop);
                         }
 
                     } else if (clientConfig.getRawState().compareAndSet(DISCONNECTED_RECONNECT, DISCONNECTED)) {
@@ -172,7 +243,7 @@ public class MqttConnAckSingle extends Single<Mqtt5ConnAck> {
                         }
                     }
                 });
-            }, reconnector.getDelay(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+            }, delayNanos, TimeUnit.NANOSECONDS);
             clientConfig.setResubscribeIfSessionExpired(reconnector.isResubscribeIfSessionExpired());
             clientConfig.setRepublishIfSessionExpired(reconnector.isRepublishIfSessionExpired());
             reconnector.afterOnDisconnected();
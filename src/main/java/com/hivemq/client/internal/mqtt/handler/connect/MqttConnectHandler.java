@@ -27,6 +27,7 @@ import com.hivemq.client.internal.mqtt.handler.MqttSession;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.ping.MqttPingHandler;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasStrategies;
 import com.hivemq.client.internal.mqtt.handler.util.MqttTimeoutInboundHandler;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.lifecycle.MqttClientConnectedContextImpl;
@@ -42,6 +43,7 @@ import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedContext;
 import com.hivemq.client.mqtt.lifecycle.MqttClientConnectedListener;
 import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5ConnAckException;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAckRestrictions;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
@@ -65,6 +67,20 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
 
     public static final @NotNull String NAME = "connect";
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttConnectHandler.class);
+    /**
+     * Restrictions of the server assumed before the CONNACK is received. They are conservative as a server may restrict
+     * more than the defaults of the MQTT specification: only one publish is in flight, retained publishes and wildcard
+     * or shared subscriptions are held back, and neither topic aliases nor subscription identifiers are used.
+     * <p>
+     * The maximum packet size and the maximum QoS are not guessed and may be violated until the CONNACK is received.
+     * The session handlers then fail the publishes that violated them when the session is confirmed, but the server
+     * disconnects the client because of them, which is why fast start is opt-in.
+     */
+    private static final @NotNull MqttConnAckRestrictions FAST_START_RESTRICTIONS =
+            new MqttConnAckRestrictions(1, Mqtt5ConnAckRestrictions.DEFAULT_MAXIMUM_PACKET_SIZE_NO_LIMIT,
+                    Mqtt5ConnAckRestrictions.DEFAULT_TOPIC_ALIAS_MAXIMUM, Mqtt5ConnAckRestrictions.DEFAULT_MAXIMUM_QOS,
+                    false, Mqtt5ConnAckRestrictions.DEFAULT_WILDCARD_SUBSCRIPTION_AVAILABLE,
+                    Mqtt5ConnAckRestrictions.DEFAULT_SHARED_SUBSCRIPTION_AVAILABLE, false);
 
     private final @NotNull MqttConnect connect;
     private final @NotNull MqttConnAckFlow connAckFlow;
@@ -129,6 +145,29 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
             scheduleTimeout(ctx.channel());
         }
         ctx.pipeline().addAfter(MqttEncoder.NAME, MqttDecoder.NAME, decoder);
+
+        // with enhanced auth only AUTH or DISCONNECT may be sent before the CONNACK [MQTT-3.1.2-30]
+        if (clientConfig.getCurrentTransportConfig().isFastStart() && (connect.getRawEnhancedAuthMechanism() == null)) {
+            startSessionEarly(ctx.channel());
+        }
+    }
+
+    /**
+     * Starts the session right after the CONNECT was written if the client does not have a session (fast start), so
+     * resubscribes, queued (un)subscribes and queued publishes are sent without waiting for the CONNACK. Not used with
+     * enhanced auth.
+     * <p>
+     * The server must process the messages after the CONNECT in order, so they either apply to the session the CONNACK
+     * confirms or are discarded when the connection is closed.
+     *
+     * @param channel the channel.
+     */
+    private void startSessionEarly(final @NotNull Channel channel) {
+        final MqttClientConnectionConfig connectionConfig = createConnectionConfig(connect.getKeepAlive(),
+                connect.getSessionExpiryInterval(), FAST_START_RESTRICTIONS, channel);
+        if (session.startEarly(connectionConfig, channel.pipeline(), channel.eventLoop())) {
+            ((MqttEncoder) channel.pipeline().get(MqttEncoder.NAME)).onConnected(connectionConfig);
+        }
     }
 
     @Override
@@ -170,10 +209,12 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
 
             final int keepAlive = connectionConfig.getKeepAlive();
             if (keepAlive > 0) {
-                final MqttPingHandler pingHandler = new MqttPingHandler(keepAlive, connectFlushTime, System.nanoTime());
+                final MqttPingHandler pingHandler =
+                        new MqttPingHandler(connectionConfig, connectFlushTime, System.nanoTime());
                 channel.pipeline().addAfter(MqttDecoder.NAME, MqttPingHandler.NAME, pingHandler);
             }
 
+            clientConfig.getServerAddressSelector().onSuccess(clientConfig.getCurrentServerAddress());
             clientConfig.getRawState().set(MqttClientState.CONNECTED);
 
             final ImmutableList<MqttClientConnectedListener> connectedListeners = clientConfig.getConnectedListeners();
@@ -257,11 +298,22 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
             sessionExpiryInterval = connect.getSessionExpiryInterval();
         }
 
+        final MqttClientConnectionConfig connectionConfig =
+                createConnectionConfig(keepAlive, sessionExpiryInterval, connAck.getRestrictions(), channel);
+        clientConfig.setConnectionConfig(connectionConfig);
+        return connectionConfig;
+    }
+
+    private @NotNull MqttClientConnectionConfig createConnectionConfig(
+            final int keepAlive,
+            final long sessionExpiryInterval,
+            final @NotNull MqttConnAckRestrictions connAckRestrictions,
+            final @NotNull Channel channel) {
+
         final MqttConnectRestrictions restrictions = connect.getRestrictions();
-        final MqttConnAckRestrictions connAckRestrictions = connAck.getRestrictions();
 
         // @formatter:off
-        final MqttClientConnectionConfig connectionConfig = new MqttClientConnectionConfig(
+        return new MqttClientConnectionConfig(
                 clientConfig.getCurrentTransportConfig(),
                 keepAlive,
                 connect.isCleanStart(),
@@ -277,7 +329,9 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 restrictions.isRequestResponseInformation(),
                 Math.min(restrictions.getSendMaximum(), connAckRestrictions.getReceiveMaximum()),
                 Math.min(restrictions.getSendMaximumPacketSize(), connAckRestrictions.getMaximumPacketSize()),
-                Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum()),
+                MqttTopicAliasStrategies.createMapping(
+                        clientConfig.getAdvancedConfig().getTopicAliasStrategy(),
+                        Math.min(restrictions.getSendTopicAliasMaximum(), connAckRestrictions.getTopicAliasMaximum())),
                 connAckRestrictions.getMaximumQos(),
                 connAckRestrictions.isRetainAvailable(),
                 connAckRestrictions.isWildcardSubscriptionAvailable(),
@@ -285,9 +339,6 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
                 connAckRestrictions.areSubscriptionIdentifiersAvailable(),
                 channel);
         // @formatter:on
-
-        clientConfig.setConnectionConfig(connectionConfig);
-        return connectionConfig;
     }
 
     @Override
@@ -296,6 +347,7 @@ public class MqttConnectHandler extends MqttTimeoutInboundHandler {
 
         super.onDisconnectEvent(ctx, disconnectEvent);
 
+        session.abortEarlyStart();
         MqttConnAckSingle.reconnect(clientConfig, disconnectEvent.getSource(), disconnectEvent.getCause(), connect,
                 connAckFlow, ctx.channel().eventLoop());
     }
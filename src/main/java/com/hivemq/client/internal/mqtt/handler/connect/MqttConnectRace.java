@@ -0,0 +1,156 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.handler.MqttChannelInitializer;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.mqtt.exceptions.ConnectionFailedException;
+import com.hivemq.client.mqtt.lifecycle.MqttDisconnectSource;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.*;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Races the socket connects to the selected server addresses ("happy eyeballs", RFC 8305). The socket connect to the
+ * first server address is started immediately, the next one is started if the previous one failed or did not succeed
+ * within {@link #STAGGER_DELAY_MS}. The MQTT connection is only initialized on the channel that connects first, the
+ * other channels are closed and pending connects are not started anymore, so only one CONNECT is ever sent.
+ * <p>
+ * The channels are created from the bootstrap of the connection, so they have the same channel options, but with a
+ * placeholder handler. The channel initializer of the connection is only added to the channel that connects first.
+ *
+ * @author Silvio Giebl
+ */
+class MqttConnectRace {
+
+    static final long STAGGER_DELAY_MS = 250;
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final @NotNull MqttConnect connect;
+    private final @NotNull MqttConnAckFlow flow;
+    private final @NotNull EventLoop eventLoop;
+    private final @NotNull Bootstrap bootstrap;
+    private final @NotNull MqttChannelInitializer channelInitializer;
+    private final @NotNull MqttClientTransportConfigImpl transportConfig;
+    private final @NotNull List<InetSocketAddress> serverAddresses;
+    private final @Nullable Channel @NotNull [] channels;
+    private final @Nullable ChannelHandler @NotNull [] placeholders;
+    private @Nullable ScheduledFuture<?> staggerFuture;
+    private int started;
+    private int failed;
+    private boolean done;
+
+    MqttConnectRace(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttConnect connect,
+            final @NotNull MqttConnAckFlow flow,
+            final @NotNull EventLoop eventLoop,
+            final @NotNull Bootstrap bootstrap,
+            final @NotNull MqttChannelInitializer channelInitializer,
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull List<InetSocketAddress> serverAddresses) {
+
+        this.clientConfig = clientConfig;
+        this.connect = connect;
+        this.flow = flow;
+        this.eventLoop = eventLoop;
+        this.bootstrap = bootstrap;
+        this.channelInitializer = channelInitializer;
+        this.transportConfig = transportConfig;
+        this.serverAddresses = serverAddresses;
+        channels = new Channel[serverAddresses.size()];
+        placeholders = new ChannelHandler[serverAddresses.size()];
+    }
+
+    void start() {
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(this::start);
+            return;
+        }
+        startNext();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void startNext() {
+        cancelStagger();
+        if (done || (started == serverAddresses.size())) {
+            return;
+        }
+        final int index = started++;
+        if (started < serverAddresses.size()) {
+            // scheduled before connecting, as a connect that fails immediately already starts the next connect
+            staggerFuture = eventLoop.schedule(this::startNext, STAGGER_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+        final ChannelHandler placeholder = new ChannelInboundHandlerAdapter();
+        placeholders[index] = placeholder;
+        final ChannelFuture future = bootstrap.clone()
+                .handler(placeholder)
+                .connect(transportConfig.getRemoteAddress(serverAddresses.get(index)),
+                        transportConfig.getRawLocalAddress());
+        channels[index] = future.channel();
+        future.addListener(f -> onConnect(index, f));
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onConnect(final int index, final @NotNull Future<?> future) {
+        final Channel channel = channels[index];
+        assert channel != null : "channel is set before the listener is added";
+        if (future.isSuccess()) {
+            if (done) {
+                channel.close();
+                return;
+            }
+            done = true;
+            cancelStagger();
+            for (int i = 0; i < started; i++) {
+                final Channel other = channels[i];
+                if ((i != index) && (other != null)) {
+                    other.close();
+                }
+            }
+            clientConfig.setCurrentServerAddress(serverAddresses.get(index));
+            channel.pipeline().replace(placeholders[index], null, channelInitializer);
+        } else if (!done) {
+            if (++failed < serverAddresses.size()) {
+                clientConfig.getServerAddressSelector().onFailure(serverAddresses.get(index));
+                startNext(); // do not wait for the stagger delay if a connect already failed
+                return;
+            }
+            done = true;
+            clientConfig.setCurrentServerAddress(serverAddresses.get(index));
+            MqttConnAckSingle.reconnect(clientConfig, MqttDisconnectSource.CLIENT,
+                    new ConnectionFailedException(future.cause()), connect, flow, eventLoop);
+        }
+    }
+
+    private void cancelStagger() {
+        if (staggerFuture != null) {
+            staggerFuture.cancel(false);
+            staggerFuture = null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import io.netty.channel.EventLoop;
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.Promise;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Orders the server addresses of a transport configuration for every connection attempt of a client according to the
+ * configured {@link com.hivemq.client.mqtt.MqttServerAddressSelection server address selection}.
+ *
+ * @author Silvio Giebl
+ */
+@ThreadSafe
+public class MqttServerAddressSelector {
+
+    private @Nullable MqttClientTransportConfigImpl transportConfig;
+    private int nextIndex;
+    private final @NotNull HashMap<InetSocketAddress, Integer> failures = new HashMap<>();
+
+    /**
+     * Selects the order of the server addresses for a connection attempt. If all addresses of the server addresses
+     * should be tried, their host names are resolved asynchronously with the shared address resolver.
+     *
+     * @param transportConfig the transport configuration of the connection attempt.
+     * @param eventLoop       the event loop of the connection attempt.
+     * @return the future that completes with the ordered server addresses on the event loop.
+     */
+    public @NotNull Future<List<InetSocketAddress>> select(
+            final @NotNull MqttClientTransportConfigImpl transportConfig, final @NotNull EventLoop eventLoop) {
+
+        final ImmutableList<InetSocketAddress> failoverServerAddresses = transportConfig.getFailoverServerAddresses();
+        final int count = 1 + failoverServerAddresses.size();
+        if (!transportConfig.isResolveAllServerAddresses()) {
+            final ArrayList<InetSocketAddress> serverAddresses = new ArrayList<>(count);
+            serverAddresses.add(transportConfig.getServerAddress());
+            serverAddresses.addAll(failoverServerAddresses);
+            return eventLoop.newSucceededFuture(order(transportConfig, serverAddresses));
+        }
+
+        final AddressResolver<InetSocketAddress> resolver =
+                NettyEventLoopProvider.INSTANCE.getAddressResolverGroup().getResolver(eventLoop);
+        final Promise<List<InetSocketAddress>> promise = eventLoop.newPromise();
+        final AtomicReferenceArray<List<InetSocketAddress>> resolved = new AtomicReferenceArray<>(count);
+        final AtomicInteger pending = new AtomicInteger(count);
+        for (int i = 0; i < count; i++) {
+            final int index = i;
+            final InetSocketAddress serverAddress =
+                    (i == 0) ? transportConfig.getServerAddress() : failoverServerAddresses.get(i - 1);
+            if (!serverAddress.isUnresolved()) {
+                resolved.set(index, Collections.singletonList(serverAddress));
+                if (pending.decrementAndGet() == 0) {
+                    promise.setSuccess(order(transportConfig, resolved));
+                }
+                continue;
+            }
+            resolver.resolveAll(serverAddress).addListener((Future<List<InetSocketAddress>> future) -> {
+                if (future.isSuccess()) {
+                    resolved.set(index, withHostName(serverAddress, future.getNow()));
+                } else {
+                    // the connect resolves the unresolved address again and reports the failure
+                    resolved.set(index, Collections.singletonList(serverAddress));
+                }
+                if (pending.decrementAndGet() == 0) {
+                    promise.setSuccess(order(transportConfig, resolved));
+                }
+            });
+        }
+        return promise;
+    }
+
+    public synchronized void onSuccess(final @NotNull InetSocketAddress serverAddress) {
+        failures.remove(serverAddress);
+    }
+
+    public synchronized void onFailure(final @NotNull InetSocketAddress serverAddress) {
+        failures.merge(serverAddress, 1, Integer::sum);
+    }
+
+    private @NotNull List<InetSocketAddress> order(
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull AtomicReferenceArray<List<InetSocketAddress>> resolved) {
+
+        final ArrayList<InetSocketAddress> serverAddresses = new ArrayList<>(resolved.length());
+        for (int i = 0; i < resolved.length(); i++) {
+            serverAddresses.addAll(resolved.get(i));
+        }
+        return order(transportConfig, serverAddresses);
+    }
+
+    private synchronized @NotNull List<InetSocketAddress> order(
+            final @NotNull MqttClientTransportConfigImpl transportConfig,
+            final @NotNull ArrayList<InetSocketAddress> serverAddresses) {
+
+        if (!transportConfig.equals(this.transportConfig)) {
+            this.transportConfig = transportConfig;
+            nextIndex = 0;
+            failures.clear();
+        }
+        switch (transportConfig.getServerAddressSelection()) {
+            case ROUND_ROBIN:
+                final int index = nextIndex % serverAddresses.size();
+                nextIndex = index + 1;
+                Collections.rotate(serverAddresses, -index);
+                break;
+            case HEALTH:
+                // the sort is stable, so ties keep the configured order
+                serverAddresses.sort(Comparator.comparingInt(address -> failures.getOrDefault(address, 0)));
+                break;
+        }
+        return serverAddresses;
+    }
+
+    private static @NotNull List<InetSocketAddress> withHostName(
+            final @NotNull InetSocketAddress serverAddress, final @NotNull List<InetSocketAddress> resolvedAddresses) {
+
+        final String host = serverAddress.getHostString();
+        final ArrayList<InetSocketAddress> serverAddresses = new ArrayList<>(resolvedAddresses.size());
+        for (final InetSocketAddress resolvedAddress : resolvedAddresses) {
+            try {
+                // keep the host name as it is required for TLS SNI, hostname verification and WebSocket
+                serverAddresses.add(new InetSocketAddress(
+                        InetAddress.getByAddress(host, resolvedAddress.getAddress().getAddress()),
+                        serverAddress.getPort()));
+            } catch (final UnknownHostException e) {
+                // only thrown for an illegal address length which a resolved address never has
+                throw new IllegalStateException(e);
+            }
+        }
+        return serverAddresses;
+    }
+}
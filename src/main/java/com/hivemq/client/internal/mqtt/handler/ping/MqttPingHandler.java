@@ -16,6 +16,8 @@
 
 package com.hivemq.client.internal.mqtt.handler.ping;
 
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttConnectionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -23,10 +25,10 @@ import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
 import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
 import com.hivemq.client.internal.netty.DefaultChannelOutboundHandler;
+import com.hivemq.client.internal.netty.NettyTimerWheel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.util.concurrent.ScheduledFuture;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -36,8 +38,11 @@ import java.util.concurrent.TimeUnit;
  * MQTT Keep Alive Handling.
  * <ul>
  * <li>Sends a PINGREQ message when no write has been performed for the Keep Alive interval.</li>
- * <li>Disconnects or closes the channel if the PINGRESP message is not received in the timeout.</li>
+ * <li>Disconnects or closes the channel if the PINGRESP message (or any message if the PINGRESP message is not
+ * required) is not received in the ping timeout.</li>
+ * <li>Records the round trip time between the PINGREQ and the PINGRESP message in the connection config.</li>
  * </ul>
+ * The timeouts are scheduled on the {@link NettyTimerWheel} that is shared by all clients of the event loop.
  *
  * @author Silvio Giebl
  */
@@ -46,18 +51,47 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
         implements DefaultChannelOutboundHandler, Runnable, ChannelFutureListener {
 
     public static final @NotNull String NAME = "ping";
-    private static final boolean PINGRESP_REQUIRED = false; // TODO configurable
 
+    private final @NotNull MqttClientConnectionConfig connectionConfig;
     private final long keepAliveNanos;
+    private final long pingTimeoutNanos;
+    private final boolean pingRespRequired;
     private long lastFlushTimeNanos;
     private long lastReadTimeNanos;
+    private long pingReqTimeNanos;
     private boolean pingReqWritten;
     private boolean pingReqFlushed;
     private boolean messageRead;
-    private @Nullable ScheduledFuture<?> timeoutFuture;
+    private boolean pingRespRead;
+    private @Nullable NettyTimerWheel timerWheel;
+    private @Nullable NettyTimerWheel.Timeout timeout;
 
-    public MqttPingHandler(final int keepAlive, final long lastFlushTimeNanos, final long lastReadTimeNanos) {
-        keepAliveNanos = TimeUnit.SECONDS.toNanos(keepAlive) - TimeUnit.MILLISECONDS.toNanos(100);
+    public MqttPingHandler(
+            final @NotNull MqttClientConnectionConfig connectionConfig,
+            final long lastFlushTimeNanos,
+            final long lastReadTimeNanos) {
+
+        this(connectionConfig, lastFlushTimeNanos, lastReadTimeNanos, null);
+    }
+
+    /**
+     * @param timerWheel the timer wheel which schedules the timeouts and provides the time, or null to use the timer
+     *                   wheel of the event loop.
+     */
+    MqttPingHandler(
+            final @NotNull MqttClientConnectionConfig connectionConfig,
+            final long lastFlushTimeNanos,
+            final long lastReadTimeNanos,
+            final @Nullable NettyTimerWheel timerWheel) {
+
+        this.timerWheel = timerWheel;
+        this.connectionConfig = connectionConfig;
+        keepAliveNanos =
+                TimeUnit.SECONDS.toNanos(connectionConfig.getKeepAlive()) - TimeUnit.MILLISECONDS.toNanos(100);
+        final MqttClientTransportConfigImpl transportConfig = connectionConfig.getTransportConfig();
+        final int pingTimeoutMs = transportConfig.getPingTimeoutMs();
+        pingTimeoutNanos = (pingTimeoutMs == 0) ? keepAliveNanos : TimeUnit.MILLISECONDS.toNanos(pingTimeoutMs);
+        pingRespRequired = transportConfig.isPingRespRequired();
         this.lastFlushTimeNanos = lastFlushTimeNanos;
         this.lastReadTimeNanos = lastReadTimeNanos;
     }
@@ -65,37 +99,47 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     @Override
     public void handlerAdded(final @NotNull ChannelHandlerContext ctx) {
         super.handlerAdded(ctx);
-        schedule(ctx, nextDelay(System.nanoTime()));
+        NettyTimerWheel timerWheel = this.timerWheel;
+        if (timerWheel == null) {
+            timerWheel = NettyTimerWheel.of(ctx.channel().eventLoop());
+            this.timerWheel = timerWheel;
+        }
+        timeout = timerWheel.newTimeout(this);
+        timeout.schedule(nextDelay(timerWheel.nanoTime()));
+    }
+
+    private long nanoTime() {
+        assert timerWheel != null;
+        return timerWheel.nanoTime();
     }
 
     @Override
     public void flush(final @NotNull ChannelHandlerContext ctx) {
-        lastFlushTimeNanos = System.nanoTime();
+        lastFlushTimeNanos = nanoTime();
         ctx.flush();
     }
 
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
-        lastReadTimeNanos = System.nanoTime();
+        lastReadTimeNanos = nanoTime();
+        messageRead = true;
         if (msg instanceof MqttPingResp) {
-            messageRead = true;
+            if (pingReqWritten && !pingRespRead) {
+                connectionConfig.setPingRoundTripTimeNanos(lastReadTimeNanos - pingReqTimeNanos);
+            }
+            pingRespRead = true;
         } else {
-            messageRead = !PINGRESP_REQUIRED;
             ctx.fireChannelRead(msg);
         }
     }
 
-    private void schedule(final @NotNull ChannelHandlerContext ctx, final long delayNanos) {
-        timeoutFuture = ctx.executor().schedule(this, delayNanos, TimeUnit.NANOSECONDS);
-    }
-
     private long nextDelay(final long timeNanos) {
         return keepAliveNanos - (timeNanos - Math.min(lastReadTimeNanos, lastFlushTimeNanos));
     }
 
     @Override
     public void run() {
-        if (ctx == null) {
+        if ((ctx == null) || (timeout == null)) {
             return;
         }
         if (pingReqWritten) {
@@ -103,21 +147,23 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
                 MqttDisconnectUtil.close(ctx.channel(), "Timeout while writing PINGREQ");
                 return;
             }
-            if (!messageRead) {
+            if (!(pingRespRequired ? pingRespRead : messageRead)) {
                 MqttDisconnectUtil.close(ctx.channel(), "Timeout while waiting for PINGRESP");
                 return;
             }
         }
         pingReqFlushed = false;
         messageRead = false;
-        final long timeNanos = System.nanoTime();
+        pingRespRead = false;
+        final long timeNanos = nanoTime();
         final long nextDelayNanos = nextDelay(timeNanos);
         if (nextDelayNanos > 1_000) {
             pingReqWritten = false;
-            schedule(ctx, nextDelayNanos);
+            timeout.schedule(nextDelayNanos);
         } else {
             pingReqWritten = true;
-            schedule(ctx, keepAliveNanos);
+            pingReqTimeNanos = timeNanos;
+            timeout.schedule(pingTimeoutNanos);
             lastFlushTimeNanos = timeNanos;
             ctx.writeAndFlush(MqttPingReq.INSTANCE).addListener(this);
         }
@@ -134,9 +180,9 @@ public class MqttPingHandler extends MqttConnectionAwareHandler
     protected void onDisconnectEvent(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
 
-        if (timeoutFuture != null) {
-            timeoutFuture.cancel(false);
-            timeoutFuture = null;
+        if (timeout != null) {
+            timeout.cancel();
+            timeout = null;
         }
     }
 }
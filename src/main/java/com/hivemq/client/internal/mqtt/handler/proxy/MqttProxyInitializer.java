@@ -37,8 +37,7 @@ public final class MqttProxyInitializer {
             final @NotNull BiConsumer<Channel, Throwable> onError) {
 
         final MqttProxyAdapterHandler proxyAdapterHandler =
-                new MqttProxyAdapterHandler(proxyConfig, clientConfig.getCurrentTransportConfig().getServerAddress(),
-                        onSuccess, onError);
+                new MqttProxyAdapterHandler(proxyConfig, clientConfig.getCurrentServerAddress(), onSuccess, onError);
 
         channel.pipeline().addLast(MqttProxyAdapterHandler.NAME, proxyAdapterHandler);
     }
@@ -19,6 +19,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.incoming;
 import com.hivemq.client.internal.annotations.CallByThread;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.handler.util.FlowWithEventLoop;
+import com.hivemq.client.internal.util.collections.ChunkedArrayQueue;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.reactivex.Emitter;
 import io.reactivex.internal.util.BackpressureHelper;
@@ -52,6 +53,8 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     private boolean done;
     private @Nullable Throwable error;
 
+    final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> queue = new ChunkedArrayQueue<>(32);
+    int droppedCount;
     private int referenced;
     private int missingAcknowledgements;
     private long blockedIndex;
@@ -88,7 +91,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onComplete();
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -107,7 +110,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
         if (setDone()) {
             subscriber.onError(error);
         } else {
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -144,7 +147,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @Override
     public void run() { // only executed if was blocking
         if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
@@ -186,7 +189,7 @@ abstract class MqttIncomingPublishFlow extends FlowWithEventLoop
     @CallByThread("Netty EventLoop")
     void runCancel() { // always executed if cancelled
         if (referenced > 0) { // is blocking
-            incomingPublishService.drain();
+            incomingPublishService.drain(this);
         }
     }
 
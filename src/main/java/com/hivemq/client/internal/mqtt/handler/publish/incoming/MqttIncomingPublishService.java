@@ -40,16 +40,14 @@ class MqttIncomingPublishService {
     private final @NotNull MqttIncomingQosHandler incomingQosHandler;
     final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
 
+    // global queues only track the order of acknowledgements and the QoS 0 buffer,
+    // publishes are delivered from the queues of the individual flows
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos0Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos0It = qos0Queue.iterator();
     private final @NotNull ChunkedArrayQueue<MqttStatefulPublishWithFlows> qos1Or2Queue = new ChunkedArrayQueue<>(32);
-    private final ChunkedArrayQueue<MqttStatefulPublishWithFlows>.@NotNull Iterator qos1Or2It = qos1Or2Queue.iterator();
 
     private long nextQoS1Or2PublishId = 1;
 
-    private int referencedFlowCount;
     private int runIndex;
-    private int blockingFlowCount;
 
     MqttIncomingPublishService(
             final @NotNull MqttIncomingQosHandler incomingQosHandler,
@@ -64,14 +62,9 @@ class MqttIncomingPublishService {
         if (qos0Queue.size() >= receiveMaximum) { // TODO receiveMaximum
             LOGGER.warn("QoS 0 publish message dropped.");
             if (QOS_0_DROP_OLDEST) {
-                qos0It.reset();
-                final MqttStatefulPublishWithFlows flows = qos0It.next();
-                qos0It.remove();
-                for (Handle<MqttIncomingPublishFlow> h = flows.getFirst(); h != null; h = h.getNext()) {
-                    if (h.getElement().dereference() == 0) {
-                        referencedFlowCount--;
-                    }
-                }
+                final MqttStatefulPublishWithFlows oldest = qos0Queue.poll();
+                assert oldest != null : "qos0Queue.size() >= receiveMaximum -> qos0Queue is not empty";
+                drop(oldest);
             } else {
                 return;
             }
@@ -103,79 +96,133 @@ class MqttIncomingPublishService {
         if (publishWithFlows.isEmpty()) {
             LOGGER.warn("No publish flow registered for {}.", publishWithFlows.publish);
         }
-        drain();
-        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
-            if (h.getElement().reference() == 1) {
-                referencedFlowCount++;
+        runIndex++;
+        Handle<MqttIncomingPublishFlow> next;
+        for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = next) {
+            next = h.getNext();
+            final MqttIncomingPublishFlow flow = h.getElement();
+
+            if (flow.isCancelled()) {
+                publishWithFlows.remove(h);
+            } else {
+                flow.reference();
+                // publishes already queued for the flow have to be delivered first
+                if (flow.queue.isEmpty() && (flow.requested(runIndex) > 0)) {
+                    emit(flow, publishWithFlows, h);
+                } else {
+                    flow.queue.offer(publishWithFlows);
+                }
             }
         }
-        emit(publishWithFlows);
     }
 
+    /**
+     * Delivers the publishes queued for the given flow as far as the flow has demand. Only the queue of the given flow
+     * is visited, so the costs do not depend on publishes queued for other (blocking) flows.
+     *
+     * @param flow the flow to deliver the queued publishes to.
+     */
     @CallByThread("Netty EventLoop")
-    void drain() {
+    void drain(final @NotNull MqttIncomingPublishFlow flow) {
         runIndex++;
-        blockingFlowCount = 0;
-
-        qos1Or2It.reset();
-        while (qos1Or2It.hasNext()) {
-            final MqttStatefulPublishWithFlows publishWithFlows = qos1Or2It.next();
-            emit(publishWithFlows);
-            if ((qos1Or2It.getIterated() == 1) && publishWithFlows.isEmpty() && publishWithFlows.areAcknowledged()) {
-                qos1Or2It.remove();
-                incomingQosHandler.ack(publishWithFlows);
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
+        final ChunkedArrayQueue<MqttStatefulPublishWithFlows> queue = flow.queue;
+        MqttStatefulPublishWithFlows publishWithFlows;
+        while ((publishWithFlows = queue.peek()) != null) {
+            if (publishWithFlows.dropped) {
+                queue.poll();
+                flow.droppedCount--;
+            } else if (flow.isCancelled()) {
+                queue.poll();
+                publishWithFlows.remove(getHandle(publishWithFlows, flow));
+                flow.dereference();
+            } else if (flow.requested(runIndex) > 0) {
+                queue.poll();
+                emit(flow, publishWithFlows, getHandle(publishWithFlows, flow));
+            } else {
+                break;
             }
         }
-        qos0It.reset();
-        while (qos0It.hasNext()) {
-            final MqttStatefulPublishWithFlows publishWithFlows = qos0It.next();
-            emit(publishWithFlows);
-            if ((qos0It.getIterated() == 1) && publishWithFlows.isEmpty()) {
-                qos0It.remove();
-            } else if (blockingFlowCount == referencedFlowCount) {
-                return;
+        drain();
+    }
+
+    /**
+     * Removes the publishes at the head of the queues that are delivered to all flows and acknowledges them in order.
+     */
+    @CallByThread("Netty EventLoop")
+    void drain() {
+        MqttStatefulPublishWithFlows publishWithFlows;
+        while (((publishWithFlows = qos1Or2Queue.peek()) != null) && publishWithFlows.isEmpty() &&
+                publishWithFlows.areAcknowledged()) {
+            qos1Or2Queue.poll();
+            incomingQosHandler.ack(publishWithFlows);
+        }
+        while (((publishWithFlows = qos0Queue.peek()) != null) && publishWithFlows.isEmpty()) {
+            qos0Queue.poll();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void emit(
+            final @NotNull MqttIncomingPublishFlow flow,
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows,
+            final @NotNull Handle<MqttIncomingPublishFlow> handle) {
+
+        MqttPublish publish = publishWithFlows.publish.stateless();
+        if (flow.manualAcknowledgement) {
+            final Confirmable confirmable;
+            if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+                confirmable = new MqttIncomingPublishConfirmable.Qos0();
+            } else {
+                confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
             }
+            publish = publish.withConfirmable(confirmable);
+        }
+        flow.onNext(publish);
+        publishWithFlows.remove(handle);
+        if (flow.dereference() == 0) {
+            flow.checkDone();
         }
     }
 
     @CallByThread("Netty EventLoop")
-    private void emit(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+    private static void drop(final @NotNull MqttStatefulPublishWithFlows publishWithFlows) {
+        publishWithFlows.dropped = true;
         for (Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst(); h != null; h = h.getNext()) {
             final MqttIncomingPublishFlow flow = h.getElement();
+            // the dropped publish is removed lazily from the queue of the flow, compact if it consists mostly of
+            // dropped publishes so the queue of a blocking flow does not grow indefinitely
+            if (++flow.droppedCount > (flow.queue.size() >> 1)) {
+                compact(flow);
+            }
+            if (flow.dereference() == 0) {
+                flow.checkDone();
+            }
+        }
+    }
 
-            if (flow.isCancelled()) {
-                publishWithFlows.remove(h);
-                if (flow.dereference() == 0) {
-                    referencedFlowCount--;
-                }
-            } else {
-                final long requested = flow.requested(runIndex);
-                if (requested > 0) {
-                    MqttPublish publish = publishWithFlows.publish.stateless();
-                    if (flow.manualAcknowledgement) {
-                        final Confirmable confirmable;
-                        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
-                            confirmable = new MqttIncomingPublishConfirmable.Qos0();
-                        } else {
-                            confirmable = new MqttIncomingPublishConfirmable(flow, publishWithFlows);
-                        }
-                        publish = publish.withConfirmable(confirmable);
-                    }
-                    flow.onNext(publish);
-                    publishWithFlows.remove(h);
-                    if (flow.dereference() == 0) {
-                        referencedFlowCount--;
-                        flow.checkDone();
-                    }
-                } else if (requested == 0) {
-                    blockingFlowCount++;
-                    if (blockingFlowCount == referencedFlowCount) {
-                        break;
-                    }
-                }
+    @CallByThread("Netty EventLoop")
+    private static void compact(final @NotNull MqttIncomingPublishFlow flow) {
+        final ChunkedArrayQueue<MqttStatefulPublishWithFlows> queue = flow.queue;
+        for (int i = queue.size(); i > 0; i--) {
+            final MqttStatefulPublishWithFlows publishWithFlows = queue.poll();
+            assert publishWithFlows != null : "i <= queue.size()";
+            if (!publishWithFlows.dropped) {
+                queue.offer(publishWithFlows);
+            }
+        }
+        flow.droppedCount = 0;
+    }
+
+    private static @NotNull Handle<MqttIncomingPublishFlow> getHandle(
+            final @NotNull MqttStatefulPublishWithFlows publishWithFlows, final @NotNull MqttIncomingPublishFlow flow) {
+
+        Handle<MqttIncomingPublishFlow> h = publishWithFlows.getFirst();
+        while (true) {
+            assert h != null : "publish is queued for the flow -> publish references the flow";
+            if (h.getElement() == flow) {
+                return h;
             }
+            h = h.getNext();
         }
     }
 }
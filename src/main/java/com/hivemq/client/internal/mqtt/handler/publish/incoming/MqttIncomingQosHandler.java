@@ -21,8 +21,10 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
@@ -33,7 +35,7 @@ import com.hivemq.client.internal.mqtt.message.publish.pubcomp.MqttPubCompBuilde
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRec;
 import com.hivemq.client.internal.mqtt.message.publish.pubrec.MqttPubRecBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
-import com.hivemq.client.internal.util.collections.IntIndex;
+import com.hivemq.client.internal.util.collections.DirectIntIndex;
 import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5IncomingQos1Interceptor;
@@ -42,10 +44,13 @@ import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode
 import com.hivemq.client.mqtt.mqtt5.message.publish.pubcomp.Mqtt5PubCompReasonCode;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
+import io.reactivex.Scheduler;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
+import java.util.ArrayDeque;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Silvio Giebl
@@ -55,24 +60,27 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
 
     public static final @NotNull String NAME = "qos.incoming";
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttIncomingQosHandler.class);
-    private static final IntIndex.@NotNull Spec<Object> INDEX_SPEC = new IntIndex.Spec<>(value -> {
+    private static final @NotNull ToIntFunction<Object> INDEX_KEY_FUNCTION = value -> {
         if (value instanceof MqttStatefulPublishWithFlows) {
             return ((MqttStatefulPublishWithFlows) value).publish.getPacketIdentifier();
         } else {
             return ((MqttPubRec) value).getPacketIdentifier();
         }
-    });
+    };
 
     private final @NotNull MqttClientConfig clientConfig;
     final @NotNull MqttIncomingPublishService incomingPublishService;
 
     // valid for session
-    private final @NotNull IntIndex<Object> messages = new IntIndex<>(INDEX_SPEC);
+    private final @NotNull DirectIntIndex<Object> messages = new DirectIntIndex<>(INDEX_KEY_FUNCTION);
     // contains MqttStatefulPublishWithFlows with AT_LEAST_ONCE/EXACTLY_ONCE or MqttPubRec
 
     // valid for connection
     private int receiveMaximum;
+    private int maximumPacketSize;
     private long connectionIndex;
+    private final @NotNull ArrayDeque<Object> pendingReads = new ArrayDeque<>();
+    // contains DecodingPublish, MqttStatefulPublish or MqttPubRel that are read in order after a payload is decoded
 
     @Inject
     MqttIncomingQosHandler(
@@ -88,6 +96,7 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
         receiveMaximum = connectionConfig.getReceiveMaximum();
+        maximumPacketSize = connectionConfig.getMaximumPacketSize();
         connectionIndex++;
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
@@ -95,14 +104,88 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
     @Override
     public void channelRead(final @NotNull ChannelHandlerContext ctx, final @NotNull Object msg) {
         if (msg instanceof MqttStatefulPublish) {
-            readPublish(ctx, (MqttStatefulPublish) msg);
+            final MqttStatefulPublish publish = (MqttStatefulPublish) msg;
+            final MqttPayloadCodecConfig payloadCodecConfig = clientConfig.getAdvancedConfig().getPayloadCodecConfig();
+            if ((payloadCodecConfig != null) && payloadCodecConfig.isDecodable(publish)) {
+                final DecodingPublish decodingPublish = new DecodingPublish(publish);
+                pendingReads.add(decodingPublish);
+                decodePayload(payloadCodecConfig, decodingPublish);
+            } else if (pendingReads.isEmpty()) {
+                readPublish(ctx, publish);
+            } else {
+                pendingReads.add(publish);
+            }
         } else if (msg instanceof MqttPubRel) {
-            readPubRel(ctx, (MqttPubRel) msg);
+            if (pendingReads.isEmpty()) {
+                readPubRel(ctx, (MqttPubRel) msg);
+            } else {
+                pendingReads.add(msg);
+            }
         } else {
             ctx.fireChannelRead(msg);
         }
     }
 
+    /**
+     * Decodes the payload off the event loop, as decoding may be expensive. Publish and PubRel messages that are
+     * received in the meantime are queued so that all messages are still read in order.
+     */
+    private void decodePayload(
+            final @NotNull MqttPayloadCodecConfig payloadCodecConfig, final @NotNull DecodingPublish decodingPublish) {
+
+        final Scheduler codecScheduler = payloadCodecConfig.getScheduler();
+        final Scheduler scheduler = (codecScheduler != null) ? codecScheduler :
+                clientConfig.getExecutorConfig().getApplicationScheduler();
+        final int maximumPacketSize = this.maximumPacketSize;
+        scheduler.scheduleDirect(() -> {
+            final MqttStatefulPublish decoded = decodePayload(payloadCodecConfig, decodingPublish.publish,
+                    maximumPacketSize);
+            clientConfig.executeInEventLoop(() -> {
+                decodingPublish.decoded = decoded;
+                readPending();
+            });
+        });
+    }
+
+    private static @NotNull MqttStatefulPublish decodePayload(
+            final @NotNull MqttPayloadCodecConfig payloadCodecConfig,
+            final @NotNull MqttStatefulPublish publish,
+            final int maximumPacketSize) {
+
+        try {
+            return payloadCodecConfig.decode(publish, maximumPacketSize);
+        } catch (final RuntimeException e) {
+            // the encoded payload is delivered, so the application can still inspect the content encoding marker
+            LOGGER.warn("Payload of PUBLISH ({}) could not be decoded ({}), delivering it encoded.", publish, e);
+            return publish;
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void readPending() {
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            return;
+        }
+        Object pending;
+        while ((pending = pendingReads.peek()) != null) {
+            if (pending instanceof DecodingPublish) {
+                final MqttStatefulPublish decoded = ((DecodingPublish) pending).decoded;
+                if (decoded == null) {
+                    return;
+                }
+                pendingReads.poll();
+                readPublish(ctx, decoded);
+            } else if (pending instanceof MqttStatefulPublish) {
+                pendingReads.poll();
+                readPublish(ctx, (MqttStatefulPublish) pending);
+            } else {
+                pendingReads.poll();
+                readPubRel(ctx, (MqttPubRel) pending);
+            }
+        }
+    }
+
     private void readPublish(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttStatefulPublish publish) {
         switch (publish.stateless().getQos()) {
             case AT_MOST_ONCE:
@@ -308,6 +391,14 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         ctx.writeAndFlush(pubComp, ctx.voidPromise());
     }
 
+    @Override
+    protected void onDisconnectEvent(
+            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttDisconnectEvent disconnectEvent) {
+
+        // queued QoS 1 and 2 messages are not acknowledged yet, so the server resends them, QoS 0 messages are lost
+        pendingReads.clear();
+    }
+
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
@@ -346,4 +437,14 @@ public class MqttIncomingQosHandler extends MqttSessionAwareHandler {
         }
         return pubCompBuilder.build();
     }
+
+    private static class DecodingPublish {
+
+        final @NotNull MqttStatefulPublish publish;
+        @Nullable MqttStatefulPublish decoded;
+
+        DecodingPublish(final @NotNull MqttStatefulPublish publish) {
+            this.publish = publish;
+        }
+    }
 }
@@ -31,6 +31,7 @@ class MqttStatefulPublishWithFlows extends HandleList<MqttIncomingPublishFlow> {
     long id;
     long connectionIndex;
     boolean subscriptionFound;
+    boolean dropped;
     private int missingAcknowledgements;
 
     MqttStatefulPublishWithFlows(final @NotNull MqttStatefulPublish publish) {
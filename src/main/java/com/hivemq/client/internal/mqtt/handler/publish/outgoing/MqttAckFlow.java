@@ -27,8 +27,15 @@ import org.jetbrains.annotations.NotNull;
  */
 abstract class MqttAckFlow extends FlowWithEventLoop {
 
+    private final boolean preEncodePublishes;
+
     MqttAckFlow(final @NotNull MqttClientConfig clientConfig) {
         super(clientConfig);
+        preEncodePublishes = clientConfig.getAdvancedConfig().isPreEncodePublishes();
+    }
+
+    boolean isPreEncodePublishes() {
+        return preEncodePublishes;
     }
 
     @CallByThread("Netty EventLoop")
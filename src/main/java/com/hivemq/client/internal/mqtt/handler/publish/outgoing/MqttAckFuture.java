@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import io.reactivex.Flowable;
+import io.reactivex.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Future for the result of a single publish that is completed directly by its ack flow instead of converting a {@link
+ * MqttAckSingle}, which saves the Rx observer chain and the intermediate futures of the async clients.
+ * <p>
+ * As with the Rx API, the future is completed on the application scheduler. The result and error are mapped only when
+ * the future is completed, so the MQTT 3 view of the result is created lazily.
+ *
+ * @param <R> the type of the result.
+ * @author Silvio Giebl
+ */
+public class MqttAckFuture<R> extends CompletableFuture<R> {
+
+    private final @NotNull Function<? super MqttPublishResult, ? extends R> resultMapper;
+    private final @NotNull Function<Throwable, Throwable> errorMapper;
+    private final @Nullable Flow flow;
+
+    public MqttAckFuture(
+            final @NotNull MqttClientConfig clientConfig,
+            final @NotNull MqttPublish publish,
+            final @NotNull Function<? super MqttPublishResult, ? extends R> resultMapper,
+            final @NotNull Function<Throwable, Throwable> errorMapper) {
+
+        this.resultMapper = resultMapper;
+        this.errorMapper = errorMapper;
+        if (clientConfig.getState().isConnectedOrReconnect()) {
+            final MqttOutgoingQosHandler outgoingQosHandler = clientConfig.getClientComponent().outgoingQosHandler();
+            final Flow flow = new Flow(clientConfig, outgoingQosHandler);
+            this.flow = flow;
+            outgoingQosHandler.getPublishFlowables().add(Flowable.just(MqttPublishWithFlow.of(publish, flow)));
+        } else {
+            flow = null;
+            completeExceptionally(errorMapper.apply(MqttClientStateExceptions.notConnected()));
+        }
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        if (flow != null) {
+            flow.cancel();
+        }
+        return super.cancel(mayInterruptIfRunning);
+    }
+
+    private class Flow extends MqttAckFlow implements Runnable {
+
+        private final @NotNull MqttOutgoingQosHandler outgoingQosHandler;
+        private final @NotNull Scheduler applicationScheduler;
+
+        private @Nullable MqttPublishResult result;
+
+        Flow(final @NotNull MqttClientConfig clientConfig, final @NotNull MqttOutgoingQosHandler outgoingQosHandler) {
+            super(clientConfig);
+            this.outgoingQosHandler = outgoingQosHandler;
+            applicationScheduler = clientConfig.getExecutorConfig().getApplicationScheduler();
+            init();
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void onNext(final @NotNull MqttPublishResult result) {
+            if (result.acknowledged()) {
+                done(result);
+            } else {
+                this.result = result;
+            }
+        }
+
+        @CallByThread("Netty EventLoop")
+        @Override
+        void acknowledged(final long acknowledged) {
+            final MqttPublishResult result = this.result;
+            assert (acknowledged == 1) && (result != null) : "a single publish must be acknowledged exactly once";
+            done(result);
+        }
+
+        @CallByThread("Netty EventLoop")
+        private void done(final @NotNull MqttPublishResult result) {
+            if (setDone()) {
+                this.result = result;
+                applicationScheduler.scheduleDirect(this);
+            } else {
+                this.result = null;
+            }
+            outgoingQosHandler.request(1);
+        }
+
+        @Override
+        public void run() {
+            final MqttPublishResult result = this.result;
+            assert result != null : "result is set before run is scheduled";
+            this.result = null;
+            final Throwable error = result.getRawError();
+            if (error == null) {
+                complete(resultMapper.apply(result));
+            } else {
+                completeExceptionally(errorMapper.apply(error));
+            }
+        }
+    }
+}
@@ -53,7 +53,7 @@ public class MqttAckSingle extends Single<Mqtt5PublishResult> {
 
             final Flow flow = new Flow(observer, clientConfig, outgoingQosHandler);
             observer.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            publishFlowables.add(Flowable.just(MqttPublishWithFlow.of(publish, flow)));
         } else {
             EmptyDisposable.error(MqttClientStateExceptions.notConnected(), observer);
         }
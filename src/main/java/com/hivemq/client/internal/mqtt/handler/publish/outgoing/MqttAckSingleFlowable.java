@@ -54,7 +54,7 @@ public class MqttAckSingleFlowable extends Flowable<Mqtt5PublishResult> {
 
             final Flow flow = new Flow(subscriber, clientConfig, outgoingQosHandler);
             subscriber.onSubscribe(flow);
-            publishFlowables.add(Flowable.just(new MqttPublishWithFlow(publish, flow)));
+            publishFlowables.add(Flowable.just(MqttPublishWithFlow.of(publish, flow)));
         } else {
             EmptySubscription.error(MqttClientStateExceptions.notConnected(), subscriber);
         }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.rx.SingleFlow;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.reactivex.Single;
+import io.reactivex.SingleObserver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Drains the outgoing publishes of a client: new publishes are rejected, queued publishes are sent and the single
+ * completes when all QoS 1 and 2 publishes are acknowledged or the drain timeout elapsed. The single emits the
+ * publishes that were not delivered until then.
+ * <p>
+ * A new instance is used for every subscription, so that {@link #endDrain()} ends exactly the drain it started.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttDrainSingle extends Single<List<Mqtt5Publish>> {
+
+    private final @NotNull MqttClientConfig clientConfig;
+    private final long timeoutNanos;
+    private volatile @Nullable SingleFlow<List<Mqtt5Publish>> flow;
+
+    public MqttDrainSingle(final @NotNull MqttClientConfig clientConfig, final long timeoutNanos) {
+        this.clientConfig = clientConfig;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    protected void subscribeActual(final @NotNull SingleObserver<? super List<Mqtt5Publish>> observer) {
+        final MqttOutgoingQosHandler outgoingQosHandler = clientConfig.getClientComponent().outgoingQosHandler();
+        final SingleFlow<List<Mqtt5Publish>> flow = new SingleFlow<>(observer);
+        this.flow = flow;
+        observer.onSubscribe(flow);
+        outgoingQosHandler.drain(flow, timeoutNanos);
+    }
+
+    /**
+     * Accepts new publishes again after this single was subscribed. Has no effect if this single was not subscribed or
+     * its drain was rejected.
+     */
+    public void endDrain() {
+        final SingleFlow<List<Mqtt5Publish>> flow = this.flow;
+        if (flow != null) {
+            clientConfig.getClientComponent().outgoingQosHandler().endDrain(flow);
+        }
+    }
+}
@@ -21,7 +21,11 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttPublishRateLimiterImpl;
 import com.hivemq.client.internal.mqtt.advanced.interceptor.MqttClientInterceptors;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil;
+import com.hivemq.client.internal.mqtt.codec.encoder.mqtt3.Mqtt3PublishEncoder;
+import com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5PublishEncoder;
 import com.hivemq.client.internal.mqtt.exceptions.MqttClientStateExceptions;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
@@ -43,31 +47,40 @@ import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRel;
 import com.hivemq.client.internal.mqtt.message.publish.pubrel.MqttPubRelBuilder;
 import com.hivemq.client.internal.netty.ContextFuture;
 import com.hivemq.client.internal.netty.DefaultContextPromise;
-import com.hivemq.client.internal.util.Ranges;
+import com.hivemq.client.internal.rx.SingleFlow;
+import com.hivemq.client.internal.util.IdBitmap;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
-import com.hivemq.client.internal.util.collections.IntIndex;
+import com.hivemq.client.internal.util.collections.DirectIntIndex;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import com.hivemq.client.mqtt.exceptions.MqttEncodeException;
+import com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos1.Mqtt5OutgoingQos1Interceptor;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.qos2.Mqtt5OutgoingQos2Interceptor;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5PubRecException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.ScheduledFuture;
 import io.reactivex.Flowable;
 import io.reactivex.FlowableSubscriber;
-import org.jctools.queues.SpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.reactivestreams.Subscription;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToIntFunction;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.NO_PACKET_IDENTIFIER_QOS_0;
 
@@ -80,8 +93,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     public static final @NotNull String NAME = "qos.outgoing";
     private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttOutgoingQosHandler.class);
-    private static final IntIndex.@NotNull Spec<MqttPubOrRelWithFlow> INDEX_SPEC =
-            new IntIndex.Spec<>(x -> x.packetIdentifier);
+    private static final @NotNull ToIntFunction<MqttPubOrRelWithFlow> INDEX_KEY_FUNCTION = x -> x.packetIdentifier;
     private static final int MAX_CONCURRENT_PUBLISH_FLOWABLES = 64; // TODO configurable
     private static final boolean QOS_2_COMPLETE_RESULT = false; // TODO configurable
 
@@ -89,20 +101,29 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     private final @NotNull MqttPublishFlowables publishFlowables;
 
     // valid for session
-    private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> queue = new SpscUnboundedArrayQueue<>(32);
+    private final @NotNull MqttPublishLanes lanes = new MqttPublishLanes();
     private final @NotNull AtomicInteger queuedCounter = new AtomicInteger();
     private final @NotNull NodeList<MqttPubOrRelWithFlow> pending = new NodeList<>();
-    private final @NotNull Ranges packetIdentifiers = new Ranges(1, 0);
+    private final @NotNull IdBitmap packetIdentifiers = new IdBitmap(1, 0);
 
     // valid for connection
-    private final @NotNull IntIndex<MqttPubOrRelWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
+    private final @NotNull DirectIntIndex<MqttPubOrRelWithFlow> pendingIndex =
+            new DirectIntIndex<>(INDEX_KEY_FUNCTION);
     private @Nullable MqttPubOrRelWithFlow resendPending;
     private @Nullable MqttPublishWithFlow currentPending;
     private int sendMaximum;
+    private @NotNull MqttQos maximumQos = MqttQos.EXACTLY_ONCE;
     private @Nullable MqttTopicAliasMapping topicAliasMapping;
 
     private @Nullable Subscription subscription;
     private int shrinkRequests;
+    private boolean holdRetained;
+    private boolean throttled;
+    private long throttleStartNanos;
+
+    private volatile @Nullable SingleFlow<List<Mqtt5Publish>> draining; // only written by the event loop
+    private @Nullable SingleFlow<List<Mqtt5Publish>> drainFlow;
+    private @Nullable ScheduledFuture<?> drainTimeoutFuture;
 
     @Inject
     MqttOutgoingQosHandler(final @NotNull MqttClientConfig clientConfig) {
@@ -114,6 +135,108 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     public void onSessionStartOrResume(
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
+        setSendMaximum(connectionConfig);
+        maximumQos = connectionConfig.getMaximumQos();
+        topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+
+        pendingIndex.clear();
+        resendPending = pending.getFirst();
+        if ((resendPending != null) || (queuedCounter.get() > 0)) {
+            eventLoop.execute(this);
+        }
+
+        super.onSessionStartOrResume(connectionConfig, eventLoop);
+    }
+
+    @Override
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        // the publish flowables are subscribed with the send maximum of the first session, so the first session is
+        // only started when it is confirmed
+        if (sendMaximum != 0) {
+            super.onSessionStartEarly(connectionConfig, eventLoop);
+            // the server may not support retain, which is only known after the CONNACK
+            holdRetained = true;
+        }
+    }
+
+    @Override
+    public void onSessionStartConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        if (!hasSession) {
+            onSessionStartOrResume(connectionConfig, eventLoop);
+            return;
+        }
+        setSendMaximum(connectionConfig);
+        maximumQos = connectionConfig.getMaximumQos();
+        topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
+        holdRetained = false;
+        failPendingExceedingRestrictions(connectionConfig);
+        if ((resendPending != null) || (queuedCounter.get() > 0)) {
+            eventLoop.execute(this);
+        }
+    }
+
+    @Override
+    public void onSessionStartAborted() {
+        super.onSessionStartAborted();
+        holdRetained = false;
+
+        // pending publishes are resent when the next session starts
+        pendingIndex.clear();
+        resendPending = null;
+    }
+
+    /**
+     * Fails the QoS 1 and 2 publishes that were sent before the ConnAck message was received but exceed the maximum
+     * packet size or the maximum QoS of the server. The server disconnects the client because of them, so they must
+     * not be resent if the session is resumed. QoS 0 publishes sent before the ConnAck message are already completed.
+     * <p>
+     * Publishes that are still queued are checked when they are sent, like without fast start.
+     *
+     * @param connectionConfig the connection config negotiated with the ConnAck message.
+     */
+    private void failPendingExceedingRestrictions(final @NotNull MqttClientConnectionConfig connectionConfig) {
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            return;
+        }
+        final int maximumPacketSize = connectionConfig.getSendMaximumPacketSize();
+        MqttPubOrRelWithFlow current = pending.getFirst();
+        while (current != null) {
+            final MqttPubOrRelWithFlow next = current.getNext();
+            if (current instanceof MqttPublishWithFlow) {
+                final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) current;
+                final MqttPublish publish = publishWithFlow.getPublish();
+                final int encodedLength = encodedLength(publish);
+                MqttEncodeException cause = null;
+                if (publish.getQos().getCode() > maximumQos.getCode()) {
+                    cause = maximumQosExceeded(publish, maximumQos);
+                } else if (encodedLength > maximumPacketSize) {
+                    cause = MqttMessageEncoderUtil.maximumPacketSizeExceeded(publish, encodedLength,
+                            maximumPacketSize);
+                }
+                if (cause != null) {
+                    pendingIndex.remove(publishWithFlow.packetIdentifier);
+                    publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publish, cause));
+                    completePending(ctx, publishWithFlow);
+                }
+            }
+            current = next;
+        }
+    }
+
+    private static @NotNull MqttEncodeException maximumQosExceeded(
+            final @NotNull MqttPublish publish, final @NotNull MqttQos maximumQos) {
+
+        return new MqttEncodeException(
+                "PUBLISH with QoS " + publish.getQos().getCode() + " exceeded maximum QoS of the server: " +
+                        maximumQos.getCode() + ".");
+    }
+
+    private void setSendMaximum(final @NotNull MqttClientConnectionConfig connectionConfig) {
         final int oldSendMaximum = sendMaximum;
         final int newSendMaximum = Math.min(connectionConfig.getSendMaximum(),
                 UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MqttSubscriptionHandler.MAX_SUB_PENDING);
@@ -135,15 +258,6 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                 shrinkRequests = -newRequests;
             }
         }
-        topicAliasMapping = connectionConfig.getSendTopicAliasMapping();
-
-        pendingIndex.clear();
-        resendPending = pending.getFirst();
-        if ((resendPending != null) || (queuedCounter.get() > 0)) {
-            eventLoop.execute(this);
-        }
-
-        super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
     @Override
@@ -153,7 +267,16 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
     @Override
     public void onNext(final @NotNull MqttPublishWithFlow publishWithFlow) {
-        queue.offer(publishWithFlow);
+        if (draining != null) {
+            final MqttAckFlow ackFlow = publishWithFlow.getAckFlow();
+            ackFlow.getEventLoop().execute(() -> {
+                ackFlow.onNext(
+                        new MqttPublishResult(publishWithFlow.getPublish(), MqttClientStateExceptions.disconnecting()));
+                publishWithFlow.recycle();
+            });
+            return;
+        }
+        lanes.offer(publishWithFlow);
         if (queuedCounter.getAndIncrement() == 0) {
             publishWithFlow.getAckFlow().getEventLoop().execute(this);
         }
@@ -189,7 +312,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
     public void run() {
         if (!hasSession) {
             if (!isRepublishIfSessionExpired()) {
-                clearQueued(MqttClientStateExceptions.notConnected());
+                clearQueued(MqttClientStateExceptions.notConnected(), null);
             }
             return;
         }
@@ -202,29 +325,114 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         int written = 0;
         for (MqttPubOrRelWithFlow pubOrRelWithFlow = resendPending;
              (pubOrRelWithFlow != null) && (written < maxWrites) && channel.isWritable();
-             resendPending = pubOrRelWithFlow = pubOrRelWithFlow.getNext()) {
+             pubOrRelWithFlow = resendPending) {
+            resendPending = pubOrRelWithFlow.getNext(); // before the write, which may run this task again
             resend(ctx, pubOrRelWithFlow);
             written++;
         }
+        // resent publishes and PUBRELs are written before new publishes of any priority
+        final MqttPublishRateLimiterImpl rateLimiter = clientConfig.getExecutorConfig().getRawPublishRateLimiter();
+        final boolean strictPriority = clientConfig.getAdvancedConfig().isStrictPublishPriority();
         int dequeued = 0;
         while ((written < maxWrites) && channel.isWritable()) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = lanes.peek(strictPriority);
             if (publishWithFlow == null) {
                 break;
             }
-            writePublish(ctx, publishWithFlow);
+            // expired publishes are checked lazily when they are dequeued, they neither use the rate nor a write
+            final MqttPublish publish = publishWithFlow.getPublishToSend();
+            if (publish == null) {
+                lanes.poll();
+                dequeued++;
+                onExpired(publishWithFlow);
+                continue;
+            }
+            // a client must not send publishes with a QoS higher than the maximum QoS of the server [MQTT-3.2.2-11]
+            if (publish.getQos().getCode() > maximumQos.getCode()) {
+                lanes.poll();
+                dequeued++;
+                publishWithFlow.getAckFlow()
+                        .onNext(new MqttPublishResult(publishWithFlow.getPublish(),
+                                maximumQosExceeded(publish, maximumQos)));
+                publishWithFlow.recycle();
+                continue;
+            }
+            if (holdRetained && publish.isRetain()) {
+                break;
+            }
+            if ((rateLimiter != null) && !acquireRate(channel, rateLimiter, publish)) {
+                break;
+            }
+            lanes.poll();
+            writePublish(ctx, publishWithFlow, publish);
             written++;
             dequeued++;
         }
+        final boolean wasWritable = channel.isWritable();
         if (written > 0) {
-            final boolean wasWritable = channel.isWritable();
             ctx.flush();
-            if ((dequeued > 0) && (queuedCounter.addAndGet(-dequeued) > 0) && wasWritable) {
-                channel.eventLoop().execute(this);
+        }
+        if (dequeued > 0) {
+            if (queuedCounter.addAndGet(-dequeued) > 0) {
+                if (wasWritable && !throttled) {
+                    channel.eventLoop().execute(this);
+                }
+            } else {
+                checkDrained();
             }
         }
     }
 
+    private static void onExpired(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        publishWithFlow.getAckFlow()
+                .onNext(new MqttPublishResult(publishWithFlow.getPublish(), new MqttMessageExpiredException(
+                        "Message expiry interval elapsed before the PUBLISH could be sent.")));
+        publishWithFlow.recycle();
+    }
+
+    /**
+     * Acquires the rate for the next queued publish. If the rate is exceeded, the publish stays queued and this handler
+     * runs again when the rate is available. As the publish flowables are only requested after publishes are sent, the
+     * delay also applies backpressure to them.
+     * <p>
+     * The bytes are the encoded length of the whole Publish packet, not only of its payload.
+     */
+    @CallByThread("Netty EventLoop")
+    private boolean acquireRate(
+            final @NotNull Channel channel,
+            final @NotNull MqttPublishRateLimiterImpl rateLimiter,
+            final @NotNull MqttPublish publish) {
+
+        if (throttled) {
+            return false;
+        }
+        final long delayNanos = rateLimiter.tryAcquire(encodedLength(publish));
+        if (delayNanos == 0) {
+            if (throttleStartNanos != 0) {
+                rateLimiter.addThrottleTime(System.nanoTime() - throttleStartNanos);
+                throttleStartNanos = 0;
+            }
+            return true;
+        }
+        if (throttleStartNanos == 0) {
+            throttleStartNanos = System.nanoTime();
+        }
+        throttled = true;
+        channel.eventLoop().schedule(this::onThrottleEnd, delayNanos, TimeUnit.NANOSECONDS);
+        return false;
+    }
+
+    private int encodedLength(final @NotNull MqttPublish publish) {
+        return (clientConfig.getMqttVersion() == MqttVersion.MQTT_5_0) ? Mqtt5PublishEncoder.encodedLength(publish) :
+                Mqtt3PublishEncoder.encodedLength(publish);
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void onThrottleEnd() {
+        throttled = false;
+        run();
+    }
+
     @Override
     public void channelWritabilityChanged(final @NotNull ChannelHandlerContext ctx) {
         final Channel channel = ctx.channel();
@@ -234,35 +442,46 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         ctx.fireChannelWritabilityChanged();
     }
 
+    /**
+     * Resends a pending publish or PUBREL with its packet identifier. A publish is resent with the {@link
+     * MqttPublishWithFlow#getPublishToResend() remaining message expiry interval}; it is never removed, even if the
+     * interval elapsed, as the server may already have received it and may still acknowledge its packet identifier.
+     */
     private void resend(
             final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubOrRelWithFlow pubOrRelWithFlow) {
 
-        pendingIndex.put(pubOrRelWithFlow);
         if (pubOrRelWithFlow instanceof MqttPublishWithFlow) {
             final MqttPublishWithFlow publishWithFlow = (MqttPublishWithFlow) pubOrRelWithFlow;
-            final MqttStatefulPublish publish = publishWithFlow.getPublish()
-                    .createStateful(publishWithFlow.packetIdentifier, true, topicAliasMapping);
-            writeQos1Or2Publish(ctx, publish, publishWithFlow);
+            final MqttPublish publish = publishWithFlow.getPublishToResend();
+            pendingIndex.put(pubOrRelWithFlow);
+            writeQos1Or2Publish(ctx, publish.createStateful(publishWithFlow.packetIdentifier, true, topicAliasMapping,
+                    publishWithFlow.getPreEncoded(publish)), publishWithFlow);
         } else {
+            pendingIndex.put(pubOrRelWithFlow);
             final MqttPubRelWithFlow pubRelWithFlow = (MqttPubRelWithFlow) pubOrRelWithFlow;
             writePubRel(ctx, pubRelWithFlow.getPubRel());
         }
     }
 
     private void writePublish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final @NotNull MqttPublish publish) {
 
-        if (publishWithFlow.getPublish().getQos() == MqttQos.AT_MOST_ONCE) {
-            writeQos0Publish(ctx, publishWithFlow);
+        if (publish.getQos() == MqttQos.AT_MOST_ONCE) {
+            writeQos0Publish(ctx, publishWithFlow, publish);
         } else {
-            writeQos1Or2Publish(ctx, publishWithFlow);
+            writeQos1Or2Publish(ctx, publishWithFlow, publish);
         }
     }
 
     private void writeQos0Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final @NotNull MqttPublish publish) {
 
-        ctx.write(publishWithFlow.getPublish().createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping),
+        ctx.write(publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, topicAliasMapping,
+                publishWithFlow.getPreEncoded(publish)),
                 new DefaultContextPromise<>(ctx.channel(), publishWithFlow)).addListener(this);
     }
 
@@ -278,10 +497,13 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             ackFlow.onNext(new MqttPublishResult(publish, new ConnectionClosedException(cause)));
             future.channel().pipeline().fireExceptionCaught(cause);
         }
+        publishWithFlow.recycle();
     }
 
     private void writeQos1Or2Publish(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPublishWithFlow publishWithFlow) {
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull MqttPublishWithFlow publishWithFlow,
+            final @NotNull MqttPublish publish) {
 
         final int packetIdentifier = packetIdentifiers.getId();
         if (packetIdentifier < 0) {
@@ -292,9 +514,8 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         pendingIndex.put(publishWithFlow);
         pending.add(publishWithFlow);
 
-        writeQos1Or2Publish(ctx,
-                publishWithFlow.getPublish().createStateful(packetIdentifier, false, topicAliasMapping),
-                publishWithFlow);
+        writeQos1Or2Publish(ctx, publish.createStateful(packetIdentifier, false, topicAliasMapping,
+                publishWithFlow.getPreEncoded(publish)), publishWithFlow);
     }
 
     private void writeQos1Or2Publish(
@@ -348,6 +569,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         final Throwable t = (pubAck.getReasonCode().isError()) ?
                 new Mqtt5PubAckException(pubAck, "PUBACK contained an Error Code") : null;
         publishWithFlow.getAckFlow().onNext(new MqttQos1Result(publish, t, pubAck));
+        publishWithFlow.recycle();
     }
 
     private void readPubRec(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttPubRec pubRec) {
@@ -378,6 +600,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
             final Throwable t = new Mqtt5PubRecException(pubRec, "PUBREC contained an Error Code");
             ackFlow.onNext(new MqttQos2Result(publish, t, pubRec));
+            publishWithFlow.recycle();
 
         } else {
             final MqttPubRel pubRel = buildPubRel(publish, pubRec);
@@ -390,6 +613,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
 
                 ackFlow.onNext(new MqttQos2IntermediateResult(publish, pubRec, pubRelWithFlow));
             }
+            publishWithFlow.recycle();
 
             writePubRel(ctx, pubRel);
             ctx.flush();
@@ -459,6 +683,7 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         if (resendPending != null) {
             ctx.channel().eventLoop().execute(this);
         }
+        checkDrained();
     }
 
     @Override
@@ -473,10 +698,117 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
         }
     }
 
+    /**
+     * Drains the outgoing publishes before a disconnect: new publishes are rejected with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}, queued publishes are still
+     * sent and the flow is completed when all QoS 1 and 2 publishes are acknowledged (PUBACK or PUBCOMP received) or
+     * the timeout elapsed.
+     * <p>
+     * The flow is completed with the publishes that were not delivered: publishes that were still queued are failed,
+     * publishes that were sent but not acknowledged stay in the session.
+     * <p>
+     * New publishes are rejected until {@link #endDrain(SingleFlow)} is called with the same flow.
+     *
+     * @param flow         the flow for the undelivered publishes.
+     * @param timeoutNanos the timeout in nanoseconds.
+     */
+    public void drain(final @NotNull SingleFlow<List<Mqtt5Publish>> flow, final long timeoutNanos) {
+        if (!clientConfig.executeInEventLoop(() -> startDrain(flow, timeoutNanos))) {
+            flow.onError(MqttClientStateExceptions.notConnected());
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void startDrain(final @NotNull SingleFlow<List<Mqtt5Publish>> flow, final long timeoutNanos) {
+        final ChannelHandlerContext ctx = this.ctx;
+        if (ctx == null) {
+            flow.onError(MqttClientStateExceptions.notConnected());
+            return;
+        }
+        if (flow.isCancelled()) {
+            return;
+        }
+        if (draining != null) {
+            flow.onError(MqttClientStateExceptions.disconnecting());
+            return;
+        }
+        draining = flow;
+        drainFlow = flow;
+        drainTimeoutFuture = ctx.channel().eventLoop().schedule(this::drained, timeoutNanos, TimeUnit.NANOSECONDS);
+        checkDrained();
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void checkDrained() {
+        if ((drainFlow != null) && pending.isEmpty() && (queuedCounter.get() == 0)) {
+            drained();
+        }
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void drained() {
+        final SingleFlow<List<Mqtt5Publish>> flow = drainFlow;
+        if (flow == null) {
+            return;
+        }
+        drainFlow = null;
+        cancelDrainTimeout();
+        if (flow.isCancelled()) {
+            // the drain was disposed, so no DISCONNECT follows and the queued publishes must not be failed
+            draining = null;
+            return;
+        }
+
+        final ImmutableList.Builder<Mqtt5Publish> undelivered = ImmutableList.builder();
+        for (MqttPubOrRelWithFlow current = pending.getFirst(); current != null; current = current.getNext()) {
+            if (current instanceof MqttPublishWithFlow) {
+                undelivered.add(((MqttPublishWithFlow) current).getPublish());
+            }
+        }
+        clearQueued(MqttClientStateExceptions.disconnecting(), undelivered);
+        flow.onSuccess(undelivered.build());
+    }
+
+    @CallByThread("Netty EventLoop")
+    private void cancelDrainTimeout() {
+        if (drainTimeoutFuture != null) {
+            drainTimeoutFuture.cancel(false);
+            drainTimeoutFuture = null;
+        }
+    }
+
+    /**
+     * Accepts new publishes again after {@link #drain(SingleFlow, long)} was called with the same flow. If the drain is
+     * still running because its flow was disposed, it is stopped without failing the queued publishes. Ending a drain
+     * that was rejected has no effect.
+     *
+     * @param flow the flow of the drain to end.
+     */
+    public void endDrain(final @NotNull SingleFlow<List<Mqtt5Publish>> flow) {
+        if (!clientConfig.executeInEventLoop(() -> stopDrain(flow))) {
+            stopDrain(flow); // the event loop was already released, so no drain can run concurrently
+        }
+    }
+
+    private void stopDrain(final @NotNull SingleFlow<List<Mqtt5Publish>> flow) {
+        if (draining != flow) {
+            return;
+        }
+        draining = null;
+        if (drainFlow == flow) {
+            drainFlow = null;
+            cancelDrainTimeout();
+        }
+    }
+
     @Override
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
 
+        if (drainFlow != null) {
+            drained();
+        }
+
         pendingIndex.clear();
         resendPending = null;
 
@@ -501,17 +833,19 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
             }
         }
         pending.clear();
-        clearQueued(cause);
+        clearQueued(cause, null);
     }
 
     private boolean isRepublishIfSessionExpired() {
         return clientConfig.isRepublishIfSessionExpired() && (clientConfig.getState() != MqttClientState.DISCONNECTED);
     }
 
-    private void clearQueued(final @NotNull Throwable cause) {
+    private void clearQueued(
+            final @NotNull Throwable cause, final ImmutableList.@Nullable Builder<Mqtt5Publish> cleared) {
+
         int polled = 0;
         while (true) {
-            final MqttPublishWithFlow publishWithFlow = queue.poll();
+            final MqttPublishWithFlow publishWithFlow = lanes.pollAny();
             if (publishWithFlow == null) {
                 if (queuedCounter.addAndGet(-polled) == 0) {
                     break;
@@ -520,7 +854,11 @@ public class MqttOutgoingQosHandler extends MqttSessionAwareHandler
                     continue;
                 }
             }
+            if (cleared != null) {
+                cleared.add(publishWithFlow.getPublish());
+            }
             publishWithFlow.getAckFlow().onNext(new MqttPublishResult(publishWithFlow.getPublish(), cause));
+            publishWithFlow.recycle();
             polled++;
         }
     }
@@ -18,20 +18,28 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.util.collections.NodeList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
  */
 abstract class MqttPubOrRelWithFlow extends NodeList.Node<MqttPubOrRelWithFlow> {
 
-    private final @NotNull MqttAckFlow ackFlow;
+    private @Nullable MqttAckFlow ackFlow; // only null while a pooled instance is not in use
     int packetIdentifier;
 
+    MqttPubOrRelWithFlow() {}
+
     MqttPubOrRelWithFlow(final @NotNull MqttAckFlow ackFlow) {
         this.ackFlow = ackFlow;
     }
 
     @NotNull MqttAckFlow getAckFlow() {
+        assert ackFlow != null : "ackFlow must not be accessed after the instance has been recycled";
         return ackFlow;
     }
+
+    void setAckFlow(final @Nullable MqttAckFlow ackFlow) {
+        this.ackFlow = ackFlow;
+    }
 }
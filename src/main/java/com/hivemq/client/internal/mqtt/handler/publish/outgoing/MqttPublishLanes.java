@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.annotations.CallByThread;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import org.jctools.queues.SpscUnboundedArrayQueue;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Queues of outgoing publishes, one lane per {@link Mqtt5PublishPriority priority}. Publishes in the same lane keep
+ * their order.
+ * <p>
+ * The lanes are served either in strict priority order or in a weighted round robin. Publishes are offered by the
+ * single subscriber of the publish flowables, all other methods are called on the event loop.
+ *
+ * @author Silvio Giebl
+ */
+class MqttPublishLanes {
+
+    private static final int @NotNull [] WEIGHTS = {4, 2, 1}; // indexed by the ordinal of Mqtt5PublishPriority
+
+    private final @NotNull SpscUnboundedArrayQueue<MqttPublishWithFlow> @NotNull [] lanes;
+    private int current;
+    private int credit;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    MqttPublishLanes() {
+        lanes = new SpscUnboundedArrayQueue[Mqtt5PublishPriority.values().length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new SpscUnboundedArrayQueue<>(32);
+        }
+        current = lanes.length - 1; // the first peek switches to the highest priority
+    }
+
+    void offer(final @NotNull MqttPublishWithFlow publishWithFlow) {
+        lanes[publishWithFlow.getPublish().getPriority().ordinal()].offer(publishWithFlow);
+    }
+
+    /**
+     * Selects the lane that is served next and returns its first publish without removing it.
+     *
+     * @param strict whether the lanes are served in strict priority order instead of a weighted round robin.
+     * @return the next publish or <code>null</code> if all lanes are empty.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow peek(final boolean strict) {
+        if (strict) {
+            for (int i = 0; i < lanes.length; i++) {
+                final MqttPublishWithFlow publishWithFlow = lanes[i].peek();
+                if (publishWithFlow != null) {
+                    current = i;
+                    return publishWithFlow;
+                }
+            }
+            return null;
+        }
+        // an empty lane passes its remaining credit on to the next lane, so the round robin is work conserving
+        for (int i = 0; i <= lanes.length; i++) {
+            if (credit > 0) {
+                final MqttPublishWithFlow publishWithFlow = lanes[current].peek();
+                if (publishWithFlow != null) {
+                    return publishWithFlow;
+                }
+            }
+            current = (current + 1) % lanes.length;
+            credit = WEIGHTS[current];
+        }
+        return null;
+    }
+
+    /**
+     * Removes the publish that was returned by the last {@link #peek(boolean)}.
+     *
+     * @return the removed publish.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow poll() {
+        credit--;
+        return lanes[current].poll();
+    }
+
+    /**
+     * Removes the first publish of the highest priority lane that is not empty, regardless of the scheduling.
+     *
+     * @return the removed publish or <code>null</code> if all lanes are empty.
+     */
+    @CallByThread("Netty EventLoop")
+    @Nullable MqttPublishWithFlow pollAny() {
+        for (final SpscUnboundedArrayQueue<MqttPublishWithFlow> lane : lanes) {
+            final MqttPublishWithFlow publishWithFlow = lane.poll();
+            if (publishWithFlow != null) {
+                return publishWithFlow;
+            }
+        }
+        return null;
+    }
+}
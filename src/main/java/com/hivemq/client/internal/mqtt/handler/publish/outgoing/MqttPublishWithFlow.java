@@ -16,22 +16,132 @@
 
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
+import com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5PublishEncoder;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import io.netty.util.Recycler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
 
 /**
+ * Publish with the flow that receives its result. Instances are pooled per thread by a Netty {@link Recycler}; pooling
+ * can be disabled with the system property {@code io.netty.recycler.maxCapacityPerThread=0}.
+ * <p>
+ * The {@link MqttOutgoingQosHandler} owns an instance from the time it receives it until the result has been emitted
+ * to the flow and the instance has been removed from the pending publishes, and then {@link #recycle() recycles} it.
+ * An instance must not be accessed after it has been recycled.
+ *
  * @author Silvio Giebl
  */
 class MqttPublishWithFlow extends MqttPubOrRelWithFlow {
 
-    private final @NotNull MqttPublish publish;
+    private static final @NotNull Recycler<MqttPublishWithFlow> RECYCLER = new Recycler<MqttPublishWithFlow>() {
+        @Override
+        protected @NotNull MqttPublishWithFlow newObject(final @NotNull Handle<MqttPublishWithFlow> handle) {
+            return new MqttPublishWithFlow(handle);
+        }
+    };
+
+    static @NotNull MqttPublishWithFlow of(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
+        return of(publish, ackFlow, System::nanoTime);
+    }
+
+    /**
+     * @param nanoClock the clock that measures the elapsed message expiry interval, in nanoseconds like {@link
+     *                  System#nanoTime()}.
+     */
+    static @NotNull MqttPublishWithFlow of(
+            final @NotNull MqttPublish publish,
+            final @NotNull MqttAckFlow ackFlow,
+            final @NotNull LongSupplier nanoClock) {
+
+        final MqttPublishWithFlow publishWithFlow = RECYCLER.get();
+        publishWithFlow.publish = publish;
+        publishWithFlow.nanoClock = nanoClock;
+        if (publish.getRawMessageExpiryInterval() != MqttPublish.NO_MESSAGE_EXPIRY) {
+            publishWithFlow.queuedNanos = nanoClock.getAsLong();
+        }
+        if (ackFlow.isPreEncodePublishes()) {
+            // pre-encoded on the publishing thread, the publish is not modified as the application owns it
+            publishWithFlow.preEncoded = Mqtt5PublishEncoder.preEncode(publish);
+        }
+        publishWithFlow.setAckFlow(ackFlow);
+        return publishWithFlow;
+    }
+
+    private final Recycler.@NotNull Handle<MqttPublishWithFlow> handle;
+    private @Nullable MqttPublish publish; // only null while the instance is not in use
+    private @Nullable LongSupplier nanoClock; // only null while the instance is not in use
+    private long queuedNanos; // only set if the publish has a message expiry interval
+    private byte @Nullable [] preEncoded; // only set if publishes are pre-encoded
 
-    MqttPublishWithFlow(final @NotNull MqttPublish publish, final @NotNull MqttAckFlow ackFlow) {
-        super(ackFlow);
-        this.publish = publish;
+    private MqttPublishWithFlow(final Recycler.@NotNull Handle<MqttPublishWithFlow> handle) {
+        this.handle = handle;
     }
 
     @NotNull MqttPublish getPublish() {
+        assert publish != null : "publish must not be accessed after the instance has been recycled";
         return publish;
     }
+
+    /**
+     * Returns the publish with the message expiry interval that remains since this instance was created, as required
+     * when a publish is sent later or resent.
+     *
+     * @return the publish with the remaining message expiry interval or <code>null</code> if the message expiry
+     *         interval elapsed.
+     */
+    @Nullable MqttPublish getPublishToSend() {
+        final MqttPublish publish = getPublish();
+        final long messageExpiryInterval = publish.getRawMessageExpiryInterval();
+        // an interval of 0 is sent as is, it is not an elapsed interval
+        if ((messageExpiryInterval == MqttPublish.NO_MESSAGE_EXPIRY) || (messageExpiryInterval == 0)) {
+            return publish;
+        }
+        assert nanoClock != null;
+        final long elapsed = TimeUnit.NANOSECONDS.toSeconds(nanoClock.getAsLong() - queuedNanos);
+        if (elapsed == 0) {
+            return publish;
+        }
+        if (elapsed >= messageExpiryInterval) {
+            return null;
+        }
+        return publish.withMessageExpiryInterval(messageExpiryInterval - elapsed);
+    }
+
+    /**
+     * Returns the publish to resend after the session was resumed. An already sent publish must be resent even if its
+     * message expiry interval elapsed, as the server may already have received it. The remaining interval is clamped
+     * to at least 1 second: it is counted in whole seconds, so less than a second remains at most, and no interval
+     * would mean that the message never expires.
+     *
+     * @return the publish with the remaining message expiry interval, at least 1 second.
+     */
+    @NotNull MqttPublish getPublishToResend() {
+        final MqttPublish publishToSend = getPublishToSend();
+        return (publishToSend == null) ? getPublish().withMessageExpiryInterval(1) : publishToSend;
+    }
+
+    /**
+     * Returns the pre-encoded bytes if they can be used to encode the given publish, which is only the case if it is
+     * not a copy with a remaining message expiry interval.
+     *
+     * @param publishToSend the publish returned by {@link #getPublishToSend()}.
+     * @return the pre-encoded bytes or <code>null</code> if the publish has to be encoded regularly.
+     */
+    byte @Nullable [] getPreEncoded(final @NotNull MqttPublish publishToSend) {
+        return (publishToSend == publish) ? preEncoded : null;
+    }
+
+    void recycle() {
+        publish = null;
+        nanoClock = null;
+        preEncoded = null;
+        setAckFlow(null);
+        packetIdentifier = 0;
+        unlink();
+        handle.recycle(this);
+    }
 }
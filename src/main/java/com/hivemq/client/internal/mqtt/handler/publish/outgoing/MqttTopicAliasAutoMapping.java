@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.util.collections.Index;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -54,7 +55,8 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
     }
 
     @Override
-    public int onPublish(final @NotNull MqttTopicImpl topic) {
+    public int onPublish(final @NotNull MqttTopicImpl topic, final @NotNull Mqtt5TopicAliasUsage usage) {
+        final boolean preferred = usage == Mqtt5TopicAliasUsage.PREFERRED;
         final long accessCounter = ++this.accessCounter;
         final String topicString = topic.toString();
         final Entry entry = map.get(topicString);
@@ -75,7 +77,7 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
                     fullOverwriteTries = 0;
                 }
             }
-            swapNewer(entry, accessCounter);
+            swapNewer(entry, accessCounter, preferred);
             return entry.topicAlias; // topic alias is 0 if entry is part of oversize
         }
         final Entry newEntry = new Entry(topicString, accessCounter);
@@ -91,15 +93,17 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         } else {
             final Entry lowest = this.lowest;
             assert lowest != null;
-            if (newEntry.priority(accessCounter) <= lowest.priority(accessCounter)) {
-                return DEFAULT_NO_TOPIC_ALIAS;
-            }
-            if (++fullOverwriteTries < fullOverwriteCost) {
-                return DEFAULT_NO_TOPIC_ALIAS;
-            }
-            fullOverwriteTries = 0;
-            if (fullOverwriteCost < OVERWRITE_COST_MAX) {
-                fullOverwriteCost += (byte) Math.min(OVERWRITE_COST_INC, OVERWRITE_COST_MAX - fullOverwriteCost);
+            if (!preferred) {
+                if (newEntry.priority(accessCounter) <= lowest.priority(accessCounter)) {
+                    return DEFAULT_NO_TOPIC_ALIAS;
+                }
+                if (++fullOverwriteTries < fullOverwriteCost) {
+                    return DEFAULT_NO_TOPIC_ALIAS;
+                }
+                fullOverwriteTries = 0;
+                if (fullOverwriteCost < OVERWRITE_COST_MAX) {
+                    fullOverwriteCost += (byte) Math.min(OVERWRITE_COST_INC, OVERWRITE_COST_MAX - fullOverwriteCost);
+                }
             }
             if (lowest.topicAlias != DEFAULT_NO_TOPIC_ALIAS) {
                 newEntry.setNewTopicAlias(lowest.topicAlias);
@@ -113,11 +117,11 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
             }
         }
         lowest = newEntry;
-        swapNewer(newEntry, accessCounter);
+        swapNewer(newEntry, accessCounter, preferred);
         return newEntry.topicAlias;
     }
 
-    private void swapNewer(final @NotNull Entry entry, final long accessCounter) {
+    private void swapNewer(final @NotNull Entry entry, final long accessCounter, final boolean preferred) {
         Entry higher = entry.higher;
         if (entry.higher == null) {
             return;
@@ -125,17 +129,21 @@ public class MqttTopicAliasAutoMapping implements MqttTopicAliasMapping {
         Entry lower = entry.lower;
         final long priority = entry.priority(accessCounter);
         while (true) {
+            // a preferred entry without a topic alias rises regardless of priority until it takes over a topic alias
+            final boolean force = preferred && (entry.topicAlias == DEFAULT_NO_TOPIC_ALIAS);
             final long newerPriority = higher.priority(accessCounter);
-            if (newerPriority >= priority) {
+            if (!force && (newerPriority >= priority)) {
                 break;
             }
             if ((entry.topicAlias == DEFAULT_NO_TOPIC_ALIAS) && (higher.topicAlias != DEFAULT_NO_TOPIC_ALIAS)) {
-                if (++overwriteTries < overwriteCost) {
-                    break; // do not swap immediately if entry would overwrite the topic alias of the next entry
-                }
-                overwriteTries = 0;
-                if (overwriteCost < OVERWRITE_COST_MAX) {
-                    overwriteCost += (byte) Math.min(OVERWRITE_COST_INC, OVERWRITE_COST_MAX - overwriteCost);
+                if (!force) {
+                    if (++overwriteTries < overwriteCost) {
+                        break; // do not swap immediately if entry would overwrite the topic alias of the next entry
+                    }
+                    overwriteTries = 0;
+                    if (overwriteCost < OVERWRITE_COST_MAX) {
+                        overwriteCost += (byte) Math.min(OVERWRITE_COST_INC, OVERWRITE_COST_MAX - overwriteCost);
+                    }
                 }
                 entry.setNewTopicAlias(higher.topicAlias);
                 higher.topicAlias = DEFAULT_NO_TOPIC_ALIAS;
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasMapping;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Adapts a user defined {@link Mqtt5TopicAliasMapping}. Tracks which topic a topic alias is defined for, so the user
+ * mapping only has to return the topic alias.
+ *
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasCustomMapping implements MqttTopicAliasMapping {
+
+    private final int topicAliasMaximum;
+    private final @NotNull Mqtt5TopicAliasMapping mapping;
+    private final @Nullable MqttTopicImpl @NotNull [] topics; // index is topic alias - 1
+
+    MqttTopicAliasCustomMapping(final int topicAliasMaximum, final @NotNull Mqtt5TopicAliasMapping mapping) {
+        this.topicAliasMaximum = topicAliasMaximum;
+        this.mapping = mapping;
+        topics = new MqttTopicImpl[topicAliasMaximum];
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic, final @NotNull Mqtt5TopicAliasUsage usage) {
+        final int topicAlias = mapping.getTopicAlias(topic, usage);
+        if ((topicAlias <= 0) || (topicAlias > topicAliasMaximum)) {
+            return DEFAULT_NO_TOPIC_ALIAS;
+        }
+        if (topic.equals(topics[topicAlias - 1])) {
+            return topicAlias;
+        }
+        topics[topicAlias - 1] = topic;
+        return topicAlias | TOPIC_ALIAS_FLAG_NEW;
+    }
+}
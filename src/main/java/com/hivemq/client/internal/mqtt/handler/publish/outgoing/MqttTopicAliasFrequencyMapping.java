@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Assigns the topic aliases to the most frequently used topics.
+ * <p>
+ * The frequency of all topics is estimated with a count-min sketch of a fixed size, so only the topics that currently
+ * own a topic alias are stored. The counters are halved periodically, so the topic aliases follow a shifting set of hot
+ * topics. A topic only takes over the topic alias of another topic if its estimated frequency is higher (admission
+ * like TinyLFU), so rarely used topics do not overwrite topic aliases that are still in use.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasFrequencyMapping implements MqttTopicAliasMapping {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH_PER_TOPIC_ALIAS = 8;
+    private static final int MIN_WIDTH = 64;
+    private static final int MAX_WIDTH = 1 << 16;
+    private static final int SAMPLE_SIZE_PER_WIDTH = 10; // counters are halved after this many increments per column
+    private static final int MAX_COUNT = 0xFF;
+    private static final int VICTIM_SAMPLES = 4;
+    private static final int @NotNull [] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+
+    private final int topicAliasMaximum;
+    private final byte @NotNull [] sketch; // DEPTH rows of unsigned byte counters
+    private final int widthBits;
+    private final int sampleSize;
+    private int increments;
+    private final @NotNull HashMap<String, Entry> entries = new HashMap<>();
+    private final @NotNull Entry @NotNull [] topicAliases; // index is topic alias - 1
+    private int hand; // next topic alias - 1 that is sampled as victim
+
+    public MqttTopicAliasFrequencyMapping(final int topicAliasMaximum) {
+        this.topicAliasMaximum = topicAliasMaximum;
+        final int width = Math.min(MAX_WIDTH,
+                Math.max(MIN_WIDTH, Integer.highestOneBit(topicAliasMaximum * WIDTH_PER_TOPIC_ALIAS - 1) << 1));
+        sketch = new byte[DEPTH * width];
+        widthBits = Integer.numberOfTrailingZeros(width);
+        sampleSize = SAMPLE_SIZE_PER_WIDTH * width;
+        topicAliases = new Entry[topicAliasMaximum];
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic, final @NotNull Mqtt5TopicAliasUsage usage) {
+        final String topicString = topic.toString();
+        final int hash = topicString.hashCode();
+        final int frequency = increment(hash);
+        final Entry entry = entries.get(topicString);
+        if (entry != null) {
+            return entry.topicAlias;
+        }
+        final int size = entries.size();
+        if (size < topicAliasMaximum) {
+            return put(new Entry(topicString, hash, size + 1));
+        }
+        Entry victim = null;
+        int victimFrequency = Integer.MAX_VALUE;
+        for (int i = Math.min(VICTIM_SAMPLES, topicAliasMaximum); i > 0; i--) {
+            final Entry candidate = topicAliases[hand];
+            hand = (hand + 1 == topicAliasMaximum) ? 0 : hand + 1;
+            final int candidateFrequency = estimate(candidate.hash);
+            if (candidateFrequency < victimFrequency) {
+                victim = candidate;
+                victimFrequency = candidateFrequency;
+            }
+        }
+        assert victim != null;
+        if ((frequency <= victimFrequency) && (usage != Mqtt5TopicAliasUsage.PREFERRED)) {
+            return DEFAULT_NO_TOPIC_ALIAS;
+        }
+        entries.remove(victim.topic);
+        return put(new Entry(topicString, hash, victim.topicAlias));
+    }
+
+    private int put(final @NotNull Entry entry) {
+        entries.put(entry.topic, entry);
+        topicAliases[entry.topicAlias - 1] = entry;
+        return entry.topicAlias | TOPIC_ALIAS_FLAG_NEW;
+    }
+
+    private int increment(final int hash) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            final int index = index(hash, row);
+            int count = sketch[index] & MAX_COUNT;
+            if (count < MAX_COUNT) {
+                sketch[index] = (byte) ++count;
+            }
+            min = Math.min(min, count);
+        }
+        if (++increments == sampleSize) {
+            age();
+        }
+        return min;
+    }
+
+    private int estimate(final int hash) {
+        int min = MAX_COUNT;
+        for (int row = 0; row < DEPTH; row++) {
+            min = Math.min(min, sketch[index(hash, row)] & MAX_COUNT);
+        }
+        return min;
+    }
+
+    private int index(final int hash, final int row) {
+        return (row << widthBits) | ((hash * SEEDS[row]) >>> (Integer.SIZE - widthBits));
+    }
+
+    private void age() {
+        for (int i = 0; i < sketch.length; i++) {
+            sketch[i] = (byte) ((sketch[i] & MAX_COUNT) >>> 1);
+        }
+        increments >>>= 1;
+    }
+
+    private static class Entry {
+
+        final @NotNull String topic;
+        final int hash;
+        final int topicAlias;
+
+        Entry(final @NotNull String topic, final int hash, final int topicAlias) {
+            this.topic = topic;
+            this.hash = hash;
+            this.topicAlias = topicAlias;
+        }
+    }
+}
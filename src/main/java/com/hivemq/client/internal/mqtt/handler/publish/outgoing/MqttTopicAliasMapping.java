@@ -17,14 +17,31 @@
 package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasMapping;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
 import org.jetbrains.annotations.NotNull;
 
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG;
+
 /**
  * @author Silvio Giebl
  */
-public interface MqttTopicAliasMapping {
+public interface MqttTopicAliasMapping extends Mqtt5TopicAliasMapping {
 
     int getTopicAliasMaximum();
 
-    int onPublish(@NotNull MqttTopicImpl topic);
+    /**
+     * @param topic the topic of the Publish message.
+     * @param usage the Topic Alias usage of the Publish message, never {@link Mqtt5TopicAliasUsage#NO}.
+     * @return the Topic Alias, combined with the new flag if the Topic Alias is (re)defined, or 0 if no Topic Alias is
+     *         used.
+     */
+    int onPublish(@NotNull MqttTopicImpl topic, @NotNull Mqtt5TopicAliasUsage usage);
+
+    @Override
+    default int getTopicAlias(final @NotNull MqttTopic topic, final @NotNull Mqtt5TopicAliasUsage usage) {
+        return onPublish(MqttChecks.topic(topic), usage) & TOPIC_ALIAS_FLAG;
+    }
 }
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+
+/**
+ * Assigns the topic aliases to a static list of known topics. The topic aliases that are left over are assigned
+ * automatically to the other topics.
+ * <p>
+ * A topic alias still has to be defined by the first publish of its topic, as the server does not know the topic
+ * before.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTopicAliasStaticMapping implements MqttTopicAliasMapping {
+
+    private final int topicAliasMaximum;
+    private final @NotNull HashMap<String, Integer> topicAliases;
+    private final boolean @NotNull [] defined;
+    private final @Nullable MqttTopicAliasAutoMapping autoMapping;
+
+    public MqttTopicAliasStaticMapping(
+            final int topicAliasMaximum, final @NotNull ImmutableList<MqttTopicImpl> topics) {
+
+        this.topicAliasMaximum = topicAliasMaximum;
+        topicAliases = new HashMap<>();
+        for (int i = 0; (i < topics.size()) && (topicAliases.size() < topicAliasMaximum); i++) {
+            topicAliases.putIfAbsent(topics.get(i).toString(), topicAliases.size() + 1);
+        }
+        defined = new boolean[topicAliases.size()];
+        final int remaining = topicAliasMaximum - topicAliases.size();
+        autoMapping = (remaining == 0) ? null : new MqttTopicAliasAutoMapping(remaining);
+    }
+
+    @Override
+    public int getTopicAliasMaximum() {
+        return topicAliasMaximum;
+    }
+
+    @Override
+    public int onPublish(final @NotNull MqttTopicImpl topic, final @NotNull Mqtt5TopicAliasUsage usage) {
+        final Integer topicAlias = topicAliases.get(topic.toString());
+        if (topicAlias != null) {
+            if (defined[topicAlias - 1]) {
+                return topicAlias;
+            }
+            defined[topicAlias - 1] = true;
+            return topicAlias | TOPIC_ALIAS_FLAG_NEW;
+        }
+        if (autoMapping == null) {
+            return DEFAULT_NO_TOPIC_ALIAS;
+        }
+        final int autoTopicAlias = autoMapping.onPublish(topic, usage);
+        // the automatically assigned topic aliases follow the static ones, adding keeps the new flag
+        return (autoTopicAlias == DEFAULT_NO_TOPIC_ALIAS) ? DEFAULT_NO_TOPIC_ALIAS :
+                autoTopicAlias + topicAliases.size();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.util.MqttChecks;
+import com.hivemq.client.internal.util.Checks;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasMapping;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * @author Silvio Giebl
+ */
+public final class MqttTopicAliasStrategies {
+
+    public static final @NotNull Mqtt5TopicAliasStrategy AUTO = MqttTopicAliasAutoMapping::new;
+    public static final @NotNull Mqtt5TopicAliasStrategy FREQUENCY = MqttTopicAliasFrequencyMapping::new;
+
+    public static @NotNull Mqtt5TopicAliasStrategy preloaded(final @Nullable Collection<? extends MqttTopic> topics) {
+        Checks.notNull(topics, "Topics");
+        final ImmutableList.Builder<MqttTopicImpl> builder = ImmutableList.builder(topics.size());
+        for (final MqttTopic topic : topics) {
+            builder.add(MqttChecks.topic(topic));
+        }
+        return preloaded(builder.build());
+    }
+
+    public static @NotNull Mqtt5TopicAliasStrategy preloaded(final @Nullable String @Nullable ... topics) {
+        Checks.notNull(topics, "Topics");
+        final ImmutableList.Builder<MqttTopicImpl> builder = ImmutableList.builder(topics.length);
+        for (final String topic : topics) {
+            builder.add(MqttTopicImpl.of(topic));
+        }
+        return preloaded(builder.build());
+    }
+
+    private static @NotNull Mqtt5TopicAliasStrategy preloaded(final @NotNull ImmutableList<MqttTopicImpl> topics) {
+        return topicAliasMaximum -> new MqttTopicAliasStaticMapping(topicAliasMaximum, topics);
+    }
+
+    /**
+     * Creates the topic alias mapping for a connection.
+     *
+     * @param strategy          the topic alias strategy of the client.
+     * @param topicAliasMaximum the topic alias maximum of the connection.
+     * @return the topic alias mapping or null if the connection does not allow topic aliases.
+     */
+    public static @Nullable MqttTopicAliasMapping createMapping(
+            final @NotNull Mqtt5TopicAliasStrategy strategy, final int topicAliasMaximum) {
+
+        if (topicAliasMaximum == 0) {
+            return null;
+        }
+        final Mqtt5TopicAliasMapping mapping = strategy.createMapping(topicAliasMaximum);
+        if (mapping instanceof MqttTopicAliasMapping) {
+            return (MqttTopicAliasMapping) mapping;
+        }
+        return new MqttTopicAliasCustomMapping(topicAliasMaximum, mapping);
+    }
+
+    private MqttTopicAliasStrategies() {}
+}
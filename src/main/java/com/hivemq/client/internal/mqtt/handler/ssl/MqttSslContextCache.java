@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.ssl;
+
+import com.hivemq.client.internal.annotations.ThreadSafe;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import io.netty.handler.ssl.SslContext;
+import io.netty.util.ReferenceCountUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.net.ssl.SSLException;
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shares {@link SslContext}s between all clients (and their reconnects) that use equal {@link MqttClientSslConfigImpl
+ * SSL configurations}. As the session cache is part of the context, sharing the context allows TLS sessions to be
+ * resumed (via session IDs or session tickets) instead of performing full handshakes.
+ *
+ * @author Silvio Giebl
+ */
+@ThreadSafe
+public final class MqttSslContextCache {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(MqttSslContextCache.class);
+
+    public static final @NotNull MqttSslContextCache INSTANCE = new MqttSslContextCache();
+
+    private final @NotNull HashMap<MqttClientSslConfigImpl, Entry> entries = new HashMap<>();
+
+    MqttSslContextCache() {}
+
+    public synchronized @NotNull Entry acquire(final @NotNull MqttClientSslConfigImpl sslConfig) throws SSLException {
+        Entry entry = entries.get(sslConfig);
+        if (entry == null) {
+            entry = new Entry(sslConfig, MqttSslInitializer.createSslContext(sslConfig));
+            entries.put(sslConfig, entry);
+        } else {
+            entry.referenceCount++;
+        }
+        return entry;
+    }
+
+    public synchronized void release(final @NotNull Entry entry) {
+        if (--entry.referenceCount == 0) {
+            entries.remove(entry.sslConfig);
+            ReferenceCountUtil.release(entry.sslContext);
+        }
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * A shared {@link SslContext} with statistics about the handshakes of all channels that use it.
+     */
+    @ThreadSafe
+    public static final class Entry {
+
+        private final @NotNull MqttClientSslConfigImpl sslConfig;
+        private final @NotNull SslContext sslContext;
+        private int referenceCount = 1;
+
+        private final @NotNull AtomicLong handshakeCount = new AtomicLong();
+        private final @NotNull AtomicLong resumedHandshakeCount = new AtomicLong();
+        private final @NotNull AtomicLong handshakeNanos = new AtomicLong();
+
+        private Entry(final @NotNull MqttClientSslConfigImpl sslConfig, final @NotNull SslContext sslContext) {
+            this.sslConfig = sslConfig;
+            this.sslContext = sslContext;
+        }
+
+        public @NotNull SslContext getSslContext() {
+            return sslContext;
+        }
+
+        void onHandshake(final long nanos, final boolean resumed) {
+            final long count = handshakeCount.incrementAndGet();
+            final long resumedCount = resumed ? resumedHandshakeCount.incrementAndGet() : resumedHandshakeCount.get();
+            handshakeNanos.addAndGet(nanos);
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("TLS handshake took {} us (resumed: {}), {} of {} handshakes with this context resumed",
+                        nanos / 1_000, resumed, resumedCount, count);
+            }
+        }
+
+        public long getHandshakeCount() {
+            return handshakeCount.get();
+        }
+
+        public long getResumedHandshakeCount() {
+            return resumedHandshakeCount.get();
+        }
+
+        public long getHandshakeNanos() {
+            return handshakeNanos.get();
+        }
+    }
+}
@@ -20,6 +20,8 @@ import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslHandler;
@@ -30,6 +32,7 @@ import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
 import java.net.InetSocketAddress;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -49,16 +52,20 @@ public final class MqttSslInitializer {
             final @NotNull Consumer<Channel> onSuccess,
             final @NotNull BiConsumer<Channel, Throwable> onError) {
 
-        final InetSocketAddress serverAddress = clientConfig.getCurrentTransportConfig().getServerAddress();
+        final InetSocketAddress serverAddress = clientConfig.getCurrentServerAddress();
 
+        final MqttSslContextCache.Entry sslContext;
         final SslHandler sslHandler;
         try {
-            SslContext sslContext = clientConfig.getCurrentSslContext();
-            if (sslContext == null) {
-                sslContext = createSslContext(sslConfig);
-                clientConfig.setCurrentSslContext(sslContext);
+            MqttSslContextCache.Entry currentSslContext = clientConfig.getCurrentSslContext();
+            if (currentSslContext == null) {
+                currentSslContext = MqttSslContextCache.INSTANCE.acquire(sslConfig);
+                clientConfig.setCurrentSslContext(currentSslContext);
             }
-            sslHandler = sslContext.newHandler(channel.alloc(), serverAddress.getHostString(), serverAddress.getPort());
+            sslContext = currentSslContext;
+            // passing the peer host and port enables session resumption
+            sslHandler = sslContext.getSslContext()
+                    .newHandler(channel.alloc(), serverAddress.getHostString(), serverAddress.getPort());
         } catch (final Throwable t) {
             onError.accept(channel, t);
             return;
@@ -73,8 +80,10 @@ public final class MqttSslInitializer {
             sslHandler.engine().setSSLParameters(sslParameters);
         }
 
+        final HandshakeTimer handshakeTimer = new HandshakeTimer();
         sslHandler.handshakeFuture().addListener(future -> {
             if (future.isSuccess()) {
+                handshakeTimer.onHandshake(sslContext, sslHandler.engine().getSession());
                 if ((hostnameVerifier != null) &&
                         !hostnameVerifier.verify(serverAddress.getHostString(), sslHandler.engine().getSession())) {
                     onError.accept(channel, new SSLHandshakeException("Hostname verification failed"));
@@ -86,6 +95,11 @@ public final class MqttSslInitializer {
             }
         });
 
+        if (channel.isActive()) {
+            handshakeTimer.start();
+        } else {
+            channel.pipeline().addLast(handshakeTimer);
+        }
         channel.pipeline().addLast(SSL_HANDLER_NAME, sslHandler);
     }
 
@@ -101,4 +115,30 @@ public final class MqttSslInitializer {
     }
 
     private MqttSslInitializer() {}
+
+    /**
+     * Measures the time from the activation of the channel (when the handshake starts) until the handshake completes.
+     */
+    private static class HandshakeTimer extends ChannelInboundHandlerAdapter {
+
+        private long startNanos;
+        private long startMillis;
+
+        void start() {
+            startNanos = System.nanoTime();
+            startMillis = System.currentTimeMillis();
+        }
+
+        @Override
+        public void channelActive(final @NotNull ChannelHandlerContext ctx) {
+            start();
+            ctx.pipeline().remove(this);
+            ctx.fireChannelActive();
+        }
+
+        void onHandshake(final @NotNull MqttSslContextCache.Entry sslContext, final @NotNull SSLSession session) {
+            // a resumed session keeps the creation time of the handshake that established it
+            sslContext.onHandshake(System.nanoTime() - startNanos, session.getCreationTime() < startMillis);
+        }
+    }
 }
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.subscribe;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Consecutive pending (un)subscribes, or parts of them, that are sent with one SUBSCRIBE or UNSUBSCRIBE packet.
+ * <p>
+ * The batch starts at the index {@link #from} of the first (un)subscribe and ends before the index {@link #to} of the
+ * last (un)subscribe, all (un)subscribes in between are contained completely.
+ *
+ * @author Silvio Giebl
+ */
+class MqttSubOrUnsubBatch {
+
+    final int packetIdentifier;
+    final @NotNull MqttSubOrUnsubWithFlow @NotNull [] withFlows;
+    private final int from;
+    private final int to;
+
+    MqttSubOrUnsubBatch(
+            final int packetIdentifier,
+            final @NotNull MqttSubOrUnsubWithFlow @NotNull [] withFlows,
+            final int from,
+            final int to) {
+
+        this.packetIdentifier = packetIdentifier;
+        this.withFlows = withFlows;
+        this.from = from;
+        this.to = to;
+    }
+
+    boolean isSubscribe() {
+        return withFlows[0] instanceof MqttSubscribeWithFlow;
+    }
+
+    /**
+     * @return whether the batch consists of exactly one complete (un)subscribe.
+     */
+    boolean isSingle() {
+        return (withFlows.length == 1) && (from == 0) && (to == withFlows[0].size());
+    }
+
+    int from(final int index) {
+        return (index == 0) ? from : 0;
+    }
+
+    int to(final int index) {
+        return (index == withFlows.length - 1) ? to : withFlows[index].size();
+    }
+
+    int size() {
+        int size = 0;
+        for (int i = 0; i < withFlows.length; i++) {
+            size += to(i) - from(i);
+        }
+        return size;
+    }
+}
@@ -16,7 +16,9 @@
 
 package com.hivemq.client.internal.mqtt.handler.subscribe;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.util.collections.NodeList;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -24,7 +26,35 @@ import org.jetbrains.annotations.Nullable;
  */
 abstract class MqttSubOrUnsubWithFlow extends NodeList.Node<MqttSubOrUnsubWithFlow> {
 
-    int packetIdentifier;
+    // valid for connection
+    int sent; // count of subscriptions or topic filters already sent in batches
+    int acknowledged; // count of subscriptions or topic filters already acknowledged
 
     abstract @Nullable MqttSubscriptionFlow<?> getFlow();
+
+    /**
+     * @return the count of subscriptions or topic filters.
+     */
+    abstract int size();
+
+    /**
+     * @param index the index of the subscription or topic filter.
+     * @return the encoded length of the subscription or topic filter at the given index.
+     */
+    abstract int encodedLength(int index);
+
+    abstract @NotNull MqttUserPropertiesImpl getUserProperties();
+
+    void reset() {
+        sent = 0;
+        acknowledged = 0;
+    }
+
+    void complete() {
+        acknowledged = size();
+    }
+
+    boolean isCompleted() {
+        return acknowledged == size();
+    }
 }
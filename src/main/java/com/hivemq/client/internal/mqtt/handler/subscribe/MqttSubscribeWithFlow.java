@@ -16,8 +16,11 @@
 
 package com.hivemq.client.internal.mqtt.handler.subscribe;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -29,6 +32,7 @@ class MqttSubscribeWithFlow extends MqttSubOrUnsubWithFlow {
     final @NotNull MqttSubscribe subscribe;
     final int subscriptionIdentifier;
     private final @Nullable MqttSubscriptionFlow<MqttSubAck> flow;
+    private @Nullable Mqtt5SubAckReasonCode @Nullable [] reasonCodes;
 
     MqttSubscribeWithFlow(
             final @NotNull MqttSubscribe subscribe,
@@ -44,4 +48,50 @@ class MqttSubscribeWithFlow extends MqttSubOrUnsubWithFlow {
     @Nullable MqttSubscriptionFlow<MqttSubAck> getFlow() {
         return flow;
     }
+
+    @Override
+    int size() {
+        return subscribe.getSubscriptions().size();
+    }
+
+    @Override
+    int encodedLength(final int index) {
+        return subscribe.getSubscriptions().get(index).getTopicFilter().encodedLength() + 1; // + subscription options
+    }
+
+    @Override
+    @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return subscribe.getUserProperties();
+    }
+
+    /**
+     * Acknowledges a part of the subscriptions that was sent in a batch.
+     *
+     * @param reasonCodes the reason codes of the SUBACK for the batch.
+     * @param offset      the index of the reason code for the first subscription of the part.
+     * @param from        the index of the first subscription of the part.
+     * @param to          the index after the last subscription of the part.
+     * @return whether all subscriptions are acknowledged.
+     */
+    boolean acknowledge(
+            final @NotNull ImmutableList<Mqtt5SubAckReasonCode> reasonCodes,
+            final int offset,
+            final int from,
+            final int to) {
+
+        Mqtt5SubAckReasonCode[] acknowledgedReasonCodes = this.reasonCodes;
+        if (acknowledgedReasonCodes == null) {
+            this.reasonCodes = acknowledgedReasonCodes = new Mqtt5SubAckReasonCode[size()];
+        }
+        for (int i = from; i < to; i++) {
+            acknowledgedReasonCodes[i] = reasonCodes.get(offset + i - from);
+        }
+        acknowledged += to - from;
+        return acknowledged == size();
+    }
+
+    @NotNull ImmutableList<Mqtt5SubAckReasonCode> getReasonCodes() {
+        assert reasonCodes != null : "getReasonCodes must only be called after acknowledge";
+        return ImmutableList.copyOf(reasonCodes);
+    }
 }
@@ -21,7 +21,9 @@ import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientConfig;
 import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUtf8StringImpl;
 import com.hivemq.client.internal.mqtt.handler.MqttSessionAwareHandler;
 import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectUtil;
 import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttGlobalIncomingPublishFlow;
@@ -31,17 +33,19 @@ import com.hivemq.client.internal.mqtt.ioc.ClientScope;
 import com.hivemq.client.internal.mqtt.message.MqttCommonReasonCode;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
 import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttStatefulUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.MqttUnsubAck;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.mqtt3.Mqtt3UnsubAckView;
-import com.hivemq.client.internal.util.Ranges;
+import com.hivemq.client.internal.util.IdBitmap;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
+import com.hivemq.client.internal.util.collections.DirectIntIndex;
 import com.hivemq.client.internal.util.collections.ImmutableList;
-import com.hivemq.client.internal.util.collections.IntIndex;
 import com.hivemq.client.internal.util.collections.NodeList;
 import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttVersion;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
 import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5UnsubAckException;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
@@ -54,6 +58,8 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.inject.Inject;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Silvio Giebl
@@ -64,22 +70,29 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     public static final @NotNull String NAME = "subscription";
     private static final @NotNull InternalLogger LOGGER =
             InternalLoggerFactory.getLogger(MqttSubscriptionHandler.class);
-    private static final IntIndex.@NotNull Spec<MqttSubOrUnsubWithFlow> INDEX_SPEC =
-            new IntIndex.Spec<>(x -> x.packetIdentifier, 4);
+    private static final @NotNull ToIntFunction<MqttSubOrUnsubBatch> INDEX_KEY_FUNCTION = x -> x.packetIdentifier;
     public static final int MAX_SUB_PENDING = 10; // TODO configurable
+    // fixed header + packet identifier + property length + subscription identifier
+    private static final int SUB_OR_UNSUB_MAX_OVERHEAD = 5 + 2 + 4 + 5;
 
     private final @NotNull MqttClientConfig clientConfig;
     private final @NotNull MqttIncomingPublishFlows incomingPublishFlows;
 
     // valid for session
     private final @NotNull NodeList<MqttSubOrUnsubWithFlow> pending = new NodeList<>();
-    private final @NotNull Ranges packetIdentifiers;
+    private final @NotNull IdBitmap packetIdentifiers;
     private int nextSubscriptionIdentifier = 1;
 
     // valid for connection
-    private final @NotNull IntIndex<MqttSubOrUnsubWithFlow> pendingIndex = new IntIndex<>(INDEX_SPEC);
-    private @Nullable MqttSubOrUnsubWithFlow sendPending, currentPending;
+    private final @NotNull DirectIntIndex<MqttSubOrUnsubBatch> pendingIndex = new DirectIntIndex<>(INDEX_KEY_FUNCTION);
+    private @Nullable MqttSubOrUnsubWithFlow sendPending;
+    private @Nullable MqttSubOrUnsubBatch currentPending;
     private boolean subscriptionIdentifiersAvailable;
+    private boolean wildcardSubscriptionAvailable;
+    private boolean sharedSubscriptionAvailable;
+    private int maximumPacketSize;
+    private boolean holdWildcardOrShared;
+    private final @NotNull ArrayList<MqttSubOrUnsubWithFlow> batchWithFlows = new ArrayList<>();
 
     @Inject
     MqttSubscriptionHandler(
@@ -91,16 +104,18 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
 
         final int maxPacketIdentifier = UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE;
         final int minPacketIdentifier = UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE - MAX_SUB_PENDING + 1;
-        packetIdentifiers = new Ranges(minPacketIdentifier, maxPacketIdentifier);
+        packetIdentifiers = new IdBitmap(minPacketIdentifier, maxPacketIdentifier);
     }
 
     @Override
     public void onSessionStartOrResume(
             final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
 
-        subscriptionIdentifiersAvailable = connectionConfig.areSubscriptionIdentifiersAvailable();
+        setRestrictions(connectionConfig);
+        holdWildcardOrShared = false;
 
         if (!hasSession) {
+            // resubscribes are batched into few SUBSCRIBE packets if subscription identifiers are not sent
             incomingPublishFlows.getSubscriptions().forEach((subscriptionIdentifier, subscriptions) -> {
                 final MqttSubscribe subscribe = new MqttSubscribe(ImmutableList.copyOf(subscriptions),
                         MqttUserPropertiesImpl.NO_USER_PROPERTIES);
@@ -108,7 +123,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
             });
         }
 
-        pendingIndex.clear();
+        resetSent();
         sendPending = pending.getFirst();
         if (sendPending != null) {
             eventLoop.execute(this);
@@ -117,6 +132,138 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         super.onSessionStartOrResume(connectionConfig, eventLoop);
     }
 
+    @Override
+    public void onSessionStartEarly(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        super.onSessionStartEarly(connectionConfig, eventLoop);
+        // the server may not support wildcard or shared subscriptions, which is only known after the CONNACK
+        holdWildcardOrShared = true;
+    }
+
+    @Override
+    public void onSessionStartConfirmed(
+            final @NotNull MqttClientConnectionConfig connectionConfig, final @NotNull EventLoop eventLoop) {
+
+        setRestrictions(connectionConfig);
+        holdWildcardOrShared = false;
+        failUnsupported();
+        if (sendPending != null) {
+            eventLoop.execute(this);
+        }
+    }
+
+    private void setRestrictions(final @NotNull MqttClientConnectionConfig connectionConfig) {
+        subscriptionIdentifiersAvailable = connectionConfig.areSubscriptionIdentifiersAvailable() &&
+                (clientConfig.getMqttVersion() == MqttVersion.MQTT_5_0);
+        wildcardSubscriptionAvailable = connectionConfig.isWildcardSubscriptionAvailable();
+        sharedSubscriptionAvailable = connectionConfig.isSharedSubscriptionAvailable();
+        maximumPacketSize = connectionConfig.getSendMaximumPacketSize();
+    }
+
+    /**
+     * Fails the subscribes that were held back until the ConnAck message was received because they contain wildcard or
+     * shared topic filters, if the server does not support them. The flow of such a subscribe fails with a {@link
+     * Mqtt5SubAckException} that contains the reason code for each subscription, as if the server had rejected it.
+     * Subscriptions of the same subscribe that are supported are not sent either and get {@link
+     * Mqtt5SubAckReasonCode#UNSPECIFIED_ERROR}.
+     */
+    private void failUnsupported() {
+        MqttSubOrUnsubWithFlow current = sendPending;
+        while (current != null) {
+            final MqttSubOrUnsubWithFlow next = current.getNext();
+            if ((current instanceof MqttSubscribeWithFlow) && (current.sent == 0)) {
+                final MqttSubscribeWithFlow subscribeWithFlow = (MqttSubscribeWithFlow) current;
+                final ImmutableList<MqttSubscription> subscriptions = subscribeWithFlow.subscribe.getSubscriptions();
+                final ImmutableList.Builder<Mqtt5SubAckReasonCode> reasonCodes =
+                        ImmutableList.builder(subscriptions.size());
+                boolean unsupported = false;
+                for (int i = 0; i < subscriptions.size(); i++) {
+                    final MqttTopicFilterImpl topicFilter = subscriptions.get(i).getTopicFilter();
+                    if (topicFilter.isShared() && !sharedSubscriptionAvailable) {
+                        reasonCodes.add(Mqtt5SubAckReasonCode.SHARED_SUBSCRIPTIONS_NOT_SUPPORTED);
+                        unsupported = true;
+                    } else if (topicFilter.containsWildcards() && !wildcardSubscriptionAvailable) {
+                        reasonCodes.add(Mqtt5SubAckReasonCode.WILDCARD_SUBSCRIPTIONS_NOT_SUPPORTED);
+                        unsupported = true;
+                    } else {
+                        reasonCodes.add(Mqtt5SubAckReasonCode.UNSPECIFIED_ERROR);
+                    }
+                }
+                if (unsupported) {
+                    failSubscribe(subscribeWithFlow, reasonCodes.build());
+                }
+            }
+            current = next;
+        }
+    }
+
+    private void failSubscribe(
+            final @NotNull MqttSubscribeWithFlow subscribeWithFlow,
+            final @NotNull ImmutableList<Mqtt5SubAckReasonCode> reasonCodes) {
+
+        remove(subscribeWithFlow);
+        incomingPublishFlows.subAck(subscribeWithFlow.subscribe, subscribeWithFlow.subscriptionIdentifier, reasonCodes);
+
+        final MqttSubscriptionFlow<MqttSubAck> flow = subscribeWithFlow.getFlow();
+        if (flow != null) {
+            final String errorMessage = "Server does not support the wildcard or shared subscriptions";
+            if (!flow.isCancelled()) {
+                final MqttSubAck subAck = new MqttSubAck(0, reasonCodes, MqttUtf8StringImpl.of(errorMessage),
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+                flow.onError(new Mqtt5SubAckException(subAck, errorMessage));
+            } else {
+                LOGGER.warn(errorMessage + " but the SubAck flow has been cancelled");
+            }
+        }
+    }
+
+    private static boolean hasWildcardOrShared(final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow) {
+        if (subOrUnsubWithFlow instanceof MqttSubscribeWithFlow) {
+            final ImmutableList<MqttSubscription> subscriptions =
+                    ((MqttSubscribeWithFlow) subOrUnsubWithFlow).subscribe.getSubscriptions();
+            for (int i = 0; i < subscriptions.size(); i++) {
+                final MqttTopicFilterImpl topicFilter = subscriptions.get(i).getTopicFilter();
+                if (topicFilter.isShared() || topicFilter.containsWildcards()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void onSessionStartAborted() {
+        super.onSessionStartAborted();
+        holdWildcardOrShared = false;
+
+        resetSent();
+        // resubscribes are queued again for all subscriptions when the next session starts
+        MqttSubOrUnsubWithFlow current = pending.getFirst();
+        while (current != null) {
+            final MqttSubOrUnsubWithFlow next = current.getNext();
+            if (current.getFlow() == null) {
+                pending.remove(current);
+            }
+            current = next;
+        }
+    }
+
+    /**
+     * Resets the batches of the connection. Pending (un)subscribes are sent again completely in new batches.
+     */
+    private void resetSent() {
+        pendingIndex.forEach(batch -> packetIdentifiers.returnId(batch.packetIdentifier));
+        pendingIndex.clear();
+        sendPending = null;
+        for (MqttSubOrUnsubWithFlow current = pending.getFirst(); current != null; current = current.getNext()) {
+            if (current.sent == 0) {
+                break;
+            }
+            current.reset();
+        }
+    }
+
     public void subscribe(
             final @NotNull MqttSubscribe subscribe, final @NotNull MqttSubscriptionFlow<MqttSubAck> flow) {
 
@@ -125,7 +272,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
                 final int subscriptionIdentifier = nextSubscriptionIdentifier++;
                 incomingPublishFlows.subscribe(subscribe, subscriptionIdentifier,
                         (flow instanceof MqttSubscribedPublishFlow) ? (MqttSubscribedPublishFlow) flow : null);
-                queue(new MqttSubscribeWithFlow(subscribe, subscriptionIdentifier, flow));
+                queue(new MqttSubscribeWithFlow(subscribe, subscriptionIdentifier, flow), flow.getEventLoop());
             }
         });
     }
@@ -135,7 +282,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
 
         flow.getEventLoop().execute(() -> {
             if (flow.init()) {
-                queue(new MqttUnsubscribeWithFlow(unsubscribe, flow));
+                queue(new MqttUnsubscribeWithFlow(unsubscribe, flow), flow.getEventLoop());
             }
         });
     }
@@ -148,11 +295,14 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         });
     }
 
-    private void queue(final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow) {
+    private void queue(
+            final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow, final @NotNull EventLoop eventLoop) {
+
         pending.add(subOrUnsubWithFlow);
         if (sendPending == null) {
             sendPending = subOrUnsubWithFlow;
-            run();
+            // (un)subscribes queued until the task runs are batched together
+            eventLoop.execute(this);
         }
     }
 
@@ -164,24 +314,22 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
             return;
         }
         int written = 0;
-        for (MqttSubOrUnsubWithFlow subOrUnsubWithFlow = sendPending;
-             (subOrUnsubWithFlow != null) && (pendingIndex.size() < MAX_SUB_PENDING);
-             sendPending = subOrUnsubWithFlow = subOrUnsubWithFlow.getNext()) {
-
-            if (subOrUnsubWithFlow.packetIdentifier == 0) {
-                final int packetIdentifier = packetIdentifiers.getId();
-                if (packetIdentifier == -1) {
-                    LOGGER.error(
-                            "No Packet Identifier available for (UN)SUBSCRIBE. This must not happen and is a bug.");
-                    return;
-                }
-                subOrUnsubWithFlow.packetIdentifier = packetIdentifier;
+        while ((sendPending != null) && (pendingIndex.size() < MAX_SUB_PENDING)) {
+            // (un)subscribes are sent in order, so all following ones are held back as well
+            if (holdWildcardOrShared && hasWildcardOrShared(sendPending)) {
+                break;
+            }
+            final int packetIdentifier = packetIdentifiers.getId();
+            if (packetIdentifier == -1) {
+                LOGGER.error("No Packet Identifier available for (UN)SUBSCRIBE. This must not happen and is a bug.");
+                return;
             }
-            pendingIndex.put(subOrUnsubWithFlow);
-            if (sendPending instanceof MqttSubscribeWithFlow) {
-                writeSubscribe(ctx, (MqttSubscribeWithFlow) subOrUnsubWithFlow);
+            final MqttSubOrUnsubBatch batch = batch(packetIdentifier, sendPending);
+            pendingIndex.put(batch);
+            if (batch.isSubscribe()) {
+                writeSubscribe(ctx, batch);
             } else {
-                writeUnsubscribe(ctx, (MqttUnsubscribeWithFlow) subOrUnsubWithFlow);
+                writeUnsubscribe(ctx, batch);
             }
             written++;
         }
@@ -190,26 +338,105 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
         }
     }
 
-    private void writeSubscribe(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttSubscribeWithFlow subscribeWithFlow) {
+    /**
+     * Batches the next pending (un)subscribes into one packet that does not exceed the maximum packet size. Consecutive
+     * (un)subscribes are merged if they have the same user properties and no subscription identifiers are sent. An
+     * (un)subscribe that does not fit into one packet is split into multiple batches.
+     *
+     * @param packetIdentifier the packet identifier of the batch.
+     * @param first            the first (un)subscribe to send.
+     * @return the batch.
+     */
+    private @NotNull MqttSubOrUnsubBatch batch(
+            final int packetIdentifier, final @NotNull MqttSubOrUnsubWithFlow first) {
+
+        final int maximumLength =
+                maximumPacketSize - SUB_OR_UNSUB_MAX_OVERHEAD - first.getUserProperties().encodedLength();
+        final int from = first.sent;
+        int length = 0;
+        MqttSubOrUnsubWithFlow current = first;
+        do {
+            final int size = current.size();
+            int sent = current.sent;
+            while ((sent < size) && ((length == 0) || (length + current.encodedLength(sent) <= maximumLength))) {
+                length += current.encodedLength(sent++);
+            }
+            if (sent == current.sent) {
+                break;
+            }
+            current.sent = sent;
+            batchWithFlows.add(current);
+            if (sent < size) {
+                break;
+            }
+            current = current.getNext();
+            sendPending = current;
+        } while ((current != null) && canBatch(first, current));
+
+        final MqttSubOrUnsubWithFlow[] withFlows = batchWithFlows.toArray(new MqttSubOrUnsubWithFlow[0]);
+        batchWithFlows.clear();
+        return new MqttSubOrUnsubBatch(packetIdentifier, withFlows, from, withFlows[withFlows.length - 1].sent);
+    }
 
-        final int subscriptionIdentifier = subscriptionIdentifiersAvailable ? subscribeWithFlow.subscriptionIdentifier :
+    private boolean canBatch(final @NotNull MqttSubOrUnsubWithFlow first, final @NotNull MqttSubOrUnsubWithFlow next) {
+        if (first instanceof MqttSubscribeWithFlow) {
+            if (!(next instanceof MqttSubscribeWithFlow) || subscriptionIdentifiersAvailable) {
+                return false;
+            }
+        } else if (!(next instanceof MqttUnsubscribeWithFlow)) {
+            return false;
+        }
+        if (holdWildcardOrShared && hasWildcardOrShared(next)) {
+            return false;
+        }
+        return first.getUserProperties().equals(next.getUserProperties());
+    }
+
+    private void writeSubscribe(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttSubOrUnsubBatch batch) {
+        final MqttSubscribeWithFlow first = (MqttSubscribeWithFlow) batch.withFlows[0];
+        final MqttSubscribe subscribe;
+        if (batch.isSingle()) {
+            subscribe = first.subscribe;
+        } else {
+            final ImmutableList.Builder<MqttSubscription> subscriptions = ImmutableList.builder(batch.size());
+            for (int i = 0; i < batch.withFlows.length; i++) {
+                final ImmutableList<MqttSubscription> withFlowSubscriptions =
+                        ((MqttSubscribeWithFlow) batch.withFlows[i]).subscribe.getSubscriptions();
+                for (int j = batch.from(i), to = batch.to(i); j < to; j++) {
+                    subscriptions.add(withFlowSubscriptions.get(j));
+                }
+            }
+            subscribe = new MqttSubscribe(subscriptions.build(), first.subscribe.getUserProperties());
+        }
+        final int subscriptionIdentifier = subscriptionIdentifiersAvailable ? first.subscriptionIdentifier :
                 MqttStatefulSubscribe.DEFAULT_NO_SUBSCRIPTION_IDENTIFIER;
         final MqttStatefulSubscribe statefulSubscribe =
-                subscribeWithFlow.subscribe.createStateful(subscribeWithFlow.packetIdentifier, subscriptionIdentifier);
+                subscribe.createStateful(batch.packetIdentifier, subscriptionIdentifier);
 
-        currentPending = subscribeWithFlow;
+        currentPending = batch;
         ctx.write(statefulSubscribe, ctx.voidPromise());
         currentPending = null;
     }
 
-    private void writeUnsubscribe(
-            final @NotNull ChannelHandlerContext ctx, final @NotNull MqttUnsubscribeWithFlow unsubscribeWithFlow) {
-
-        final MqttStatefulUnsubscribe statefulUnsubscribe =
-                unsubscribeWithFlow.unsubscribe.createStateful(unsubscribeWithFlow.packetIdentifier);
+    private void writeUnsubscribe(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttSubOrUnsubBatch batch) {
+        final MqttUnsubscribeWithFlow first = (MqttUnsubscribeWithFlow) batch.withFlows[0];
+        final MqttUnsubscribe unsubscribe;
+        if (batch.isSingle()) {
+            unsubscribe = first.unsubscribe;
+        } else {
+            final ImmutableList.Builder<MqttTopicFilterImpl> topicFilters = ImmutableList.builder(batch.size());
+            for (int i = 0; i < batch.withFlows.length; i++) {
+                final ImmutableList<MqttTopicFilterImpl> withFlowTopicFilters =
+                        ((MqttUnsubscribeWithFlow) batch.withFlows[i]).unsubscribe.getTopicFilters();
+                for (int j = batch.from(i), to = batch.to(i); j < to; j++) {
+                    topicFilters.add(withFlowTopicFilters.get(j));
+                }
+            }
+            unsubscribe = new MqttUnsubscribe(topicFilters.build(), first.unsubscribe.getUserProperties());
+        }
+        final MqttStatefulUnsubscribe statefulUnsubscribe = unsubscribe.createStateful(batch.packetIdentifier);
 
-        currentPending = unsubscribeWithFlow;
+        currentPending = batch;
         ctx.write(statefulUnsubscribe, ctx.voidPromise());
         currentPending = null;
     }
@@ -226,24 +453,64 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     }
 
     private void readSubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttSubAck subAck) {
-        final MqttSubOrUnsubWithFlow subOrUnsubWithFlow = pendingIndex.remove(subAck.getPacketIdentifier());
+        final MqttSubOrUnsubBatch batch = pendingIndex.remove(subAck.getPacketIdentifier());
 
-        if (subOrUnsubWithFlow == null) {
+        if (batch == null) {
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "Unknown packet identifier for SUBACK");
             return;
         }
-        if (!(subOrUnsubWithFlow instanceof MqttSubscribeWithFlow)) {
+        if (!batch.isSubscribe()) {
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "SUBACK received for an UNSUBSCRIBE");
             return;
         }
-        final MqttSubscribeWithFlow subscribeWithFlow = (MqttSubscribeWithFlow) subOrUnsubWithFlow;
+        packetIdentifiers.returnId(batch.packetIdentifier);
+
+        if (batch.isSingle()) {
+            completeSubscribe((MqttSubscribeWithFlow) batch.withFlows[0], subAck, subAck.getReasonCodes());
+        } else {
+            final ImmutableList<Mqtt5SubAckReasonCode> reasonCodes = subAck.getReasonCodes();
+            final boolean countNotMatching = batch.size() != reasonCodes.size();
+            int offset = 0;
+            for (int i = 0; i < batch.withFlows.length; i++) {
+                final MqttSubscribeWithFlow subscribeWithFlow = (MqttSubscribeWithFlow) batch.withFlows[i];
+                final int from = batch.from(i);
+                final int to = batch.to(i);
+                if (subscribeWithFlow.isCompleted()) {
+                    // already completed exceptionally by another batch
+                } else if (countNotMatching) {
+                    completeSubscribe(subscribeWithFlow, subAck, ImmutableList.of());
+                } else if (subscribeWithFlow.acknowledge(reasonCodes, offset, from, to)) {
+                    completeSubscribe(subscribeWithFlow,
+                            new MqttSubAck(subAck.getPacketIdentifier(), subscribeWithFlow.getReasonCodes(),
+                                    subAck.getRawReasonString(), subAck.getUserProperties()),
+                            subscribeWithFlow.getReasonCodes());
+                }
+                offset += to - from;
+            }
+        }
+        run();
+    }
+
+    /**
+     * Completes a subscribe when all its subscriptions are acknowledged.
+     *
+     * @param subscribeWithFlow the subscribe to complete.
+     * @param subAck            the SUBACK for the subscribe, merged if the subscribe was split into multiple batches.
+     * @param reasonCodes       the reason codes for the subscriptions of the subscribe, the count does not match the
+     *                          count of subscriptions if the SUBACK is invalid.
+     */
+    private void completeSubscribe(
+            final @NotNull MqttSubscribeWithFlow subscribeWithFlow,
+            final @NotNull MqttSubAck subAck,
+            final @NotNull ImmutableList<Mqtt5SubAckReasonCode> reasonCodes) {
+
+        remove(subscribeWithFlow);
         final MqttSubscriptionFlow<MqttSubAck> flow = subscribeWithFlow.getFlow();
 
-        final ImmutableList<Mqtt5SubAckReasonCode> reasonCodes = subAck.getReasonCodes();
-        final boolean countNotMatching = subscribeWithFlow.subscribe.getSubscriptions().size() != reasonCodes.size();
-        final boolean allErrors = MqttCommonReasonCode.allErrors(subAck.getReasonCodes());
+        final boolean countNotMatching = subscribeWithFlow.size() != reasonCodes.size();
+        final boolean allErrors = MqttCommonReasonCode.allErrors(reasonCodes);
 
         incomingPublishFlows.subAck(subscribeWithFlow.subscribe, subscribeWithFlow.subscriptionIdentifier, reasonCodes);
 
@@ -268,29 +535,69 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
                 }
             }
         }
-
-        completePending(subscribeWithFlow);
     }
 
     private void readUnsubAck(final @NotNull ChannelHandlerContext ctx, final @NotNull MqttUnsubAck unsubAck) {
-        final MqttSubOrUnsubWithFlow subOrUnsubWithFlow = pendingIndex.remove(unsubAck.getPacketIdentifier());
+        final MqttSubOrUnsubBatch batch = pendingIndex.remove(unsubAck.getPacketIdentifier());
 
-        if (subOrUnsubWithFlow == null) {
+        if (batch == null) {
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "Unknown packet identifier for UNSUBACK");
             return;
         }
-        if (!(subOrUnsubWithFlow instanceof MqttUnsubscribeWithFlow)) {
+        if (batch.isSubscribe()) {
             MqttDisconnectUtil.disconnect(ctx.channel(), Mqtt5DisconnectReasonCode.PROTOCOL_ERROR,
                     "UNSUBACK received for a SUBSCRIBE");
             return;
         }
-        final MqttUnsubscribeWithFlow unsubscribeWithFlow = (MqttUnsubscribeWithFlow) subOrUnsubWithFlow;
+        packetIdentifiers.returnId(batch.packetIdentifier);
+
+        if (batch.isSingle()) {
+            completeUnsubscribe((MqttUnsubscribeWithFlow) batch.withFlows[0], unsubAck, unsubAck.getReasonCodes());
+        } else {
+            final ImmutableList<Mqtt5UnsubAckReasonCode> reasonCodes = unsubAck.getReasonCodes();
+            final boolean countNotMatching =
+                    (reasonCodes != Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS) && (batch.size() != reasonCodes.size());
+            int offset = 0;
+            for (int i = 0; i < batch.withFlows.length; i++) {
+                final MqttUnsubscribeWithFlow unsubscribeWithFlow = (MqttUnsubscribeWithFlow) batch.withFlows[i];
+                final int from = batch.from(i);
+                final int to = batch.to(i);
+                if (unsubscribeWithFlow.isCompleted()) {
+                    // already completed exceptionally by another batch
+                } else if (countNotMatching) {
+                    completeUnsubscribe(unsubscribeWithFlow, unsubAck, ImmutableList.of());
+                } else if (unsubscribeWithFlow.acknowledge(reasonCodes, offset, from, to)) {
+                    completeUnsubscribe(unsubscribeWithFlow,
+                            new MqttUnsubAck(unsubAck.getPacketIdentifier(), unsubscribeWithFlow.getReasonCodes(),
+                                    unsubAck.getRawReasonString(), unsubAck.getUserProperties()),
+                            unsubscribeWithFlow.getReasonCodes());
+                }
+                offset += to - from;
+            }
+        }
+        run();
+    }
+
+    /**
+     * Completes an unsubscribe when all its topic filters are acknowledged.
+     *
+     * @param unsubscribeWithFlow the unsubscribe to complete.
+     * @param unsubAck            the UNSUBACK for the unsubscribe, merged if the unsubscribe was split into multiple
+     *                            batches.
+     * @param reasonCodes         the reason codes for the topic filters of the unsubscribe, the count does not match
+     *                            the count of topic filters if the UNSUBACK is invalid.
+     */
+    private void completeUnsubscribe(
+            final @NotNull MqttUnsubscribeWithFlow unsubscribeWithFlow,
+            final @NotNull MqttUnsubAck unsubAck,
+            final @NotNull ImmutableList<Mqtt5UnsubAckReasonCode> reasonCodes) {
+
+        remove(unsubscribeWithFlow);
         final MqttSubOrUnsubAckFlow<MqttUnsubAck> flow = unsubscribeWithFlow.getFlow();
 
-        final ImmutableList<Mqtt5UnsubAckReasonCode> reasonCodes = unsubAck.getReasonCodes();
-        final boolean countNotMatching = unsubscribeWithFlow.unsubscribe.getTopicFilters().size() != reasonCodes.size();
-        final boolean allErrors = MqttCommonReasonCode.allErrors(unsubAck.getReasonCodes());
+        final boolean countNotMatching = unsubscribeWithFlow.size() != reasonCodes.size();
+        final boolean allErrors = MqttCommonReasonCode.allErrors(reasonCodes);
 
         if ((reasonCodes == Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS) || !(countNotMatching || allErrors)) {
 
@@ -314,35 +621,41 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
                 LOGGER.warn(errorMessage + " but the UnsubAck flow has been cancelled");
             }
         }
-
-        completePending(unsubscribeWithFlow);
     }
 
-    private void completePending(final @NotNull MqttSubOrUnsubWithFlow oldPending) {
-        pending.remove(oldPending);
-        packetIdentifiers.returnId(oldPending.packetIdentifier);
-        run();
+    private void remove(final @NotNull MqttSubOrUnsubWithFlow subOrUnsubWithFlow) {
+        if (subOrUnsubWithFlow == sendPending) {
+            sendPending = subOrUnsubWithFlow.getNext();
+        }
+        pending.remove(subOrUnsubWithFlow);
+        subOrUnsubWithFlow.complete();
     }
 
     @Override
     public void exceptionCaught(final @NotNull ChannelHandlerContext ctx, final @NotNull Throwable cause) {
-        if (!(cause instanceof IOException) && (currentPending != null)) {
-            pending.remove(currentPending);
-            packetIdentifiers.returnId(currentPending.packetIdentifier);
-            pendingIndex.remove(currentPending.packetIdentifier);
+        final MqttSubOrUnsubBatch batch = currentPending;
+        if (!(cause instanceof IOException) && (batch != null)) {
+            currentPending = null;
+            pendingIndex.remove(batch.packetIdentifier);
+            packetIdentifiers.returnId(batch.packetIdentifier);
 
-            final MqttSubscriptionFlow<?> flow = currentPending.getFlow();
-            if (flow != null) {
-                flow.onError(cause);
-            }
+            for (final MqttSubOrUnsubWithFlow subOrUnsubWithFlow : batch.withFlows) {
+                if (subOrUnsubWithFlow.isCompleted()) {
+                    continue;
+                }
+                remove(subOrUnsubWithFlow);
 
-            if (currentPending instanceof MqttSubscribeWithFlow) {
-                final MqttSubscribeWithFlow subscribeWithFlow = (MqttSubscribeWithFlow) currentPending;
-                incomingPublishFlows.subAck(subscribeWithFlow.subscribe, subscribeWithFlow.subscriptionIdentifier,
-                        ImmutableList.of(Mqtt5SubAckReasonCode.UNSPECIFIED_ERROR));
-            }
+                final MqttSubscriptionFlow<?> flow = subOrUnsubWithFlow.getFlow();
+                if (flow != null) {
+                    flow.onError(cause);
+                }
 
-            currentPending = null;
+                if (subOrUnsubWithFlow instanceof MqttSubscribeWithFlow) {
+                    final MqttSubscribeWithFlow subscribeWithFlow = (MqttSubscribeWithFlow) subOrUnsubWithFlow;
+                    incomingPublishFlows.subAck(subscribeWithFlow.subscribe, subscribeWithFlow.subscriptionIdentifier,
+                            ImmutableList.of(Mqtt5SubAckReasonCode.UNSPECIFIED_ERROR));
+                }
+            }
         } else {
             ctx.fireExceptionCaught(cause);
         }
@@ -352,15 +665,7 @@ public class MqttSubscriptionHandler extends MqttSessionAwareHandler implements
     public void onSessionEnd(final @NotNull Throwable cause) {
         super.onSessionEnd(cause);
 
-        pendingIndex.clear();
-        sendPending = null;
-        for (MqttSubOrUnsubWithFlow current = pending.getFirst(); current != null; current = current.getNext()) {
-            if (current.packetIdentifier == 0) {
-                break;
-            }
-            packetIdentifiers.returnId(current.packetIdentifier);
-            current.packetIdentifier = 0;
-        }
+        resetSent();
 
         if (clientConfig.isResubscribeIfSessionExpired() && (clientConfig.getState() != MqttClientState.DISCONNECTED)) {
             return;
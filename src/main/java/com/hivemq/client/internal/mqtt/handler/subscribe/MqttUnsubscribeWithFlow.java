@@ -16,9 +16,14 @@
 
 package com.hivemq.client.internal.mqtt.handler.subscribe;
 
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
 import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.MqttUnsubAck;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.mqtt3.Mqtt3UnsubAckView;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAckReasonCode;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -27,6 +32,7 @@ class MqttUnsubscribeWithFlow extends MqttSubOrUnsubWithFlow {
 
     final @NotNull MqttUnsubscribe unsubscribe;
     private final @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> unsubAckFlow;
+    private @Nullable Mqtt5UnsubAckReasonCode @Nullable [] reasonCodes;
 
     MqttUnsubscribeWithFlow(
             final @NotNull MqttUnsubscribe unsubscribe,
@@ -40,4 +46,52 @@ class MqttUnsubscribeWithFlow extends MqttSubOrUnsubWithFlow {
     @NotNull MqttSubOrUnsubAckFlow<MqttUnsubAck> getFlow() {
         return unsubAckFlow;
     }
+
+    @Override
+    int size() {
+        return unsubscribe.getTopicFilters().size();
+    }
+
+    @Override
+    int encodedLength(final int index) {
+        return unsubscribe.getTopicFilters().get(index).encodedLength();
+    }
+
+    @Override
+    @NotNull MqttUserPropertiesImpl getUserProperties() {
+        return unsubscribe.getUserProperties();
+    }
+
+    /**
+     * Acknowledges a part of the topic filters that was sent in a batch.
+     *
+     * @param reasonCodes the reason codes of the UNSUBACK for the batch, {@link
+     *                    Mqtt3UnsubAckView#REASON_CODES_ALL_SUCCESS} for MQTT 3.
+     * @param offset      the index of the reason code for the first topic filter of the part.
+     * @param from        the index of the first topic filter of the part.
+     * @param to          the index after the last topic filter of the part.
+     * @return whether all topic filters are acknowledged.
+     */
+    boolean acknowledge(
+            final @NotNull ImmutableList<Mqtt5UnsubAckReasonCode> reasonCodes,
+            final int offset,
+            final int from,
+            final int to) {
+
+        if (reasonCodes != Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS) {
+            Mqtt5UnsubAckReasonCode[] acknowledgedReasonCodes = this.reasonCodes;
+            if (acknowledgedReasonCodes == null) {
+                this.reasonCodes = acknowledgedReasonCodes = new Mqtt5UnsubAckReasonCode[size()];
+            }
+            for (int i = from; i < to; i++) {
+                acknowledgedReasonCodes[i] = reasonCodes.get(offset + i - from);
+            }
+        }
+        acknowledged += to - from;
+        return acknowledged == size();
+    }
+
+    @NotNull ImmutableList<Mqtt5UnsubAckReasonCode> getReasonCodes() {
+        return (reasonCodes == null) ? Mqtt3UnsubAckView.REASON_CODES_ALL_SUCCESS : ImmutableList.copyOf(reasonCodes);
+    }
 }
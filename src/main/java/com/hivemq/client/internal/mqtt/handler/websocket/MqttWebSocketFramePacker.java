@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.util.concurrent.PromiseNotifier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+
+/**
+ * Packs the encoded MQTT packets that are written between two flushes into a single buffer, so that the
+ * {@link MqttWebSocketCodec} sends them in a single WebSocket frame.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+class MqttWebSocketFramePacker extends ChannelOutboundHandlerAdapter {
+
+    static final @NotNull String NAME = "ws.packer";
+
+    private final int maxFrameSize;
+    private @Nullable ByteBuf pending;
+    private @Nullable CompositeByteBuf packed;
+    private final @NotNull ArrayList<ChannelPromise> promises = new ArrayList<>();
+
+    MqttWebSocketFramePacker(final int maxFrameSize) {
+        this.maxFrameSize = maxFrameSize;
+    }
+
+    @Override
+    public void write(
+            final @NotNull ChannelHandlerContext ctx,
+            final @NotNull Object msg,
+            final @NotNull ChannelPromise promise) {
+
+        if (!(msg instanceof ByteBuf)) {
+            writePending(ctx);
+            ctx.write(msg, promise);
+            return;
+        }
+        final ByteBuf byteBuf = (ByteBuf) msg;
+        if ((pending != null) && (pending.readableBytes() + byteBuf.readableBytes() > maxFrameSize)) {
+            writePending(ctx);
+        }
+        if (pending == null) {
+            pending = byteBuf;
+        } else {
+            CompositeByteBuf packed = this.packed;
+            if (packed == null) {
+                this.packed = packed = ctx.alloc().compositeBuffer(Integer.MAX_VALUE);
+                packed.addComponent(true, pending);
+                pending = packed;
+            }
+            packed.addComponent(true, byteBuf);
+        }
+        promises.add(promise);
+    }
+
+    @Override
+    public void flush(final @NotNull ChannelHandlerContext ctx) {
+        writePending(ctx);
+        ctx.flush();
+    }
+
+    @Override
+    public void close(final @NotNull ChannelHandlerContext ctx, final @NotNull ChannelPromise promise) {
+        writePending(ctx);
+        ctx.close(promise);
+    }
+
+    @Override
+    public void handlerRemoved(final @NotNull ChannelHandlerContext ctx) {
+        if (pending != null) {
+            pending.release();
+            pending = null;
+            packed = null;
+            final ClosedChannelException cause = new ClosedChannelException();
+            for (final ChannelPromise promise : promises) {
+                promise.tryFailure(cause);
+            }
+            promises.clear();
+        }
+    }
+
+    private void writePending(final @NotNull ChannelHandlerContext ctx) {
+        final ByteBuf pending = this.pending;
+        if (pending == null) {
+            return;
+        }
+        final ChannelPromise promise;
+        if (promises.size() == 1) {
+            promise = promises.get(0);
+        } else {
+            promise = ctx.newPromise();
+            //noinspection unchecked
+            promise.addListener(new PromiseNotifier<>(false, promises.toArray(new ChannelPromise[0])));
+        }
+        this.pending = null;
+        packed = null;
+        promises.clear();
+        ctx.write(pending, promise);
+    }
+}
@@ -22,11 +22,17 @@ import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.ioc.ConnectionScope;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpObjectAggregator;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshaker;
 import io.netty.handler.codec.http.websocketx.WebSocketClientHandshakerFactory;
 import io.netty.handler.codec.http.websocketx.WebSocketVersion;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketClientExtensionHandler;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilter;
+import io.netty.handler.codec.http.websocketx.extensions.WebSocketExtensionFilterProvider;
+import io.netty.handler.codec.http.websocketx.extensions.compression.PerMessageDeflateClientExtensionHandshaker;
 import org.jetbrains.annotations.NotNull;
 
 import javax.inject.Inject;
@@ -44,6 +50,9 @@ public class MqttWebSocketInitializer {
 
     private static final @NotNull String HTTP_CODEC_NAME = "http.codec";
     private static final @NotNull String HTTP_AGGREGATOR_NAME = "http.aggregator";
+    private static final @NotNull String WEBSOCKET_COMPRESSION_NAME = "ws.compression";
+    private static final int COMPRESSION_LEVEL = 6;
+    private static final int COMPRESSION_MAX_WINDOW_SIZE = 15;
 
     private final @NotNull MqttWebSocketCodec mqttWebSocketCodec;
 
@@ -62,7 +71,7 @@ public class MqttWebSocketInitializer {
         final URI uri;
         try {
             final MqttClientTransportConfigImpl transportConfig = clientConfig.getCurrentTransportConfig();
-            final InetSocketAddress serverAddress = transportConfig.getServerAddress();
+            final InetSocketAddress serverAddress = clientConfig.getCurrentServerAddress();
             uri = new URI((transportConfig.getRawSslConfig() == null) ? "ws" : "wss", null,
                     serverAddress.getHostString(), serverAddress.getPort(), "/" + webSocketConfig.getServerPath(),
                     webSocketConfig.getQueryString(), null);
@@ -76,12 +85,39 @@ public class MqttWebSocketInitializer {
                         webSocketConfig.getSubprotocol(), true, null, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT,
                         true, false);
 
-        channel.pipeline()
-                .addLast(HTTP_CODEC_NAME, new HttpClientCodec())
-                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535))
-                .addLast(MqttWebsocketHandshakeHandler.NAME,
-                        new MqttWebsocketHandshakeHandler(handshaker, webSocketConfig.getHandshakeTimeoutMs(),
-                                onSuccess, onError))
-                .addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        final ChannelPipeline pipeline = channel.pipeline();
+        pipeline.addLast(HTTP_CODEC_NAME, new HttpClientCodec())
+                .addLast(HTTP_AGGREGATOR_NAME, new HttpObjectAggregator(65_535));
+        if (webSocketConfig.isCompressionEnabled()) {
+            pipeline.addLast(WEBSOCKET_COMPRESSION_NAME,
+                    createCompressionHandler(webSocketConfig.getCompressionThreshold()));
+        }
+        pipeline.addLast(MqttWebsocketHandshakeHandler.NAME,
+                new MqttWebsocketHandshakeHandler(handshaker, webSocketConfig.getHandshakeTimeoutMs(), onSuccess,
+                        onError)).addLast(MqttWebSocketCodec.NAME, mqttWebSocketCodec);
+        if (webSocketConfig.isFramePackingEnabled()) {
+            pipeline.addLast(MqttWebSocketFramePacker.NAME,
+                    new MqttWebSocketFramePacker(webSocketConfig.getMaxPackedFrameSize()));
+        }
+    }
+
+    private static @NotNull WebSocketClientExtensionHandler createCompressionHandler(final int compressionThreshold) {
+        final WebSocketExtensionFilter encoderFilter =
+                frame -> frame.content().readableBytes() < compressionThreshold;
+        final WebSocketExtensionFilterProvider filterProvider = new WebSocketExtensionFilterProvider() {
+            @Override
+            public @NotNull WebSocketExtensionFilter encoderFilter() {
+                return encoderFilter;
+            }
+
+            @Override
+            public @NotNull WebSocketExtensionFilter decoderFilter() {
+                return WebSocketExtensionFilter.NEVER_SKIP;
+            }
+        };
+        return new WebSocketClientExtensionHandler(
+                new PerMessageDeflateClientExtensionHandshaker(COMPRESSION_LEVEL,
+                        ZlibCodecFactory.isSupportingWindowSizeAndMemLevel(), COMPRESSION_MAX_WINDOW_SIZE, false, false,
+                        filterProvider));
     }
 }
@@ -34,27 +34,44 @@ public class MqttClientAutoReconnectImpl implements MqttClientAutoReconnect {
             TimeUnit.SECONDS.toNanos(MqttClientAutoReconnect.DEFAULT_START_DELAY_S);
     static final long DEFAULT_MAX_DELAY_NANOS = TimeUnit.SECONDS.toNanos(MqttClientAutoReconnect.DEFAULT_MAX_DELAY_S);
     public static final @NotNull MqttClientAutoReconnectImpl DEFAULT =
-            new MqttClientAutoReconnectImpl(DEFAULT_START_DELAY_NANOS, DEFAULT_MAX_DELAY_NANOS);
+            new MqttClientAutoReconnectImpl(DEFAULT_START_DELAY_NANOS, DEFAULT_MAX_DELAY_NANOS, false);
 
     private final long initialDelayNanos;
     private final long maxDelayNanos;
+    private final boolean decorrelatedJitter;
+
+    MqttClientAutoReconnectImpl(
+            final long initialDelayNanos, final long maxDelayNanos, final boolean decorrelatedJitter) {
 
-    MqttClientAutoReconnectImpl(final long initialDelayNanos, final long maxDelayNanos) {
         this.initialDelayNanos = initialDelayNanos;
         this.maxDelayNanos = maxDelayNanos;
+        this.decorrelatedJitter = decorrelatedJitter;
     }
 
     @Override
     public void onDisconnected(final @NotNull MqttClientDisconnectedContext context) {
         if (context.getSource() != MqttDisconnectSource.USER) {
             final MqttClientReconnector reconnector = context.getReconnector();
-            final long delay =
-                    (long) Math.min(initialDelayNanos * Math.pow(2, reconnector.getAttempts()), maxDelayNanos);
-            final long randomDelay = (long) (delay / 4d / Integer.MAX_VALUE * ThreadLocalRandom.current().nextInt());
-            reconnector.reconnect(true).delay(delay + randomDelay, TimeUnit.NANOSECONDS);
+            final long delay;
+            if (decorrelatedJitter) {
+                delay = decorrelatedJitterDelay(reconnector.getPreviousDelay(TimeUnit.NANOSECONDS));
+            } else {
+                final long exponentialDelay =
+                        (long) Math.min(initialDelayNanos * Math.pow(2, reconnector.getAttempts()), maxDelayNanos);
+                delay = exponentialDelay +
+                        (long) (exponentialDelay / 4d / Integer.MAX_VALUE * ThreadLocalRandom.current().nextInt());
+            }
+            reconnector.reconnect(true).delay(delay, TimeUnit.NANOSECONDS);
         }
     }
 
+    long decorrelatedJitterDelay(final long previousDelayNanos) {
+        final long previous = Math.max(previousDelayNanos, initialDelayNanos);
+        final long upper = Math.min((previous > Long.MAX_VALUE / 3) ? Long.MAX_VALUE : previous * 3, maxDelayNanos);
+        final long lower = Math.min(initialDelayNanos, upper);
+        return lower + ThreadLocalRandom.current().nextLong(upper - lower + 1);
+    }
+
     @Override
     public long getInitialDelay(final @NotNull TimeUnit timeUnit) {
         return timeUnit.convert(initialDelayNanos, TimeUnit.NANOSECONDS);
@@ -65,6 +82,11 @@ public class MqttClientAutoReconnectImpl implements MqttClientAutoReconnect {
         return timeUnit.convert(maxDelayNanos, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    public boolean isDecorrelatedJitter() {
+        return decorrelatedJitter;
+    }
+
     @Override
     public MqttClientAutoReconnectImplBuilder.@NotNull Default extend() {
         return new MqttClientAutoReconnectImplBuilder.Default(this);
@@ -31,6 +31,7 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
 
     private long initialDelayNanos = MqttClientAutoReconnectImpl.DEFAULT_START_DELAY_NANOS;
     private long maxDelayNanos = MqttClientAutoReconnectImpl.DEFAULT_MAX_DELAY_NANOS;
+    private boolean decorrelatedJitter;
 
     MqttClientAutoReconnectImplBuilder() {}
 
@@ -38,6 +39,7 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
         if (autoReconnect != null) {
             initialDelayNanos = autoReconnect.getInitialDelay(TimeUnit.NANOSECONDS);
             maxDelayNanos = autoReconnect.getMaxDelay(TimeUnit.NANOSECONDS);
+            decorrelatedJitter = autoReconnect.isDecorrelatedJitter();
         }
     }
 
@@ -61,8 +63,13 @@ public abstract class MqttClientAutoReconnectImplBuilder<B extends MqttClientAut
         return self();
     }
 
+    public @NotNull B decorrelatedJitter(final boolean decorrelatedJitter) {
+        this.decorrelatedJitter = decorrelatedJitter;
+        return self();
+    }
+
     public @NotNull MqttClientAutoReconnectImpl build() {
-        return new MqttClientAutoReconnectImpl(initialDelayNanos, maxDelayNanos);
+        return new MqttClientAutoReconnectImpl(initialDelayNanos, maxDelayNanos, decorrelatedJitter);
     }
 
     public static class Default extends MqttClientAutoReconnectImplBuilder<Default>
@@ -40,6 +40,7 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
 
     private final @NotNull EventLoop eventLoop;
     private final int attempts;
+    private final long previousDelayNanos;
     private boolean reconnect = DEFAULT_RECONNECT;
     private @Nullable CompletableFuture<?> future;
     private boolean resubscribeIfSessionExpired = DEFAULT_RESUBSCRIBE_IF_SESSION_EXPIRED;
@@ -53,11 +54,13 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
     public MqttClientReconnector(
             final @NotNull EventLoop eventLoop,
             final int attempts,
+            final long previousDelayNanos,
             final @NotNull MqttConnect connect,
             final @NotNull MqttClientTransportConfigImpl transportConfig) {
 
         this.eventLoop = eventLoop;
         this.attempts = attempts;
+        this.previousDelayNanos = previousDelayNanos;
         this.connect = connect;
         this.transportConfig = transportConfig;
     }
@@ -141,6 +144,13 @@ public class MqttClientReconnector implements Mqtt5ClientReconnector {
         return timeUnit.convert(delayNanos, TimeUnit.NANOSECONDS);
     }
 
+    @Override
+    public long getPreviousDelay(final @NotNull TimeUnit timeUnit) {
+        checkInEventLoop();
+        Checks.notNull(timeUnit, "Time unit");
+        return timeUnit.convert(previousDelayNanos, TimeUnit.NANOSECONDS);
+    }
+
     @Override
     public @NotNull MqttClientReconnector transportConfig(final @Nullable MqttClientTransportConfig transportConfig) {
         checkInEventLoop();
@@ -101,6 +101,11 @@ public class Mqtt3ClientReconnectorView implements Mqtt3ClientReconnector {
         return delegate.getDelay(timeUnit);
     }
 
+    @Override
+    public long getPreviousDelay(final @NotNull TimeUnit timeUnit) {
+        return delegate.getPreviousDelay(timeUnit);
+    }
+
     @Override
     public @NotNull Mqtt3ClientReconnectorView transportConfig(
             final @Nullable MqttClientTransportConfig transportConfig) {
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.client.internal.mqtt.message.publish;
+
+import com.hivemq.client.annotations.Immutable;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.netty.FileChannelRegion;
+import com.hivemq.client.internal.util.Checks;
+import io.netty.channel.FileRegion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Region of a file that is the payload of a {@link MqttPublish}.
+ * <p>
+ * The region is memory mapped, so the payload is available as a direct {@link ByteBuffer} without being read into the
+ * heap. If the transport allows it, the payload is transferred directly from the file to the socket.
+ * <p>
+ * Two file payloads are equal if they refer to the same region (position and size) of the same file channel.
+ *
+ * @author Silvio Giebl
+ */
+@Immutable
+public class MqttFilePayload {
+
+    public static @NotNull MqttFilePayload of(
+            final @Nullable FileChannel fileChannel, final long position, final long size) {
+
+        Checks.notNull(fileChannel, "File channel");
+        Checks.range(position, 0, Long.MAX_VALUE, "Payload file position");
+        Checks.range(size, 0, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, "Payload file region size");
+        final ByteBuffer mapped;
+        try {
+            mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Payload file region could not be mapped.", e);
+        }
+        return new MqttFilePayload(fileChannel, position, (int) size, mapped);
+    }
+
+    private final @NotNull FileChannel fileChannel;
+    private final long position;
+    private final int size;
+    private final @NotNull ByteBuffer mapped;
+
+    private MqttFilePayload(
+            final @NotNull FileChannel fileChannel,
+            final long position,
+            final int size,
+            final @NotNull ByteBuffer mapped) {
+
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.size = size;
+        this.mapped = mapped;
+    }
+
+    /**
+     * @return the memory mapped file region as a read only direct byte buffer.
+     */
+    public @NotNull ByteBuffer getMapped() {
+        return mapped;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Creates a new file region that transfers the payload from the file to a channel. A new file region has to be
+     * created for every write of the payload as file regions are consumed by the write.
+     *
+     * @return the new file region.
+     */
+    public @NotNull FileRegion toFileRegion() {
+        return new FileChannelRegion(fileChannel, position, size);
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MqttFilePayload)) {
+            return false;
+        }
+        final MqttFilePayload that = (MqttFilePayload) o;
+
+        return fileChannel.equals(that.fileChannel) && (position == that.position) && (size == that.size);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = fileChannel.hashCode();
+        result = 31 * result + Long.hashCode(position);
+        result = 31 * result + size;
+        return result;
+    }
+}
@@ -31,6 +31,8 @@ import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -38,6 +40,7 @@ import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.function.ToIntFunction;
 
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
@@ -49,6 +52,8 @@ import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublis
 public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5Publish {
 
     public static final long NO_MESSAGE_EXPIRY = Long.MAX_VALUE;
+    public static final @NotNull Mqtt5TopicAliasUsage DEFAULT_TOPIC_ALIAS_USAGE = Mqtt5TopicAliasUsage.MAY;
+    public static final @NotNull Mqtt5PublishPriority DEFAULT_PRIORITY = Mqtt5PublishPriority.NORMAL;
 
     private final @NotNull MqttTopicImpl topic;
     private final @Nullable ByteBuffer payload;
@@ -59,9 +64,14 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     private final @Nullable MqttUtf8StringImpl contentType;
     private final @Nullable MqttTopicImpl responseTopic;
     private final @Nullable ByteBuffer correlationData;
+    private final @Nullable MqttFilePayload filePayload;
+    private final @NotNull Mqtt5TopicAliasUsage topicAliasUsage;
+    private final @NotNull Mqtt5PublishPriority priority;
 
     private final @Nullable Confirmable confirmable;
 
+    private int fixedPropertyLength = -1; // shared by all stateful publishes and resends, see fixedPropertyLength
+
     public MqttPublish(
             final @NotNull MqttTopicImpl topic,
             final @Nullable ByteBuffer payload,
@@ -75,6 +85,26 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
             final @NotNull MqttUserPropertiesImpl userProperties,
             final @Nullable Confirmable confirmable) {
 
+        this(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType, responseTopic,
+                correlationData, userProperties, confirmable, null, DEFAULT_TOPIC_ALIAS_USAGE, DEFAULT_PRIORITY);
+    }
+
+    public MqttPublish(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final long messageExpiryInterval,
+            final @Nullable Mqtt5PayloadFormatIndicator payloadFormatIndicator,
+            final @Nullable MqttUtf8StringImpl contentType,
+            final @Nullable MqttTopicImpl responseTopic,
+            final @Nullable ByteBuffer correlationData,
+            final @NotNull MqttUserPropertiesImpl userProperties,
+            final @Nullable Confirmable confirmable,
+            final @Nullable MqttFilePayload filePayload,
+            final @NotNull Mqtt5TopicAliasUsage topicAliasUsage,
+            final @NotNull Mqtt5PublishPriority priority) {
+
         super(userProperties);
         this.topic = topic;
         this.payload = payload;
@@ -85,6 +115,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         this.contentType = contentType;
         this.responseTopic = responseTopic;
         this.correlationData = correlationData;
+        this.filePayload = filePayload;
+        this.topicAliasUsage = topicAliasUsage;
+        this.priority = priority;
         this.confirmable = confirmable;
     }
 
@@ -163,6 +196,41 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         return correlationData;
     }
 
+    public @Nullable MqttFilePayload getRawFilePayload() {
+        return filePayload;
+    }
+
+    @Override
+    public @NotNull Mqtt5TopicAliasUsage getTopicAliasUsage() {
+        return topicAliasUsage;
+    }
+
+    @Override
+    public @NotNull Mqtt5PublishPriority getPriority() {
+        return priority;
+    }
+
+    /**
+     * Returns the encoded length of the properties that do not depend on the stateful publish. The length is calculated
+     * with the given function on first use and then cached.
+     * <p>
+     * The cache is not synchronized: the encoder and pre-encoding may calculate the length concurrently on different
+     * threads. This is safe as the function always calculates the same length for this immutable publish, so racing
+     * writes are idempotent, and int writes are atomic, so a reader sees either -1 (and calculates again) or the
+     * length.
+     *
+     * @param calculation the function calculating the encoded length of the properties.
+     * @return the encoded length of the properties that do not depend on the stateful publish.
+     */
+    public int fixedPropertyLength(final @NotNull ToIntFunction<MqttPublish> calculation) {
+        int fixedPropertyLength = this.fixedPropertyLength;
+        if (fixedPropertyLength == -1) {
+            fixedPropertyLength = calculation.applyAsInt(this);
+            this.fixedPropertyLength = fixedPropertyLength;
+        }
+        return fixedPropertyLength;
+    }
+
     @Override
     public void acknowledge() {
         final Confirmable confirmable = this.confirmable;
@@ -197,14 +265,38 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
     public @NotNull MqttStatefulPublish createStateful(
             final int packetIdentifier, final boolean dup, final @Nullable MqttTopicAliasMapping topicAliasMapping) {
 
-        final int topicAlias =
-                (topicAliasMapping == null) ? DEFAULT_NO_TOPIC_ALIAS : topicAliasMapping.onPublish(topic);
-        return createStateful(packetIdentifier, dup, topicAlias, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        return createStateful(packetIdentifier, dup, topicAliasMapping, null);
+    }
+
+    public @NotNull MqttStatefulPublish createStateful(
+            final int packetIdentifier,
+            final boolean dup,
+            final @Nullable MqttTopicAliasMapping topicAliasMapping,
+            final byte @Nullable [] preEncoded) {
+
+        final int topicAlias = ((topicAliasMapping == null) || (topicAliasUsage == Mqtt5TopicAliasUsage.NO)) ?
+                DEFAULT_NO_TOPIC_ALIAS : topicAliasMapping.onPublish(topic, topicAliasUsage);
+        return new MqttStatefulPublish(
+                this, packetIdentifier, dup, topicAlias, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS, preEncoded);
     }
 
     public @NotNull MqttPublish withConfirmable(final @NotNull Confirmable confirmable) {
         return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
-                responseTopic, correlationData, getUserProperties(), confirmable);
+                responseTopic, correlationData, getUserProperties(), confirmable, filePayload, topicAliasUsage,
+                priority);
+    }
+
+    /**
+     * Creates a copy of this publish with a different message expiry interval, for example the remaining interval
+     * when the publish is resent. The cached encodings are not copied, as they contain the message expiry interval.
+     *
+     * @param messageExpiryInterval the message expiry interval of the copy.
+     * @return the copy of this publish.
+     */
+    public @NotNull MqttPublish withMessageExpiryInterval(final long messageExpiryInterval) {
+        return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator, contentType,
+                responseTopic, correlationData, getUserProperties(), confirmable, filePayload, topicAliasUsage,
+                priority);
     }
 
     @Override
@@ -216,6 +308,8 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
                 ((contentType == null) ? "" : ", contentType=" + contentType) +
                 ((responseTopic == null) ? "" : ", responseTopic=" + responseTopic) +
                 ((correlationData == null) ? "" : ", correlationData=" + correlationData.remaining() + "byte") +
+                ((topicAliasUsage == DEFAULT_TOPIC_ALIAS_USAGE) ? "" : ", topicAliasUsage=" + topicAliasUsage) +
+                ((priority == DEFAULT_PRIORITY) ? "" : ", priority=" + priority) +
                 StringUtil.prepend(", ", super.toAttributeString());
     }
 
@@ -239,7 +333,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
                 (messageExpiryInterval == that.messageExpiryInterval) &&
                 (payloadFormatIndicator == that.payloadFormatIndicator) &&
                 Objects.equals(contentType, that.contentType) && Objects.equals(responseTopic, that.responseTopic) &&
-                Objects.equals(correlationData, that.correlationData);
+                Objects.equals(correlationData, that.correlationData) &&
+                Objects.equals(filePayload, that.filePayload) && (topicAliasUsage == that.topicAliasUsage) &&
+                (priority == that.priority);
     }
 
     protected boolean canEqual(final @Nullable Object o) {
@@ -258,6 +354,9 @@ public class MqttPublish extends MqttMessageWithUserProperties implements Mqtt5P
         result = 31 * result + Objects.hashCode(contentType);
         result = 31 * result + Objects.hashCode(responseTopic);
         result = 31 * result + Objects.hashCode(correlationData);
+        result = 31 * result + Objects.hashCode(filePayload);
+        result = 31 * result + topicAliasUsage.hashCode();
+        result = 31 * result + priority.hashCode();
         return result;
     }
 }
@@ -16,6 +16,7 @@
 
 package com.hivemq.client.internal.mqtt.message.publish;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
 import com.hivemq.client.internal.mqtt.datatypes.*;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
 import com.hivemq.client.internal.util.ByteBufferUtil;
@@ -23,14 +24,18 @@ import com.hivemq.client.internal.util.Checks;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublishBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.function.Function;
 
 /**
@@ -40,6 +45,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
     @Nullable MqttTopicImpl topic;
     @Nullable ByteBuffer payload;
+    @Nullable MqttFilePayload filePayload;
     @NotNull MqttQos qos = MqttPublish.DEFAULT_QOS;
     boolean retain;
     long messageExpiryInterval = MqttPublish.NO_MESSAGE_EXPIRY;
@@ -48,12 +54,16 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
     @Nullable MqttTopicImpl responseTopic;
     @Nullable ByteBuffer correlationData;
     @NotNull MqttUserPropertiesImpl userProperties = MqttUserPropertiesImpl.NO_USER_PROPERTIES;
+    @NotNull Mqtt5TopicAliasUsage topicAliasUsage = MqttPublish.DEFAULT_TOPIC_ALIAS_USAGE;
+    @NotNull Mqtt5PublishPriority priority = MqttPublish.DEFAULT_PRIORITY;
+    @Nullable Mqtt5PayloadCodec payloadCodec;
 
     MqttPublishBuilder() {}
 
     MqttPublishBuilder(final @NotNull MqttPublish publish) {
         topic = publish.getTopic();
         payload = publish.getRawPayload();
+        filePayload = publish.getRawFilePayload();
         qos = publish.getQos();
         retain = publish.isRetain();
         messageExpiryInterval = publish.getRawMessageExpiryInterval();
@@ -62,11 +72,14 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         responseTopic = publish.getRawResponseTopic();
         correlationData = publish.getRawCorrelationData();
         userProperties = publish.getUserProperties();
+        topicAliasUsage = publish.getTopicAliasUsage();
+        priority = publish.getPriority();
     }
 
     MqttPublishBuilder(final @NotNull MqttPublishBuilder<?> publishBuilder) {
         topic = publishBuilder.topic;
         payload = publishBuilder.payload;
+        filePayload = publishBuilder.filePayload;
         qos = publishBuilder.qos;
         retain = publishBuilder.retain;
         messageExpiryInterval = publishBuilder.messageExpiryInterval;
@@ -75,6 +88,9 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         responseTopic = publishBuilder.responseTopic;
         correlationData = publishBuilder.correlationData;
         userProperties = publishBuilder.userProperties;
+        topicAliasUsage = publishBuilder.topicAliasUsage;
+        priority = publishBuilder.priority;
+        payloadCodec = publishBuilder.payloadCodec;
     }
 
     abstract @NotNull B self();
@@ -161,6 +177,36 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
         return new MqttUserPropertiesImplBuilder.Nested<>(userProperties, this::userProperties);
     }
 
+    public @NotNull B topicAliasUsage(final @Nullable Mqtt5TopicAliasUsage topicAliasUsage) {
+        this.topicAliasUsage = Checks.notNull(topicAliasUsage, "Topic alias usage");
+        return self();
+    }
+
+    public @NotNull B priority(final @Nullable Mqtt5PublishPriority priority) {
+        this.priority = Checks.notNull(priority, "Priority");
+        return self();
+    }
+
+    public @NotNull B payloadCodec(final @Nullable Mqtt5PayloadCodec payloadCodec) {
+        this.payloadCodec = payloadCodec;
+        return self();
+    }
+
+    void encodePayload() {
+        // an encoded payload is not UTF-8, so it would violate the payload format indicator
+        if ((payloadCodec == null) || (payload == null) ||
+                (payloadFormatIndicator == Mqtt5PayloadFormatIndicator.UTF_8) ||
+                MqttPayloadCodecConfig.isEncoded(userProperties)) {
+            return;
+        }
+        final ByteBuffer encoded = payloadCodec.encode(payload.duplicate());
+        if (encoded.remaining() < payload.remaining()) {
+            payload = encoded;
+            filePayload = null;
+            userProperties = MqttPayloadCodecConfig.withContentEncoding(userProperties, payloadCodec.getName());
+        }
+    }
+
     private static abstract class Base<B extends Base<B>> extends MqttPublishBuilder<B> {
 
         Base() {}
@@ -171,11 +217,19 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull B payload(final byte @Nullable [] payload) {
             this.payload = ByteBufferUtil.wrap(payload);
+            filePayload = null;
             return self();
         }
 
         public @NotNull B payload(final @Nullable ByteBuffer payload) {
             this.payload = ByteBufferUtil.slice(payload);
+            filePayload = null;
+            return self();
+        }
+
+        public @NotNull B payload(final @Nullable FileChannel fileChannel, final long position, final long size) {
+            filePayload = MqttFilePayload.of(fileChannel, position, size);
+            payload = filePayload.getMapped();
             return self();
         }
 
@@ -185,8 +239,10 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull MqttPublish build() {
             Checks.notNull(topic, "Topic");
+            encodePayload();
             return new MqttPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
-                    contentType, responseTopic, correlationData, userProperties, null);
+                    contentType, responseTopic, correlationData, userProperties, null, filePayload,
+                    topicAliasUsage, priority);
         }
     }
 
@@ -276,6 +332,10 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
             return self();
         }
 
+        public @NotNull B payload(final @Nullable FileChannel fileChannel, final long position, final long size) {
+            return payload(MqttFilePayload.of(fileChannel, position, size).getMapped());
+        }
+
         public @NotNull B delayInterval(final long delayInterval) {
             this.delayInterval = Checks.unsignedInt(delayInterval, "Will delay interval");
             return self();
@@ -283,6 +343,7 @@ public abstract class MqttPublishBuilder<B extends MqttPublishBuilder<B>> {
 
         public @NotNull MqttWillPublish build() {
             Checks.notNull(topic, "Topic");
+            encodePayload();
             return new MqttWillPublish(topic, payload, qos, retain, messageExpiryInterval, payloadFormatIndicator,
                     contentType, responseTopic, correlationData, userProperties, delayInterval);
         }
@@ -21,6 +21,7 @@ import com.hivemq.client.internal.mqtt.message.MqttStatefulMessage;
 import com.hivemq.client.internal.util.UnsignedDataTypes;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Silvio Giebl
@@ -37,6 +38,7 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
     private final boolean dup;
     private final int topicAlias;
     private final @NotNull ImmutableIntList subscriptionIdentifiers;
+    private final byte @Nullable [] preEncoded;
 
     MqttStatefulPublish(
             final @NotNull MqttPublish publish,
@@ -45,10 +47,22 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
             final int topicAlias,
             final @NotNull ImmutableIntList subscriptionIdentifiers) {
 
+        this(publish, packetIdentifier, dup, topicAlias, subscriptionIdentifiers, null);
+    }
+
+    MqttStatefulPublish(
+            final @NotNull MqttPublish publish,
+            final int packetIdentifier,
+            final boolean dup,
+            final int topicAlias,
+            final @NotNull ImmutableIntList subscriptionIdentifiers,
+            final byte @Nullable [] preEncoded) {
+
         super(publish, packetIdentifier);
         this.dup = dup;
         this.topicAlias = topicAlias;
         this.subscriptionIdentifiers = subscriptionIdentifiers;
+        this.preEncoded = preEncoded;
     }
 
     public boolean isDup() {
@@ -67,6 +81,14 @@ public class MqttStatefulPublish extends MqttStatefulMessage.WithId<MqttPublish>
         return subscriptionIdentifiers;
     }
 
+    /**
+     * @return the pre-encoded properties and payload of the publish or null if the publish is not pre-encoded.
+     * @see com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5PublishEncoder#preEncode(MqttPublish)
+     */
+    public byte @Nullable [] getPreEncoded() {
+        return preEncoded;
+    }
+
     @Override
     protected @NotNull String toAttributeString() {
         return super.toAttributeString() + ", dup=" + dup + ", topicAlias=" + topicAlias +
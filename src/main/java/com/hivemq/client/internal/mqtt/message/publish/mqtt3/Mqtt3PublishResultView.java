@@ -28,6 +28,10 @@ import org.jetbrains.annotations.Nullable;
 import java.util.Optional;
 
 /**
+ * View of a publish result for the MQTT 3 API. The internal result can not implement {@link Mqtt3PublishResult} itself
+ * as its {@link Mqtt5PublishResult#getPublish()} has a conflicting return type. The view of the publish is only created
+ * when it is requested.
+ *
  * @author Silvio Giebl
  */
 public class Mqtt3PublishResultView implements Mqtt3PublishResult {
@@ -19,19 +19,24 @@ package com.hivemq.client.internal.mqtt.message.publish.mqtt3;
 import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
+import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.mqtt3.message.publish.Mqtt3Publish;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5WillPublish;
 import io.reactivex.functions.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -43,6 +48,8 @@ public class Mqtt3PublishView implements Mqtt3Publish {
     public static final @NotNull Function<Mqtt5Publish, Mqtt3Publish> MAPPER = Mqtt3PublishView::of;
     public static final @NotNull java.util.function.Function<Mqtt5Publish, Mqtt3Publish> JAVA_MAPPER =
             Mqtt3PublishView::of;
+    public static final @NotNull Function<List<Mqtt5Publish>, List<Mqtt3Publish>> LIST_MAPPER =
+            Mqtt3PublishView::ofList;
 
     public static @NotNull MqttPublish delegate(
             final @NotNull MqttTopicImpl topic,
@@ -50,8 +57,19 @@ public class Mqtt3PublishView implements Mqtt3Publish {
             final @NotNull MqttQos qos,
             final boolean retain) {
 
+        return delegate(topic, payload, qos, retain, null);
+    }
+
+    public static @NotNull MqttPublish delegate(
+            final @NotNull MqttTopicImpl topic,
+            final @Nullable ByteBuffer payload,
+            final @NotNull MqttQos qos,
+            final boolean retain,
+            final @Nullable MqttFilePayload filePayload) {
+
         return new MqttPublish(topic, payload, qos, retain, MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null,
-                MqttUserPropertiesImpl.NO_USER_PROPERTIES, null);
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES, null, filePayload, Mqtt5TopicAliasUsage.MAY,
+                Mqtt5PublishPriority.NORMAL);
     }
 
     public static @NotNull MqttStatefulPublish statefulDelegate(
@@ -65,9 +83,10 @@ public class Mqtt3PublishView implements Mqtt3Publish {
             final @NotNull MqttTopicImpl topic,
             final @Nullable ByteBuffer payload,
             final @NotNull MqttQos qos,
-            final boolean retain) {
+            final boolean retain,
+            final @Nullable MqttFilePayload filePayload) {
 
-        return new Mqtt3PublishView(delegate(topic, payload, qos, retain));
+        return new Mqtt3PublishView(delegate(topic, payload, qos, retain, filePayload));
     }
 
     static @NotNull Mqtt3PublishView willOf(
@@ -89,6 +108,14 @@ public class Mqtt3PublishView implements Mqtt3Publish {
         return new Mqtt3PublishView(publish);
     }
 
+    public static @NotNull List<Mqtt3Publish> ofList(final @NotNull List<Mqtt5Publish> publishes) {
+        final ImmutableList.Builder<Mqtt3Publish> builder = ImmutableList.builder(publishes.size());
+        for (final Mqtt5Publish publish : publishes) {
+            builder.add(of(publish));
+        }
+        return builder.build();
+    }
+
     private final @NotNull MqttPublish delegate;
 
     private Mqtt3PublishView(final @NotNull MqttPublish delegate) {
@@ -18,6 +18,7 @@ package com.hivemq.client.internal.mqtt.message.publish.mqtt3;
 
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
 import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImplBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttFilePayload;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
 import com.hivemq.client.internal.mqtt.message.publish.MqttWillPublish;
 import com.hivemq.client.internal.mqtt.util.MqttChecks;
@@ -31,6 +32,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -41,6 +43,7 @@ public abstract class Mqtt3PublishViewBuilder<B extends Mqtt3PublishViewBuilder<
 
     @Nullable MqttTopicImpl topic;
     @Nullable ByteBuffer payload;
+    @Nullable MqttFilePayload filePayload;
     @NotNull MqttQos qos = Mqtt3PublishView.DEFAULT_QOS;
     boolean retain;
 
@@ -50,6 +53,7 @@ public abstract class Mqtt3PublishViewBuilder<B extends Mqtt3PublishViewBuilder<
         final MqttPublish delegate = publish.getDelegate();
         topic = delegate.getTopic();
         payload = delegate.getRawPayload();
+        filePayload = delegate.getRawFilePayload();
         qos = delegate.getQos();
         retain = delegate.isRetain();
     }
@@ -90,17 +94,25 @@ public abstract class Mqtt3PublishViewBuilder<B extends Mqtt3PublishViewBuilder<
 
         public @NotNull B payload(final byte @Nullable [] payload) {
             this.payload = ByteBufferUtil.wrap(payload);
+            filePayload = null;
             return self();
         }
 
         public @NotNull B payload(final @Nullable ByteBuffer payload) {
             this.payload = ByteBufferUtil.slice(payload);
+            filePayload = null;
+            return self();
+        }
+
+        public @NotNull B payload(final @Nullable FileChannel fileChannel, final long position, final long size) {
+            filePayload = MqttFilePayload.of(fileChannel, position, size);
+            payload = filePayload.getMapped();
             return self();
         }
 
         public @NotNull Mqtt3PublishView build() {
             Checks.notNull(topic, "Topic");
-            return Mqtt3PublishView.of(topic, payload, qos, retain);
+            return Mqtt3PublishView.of(topic, payload, qos, retain, filePayload);
         }
     }
 
@@ -196,6 +208,10 @@ public abstract class Mqtt3PublishViewBuilder<B extends Mqtt3PublishViewBuilder<
             return self();
         }
 
+        public @NotNull B payload(final @Nullable FileChannel fileChannel, final long position, final long size) {
+            return payload(MqttFilePayload.of(fileChannel, position, size).getMapped());
+        }
+
         public @NotNull Mqtt3PublishView build() {
             Checks.notNull(topic, "Topic");
             return Mqtt3PublishView.willOf(topic, payload, qos, retain);
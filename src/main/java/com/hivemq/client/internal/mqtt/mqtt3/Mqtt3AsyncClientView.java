@@ -24,6 +24,7 @@ import com.hivemq.client.internal.mqtt.message.connect.mqtt3.Mqtt3ConnectView;
 import com.hivemq.client.internal.mqtt.message.connect.mqtt3.Mqtt3ConnectViewBuilder;
 import com.hivemq.client.internal.mqtt.message.disconnect.mqtt3.Mqtt3DisconnectView;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
 import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishViewBuilder;
 import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
@@ -49,15 +50,21 @@ import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Silvio Giebl
  */
 public class Mqtt3AsyncClientView implements Mqtt3AsyncClient {
 
+    private static final @NotNull Function<MqttPublishResult, Mqtt3Publish> PUBLISH_RESULT_MAPPER =
+            publishResult -> Mqtt3PublishView.of(publishResult.getPublish());
+
     private static @NotNull CompletableFuture<@NotNull Mqtt3SubAck> handleSubAck(
             final @NotNull CompletableFuture<@NotNull Mqtt5SubAck> future) {
 
@@ -220,6 +227,22 @@ public class Mqtt3AsyncClientView implements Mqtt3AsyncClient {
         return future;
     }
 
+    @Override
+    public @NotNull CompletableFuture<List<Mqtt3Publish>> drainAndDisconnect(
+            final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        final CompletableFuture<List<Mqtt3Publish>> future = new CompletableFuture<>();
+        delegate.drainAndDisconnect(Mqtt3DisconnectView.DELEGATE, drainTimeout, timeUnit)
+                .whenComplete((undelivered, throwable) -> {
+                    if (throwable != null) {
+                        future.completeExceptionally(Mqtt3ExceptionFactory.map(throwable));
+                    } else {
+                        future.complete(Mqtt3PublishView.ofList(undelivered));
+                    }
+                });
+        return future;
+    }
+
     @Override
     public Mqtt3UnsubscribeViewBuilder.@NotNull Send<CompletableFuture<Void>> unsubscribeWith() {
         return new Mqtt3UnsubscribeViewBuilder.Send<>(this::unsubscribe);
@@ -229,15 +252,7 @@ public class Mqtt3AsyncClientView implements Mqtt3AsyncClient {
     public @NotNull CompletableFuture<@NotNull Mqtt3Publish> publish(final @Nullable Mqtt3Publish publish) {
         final MqttPublish mqttPublish = MqttChecks.publish(publish);
 
-        final CompletableFuture<Mqtt3Publish> future = new CompletableFuture<>();
-        delegate.publish(mqttPublish).whenComplete((publishResult, throwable) -> {
-            if (throwable != null) {
-                future.completeExceptionally(Mqtt3ExceptionFactory.map(throwable));
-            } else {
-                future.complete(Mqtt3PublishView.of(publishResult.getPublish()));
-            }
-        });
-        return future;
+        return delegate.publish(mqttPublish, PUBLISH_RESULT_MAPPER, Mqtt3ExceptionFactory.MAPPER_JAVA);
     }
 
     @Override
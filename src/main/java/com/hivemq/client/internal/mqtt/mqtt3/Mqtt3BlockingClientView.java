@@ -49,6 +49,7 @@ import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5MessageException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -153,6 +154,16 @@ public class Mqtt3BlockingClientView implements Mqtt3BlockingClient {
         }
     }
 
+    @Override
+    public @NotNull List<Mqtt3Publish> drainAndDisconnect(final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+        try {
+            return Mqtt3PublishView.ofList(
+                    delegate.drainAndDisconnect(Mqtt3DisconnectView.DELEGATE, drainTimeout, timeUnit));
+        } catch (final Mqtt5MessageException e) {
+            throw Mqtt3ExceptionFactory.mapWithStackTrace(e);
+        }
+    }
+
     @Override
     public @NotNull Mqtt3ClientConfig getConfig() {
         return clientConfig;
@@ -54,6 +54,9 @@ import io.reactivex.functions.Function;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * @author Silvio Giebl
  * @author David Katz
@@ -77,6 +80,9 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
     private static final @NotNull Function<Throwable, Flowable<Mqtt5PublishResult>>
             EXCEPTION_MAPPER_FLOWABLE_PUBLISH_RESULT = e -> Flowable.error(Mqtt3ExceptionFactory.map(e));
 
+    private static final @NotNull Function<Throwable, Single<List<Mqtt5Publish>>> EXCEPTION_MAPPER_SINGLE_PUBLISHES =
+            e -> Single.error(Mqtt3ExceptionFactory.map(e));
+
     private final @NotNull MqttRxClient delegate;
     private final @NotNull Mqtt3ClientConfigView clientConfig;
 
@@ -195,6 +201,15 @@ public class Mqtt3RxClientView implements Mqtt3RxClient {
         return delegate.disconnect(Mqtt3DisconnectView.DELEGATE).onErrorResumeNext(EXCEPTION_MAPPER_COMPLETABLE);
     }
 
+    @Override
+    public @NotNull Single<List<Mqtt3Publish>> drainAndDisconnect(
+            final long drainTimeout, final @Nullable TimeUnit timeUnit) {
+
+        return delegate.drainAndDisconnect(Mqtt3DisconnectView.DELEGATE, drainTimeout, timeUnit)
+                .onErrorResumeNext(EXCEPTION_MAPPER_SINGLE_PUBLISHES)
+                .map(Mqtt3PublishView.LIST_MAPPER);
+    }
+
     @Override
     public @NotNull Mqtt3ClientConfigView getConfig() {
         return clientConfig;
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hivemq.client.internal.netty;
+
+import io.netty.channel.FileRegion;
+import io.netty.util.AbstractReferenceCounted;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * {@link FileRegion} of a {@link FileChannel} that is not owned by the region.
+ * <p>
+ * In contrast to {@link io.netty.channel.DefaultFileRegion} the file channel is not closed when the region is released,
+ * so the same file channel can be transferred multiple times, for example for retransmissions.
+ *
+ * @author Silvio Giebl
+ */
+public class FileChannelRegion extends AbstractReferenceCounted implements FileRegion {
+
+    private final @NotNull FileChannel fileChannel;
+    private final long position;
+    private final long count;
+    private long transferred;
+
+    public FileChannelRegion(final @NotNull FileChannel fileChannel, final long position, final long count) {
+        this.fileChannel = fileChannel;
+        this.position = position;
+        this.count = count;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public long transferred() {
+        return transferred;
+    }
+
+    @Deprecated
+    @Override
+    public long transfered() {
+        return transferred;
+    }
+
+    @Override
+    public long transferTo(final @NotNull WritableByteChannel target, final long position) throws IOException {
+        final long count = this.count - position;
+        if ((count < 0) || (position < 0)) {
+            throw new IllegalArgumentException(
+                    "position out of range: " + position + " (expected: 0 - " + (this.count - 1) + ')');
+        }
+        if (count == 0) {
+            return 0;
+        }
+        final long written = fileChannel.transferTo(this.position + position, count, target);
+        if (written > 0) {
+            transferred += written;
+        } else if ((written == 0) && (fileChannel.size() < this.position + this.count)) {
+            throw new IOException("Underlying file size " + fileChannel.size() + " smaller than requested count " +
+                    this.count + " at position " + this.position);
+        }
+        return written;
+    }
+
+    @Override
+    protected void deallocate() {}
+
+    @Override
+    public @NotNull FileRegion retain() {
+        super.retain();
+        return this;
+    }
+
+    @Override
+    public @NotNull FileRegion retain(final int increment) {
+        super.retain(increment);
+        return this;
+    }
+
+    @Override
+    public @NotNull FileRegion touch() {
+        return this;
+    }
+
+    @Override
+    public @NotNull FileRegion touch(final @NotNull Object hint) {
+        return this;
+    }
+}
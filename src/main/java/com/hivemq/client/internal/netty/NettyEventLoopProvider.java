@@ -20,20 +20,29 @@ import com.hivemq.client.internal.annotations.ThreadSafe;
 import com.hivemq.client.internal.logging.InternalLogger;
 import com.hivemq.client.internal.logging.InternalLoggerFactory;
 import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttEventLoopPlacementImpl;
 import com.hivemq.client.internal.util.ClassUtil;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoop;
 import io.netty.channel.MultithreadEventLoopGroup;
 import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollDatagramChannel;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.DatagramChannel;
+import io.netty.channel.socket.nio.NioDatagramChannel;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.DefaultAddressResolverGroup;
+import io.netty.resolver.dns.*;
 import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.ThreadPerTaskExecutor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.net.InetSocketAddress;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.Executor;
@@ -59,40 +68,79 @@ public class NettyEventLoopProvider {
     }
 
     private static NettyEventLoopProvider nioEventLoopProvider() {
-        return new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new);
+        return new NettyEventLoopProvider(NioEventLoopGroup::new, NioSocketChannel::new, NioDatagramChannel::new);
     }
 
     private static class EpollHolder {
 
         private static NettyEventLoopProvider eventLoopProvider() {
             if (Epoll.isAvailable()) {
-                return new NettyEventLoopProvider(EpollEventLoopGroup::new, EpollSocketChannel::new);
+                return new NettyEventLoopProvider(
+                        EpollEventLoopGroup::new, EpollSocketChannel::new, EpollDatagramChannel::new);
             } else {
                 return nioEventLoopProvider();
             }
         }
     }
 
-    private final @NotNull Map<@Nullable Executor, @NotNull Entry> entries = new HashMap<>();
+    private static @NotNull AddressResolverGroup<InetSocketAddress> addressResolverGroup(
+            final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
+
+        if (ClassUtil.isAvailable("io.netty.resolver.dns.DnsAddressResolverGroup")) {
+            return DnsHolder.addressResolverGroup(datagramChannelFactory);
+        }
+        return DefaultAddressResolverGroup.INSTANCE;
+    }
+
+    private static class DnsHolder {
+
+        /**
+         * The caches are shared by the resolvers of all event loops, so a host name is only looked up again after the
+         * TTL of its DNS records expired, regardless of which client or event loop connects.
+         */
+        private static @NotNull AddressResolverGroup<InetSocketAddress> addressResolverGroup(
+                final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
+
+            return new DnsAddressResolverGroup(new DnsNameResolverBuilder().channelFactory(datagramChannelFactory)
+                    .resolveCache(new DefaultDnsCache())
+                    .cnameCache(new DefaultDnsCnameCache())
+                    .authoritativeDnsServerCache(new DefaultAuthoritativeDnsServerCache()));
+        }
+    }
+
+    /**
+     * Entries are keyed by the user defined executor if set, otherwise by the group name (<code>null</code> for the
+     * default group).
+     */
+    private final @NotNull Map<@Nullable Object, @NotNull Entry> entries = new HashMap<>();
     private final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory;
     private final @NotNull ChannelFactory<?> channelFactory;
+    private final @NotNull AddressResolverGroup<InetSocketAddress> addressResolverGroup;
 
     private NettyEventLoopProvider(
             final @NotNull BiFunction<Integer, Executor, MultithreadEventLoopGroup> eventLoopGroupFactory,
-            final @NotNull ChannelFactory<?> channelFactory) {
+            final @NotNull ChannelFactory<?> channelFactory,
+            final @NotNull ChannelFactory<? extends DatagramChannel> datagramChannelFactory) {
 
         this.eventLoopGroupFactory = eventLoopGroupFactory;
         this.channelFactory = channelFactory;
+        addressResolverGroup = addressResolverGroup(datagramChannelFactory);
     }
 
-    public synchronized @NotNull EventLoop acquireEventLoop(final @Nullable Executor executor, final int threadCount) {
-        Entry entry = entries.get(executor);
+    public synchronized @NotNull EventLoop acquireEventLoop(
+            final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+
+        final Executor executor = executorConfig.getRawNettyExecutor();
+        final int threadCount = executorConfig.getRawNettyThreads();
+        final Object key = getKey(executorConfig);
+        Entry entry = entries.get(key);
         if (entry == null) {
             final MultithreadEventLoopGroup eventLoopGroup;
             if (executor == null) {
-                eventLoopGroup = eventLoopGroupFactory.apply(
-                        threadCount, new ThreadPerTaskExecutor(
-                                new DefaultThreadFactory("com.hivemq.client.mqtt", Thread.MAX_PRIORITY)));
+                final String group = executorConfig.getRawNettyGroup();
+                final String poolName = (group == null) ? "com.hivemq.client.mqtt" : "com.hivemq.client.mqtt-" + group;
+                eventLoopGroup = eventLoopGroupFactory.apply(threadCount,
+                        new ThreadPerTaskExecutor(new DefaultThreadFactory(poolName, Thread.MAX_PRIORITY)));
 
             } else if (executor instanceof MultithreadEventLoopGroup) {
                 eventLoopGroup = (MultithreadEventLoopGroup) executor;
@@ -105,40 +153,85 @@ public class NettyEventLoopProvider {
                 eventLoopGroup = eventLoopGroupFactory.apply(threadCount, executor);
             }
             entry = new Entry(eventLoopGroup);
-            entries.put(executor, entry);
+            entries.put(key, entry);
         } else {
             if ((threadCount != MqttClientExecutorConfigImpl.DEFAULT_NETTY_THREADS) &&
-                    (entry.eventLoopGroup.executorCount() != threadCount)) {
-                LOGGER.warn("Tried to use a different amount of Netty threads for the same executor. " +
-                        "Using {} threads instead of {}", entry.eventLoopGroup.executorCount(), threadCount);
+                    (entry.eventLoops.length != threadCount)) {
+                LOGGER.warn("Tried to use a different amount of Netty threads for the same executor or group. " +
+                        "Using {} threads instead of {}", entry.eventLoops.length, threadCount);
             }
-            entry.referenceCount++;
         }
-        return entry.eventLoopGroup.next();
+        return entry.acquire(executorConfig.getNettyEventLoopPlacement());
     }
 
-    public synchronized void releaseEventLoop(final @Nullable Executor executor) {
-        final Entry entry = entries.get(executor);
-        if (--entry.referenceCount == 0) {
-            entries.remove(executor);
-            if (!(executor instanceof MultithreadEventLoopGroup)) {
+    public synchronized void releaseEventLoop(
+            final @NotNull EventLoop eventLoop, final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+
+        final Object key = getKey(executorConfig);
+        final Entry entry = entries.get(key);
+        if (entry.release(eventLoop)) {
+            entries.remove(key);
+            if (!(executorConfig.getRawNettyExecutor() instanceof MultithreadEventLoopGroup)) {
                 // shutdownGracefully must be the last statement so everything is cleaned up even if it throws
                 entry.eventLoopGroup.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
             }
         }
     }
 
+    private static @Nullable Object getKey(final @NotNull MqttClientExecutorConfigImpl executorConfig) {
+        final Executor executor = executorConfig.getRawNettyExecutor();
+        return (executor == null) ? executorConfig.getRawNettyGroup() : executor;
+    }
+
     public @NotNull ChannelFactory<?> getChannelFactory() {
         return channelFactory;
     }
 
+    /**
+     * Returns the resolver group used to resolve server addresses. If the optional netty DNS resolver is available, the
+     * lookups are asynchronous and cached according to the TTL of the DNS records, otherwise they block the event loop
+     * like the JDK resolver does.
+     *
+     * @return the resolver group used to resolve server addresses.
+     */
+    public @NotNull AddressResolverGroup<InetSocketAddress> getAddressResolverGroup() {
+        return addressResolverGroup;
+    }
+
     private static class Entry {
 
         final @NotNull MultithreadEventLoopGroup eventLoopGroup;
-        int referenceCount = 1;
+        final @NotNull EventLoop @NotNull [] eventLoops;
+        final int @NotNull [] clientCounts;
+        int nextIndex;
+        int referenceCount;
 
         private Entry(final @NotNull MultithreadEventLoopGroup eventLoopGroup) {
             this.eventLoopGroup = eventLoopGroup;
+            eventLoops = new EventLoop[eventLoopGroup.executorCount()];
+            int i = 0;
+            for (final EventExecutor eventExecutor : eventLoopGroup) {
+                eventLoops[i++] = (EventLoop) eventExecutor;
+            }
+            clientCounts = new int[eventLoops.length];
+        }
+
+        @NotNull EventLoop acquire(final @NotNull MqttEventLoopPlacementImpl placement) {
+            final int index = placement.select(eventLoops, clientCounts, nextIndex);
+            nextIndex = (nextIndex + 1) % eventLoops.length;
+            clientCounts[index]++;
+            referenceCount++;
+            return eventLoops[index];
+        }
+
+        boolean release(final @NotNull EventLoop eventLoop) {
+            for (int i = 0; i < eventLoops.length; i++) {
+                if (eventLoops[i] == eventLoop) {
+                    clientCounts[i]--;
+                    break;
+                }
+            }
+            return --referenceCount == 0;
         }
     }
 }
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.logging.InternalLogger;
+import com.hivemq.client.internal.logging.InternalLoggerFactory;
+import io.netty.channel.EventLoop;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.netty.util.concurrent.ScheduledFuture;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hashed wheel timer that is shared by all clients of an event loop.
+ * <p>
+ * Instead of one task per client in the scheduled task queue of the event loop, only one task drives the wheel.
+ * Scheduling and cancelling a timeout is O(1) and does not allocate as the timeouts are reusable nodes that are linked
+ * into the buckets of the wheel. The wheel only ticks while timeouts are scheduled and skips empty buckets. A timeout
+ * expires at the earliest at its deadline and at the latest one tick after it.
+ * <p>
+ * The wheel and its timeouts must only be used on the thread of the event loop.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class NettyTimerWheel implements Runnable {
+
+    private static final @NotNull InternalLogger LOGGER = InternalLoggerFactory.getLogger(NettyTimerWheel.class);
+
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int WHEEL_SIZE = 512; // must be a power of 2
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private static final @NotNull FastThreadLocal<NettyTimerWheel> WHEELS = new FastThreadLocal<>();
+
+    /**
+     * Returns the timer wheel of the given event loop. Must be called on the thread of the event loop.
+     *
+     * @param eventLoop the event loop.
+     * @return the timer wheel of the event loop.
+     */
+    public static @NotNull NettyTimerWheel of(final @NotNull EventLoop eventLoop) {
+        assert eventLoop.inEventLoop() : "must be called on the thread of the event loop";
+        NettyTimerWheel wheel = WHEELS.get();
+        // a thread of a user defined executor may be reused by the event loop of a new event loop group
+        if ((wheel == null) || (wheel.eventLoop != eventLoop)) {
+            wheel = new NettyTimerWheel(eventLoop, System::nanoTime);
+            WHEELS.set(wheel);
+        }
+        return wheel;
+    }
+
+    private final @NotNull EventLoop eventLoop;
+    private final @NotNull LongSupplier nanoClock;
+    private final @Nullable Timeout @NotNull [] buckets = new Timeout[WHEEL_SIZE];
+    private final long originNanos;
+    private long tick; // all ticks up to this tick are processed
+    private int size;
+    private boolean running;
+    private @Nullable ScheduledFuture<?> tickFuture;
+    private long tickFutureTick;
+
+    /**
+     * Creates a timer wheel that is not shared and reads the time from the given clock instead of {@link
+     * System#nanoTime()}, so the time can be controlled by calling {@link #run()} directly, for example in tests.
+     * Otherwise {@link #of(EventLoop)} must be used.
+     *
+     * @param eventLoop the event loop.
+     * @param nanoClock the clock returning the current time in nanoseconds.
+     */
+    public NettyTimerWheel(final @NotNull EventLoop eventLoop, final @NotNull LongSupplier nanoClock) {
+        this.eventLoop = eventLoop;
+        this.nanoClock = nanoClock;
+        originNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * @return the current time in nanoseconds of the clock of this wheel.
+     */
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    /**
+     * Creates a reusable timeout for the given task.
+     *
+     * @param task the task to run when the timeout expires.
+     * @return the timeout which is not scheduled yet.
+     */
+    public @NotNull Timeout newTimeout(final @NotNull Runnable task) {
+        return new Timeout(this, task);
+    }
+
+    private void schedule(final @NotNull Timeout timeout, final long delayNanos) {
+        if (timeout.state == Timeout.STATE_SCHEDULED) {
+            remove(timeout);
+        }
+        final long nowNanos = nanoClock.getAsLong();
+        final long elapsedNanos = nowNanos - originNanos;
+        if (size == 0) {
+            tick = Math.max(tick, elapsedNanos / TICK_NANOS);
+        }
+        final long deadlineTick =
+                Math.max((elapsedNanos + Math.max(delayNanos, 0) + TICK_NANOS - 1) / TICK_NANOS, tick + 1);
+        timeout.state = Timeout.STATE_SCHEDULED;
+        timeout.deadlineTick = deadlineTick;
+        final int index = (int) (deadlineTick & WHEEL_MASK);
+        final Timeout head = buckets[index];
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        buckets[index] = timeout;
+        size++;
+        // outside of run() a tick is always scheduled if other timeouts are scheduled
+        if (!running && ((tickFuture == null) || (deadlineTick < tickFutureTick))) {
+            scheduleTick(deadlineTick, nowNanos);
+        }
+    }
+
+    private void cancel(final @NotNull Timeout timeout) {
+        if (timeout.state == Timeout.STATE_SCHEDULED) {
+            remove(timeout);
+        }
+        timeout.state = Timeout.STATE_IDLE;
+    }
+
+    private void remove(final @NotNull Timeout timeout) {
+        final Timeout prev = timeout.prev;
+        final Timeout next = timeout.next;
+        if (prev == null) {
+            buckets[(int) (timeout.deadlineTick & WHEEL_MASK)] = next;
+        } else {
+            prev.next = next;
+        }
+        if (next != null) {
+            next.prev = prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        size--;
+    }
+
+    private void scheduleTick(final long targetTick, final long nowNanos) {
+        if (tickFuture != null) {
+            tickFuture.cancel(false);
+        }
+        tickFutureTick = targetTick;
+        tickFuture = eventLoop.schedule(
+                this, originNanos + (targetTick * TICK_NANOS) - nowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void run() {
+        tickFuture = null;
+        running = true;
+        final long nowTick = (nanoClock.getAsLong() - originNanos) / TICK_NANOS;
+        Timeout expired = null;
+        final long ticks = Math.min(nowTick - tick, WHEEL_SIZE);
+        for (long i = 1; i <= ticks; i++) {
+            Timeout timeout = buckets[(int) ((tick + i) & WHEEL_MASK)];
+            while (timeout != null) {
+                final Timeout next = timeout.next;
+                if (timeout.deadlineTick <= nowTick) {
+                    remove(timeout);
+                    timeout.state = Timeout.STATE_EXPIRED;
+                    timeout.nextExpired = expired;
+                    expired = timeout;
+                }
+                timeout = next;
+            }
+        }
+        tick = Math.max(tick, nowTick);
+
+        while (expired != null) {
+            final Timeout timeout = expired;
+            expired = timeout.nextExpired;
+            timeout.nextExpired = null;
+            // an expired timeout may have been cancelled or rescheduled by a previous task
+            if (timeout.state == Timeout.STATE_EXPIRED) {
+                timeout.state = Timeout.STATE_IDLE;
+                try {
+                    timeout.task.run();
+                } catch (final Throwable t) {
+                    LOGGER.error("Unexpected exception thrown by timeout task.", t);
+                }
+            }
+        }
+        running = false;
+
+        if (size > 0) {
+            scheduleTick(nextTick(), nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * @return the tick of the next non-empty bucket which is never after the earliest deadline.
+     */
+    private long nextTick() {
+        for (int i = 1; i < WHEEL_SIZE; i++) {
+            if (buckets[(int) ((tick + i) & WHEEL_MASK)] != null) {
+                return tick + i;
+            }
+        }
+        return tick + WHEEL_SIZE;
+    }
+
+    /**
+     * Reusable timeout of a {@link NettyTimerWheel}. Must only be used on the thread of the event loop of the wheel.
+     */
+    @NotThreadSafe
+    public static class Timeout {
+
+        private static final int STATE_IDLE = 0;
+        private static final int STATE_SCHEDULED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final @NotNull NettyTimerWheel wheel;
+        private final @NotNull Runnable task;
+        private int state;
+        private long deadlineTick;
+        private @Nullable Timeout prev;
+        private @Nullable Timeout next;
+        private @Nullable Timeout nextExpired;
+
+        private Timeout(final @NotNull NettyTimerWheel wheel, final @NotNull Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Schedules the task to run after the given delay. If the timeout is already scheduled, it is rescheduled.
+         *
+         * @param delayNanos the delay in nanoseconds.
+         */
+        public void schedule(final long delayNanos) {
+            wheel.schedule(this, delayNanos);
+        }
+
+        /**
+         * Cancels the timeout if it is scheduled.
+         */
+        public void cancel() {
+            wheel.cancel(this);
+        }
+
+        public boolean isScheduled() {
+            return state == STATE_SCHEDULED;
+        }
+    }
+}
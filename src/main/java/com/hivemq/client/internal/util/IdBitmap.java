@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Allocates ids in the range [minId, maxId] with a bitmap, so that returning an id takes constant time independent of
+ * the order in which ids are returned. {@link #getId()} always allocates the lowest free id. A second level bitmap marks
+ * the full words, so that finding the lowest free id only scans one bit per 64 ids instead of every word.
+ *
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class IdBitmap {
+
+    private final int minId;
+    private int maxId;
+    private long @NotNull [] words; // a set bit marks an allocated id, bit i is id minId + i
+    private long @NotNull [] fullWords; // a set bit marks a word in which all ids are allocated
+
+    public IdBitmap(final int minId, final int maxId) {
+        this.minId = minId;
+        this.maxId = maxId;
+        words = new long[wordCount(maxId - minId + 1)];
+        fullWords = new long[wordCount(words.length)];
+    }
+
+    public int getId() {
+        final long[] words = this.words;
+        final long[] fullWords = this.fullWords;
+        for (int i = 0; i < fullWords.length; i++) {
+            final long notFull = ~fullWords[i];
+            if (notFull != 0) {
+                final int wordIndex = (i << 6) + Long.numberOfTrailingZeros(notFull);
+                if (wordIndex >= words.length) {
+                    return -1;
+                }
+                final long free = ~words[wordIndex];
+                final int index = (wordIndex << 6) + Long.numberOfTrailingZeros(free);
+                if (index > maxId - minId) {
+                    return -1;
+                }
+                final long word = words[wordIndex] |= Long.lowestOneBit(free);
+                if (word == -1L) {
+                    fullWords[i] |= 1L << wordIndex;
+                }
+                return minId + index;
+            }
+        }
+        return -1;
+    }
+
+    public void returnId(final int id) {
+        if (id > maxId) {
+            throw new IllegalStateException("The id is greater than maxId. This must not happen and is a bug.");
+        }
+        final int index = id - minId;
+        final int wordIndex = index >> 6;
+        final long bit = 1L << index;
+        if ((index < 0) || ((words[wordIndex] & bit) == 0)) {
+            throw new IllegalStateException("The id was already returned. This must not happen and is a bug.");
+        }
+        words[wordIndex] &= ~bit;
+        fullWords[wordIndex >> 6] &= ~(1L << wordIndex);
+    }
+
+    /**
+     * Resizes the range to [minId, maxId]. Shrinking is only applied if no id greater than the new maxId is allocated.
+     *
+     * @param maxId the new maximum id.
+     * @return the count of allocated ids greater than the new maxId, 0 if the range has been resized.
+     */
+    public int resize(final int maxId) {
+        final int count = maxId - minId + 1;
+        if (maxId >= this.maxId) {
+            final int wordCount = wordCount(count);
+            if (wordCount > words.length) {
+                words = Arrays.copyOf(words, wordCount);
+                fullWords = Arrays.copyOf(fullWords, wordCount(wordCount));
+            }
+            this.maxId = maxId;
+            return 0;
+        }
+        final long[] words = this.words;
+        final int startIndex = Math.max(count, 0);
+        final int endIndex = this.maxId - minId + 1;
+        int allocated = 0;
+        for (int i = startIndex >> 6, end = wordCount(endIndex); i < end; i++) {
+            long word = words[i];
+            if (i == (startIndex >> 6)) {
+                word &= -1L << startIndex;
+            }
+            allocated += Long.bitCount(word);
+        }
+        if (allocated == 0) {
+            this.maxId = maxId;
+        }
+        return allocated;
+    }
+
+    private static int wordCount(final int count) {
+        return (Math.max(count, 0) + 63) >> 6;
+    }
+}
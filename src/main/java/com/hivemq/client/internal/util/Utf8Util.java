@@ -18,6 +18,8 @@ package com.hivemq.client.internal.util;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.nio.ByteBuffer;
+
 /**
  * @author Silvio Giebl
  */
@@ -27,10 +29,14 @@ public final class Utf8Util {
     private static final long NO_FOLLOWING_BYTE = 0b1100_0000L << 56;
     private static final long UTF_16_SURROGATES = 0b1110_0000L << 56;
     private static final long INVALID_CODE_POINTS = 0b1111_0000L << 56;
+    private static final long NON_ASCII_MASK = 0x8080_8080_8080_8080L;
 
     public static long isWellFormed(final byte @NotNull [] bytes) {
-        int index = 0;
-        final int end = bytes.length;
+        return isWellFormed(bytes, 0, bytes.length);
+    }
+
+    private static long isWellFormed(final byte @NotNull [] bytes, final int start, final int end) {
+        int index = start;
         while (true) {
 
             byte byte1;
@@ -42,54 +48,141 @@ public final class Utf8Util {
 
             if (byte1 < (byte) 0xE0) { // 2 bytes
                 if (index == end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if (byte1 < (byte) 0xC2) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else if (byte1 < (byte) 0xF0) { // 3 bytes
                 if (index + 1 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
-                    return index + UTF_16_SURROGATES;
+                    return index - start + UTF_16_SURROGATES;
                 }
                 final byte byte3 = bytes[index++];
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             } else { // 4 bytes
                 if (index + 2 >= end) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte2 = bytes[index++];
                 if (byte2 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
-                    return index + NON_SHORTEST_FORM;
+                    return index - start + NON_SHORTEST_FORM;
                 }
                 if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
-                    return index + INVALID_CODE_POINTS;
+                    return index - start + INVALID_CODE_POINTS;
                 }
                 final byte byte3 = bytes[index++];
                 if (byte3 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
                 final byte byte4 = bytes[index++];
                 if (byte4 > (byte) 0xBF) {
-                    return index + NO_FOLLOWING_BYTE;
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether the remaining bytes of the given byte buffer are well-formed UTF-8.
+     * <p>
+     * Validates directly on the byte buffer without copying it. Heap byte buffers are validated on their backing array.
+     * For direct byte buffers runs of ASCII characters are skipped 8 bytes at a time.
+     * <p>
+     * The position of the byte buffer is not changed.
+     *
+     * @param byteBuffer the byte buffer to check.
+     * @return 0 if the bytes are well-formed UTF-8, otherwise the index (relative to the position) after the first
+     *         malformed byte combined with the kind of error.
+     */
+    public static long isWellFormed(final @NotNull ByteBuffer byteBuffer) {
+        if (byteBuffer.hasArray()) {
+            final int offset = byteBuffer.arrayOffset();
+            return isWellFormed(byteBuffer.array(), offset + byteBuffer.position(), offset + byteBuffer.limit());
+        }
+        final int start = byteBuffer.position();
+        final int end = byteBuffer.limit();
+        int index = start;
+        while (true) {
+
+            while ((end - index >= 8) && ((byteBuffer.getLong(index) & NON_ASCII_MASK) == 0)) {
+                index += 8;
+            }
+            byte byte1;
+            do {
+                if (index >= end) {
+                    return 0;
+                }
+            } while ((byte1 = byteBuffer.get(index++)) >= 0);
+
+            if (byte1 < (byte) 0xE0) { // 2 bytes
+                if (index == end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if (byte1 < (byte) 0xC2) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            } else if (byte1 < (byte) 0xF0) { // 3 bytes
+                if (index + 1 >= end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xE0) && (byte2 < (byte) 0xA0)) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xED) && (byte2 >= (byte) 0xA0)) {
+                    return index - start + UTF_16_SURROGATES;
+                }
+                final byte byte3 = byteBuffer.get(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+            } else { // 4 bytes
+                if (index + 2 >= end) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte2 = byteBuffer.get(index++);
+                if (byte2 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                if ((byte1 == (byte) 0xF0) && (byte2 < (byte) 0x90)) {
+                    return index - start + NON_SHORTEST_FORM;
+                }
+                if ((byte1 == (byte) 0xF4) && (byte2 > (byte) 0x8F) || (byte1 > (byte) 0xF4)) {
+                    return index - start + INVALID_CODE_POINTS;
+                }
+                final byte byte3 = byteBuffer.get(index++);
+                if (byte3 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
+                }
+                final byte byte4 = byteBuffer.get(index++);
+                if (byte4 > (byte) 0xBF) {
+                    return index - start + NO_FOLLOWING_BYTE;
                 }
             }
         }
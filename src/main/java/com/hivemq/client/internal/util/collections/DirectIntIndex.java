@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util.collections;
+
+import com.hivemq.client.internal.annotations.NotThreadSafe;
+import com.hivemq.client.internal.util.UnsignedDataTypes;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Index of entries by an unsigned short key (for example a packet identifier) with direct addressing instead of
+ * hashing, so that every operation takes constant time.
+ * <p>
+ * The table is split into pages which are only allocated when a key of their range is used, so that the memory footprint
+ * stays proportional to the used key ranges although the keys may be spread over the whole unsigned short range. Pages
+ * are kept until {@link #clear()}, so that keys that are reused do not allocate pages repeatedly. Only the page table
+ * of 256 references (about 1 KiB with compressed references) is allocated up front, a client has three indexes (in
+ * the outgoing and incoming QoS handlers and in the subscription handler).
+ *
+ * @param <E> the type of the entries.
+ * @author Silvio Giebl
+ */
+@NotThreadSafe
+public class DirectIntIndex<E> {
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int PAGE_COUNT = (UnsignedDataTypes.UNSIGNED_SHORT_MAX_VALUE + 1) >> PAGE_BITS;
+
+    private final @NotNull ToIntFunction<? super E> keyFunction;
+    private final @Nullable Object @Nullable [] @NotNull [] pages = new Object[PAGE_COUNT][];
+    private int size;
+
+    public DirectIntIndex(final @NotNull ToIntFunction<? super E> keyFunction) {
+        this.keyFunction = keyFunction;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public @Nullable E put(final @NotNull E entry) {
+        return put(entry, true);
+    }
+
+    public @Nullable E putIfAbsent(final @NotNull E entry) {
+        return put(entry, false);
+    }
+
+    private @Nullable E put(final @NotNull E entry, final boolean overwrite) {
+        final int key = keyFunction.applyAsInt(entry);
+        assert UnsignedDataTypes.isUnsignedShort(key) : "key must be an unsigned short";
+        final int pageIndex = key >> PAGE_BITS;
+        Object[] page = pages[pageIndex];
+        if (page == null) {
+            pages[pageIndex] = page = new Object[PAGE_SIZE];
+        }
+        final int index = key & PAGE_MASK;
+        final Object o = page[index];
+        if (o == null) {
+            page[index] = entry;
+            size++;
+            return null;
+        }
+        if (overwrite) {
+            page[index] = entry;
+        }
+        return cast(o);
+    }
+
+    public @Nullable E get(final int key) {
+        if (!UnsignedDataTypes.isUnsignedShort(key)) {
+            return null;
+        }
+        final Object[] page = pages[key >> PAGE_BITS];
+        if (page == null) {
+            return null;
+        }
+        final Object o = page[key & PAGE_MASK];
+        return (o == null) ? null : cast(o);
+    }
+
+    public @Nullable E remove(final int key) {
+        if (!UnsignedDataTypes.isUnsignedShort(key)) {
+            return null;
+        }
+        final Object[] page = pages[key >> PAGE_BITS];
+        if (page == null) {
+            return null;
+        }
+        final int index = key & PAGE_MASK;
+        final Object o = page[index];
+        if (o == null) {
+            return null;
+        }
+        page[index] = null;
+        size--;
+        return cast(o);
+    }
+
+    public void clear() {
+        Arrays.fill(pages, null);
+        size = 0;
+    }
+
+    public void forEach(final @NotNull Consumer<? super E> consumer) {
+        for (final Object[] page : pages) {
+            if (page != null) {
+                for (final Object o : page) {
+                    if (o != null) {
+                        consumer.accept(cast(o));
+                    }
+                }
+            }
+        }
+    }
+
+    private @NotNull E cast(final @NotNull Object o) {
+        //noinspection unchecked
+        return (E) o;
+    }
+}
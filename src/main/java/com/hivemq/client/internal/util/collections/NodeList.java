@@ -37,6 +37,15 @@ public class NodeList<N extends NodeList.Node<N>> {
         public @Nullable N getNext() {
             return next;
         }
+
+        /**
+         * Clears the links of a node that has been removed from its list, so that it can be added to a list again.
+         * Removing a node keeps its links, so that an iteration can continue at a node that was removed meanwhile.
+         */
+        protected void unlink() {
+            prev = null;
+            next = null;
+        }
     }
 
     private @Nullable N first, last;
@@ -19,6 +19,8 @@ package com.hivemq.client.mqtt;
 import com.hivemq.client.annotations.DoNotImplement;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.OptionalLong;
+
 /**
  * Connection configuration of an {@link MqttClient}.
  *
@@ -49,4 +51,16 @@ public interface MqttClientConnectionConfig {
      * @return whether the client connected with a Will Publish message.
      */
     boolean hasWillPublish();
+
+    /**
+     * Returns the round trip time between the last PingReq message and its PingResp message. The value is updated with
+     * every PingResp message and can be used as latency metric of the connection.
+     * <p>
+     * PingReq messages are only sent if the keep alive is not 0 and the client did not send other messages for the keep
+     * alive interval.
+     *
+     * @return the round trip time of the last ping in nanoseconds or empty if no PingResp message was received yet.
+     * @since 1.3
+     */
+    @NotNull OptionalLong getPingRoundTripTimeNanos();
 }
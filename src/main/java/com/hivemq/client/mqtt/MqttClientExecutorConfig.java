@@ -56,6 +56,32 @@ public interface MqttClientExecutorConfig {
      */
     @NotNull OptionalInt getNettyThreads();
 
+    /**
+     * @return the optional name of the group of clients that share a dedicated event loop group for Netty (network
+     *         communication framework).
+     * @since 1.3
+     */
+    @NotNull Optional<String> getNettyGroup();
+
+    /**
+     * @return the strategy for placing clients on the threads of the event loop group for Netty (network
+     *         communication framework).
+     * @since 1.3
+     */
+    @NotNull MqttEventLoopPlacement getNettyEventLoopPlacement();
+
+    /**
+     * @return the optional admission that limits the connection attempts of all clients sharing it.
+     * @since 1.3
+     */
+    @NotNull Optional<MqttConnectAdmission> getConnectAdmission();
+
+    /**
+     * @return the optional limiter for the rate of outgoing Publish messages of all clients sharing it.
+     * @since 1.3
+     */
+    @NotNull Optional<MqttPublishRateLimiter> getPublishRateLimiter();
+
     /**
      * @return the {@link Scheduler} used for executing application specific code, such as callbacks.
      */
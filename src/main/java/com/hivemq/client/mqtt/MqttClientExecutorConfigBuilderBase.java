@@ -54,6 +54,61 @@ public interface MqttClientExecutorConfigBuilderBase<B extends MqttClientExecuto
     @CheckReturnValue
     @NotNull B nettyThreads(int nettyThreads);
 
+    /**
+     * Sets the optional {@link MqttClientExecutorConfig#getNettyGroup() name of the group of clients} that share a
+     * dedicated event loop group for Netty (network communication framework).
+     * <p>
+     * Clients with the same group name share their threads, clients of different groups never share threads. The
+     * amount of threads of a group is defined by the {@link #nettyThreads(int) amount of threads Netty} of the first
+     * client of the group. The group has no effect if a {@link #nettyExecutor(Executor) user defined executor for
+     * Netty} is set.
+     *
+     * @param nettyGroup the name of the group or <code>null</code> to use the default group.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B nettyGroup(@Nullable String nettyGroup);
+
+    /**
+     * Sets the {@link MqttClientExecutorConfig#getNettyEventLoopPlacement() strategy for placing clients on the
+     * threads} of the event loop group for Netty (network communication framework).
+     *
+     * @param nettyEventLoopPlacement the strategy for placing clients on the threads.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B nettyEventLoopPlacement(@NotNull MqttEventLoopPlacement nettyEventLoopPlacement);
+
+    /**
+     * Sets the optional {@link MqttClientExecutorConfig#getConnectAdmission() admission that limits the connection
+     * attempts}.
+     * <p>
+     * The same instance has to be set for all clients whose connection attempts should be limited together.
+     *
+     * @param connectAdmission the admission that limits the connection attempts or <code>null</code> to not limit
+     *                         them.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B connectAdmission(@Nullable MqttConnectAdmission connectAdmission);
+
+    /**
+     * Sets the optional {@link MqttClientExecutorConfig#getPublishRateLimiter() limiter for the rate of outgoing
+     * Publish messages}.
+     * <p>
+     * The same instance has to be set for all clients whose Publish messages should be limited together.
+     *
+     * @param publishRateLimiter the limiter for the rate of outgoing Publish messages or <code>null</code> to not
+     *                           limit them.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B publishRateLimiter(@Nullable MqttPublishRateLimiter publishRateLimiter);
+
     /**
      * Sets the {@link MqttClientExecutorConfig#getApplicationScheduler() scheduler used for executing application
      * specific code}.
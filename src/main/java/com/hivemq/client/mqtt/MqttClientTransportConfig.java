@@ -17,10 +17,12 @@
 package com.hivemq.client.mqtt;
 
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.annotations.Immutable;
 import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
 import org.jetbrains.annotations.NotNull;
 
 import java.net.InetSocketAddress;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -44,6 +46,19 @@ public interface MqttClientTransportConfig {
      * @since 1.2
      */
     int DEFAULT_MQTT_CONNECT_TIMEOUT_MS = 60_000;
+    /**
+     * The default strategy for selecting the server address for a connection attempt.
+     *
+     * @since 1.3
+     */
+    @NotNull MqttServerAddressSelection DEFAULT_SERVER_ADDRESS_SELECTION = MqttServerAddressSelection.ROUND_ROBIN;
+    /**
+     * The default timeout for receiving the PingResp message in milliseconds: <code>0</code>, which means that the keep
+     * alive interval is used as timeout.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_PING_TIMEOUT_MS = 0;
 
     /**
      * Creates a builder for a transport configuration.
@@ -59,6 +74,41 @@ public interface MqttClientTransportConfig {
      */
     @NotNull InetSocketAddress getServerAddress();
 
+    /**
+     * Returns the server addresses the client tries after the {@link #getServerAddress() server address} if a
+     * connection attempt fails.
+     *
+     * @return the failover server addresses, in the order they are tried.
+     * @since 1.3
+     */
+    @Immutable @NotNull List<@NotNull InetSocketAddress> getFailoverServerAddresses();
+
+    /**
+     * @return the strategy for selecting the server address for a connection attempt.
+     * @since 1.3
+     */
+    @NotNull MqttServerAddressSelection getServerAddressSelection();
+
+    /**
+     * Returns whether all IP addresses a server host name resolves to are used as separate server addresses. If
+     * disabled, only the first IP address is used.
+     *
+     * @return whether all resolved IP addresses of the server addresses are used.
+     * @since 1.3
+     */
+    boolean isResolveAllServerAddresses();
+
+    /**
+     * Returns whether the socket connects to the selected server addresses are raced ("happy eyeballs"). The socket
+     * connect to the next server address is started if the previous one failed or did not succeed within 250
+     * milliseconds. The MQTT connection is established over the socket that connects first, the other ones are closed.
+     * This is not applied if a {@link #getProxyConfig() proxy} is used.
+     *
+     * @return whether the socket connects to the server addresses are raced.
+     * @since 1.3
+     */
+    boolean isHappyEyeballs();
+
     /**
      * @return the optional local bind address.
      * @since 1.2
@@ -93,6 +143,61 @@ public interface MqttClientTransportConfig {
      */
     int getMqttConnectTimeoutMs();
 
+    /**
+     * Returns whether the client starts its session already after sending the Connect message instead of waiting for
+     * the ConnAck message ("fast start"). This only applies if the client does not have a session yet. The
+     * resubscribes of existing subscriptions, queued (un)subscribes and queued publishes are then sent directly behind
+     * the Connect message, which saves one round trip until data flows.
+     * <p>
+     * As the restrictions of the server are only known after the ConnAck message was received, the client is
+     * conservative until then: only one QoS 1 or 2 publish is in flight, retained publishes and subscriptions with
+     * wildcard or shared topic filters are held back, topic aliases and subscription identifiers are not used.
+     * <p>
+     * The maximum packet size and the maximum QoS of the server are not guessed, so the messages sent before the
+     * ConnAck message was received are only limited by the send maximum packet size {@link
+     * com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectRestrictions configured for the Connect message}. When
+     * the ConnAck message is received, the client checks the messages sent and held back before:
+     * <ul>
+     *   <li>QoS 1 and 2 publishes that exceed the maximum packet size or the maximum QoS of the server fail with an
+     *     {@link com.hivemq.client.mqtt.exceptions.MqttEncodeException MqttEncodeException} and are not resent. The
+     *     server disconnects the client because of them.</li>
+     *   <li>Subscriptions with wildcard or shared topic filters that the server does not support fail with a {@link
+     *     com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException Mqtt5SubAckException}.</li>
+     * </ul>
+     * QoS 0 publishes sent before the ConnAck message was received can not be failed anymore. Fast start is therefore
+     * disabled by default and should only be enabled if the restrictions of the server are known.
+     * <p>
+     * Fast start does not apply if the Connect message uses {@link
+     * com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism enhanced authentication}, as then only Auth or
+     * Disconnect messages may be sent before the ConnAck message was received.
+     *
+     * @return whether fast start is enabled.
+     * @since 1.3
+     */
+    boolean isFastStart();
+
+    /**
+     * Returns the timeout between sending a PingReq and receiving the PingResp message in milliseconds. If it elapses,
+     * the client closes the connection. <code>0</code> means that the keep alive interval is used as timeout.
+     * <p>
+     * A shorter timeout than the keep alive interval detects a broken connection earlier without sending PingReq
+     * messages more often.
+     *
+     * @return the timeout for receiving the PingResp message in milliseconds.
+     * @since 1.3
+     */
+    int getPingTimeoutMs();
+
+    /**
+     * Returns whether the client requires the PingResp message as response to a PingReq message. If not, any message
+     * received from the server until the {@link #getPingTimeoutMs() ping timeout} elapses proves that the connection is
+     * alive.
+     *
+     * @return whether the PingResp message is required.
+     * @since 1.3
+     */
+    boolean isPingRespRequired();
+
     /**
      * Creates a builder for extending this transport configuration.
      *
@@ -23,6 +23,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -71,6 +72,59 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
     @CheckReturnValue
     @NotNull B serverPort(int port);
 
+    /**
+     * Sets the {@link MqttClientTransportConfig#getFailoverServerAddresses() failover server addresses}.
+     *
+     * @param addresses the failover server addresses, in the order they should be tried.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B failoverServerAddresses(@NotNull Collection<@NotNull InetSocketAddress> addresses);
+
+    /**
+     * Adds a {@link MqttClientTransportConfig#getFailoverServerAddresses() failover server address}.
+     *
+     * @param address the failover server address.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B addFailoverServerAddress(@NotNull InetSocketAddress address);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getServerAddressSelection() strategy for selecting the server address}
+     * for a connection attempt.
+     *
+     * @param serverAddressSelection the strategy for selecting the server address.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B serverAddressSelection(@NotNull MqttServerAddressSelection serverAddressSelection);
+
+    /**
+     * Sets whether {@link MqttClientTransportConfig#isResolveAllServerAddresses() all IP addresses a server host name
+     * resolves to} are used as separate server addresses.
+     *
+     * @param resolveAllServerAddresses whether all resolved IP addresses of the server addresses are used.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B resolveAllServerAddresses(boolean resolveAllServerAddresses);
+
+    /**
+     * Sets whether the {@link MqttClientTransportConfig#isHappyEyeballs() socket connects to the selected server
+     * addresses are raced}.
+     *
+     * @param happyEyeballs whether the socket connects to the server addresses are raced.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B happyEyeballs(boolean happyEyeballs);
+
     /**
      * Sets the optional {@link MqttClientTransportConfig#getLocalAddress() local bind address}.
      * <p>
@@ -231,4 +285,41 @@ public interface MqttClientTransportConfigBuilderBase<B extends MqttClientTransp
      */
     @CheckReturnValue
     @NotNull B mqttConnectTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether the client {@link MqttClientTransportConfig#isFastStart() starts its session already after sending
+     * the Connect message}.
+     *
+     * @param fastStart whether fast start is enabled.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B fastStart(boolean fastStart);
+
+    /**
+     * Sets the {@link MqttClientTransportConfig#getPingTimeoutMs() timeout between sending a PingReq and receiving the
+     * PingResp message}.
+     * <p>
+     * The timeout in milliseconds must be in the range: [0, {@link Integer#MAX_VALUE}].
+     *
+     * @param timeout  the timeout between sending a PingReq and receiving the PingResp message or <code>0</code> to use
+     *                 the keep alive interval.
+     * @param timeUnit the time unit of the given timeout (this timeout only supports millisecond precision).
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B pingTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether the client {@link MqttClientTransportConfig#isPingRespRequired() requires the PingResp message as
+     * response to a PingReq message}.
+     *
+     * @param pingRespRequired whether the PingResp message is required.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B pingRespRequired(boolean pingRespRequired);
 }
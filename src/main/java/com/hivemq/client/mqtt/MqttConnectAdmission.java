@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttConnectAdmissionImpl;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits the connection attempts of all {@link MqttClient MQTT clients} that share the same instance.
+ * <p>
+ * Connection attempts (including automatic reconnects) are admitted according to a token bucket (a maximum rate with a
+ * maximum burst) and the amount of attempts that are in progress at the same time is capped. A connection attempt is in
+ * progress until the CONNACK message is received or the attempt failed. Attempts that are not admitted are queued and
+ * admitted in order.
+ * <p>
+ * This prevents many clients from connecting at once, for example after a failover of the server.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface MqttConnectAdmission {
+
+    /**
+     * Creates a connect admission.
+     *
+     * @param connectsPerSecond     the maximum rate of connection attempts per second, must be positive.
+     * @param burst                 the maximum amount of connection attempts that are admitted at once if the rate was
+     *                              not used before, must be at least 1.
+     * @param maxConcurrentConnects the maximum amount of connection attempts that are in progress at the same time,
+     *                              must be at least 1.
+     * @return the created connect admission.
+     */
+    static @NotNull MqttConnectAdmission of(
+            final double connectsPerSecond, final int burst, final int maxConcurrentConnects) {
+
+        return MqttConnectAdmissionImpl.of(connectsPerSecond, burst, maxConcurrentConnects);
+    }
+
+    /**
+     * @return the maximum rate of connection attempts per second.
+     */
+    double getConnectsPerSecond();
+
+    /**
+     * @return the maximum amount of connection attempts that are admitted at once if the rate was not used before.
+     */
+    int getBurst();
+
+    /**
+     * @return the maximum amount of connection attempts that are in progress at the same time.
+     */
+    int getMaxConcurrentConnects();
+}
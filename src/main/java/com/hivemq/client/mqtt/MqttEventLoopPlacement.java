@@ -0,0 +1,71 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttEventLoopPlacementImpl;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Strategy for placing {@link MqttClient MQTT clients} on the threads of the Netty (network communication framework)
+ * event loop group they use.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface MqttEventLoopPlacement {
+
+    /**
+     * Places clients on the threads one after another.
+     *
+     * @return the round robin placement strategy.
+     */
+    static @NotNull MqttEventLoopPlacement roundRobin() {
+        return MqttEventLoopPlacementImpl.ROUND_ROBIN;
+    }
+
+    /**
+     * Places a client on the thread that is currently used by the least amount of clients.
+     *
+     * @return the least clients placement strategy.
+     */
+    static @NotNull MqttEventLoopPlacement leastClients() {
+        return MqttEventLoopPlacementImpl.LEAST_CLIENTS;
+    }
+
+    /**
+     * Places a client on the thread that currently has the least amount of pending tasks. Ties are resolved by the
+     * amount of clients using the thread.
+     *
+     * @return the least pending tasks placement strategy.
+     */
+    static @NotNull MqttEventLoopPlacement leastPendingTasks() {
+        return MqttEventLoopPlacementImpl.LEAST_PENDING_TASKS;
+    }
+
+    /**
+     * Places a client on the thread with the given index. If the index exceeds the amount of threads, it wraps
+     * around.
+     *
+     * @param index the index of the thread.
+     * @return the explicit index placement strategy.
+     */
+    static @NotNull MqttEventLoopPlacement index(final int index) {
+        return MqttEventLoopPlacementImpl.index(index);
+    }
+}
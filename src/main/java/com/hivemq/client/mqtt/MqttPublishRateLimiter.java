@@ -0,0 +1,79 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.MqttPublishRateLimiterImpl;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits the rate of outgoing Publish messages of all {@link MqttClient MQTT clients} that share the same instance.
+ * <p>
+ * Publish messages are sent according to token buckets for the amount of messages and for the amount of bytes per
+ * second. The bytes of a Publish message are the encoded length of the whole packet, including the fixed header, the
+ * topic, the properties and the payload. Each bucket allows a burst of one second worth of its rate if the rate was not
+ * used before. Publish messages that exceed the rate are not dropped but delayed. As publish messages are only
+ * requested when previous ones are sent, the delay applies backpressure to the publishing streams. Retransmissions of
+ * Publish messages after a reconnect are not limited.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface MqttPublishRateLimiter {
+
+    /**
+     * Creates a publish rate limiter.
+     *
+     * @param messagesPerSecond the maximum rate of Publish messages per second, must be positive,
+     *                          {@link Double#POSITIVE_INFINITY} to not limit the amount of messages.
+     * @param bytesPerSecond    the maximum rate of encoded Publish bytes per second, must be positive,
+     *                          {@link Double#POSITIVE_INFINITY} to not limit the amount of bytes.
+     * @return the created publish rate limiter.
+     */
+    static @NotNull MqttPublishRateLimiter of(final double messagesPerSecond, final double bytesPerSecond) {
+        return MqttPublishRateLimiterImpl.of(messagesPerSecond, bytesPerSecond);
+    }
+
+    /**
+     * @return the maximum rate of Publish messages per second.
+     */
+    double getMessagesPerSecond();
+
+    /**
+     * @return the maximum rate of encoded Publish bytes per second.
+     */
+    double getBytesPerSecond();
+
+    /**
+     * @return the rate of Publish messages per second that were sent in the last second.
+     */
+    double getCurrentMessageRate();
+
+    /**
+     * @return the rate of encoded Publish bytes per second that were sent in the last second.
+     */
+    double getCurrentByteRate();
+
+    /**
+     * Returns the accumulated time Publish messages were delayed. If multiple clients share this limiter, the time of
+     * each client is added.
+     *
+     * @return the accumulated throttle time in nanoseconds.
+     */
+    long getThrottleTimeNanos();
+}
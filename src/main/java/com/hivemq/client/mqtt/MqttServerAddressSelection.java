@@ -0,0 +1,37 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt;
+
+/**
+ * Strategy for selecting the server address a client tries for a connection attempt if {@link
+ * MqttClientTransportConfig#getFailoverServerAddresses() failover server addresses} are configured.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public enum MqttServerAddressSelection {
+
+    /**
+     * Every connection attempt tries the server address after the one tried by the previous connection attempt.
+     */
+    ROUND_ROBIN,
+    /**
+     * Every connection attempt tries the server address with the least consecutive failures. Ties are resolved by the
+     * configured order of the server addresses, so the client sticks to a server address as long as it is healthy.
+     */
+    HEALTH
+}
@@ -51,6 +51,18 @@ public interface MqttWebSocketConfig {
      * @since 1.2
      */
     int DEFAULT_HANDSHAKE_TIMEOUT_MS = 10_000;
+    /**
+     * The default size in bytes below which WebSocket frames are not compressed.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_COMPRESSION_THRESHOLD = 64;
+    /**
+     * The default maximum size in bytes of a WebSocket frame that contains multiple packed MQTT packets.
+     *
+     * @since 1.3
+     */
+    int DEFAULT_MAX_PACKED_FRAME_SIZE = 65_536;
 
     /**
      * Creates a builder for a WebSocket configuration.
@@ -82,6 +94,30 @@ public interface MqttWebSocketConfig {
      */
     int getHandshakeTimeoutMs();
 
+    /**
+     * @return whether the <code>permessage-deflate</code> WebSocket extension is offered to the server.
+     * @since 1.3
+     */
+    boolean isCompressionEnabled();
+
+    /**
+     * @return the size in bytes below which WebSocket frames are not compressed.
+     * @since 1.3
+     */
+    int getCompressionThreshold();
+
+    /**
+     * @return whether multiple MQTT packets that are flushed together are packed into a single WebSocket frame.
+     * @since 1.3
+     */
+    boolean isFramePackingEnabled();
+
+    /**
+     * @return the maximum size in bytes of a WebSocket frame that contains multiple packed MQTT packets.
+     * @since 1.3
+     */
+    int getMaxPackedFrameSize();
+
     /**
      * Creates a builder for extending this WebSocket configuration.
      *
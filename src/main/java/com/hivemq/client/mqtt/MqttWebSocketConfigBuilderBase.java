@@ -71,4 +71,55 @@ public interface MqttWebSocketConfigBuilderBase<B extends MqttWebSocketConfigBui
      */
     @CheckReturnValue
     @NotNull B handshakeTimeout(long timeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether the {@link MqttWebSocketConfig#isCompressionEnabled() <code>permessage-deflate</code> WebSocket
+     * extension is offered} to the server.
+     * <p>
+     * Frames are only compressed if the server accepts the extension.
+     *
+     * @param compressionEnabled whether the <code>permessage-deflate</code> WebSocket extension is offered.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B compressionEnabled(boolean compressionEnabled);
+
+    /**
+     * Sets the {@link MqttWebSocketConfig#getCompressionThreshold() size below which WebSocket frames are not
+     * compressed}.
+     * <p>
+     * The threshold must not be negative.
+     *
+     * @param compressionThreshold the size in bytes below which WebSocket frames are not compressed.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B compressionThreshold(int compressionThreshold);
+
+    /**
+     * Sets whether {@link MqttWebSocketConfig#isFramePackingEnabled() multiple MQTT packets that are flushed together
+     * are packed into a single WebSocket frame}.
+     *
+     * @param framePackingEnabled whether multiple MQTT packets are packed into a single WebSocket frame.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B framePackingEnabled(boolean framePackingEnabled);
+
+    /**
+     * Sets the {@link MqttWebSocketConfig#getMaxPackedFrameSize() maximum size of a WebSocket frame that contains
+     * multiple packed MQTT packets}.
+     * <p>
+     * A single MQTT packet that is larger than this size is still sent in one frame. The size must be greater than 0.
+     *
+     * @param maxPackedFrameSize the maximum size in bytes of a WebSocket frame that contains multiple packed MQTT
+     *                           packets.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B maxPackedFrameSize(int maxPackedFrameSize);
 }
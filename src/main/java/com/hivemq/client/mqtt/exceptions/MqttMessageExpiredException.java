@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.exceptions;
+
+import com.hivemq.client.internal.util.AsyncRuntimeException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exception that is used if a Publish message is not sent because its message expiry interval elapsed while it was
+ * queued or waiting to be resent.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public class MqttMessageExpiredException extends AsyncRuntimeException {
+
+    public MqttMessageExpiredException(final @NotNull String message) {
+        super(message);
+    }
+
+    private MqttMessageExpiredException(final @NotNull MqttMessageExpiredException e) {
+        super(e);
+    }
+
+    @Override
+    protected @NotNull MqttMessageExpiredException copy() {
+        return new MqttMessageExpiredException(this);
+    }
+}
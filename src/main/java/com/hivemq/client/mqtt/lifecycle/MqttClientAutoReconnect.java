@@ -27,6 +27,10 @@ import java.util.concurrent.TimeUnit;
  * <p>
  * The initial delay will be doubled for every unsuccessful connect attempt. The actual delay will be capped at the
  * maximum delay. Additionally a random delay of +-25% will be added.
+ * <p>
+ * Alternatively {@link #isDecorrelatedJitter() decorrelated jitter} can be used: the delay is chosen randomly between
+ * the initial delay and three times the previous delay, capped at the maximum delay. This spreads the reconnects of many
+ * clients that were disconnected at the same time more evenly.
  *
  * @author Silvio Giebl
  * @since 1.1
@@ -71,6 +75,12 @@ public interface MqttClientAutoReconnect extends MqttClientDisconnectedListener
      */
     long getMaxDelay(@NotNull TimeUnit timeUnit);
 
+    /**
+     * @return whether decorrelated jitter is used instead of an exponential backoff with a random delay of +-25%.
+     * @since 1.3
+     */
+    boolean isDecorrelatedJitter();
+
     /**
      * Creates a builder for extending this automatic reconnect strategy.
      *
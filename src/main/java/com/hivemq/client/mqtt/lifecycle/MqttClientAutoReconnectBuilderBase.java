@@ -55,4 +55,15 @@ public interface MqttClientAutoReconnectBuilderBase<B extends MqttClientAutoReco
      */
     @CheckReturnValue
     @NotNull B maxDelay(final long maxDelay, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Sets whether {@link MqttClientAutoReconnect#isDecorrelatedJitter() decorrelated jitter} is used instead of an
+     * exponential backoff with a random delay of +-25%.
+     *
+     * @param decorrelatedJitter whether decorrelated jitter is used.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B decorrelatedJitter(boolean decorrelatedJitter);
 }
@@ -186,6 +186,17 @@ public interface MqttClientReconnector {
      */
     long getDelay(@NotNull TimeUnit timeUnit);
 
+    /**
+     * Returns the delay the client waited for before the previous failed connection attempt.
+     * <p>
+     * It is 0 if the {@link #getAttempts() number of failed connection attempts} is 0.
+     *
+     * @param timeUnit the time unit of the returned delay.
+     * @return the previous delay in the given time unit.
+     * @since 1.3
+     */
+    long getPreviousDelay(@NotNull TimeUnit timeUnit);
+
     /**
      * Sets a different transport configuration the client will try to reconnect with.
      *
@@ -31,8 +31,10 @@ import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3UnsubscribeBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -321,6 +323,27 @@ public interface Mqtt3AsyncClient extends Mqtt3Client {
      */
     @NotNull CompletableFuture<Void> disconnect();
 
+    /**
+     * Drains the outgoing Publish messages and then disconnects this client.
+     * <p>
+     * The drain stops accepting new publishes (they are failed with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}), sends all queued publishes
+     * and waits until all QoS 1 and 2 publishes are acknowledged, but at most the drain timeout, before the
+     * disconnect is performed. Publishes that were still queued when the drain timeout elapsed are failed, publishes
+     * that were sent but not acknowledged stay in the session.
+     *
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return the {@link CompletableFuture} which
+     *         <ul>
+     *           <li>completes with the Publish messages that could not be delivered before the client was
+     *             disconnected or
+     *           <li>errors if not disconnected gracefully.
+     *         </ul>
+     * @since 1.3
+     */
+    @NotNull CompletableFuture<List<Mqtt3Publish>> drainAndDisconnect(long drainTimeout, @NotNull TimeUnit timeUnit);
+
     @Override
     @CheckReturnValue
     default @NotNull Mqtt3AsyncClient toAsync() {
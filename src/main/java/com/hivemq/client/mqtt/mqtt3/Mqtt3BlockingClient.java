@@ -31,6 +31,7 @@ import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3Unsubscribe;
 import com.hivemq.client.mqtt.mqtt3.message.unsubscribe.Mqtt3UnsubscribeBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
@@ -163,6 +164,22 @@ public interface Mqtt3BlockingClient extends Mqtt3Client {
      */
     void disconnect();
 
+    /**
+     * Drains the outgoing Publish messages and then disconnects this client.
+     * <p>
+     * The drain stops accepting new publishes (they are failed with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}), sends all queued publishes
+     * and waits until all QoS 1 and 2 publishes are acknowledged, but at most the drain timeout, before the
+     * disconnect is performed. Publishes that were still queued when the drain timeout elapsed are failed, publishes
+     * that were sent but not acknowledged stay in the session.
+     *
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return the Publish messages that could not be delivered before the client was disconnected.
+     * @since 1.3
+     */
+    @NotNull List<Mqtt3Publish> drainAndDisconnect(long drainTimeout, @NotNull TimeUnit timeUnit);
+
     @Override
     @CheckReturnValue
     default @NotNull Mqtt3BlockingClient toBlocking() {
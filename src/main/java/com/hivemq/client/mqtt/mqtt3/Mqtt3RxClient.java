@@ -35,6 +35,9 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Reactive API of an {@link Mqtt3Client}.
  *
@@ -325,6 +328,31 @@ public interface Mqtt3RxClient extends Mqtt3Client {
     @CheckReturnValue
     @NotNull Completable disconnect();
 
+    /**
+     * Creates a {@link Single} for draining the outgoing Publish messages and then disconnecting this client.
+     * <p>
+     * The drain stops accepting new publishes (they are failed with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}), sends all queued publishes
+     * and waits until all QoS 1 and 2 publishes are acknowledged, but at most the drain timeout, before the
+     * disconnect is performed. Publishes that were still queued when the drain timeout elapsed are failed, publishes
+     * that were sent but not acknowledged stay in the session.
+     * <p>
+     * Calling this method does not drain or disconnect yet. Draining and disconnecting is performed lazy and
+     * asynchronous when subscribing (in terms of Reactive Streams) to the returned {@link Single}.
+     *
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return the {@link Single} which
+     *         <ul>
+     *           <li>succeeds with the Publish messages that could not be delivered before the client was disconnected
+     *             or
+     *           <li>errors if not disconnected gracefully.
+     *         </ul>
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull Single<List<Mqtt3Publish>> drainAndDisconnect(long drainTimeout, @NotNull TimeUnit timeUnit);
+
     @Override
     @CheckReturnValue
     default @NotNull Mqtt3RxClient toRx() {
@@ -25,6 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Builder base for a {@link Mqtt3Publish}.
@@ -92,6 +93,24 @@ public interface Mqtt3PublishBuilderBase<C extends Mqtt3PublishBuilderBase.Compl
         @CheckReturnValue
         @NotNull C payload(@Nullable ByteBuffer payload);
 
+        /**
+         * Sets the optional {@link Mqtt3Publish#getPayload() payload} to a region of a file.
+         * <p>
+         * The region is memory mapped instead of being read into the heap. If neither TLS nor WebSocket is used, the
+         * payload is transferred directly from the file to the socket without being copied.
+         * <p>
+         * The file channel must stay open and the content of the region must not be modified until the Publish message
+         * is acknowledged.
+         *
+         * @param fileChannel the file channel to read the payload from.
+         * @param position    the position of the region in the file.
+         * @param size        the size of the region in bytes.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C payload(@NotNull FileChannel fileChannel, long position, long size);
+
         /**
          * Sets the {@link Mqtt3Publish#getQos() QoS}.
          *
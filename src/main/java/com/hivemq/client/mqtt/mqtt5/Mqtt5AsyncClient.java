@@ -35,8 +35,10 @@ import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.Mqtt5UnsubscribeBuilder;
 import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
@@ -368,6 +370,40 @@ public interface Mqtt5AsyncClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5DisconnectBuilder.@NotNull Send<CompletableFuture<Void>> disconnectWith();
 
+    /**
+     * Drains the outgoing Publish messages and then disconnects this client with the default Disconnect message.
+     *
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return see {@link #drainAndDisconnect(Mqtt5Disconnect, long, TimeUnit)}.
+     * @see #drainAndDisconnect(Mqtt5Disconnect, long, TimeUnit)
+     * @since 1.3
+     */
+    @NotNull CompletableFuture<List<Mqtt5Publish>> drainAndDisconnect(long drainTimeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Drains the outgoing Publish messages and then disconnects this client with the given Disconnect message.
+     * <p>
+     * The drain stops accepting new publishes (they are failed with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}), sends all queued publishes
+     * and waits until all QoS 1 and 2 publishes are acknowledged, but at most the drain timeout, before the
+     * disconnect is performed. Publishes that were still queued when the drain timeout elapsed are failed, publishes
+     * that were sent but not acknowledged stay in the session.
+     *
+     * @param disconnect   the Disconnect message sent to the broker.
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return the {@link CompletableFuture} which
+     *         <ul>
+     *           <li>completes with the Publish messages that could not be delivered before the client was
+     *             disconnected or
+     *           <li>errors if not disconnected gracefully.
+     *         </ul>
+     * @since 1.3
+     */
+    @NotNull CompletableFuture<List<Mqtt5Publish>> drainAndDisconnect(
+            @NotNull Mqtt5Disconnect disconnect, long drainTimeout, @NotNull TimeUnit timeUnit);
+
     @Override
     @CheckReturnValue
     default @NotNull Mqtt5AsyncClient toAsync() {
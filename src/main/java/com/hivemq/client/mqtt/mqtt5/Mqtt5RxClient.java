@@ -38,6 +38,9 @@ import io.reactivex.Flowable;
 import io.reactivex.Single;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Reactive API of an {@link Mqtt5Client}.
  *
@@ -372,6 +375,47 @@ public interface Mqtt5RxClient extends Mqtt5Client {
     @CheckReturnValue
     Mqtt5DisconnectBuilder.@NotNull Nested<Completable> disconnectWith();
 
+    /**
+     * Creates a {@link Single} for draining the outgoing Publish messages and then disconnecting this client with the
+     * default Disconnect message.
+     *
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return see {@link #drainAndDisconnect(Mqtt5Disconnect, long, TimeUnit)}.
+     * @see #drainAndDisconnect(Mqtt5Disconnect, long, TimeUnit)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull Single<List<Mqtt5Publish>> drainAndDisconnect(long drainTimeout, @NotNull TimeUnit timeUnit);
+
+    /**
+     * Creates a {@link Single} for draining the outgoing Publish messages and then disconnecting this client with the
+     * given Disconnect message.
+     * <p>
+     * The drain stops accepting new publishes (they are failed with a {@link
+     * com.hivemq.client.mqtt.exceptions.MqttClientStateException MqttClientStateException}), sends all queued publishes
+     * and waits until all QoS 1 and 2 publishes are acknowledged, but at most the drain timeout, before the
+     * disconnect is performed. Publishes that were still queued when the drain timeout elapsed are failed, publishes
+     * that were sent but not acknowledged stay in the session.
+     * <p>
+     * Calling this method does not drain or disconnect yet. Draining and disconnecting is performed lazy and
+     * asynchronous when subscribing (in terms of Reactive Streams) to the returned {@link Single}.
+     *
+     * @param disconnect   the Disconnect message sent to the broker during disconnect.
+     * @param drainTimeout the maximum time to wait for the outgoing Publish messages to be acknowledged.
+     * @param timeUnit     the time unit of the drain timeout.
+     * @return the {@link Single} which
+     *         <ul>
+     *           <li>succeeds with the Publish messages that could not be delivered before the client was disconnected
+     *             or
+     *           <li>errors if not disconnected gracefully.
+     *         </ul>
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull Single<List<Mqtt5Publish>> drainAndDisconnect(
+            @NotNull Mqtt5Disconnect disconnect, long drainTimeout, @NotNull TimeUnit timeUnit);
+
     @Override
     @CheckReturnValue
     default @NotNull Mqtt5RxClient toRx() {
@@ -18,7 +18,9 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.DoNotImplement;
 import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -58,6 +60,45 @@ public interface Mqtt5ClientAdvancedConfig {
      */
     @Nullable Mqtt5ClientInterceptors getInterceptors();
 
+    /**
+     * @return the strategy for assigning Topic Aliases to the topics of outgoing Publish messages.
+     * @since 1.3
+     */
+    @NotNull Mqtt5TopicAliasStrategy getTopicAliasStrategy();
+
+    /**
+     * @return the optional configuration for encoding and decoding the payloads of Publish messages.
+     * @since 1.3
+     */
+    @Nullable Mqtt5PayloadCodecConfig getPayloadCodecConfig();
+
+    /**
+     * Returns whether Publish messages are pre-encoded before they are passed to the event loop of the client.
+     * <p>
+     * Pre-encoding is done on the thread that publishes the Publish message or on the {@link
+     * Mqtt5PayloadCodecConfig#getExecutor() executor of the payload codec configuration} if present. The event loop
+     * then only encodes the parts that depend on the connection (packet identifier, DUP flag and Topic Alias).
+     *
+     * @return whether Publish messages are pre-encoded.
+     * @since 1.3
+     */
+    boolean isPreEncodePublishes();
+
+    /**
+     * Returns whether queued Publish messages are sent in strict order of their {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getPriority() priority}.
+     * <p>
+     * If <code>false</code>, the priorities are served in a weighted round robin (4 {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority#HIGH HIGH}, 2 {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority#NORMAL NORMAL} and 1 {@link
+     * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority#LOW LOW}), so lower priorities are not starved.
+     * If <code>true</code>, a Publish message is only sent if no Publish message with a higher priority is queued.
+     *
+     * @return whether queued Publish messages are sent in strict order of their priority.
+     * @since 1.3
+     */
+    boolean isStrictPublishPriority();
+
     /**
      * Creates a builder for extending this advanced configuration.
      *
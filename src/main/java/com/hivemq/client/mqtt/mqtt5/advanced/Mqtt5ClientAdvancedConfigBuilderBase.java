@@ -18,8 +18,11 @@ package com.hivemq.client.mqtt.mqtt5.advanced;
 
 import com.hivemq.client.annotations.CheckReturnValue;
 import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfigBuilder;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptors;
 import com.hivemq.client.mqtt.mqtt5.advanced.interceptor.Mqtt5ClientInterceptorsBuilder;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -72,4 +75,67 @@ public interface Mqtt5ClientAdvancedConfigBuilderBase<B extends Mqtt5ClientAdvan
      */
     @CheckReturnValue
     Mqtt5ClientInterceptorsBuilder.@NotNull Nested<? extends B> interceptors();
+
+    /**
+     * Sets the {@link Mqtt5ClientAdvancedConfig#getTopicAliasStrategy() strategy for assigning Topic Aliases}.
+     * <p>
+     * The default is {@link Mqtt5TopicAliasStrategy#auto()}. Topic Aliases are only used if the server allows them.
+     *
+     * @param topicAliasStrategy the strategy for assigning Topic Aliases.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B topicAliasStrategy(@NotNull Mqtt5TopicAliasStrategy topicAliasStrategy);
+
+    /**
+     * Sets the optional {@link Mqtt5ClientAdvancedConfig#getPayloadCodecConfig() configuration for encoding and
+     * decoding payloads}.
+     *
+     * @param payloadCodecConfig the configuration for encoding and decoding payloads or <code>null</code> to neither
+     *                           encode nor decode payloads.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B payloadCodecConfig(@Nullable Mqtt5PayloadCodecConfig payloadCodecConfig);
+
+    /**
+     * Fluent counterpart of {@link #payloadCodecConfig(Mqtt5PayloadCodecConfig)}.
+     * <p>
+     * Calling {@link Mqtt5PayloadCodecConfigBuilder.Nested#applyPayloadCodecConfig()} on the returned builder has the
+     * effect of extending the current configuration for encoding and decoding payloads.
+     *
+     * @return the fluent builder for the configuration for encoding and decoding payloads.
+     * @see #payloadCodecConfig(Mqtt5PayloadCodecConfig)
+     * @since 1.3
+     */
+    @CheckReturnValue
+    Mqtt5PayloadCodecConfigBuilder.@NotNull Nested<? extends B> payloadCodecConfig();
+
+    /**
+     * Sets whether Publish messages are {@link Mqtt5ClientAdvancedConfig#isPreEncodePublishes() pre-encoded} before
+     * they are passed to the event loop of the client.
+     * <p>
+     * This moves most of the encoding work off the event loop, which helps if a client publishes many messages with
+     * many properties or small payloads from multiple threads. Small heap payloads are copied once more. The default is
+     * <code>false</code>.
+     *
+     * @param preEncodePublishes whether Publish messages are pre-encoded.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B preEncodePublishes(boolean preEncodePublishes);
+
+    /**
+     * Sets whether queued Publish messages are sent in {@link Mqtt5ClientAdvancedConfig#isStrictPublishPriority()
+     * strict order of their priority}. The default is <code>false</code> (weighted round robin).
+     *
+     * @param strictPublishPriority whether queued Publish messages are sent in strict order of their priority.
+     * @return the builder.
+     * @since 1.3
+     */
+    @CheckReturnValue
+    @NotNull B strictPublishPriority(boolean strictPublishPriority);
 }
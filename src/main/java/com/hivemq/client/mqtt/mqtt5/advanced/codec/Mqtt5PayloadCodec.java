@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.codec;
+
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttDeflatePayloadCodec;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Codec that transforms the payload of Publish messages, for example by compressing it.
+ * <p>
+ * The name of the codec is sent with every encoded Publish message as the value of the {@link
+ * Mqtt5PayloadCodecConfig#CONTENT_ENCODING_USER_PROPERTY content encoding User Property}, so the receiver knows how to
+ * decode the payload.
+ * <p>
+ * Implementations must be thread safe as payloads are encoded and decoded concurrently.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public interface Mqtt5PayloadCodec {
+
+    /**
+     * Returns a codec that compresses payloads with the deflate algorithm (RFC 1951) wrapped in the zlib format (RFC
+     * 1950) at the default compression level. Its name is <code>deflate</code>.
+     *
+     * @return the deflate codec.
+     */
+    static @NotNull Mqtt5PayloadCodec deflate() {
+        return MqttDeflatePayloadCodec.DEFAULT;
+    }
+
+    /**
+     * Returns a codec that compresses payloads with the deflate algorithm at the given compression level.
+     *
+     * @param level the compression level in the range [0, 9].
+     * @return the deflate codec.
+     * @see #deflate()
+     */
+    static @NotNull Mqtt5PayloadCodec deflate(final int level) {
+        return MqttDeflatePayloadCodec.of(level);
+    }
+
+    /**
+     * @return the name of this codec which identifies the content encoding of the payload.
+     */
+    @NotNull String getName();
+
+    /**
+     * Encodes a payload.
+     *
+     * @param payload the payload to encode, must not be modified.
+     * @return the encoded payload.
+     */
+    @NotNull ByteBuffer encode(@NotNull ByteBuffer payload);
+
+    /**
+     * Decodes a payload that was encoded by a codec with the same name.
+     * <p>
+     * The payload is received from the network, so implementations must stop decoding as soon as the decoded payload
+     * exceeds the given maximum length instead of decoding it completely first.
+     *
+     * @param payload       the payload to decode, must not be modified.
+     * @param maximumLength the maximum length in bytes of the decoded payload.
+     * @return the decoded payload.
+     * @throws IllegalArgumentException if the payload can not be decoded or the decoded payload would be larger than
+     *                                  the maximum length.
+     */
+    @NotNull ByteBuffer decode(@NotNull ByteBuffer payload, int maximumLength);
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.codec;
+
+import com.hivemq.client.annotations.DoNotImplement;
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfigBuilder;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+/**
+ * Configuration of the {@link Mqtt5PayloadCodec payload codec} of an {@link com.hivemq.client.mqtt.mqtt5.Mqtt5Client
+ * Mqtt5Client}.
+ * <p>
+ * Outgoing Publish messages with a payload larger than the compression threshold are encoded with the codec and
+ * marked with the {@link #CONTENT_ENCODING_USER_PROPERTY content encoding User Property}. The payload is sent
+ * unencoded if encoding does not make it smaller or if it is marked as UTF-8 with the {@link
+ * com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator#UTF_8 payload format indicator}. Incoming
+ * Publish messages that are marked with the name of the codec are decoded before they are passed to interceptors and
+ * subscribers and the marker is removed.
+ * <p>
+ * MQTT 3 clients do not use the payload codec as MQTT 3 has no User Properties to mark encoded payloads.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5PayloadCodecConfig {
+
+    /**
+     * Name of the User Property that marks an encoded payload. Its value is the {@link Mqtt5PayloadCodec#getName() name
+     * of the codec}.
+     */
+    @NotNull String CONTENT_ENCODING_USER_PROPERTY = "content-encoding";
+    /**
+     * Default payload size in bytes above which payloads are encoded.
+     */
+    int DEFAULT_COMPRESSION_THRESHOLD = 1024;
+    /**
+     * Default maximum size in bytes of a decoded payload.
+     */
+    int DEFAULT_MAXIMUM_DECODED_SIZE = 1024 * 1024;
+
+    /**
+     * Creates a builder for a payload codec configuration.
+     *
+     * @return the created builder for a payload codec configuration.
+     */
+    static @NotNull Mqtt5PayloadCodecConfigBuilder builder() {
+        return new MqttPayloadCodecConfigBuilder.Default();
+    }
+
+    /**
+     * @return the payload codec.
+     */
+    @NotNull Mqtt5PayloadCodec getCodec();
+
+    /**
+     * @return the payload size in bytes above which payloads of outgoing Publish messages are encoded.
+     */
+    int getCompressionThreshold();
+
+    /**
+     * Returns the maximum size in bytes of a decoded payload of an incoming Publish message. Decoding stops as soon as
+     * the limit is exceeded, so a small encoded payload can not expand to a large amount of memory. The payload is then
+     * delivered encoded. The limit is further restricted by the {@link
+     * com.hivemq.client.mqtt.mqtt5.message.connect.Mqtt5ConnectRestrictions#getMaximumPacketSize() maximum packet
+     * size} of the client.
+     *
+     * @return the maximum size in bytes of a decoded payload.
+     */
+    int getMaximumDecodedSize();
+
+    /**
+     * Returns the optional executor that encodes the payloads of Publish messages sent with the reactive and the async
+     * API and decodes the payloads of incoming Publish messages. If absent, payloads are encoded on the thread that
+     * passes the Publish message to the client and decoded by the {@link
+     * com.hivemq.client.mqtt.MqttClientExecutorConfig#getApplicationScheduler() application scheduler}. Payloads are
+     * never decoded on the Netty event loop.
+     *
+     * @return the optional executor for encoding and decoding payloads.
+     */
+    @NotNull Optional<Executor> getExecutor();
+
+    /**
+     * Creates a builder for extending this payload codec configuration.
+     *
+     * @return the created builder.
+     */
+    @NotNull Mqtt5PayloadCodecConfigBuilder extend();
+}
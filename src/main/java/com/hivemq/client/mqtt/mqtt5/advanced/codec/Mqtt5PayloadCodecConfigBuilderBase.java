@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.codec;
+
+import com.hivemq.client.annotations.CheckReturnValue;
+import com.hivemq.client.annotations.DoNotImplement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Builder base for a {@link Mqtt5PayloadCodecConfig}.
+ *
+ * @param <B> the type of the builder.
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@DoNotImplement
+public interface Mqtt5PayloadCodecConfigBuilderBase<B extends Mqtt5PayloadCodecConfigBuilderBase<B>> {
+
+    /**
+     * Sets the {@link Mqtt5PayloadCodecConfig#getCodec() payload codec}.
+     * <p>
+     * The default is {@link Mqtt5PayloadCodec#deflate()}.
+     *
+     * @param codec the payload codec.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B codec(@NotNull Mqtt5PayloadCodec codec);
+
+    /**
+     * Sets the {@link Mqtt5PayloadCodecConfig#getCompressionThreshold() compression threshold}.
+     * <p>
+     * It must not be negative. The default is {@link Mqtt5PayloadCodecConfig#DEFAULT_COMPRESSION_THRESHOLD}.
+     *
+     * @param compressionThreshold the payload size in bytes above which payloads are encoded.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B compressionThreshold(int compressionThreshold);
+
+    /**
+     * Sets the {@link Mqtt5PayloadCodecConfig#getMaximumDecodedSize() maximum size of a decoded payload}.
+     * <p>
+     * It must be in the range of a packet size. The default is {@link
+     * Mqtt5PayloadCodecConfig#DEFAULT_MAXIMUM_DECODED_SIZE}.
+     *
+     * @param maximumDecodedSize the maximum size in bytes of a decoded payload.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B maximumDecodedSize(int maximumDecodedSize);
+
+    /**
+     * Sets the optional {@link Mqtt5PayloadCodecConfig#getExecutor() executor for encoding and decoding payloads}.
+     *
+     * @param executor the executor for encoding and decoding payloads or <code>null</code> to encode payloads on the
+     *                 thread that passes the Publish message to the client and decode them on the application
+     *                 scheduler.
+     * @return the builder.
+     */
+    @CheckReturnValue
+    @NotNull B executor(@Nullable Executor executor);
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.topicalias;
+
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Mapping of topics to Topic Aliases for a single connection, created by a {@link Mqtt5TopicAliasStrategy}.
+ * <p>
+ * The mapping is only called on the event loop of the connection in the order the Publish messages are sent, so it
+ * does not need to be thread safe.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface Mqtt5TopicAliasMapping {
+
+    /**
+     * Returns the Topic Alias for the topic of an outgoing Publish message.
+     * <p>
+     * If the Topic Alias was not returned for the same topic before, the client sends the topic together with the
+     * Topic Alias which (re)defines the Topic Alias on the server. Otherwise only the Topic Alias is sent. This method
+     * is not called for Publish messages with the usage {@link Mqtt5TopicAliasUsage#NO}.
+     *
+     * @param topic the topic of the Publish message.
+     * @param usage the {@link com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish#getTopicAliasUsage() Topic
+     *              Alias usage} of the Publish message.
+     * @return the Topic Alias in the range [1, topic alias maximum] or 0 if no Topic Alias should be used. Values
+     *         outside the range are treated as 0.
+     */
+    int getTopicAlias(@NotNull MqttTopic topic, @NotNull Mqtt5TopicAliasUsage usage);
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.advanced.topicalias;
+
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasStrategies;
+import com.hivemq.client.mqtt.datatypes.MqttTopic;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+
+/**
+ * Strategy for assigning Topic Aliases to the topics of outgoing Publish messages.
+ * <p>
+ * A Topic Alias is only valid for the connection it is defined on, so the strategy creates a new {@link
+ * Mqtt5TopicAliasMapping} every time the client receives a ConnAck message that allows Topic Aliases.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+@FunctionalInterface
+public interface Mqtt5TopicAliasStrategy {
+
+    /**
+     * Returns the default strategy which assigns the Topic Aliases to the most recently and most often used topics.
+     *
+     * @return the default strategy.
+     */
+    static @NotNull Mqtt5TopicAliasStrategy auto() {
+        return MqttTopicAliasStrategies.AUTO;
+    }
+
+    /**
+     * Returns a strategy which assigns the Topic Aliases to a static list of known topics.
+     * <p>
+     * The topics are assigned the Topic Aliases in the order of the list. If the server allows less Topic Aliases than
+     * topics are given, the topics at the end of the list are not assigned a Topic Alias. If the server allows more
+     * Topic Aliases, the remaining Topic Aliases are assigned to the other topics like the {@link #auto()} strategy
+     * does.
+     *
+     * @param topics the known topics.
+     * @return the strategy for the known topics.
+     */
+    static @NotNull Mqtt5TopicAliasStrategy preloaded(final @NotNull Collection<? extends MqttTopic> topics) {
+        return MqttTopicAliasStrategies.preloaded(topics);
+    }
+
+    /**
+     * Returns a strategy which assigns the Topic Aliases to a static list of known topics.
+     *
+     * @param topics the string representations of the known topics.
+     * @return the strategy for the known topics.
+     * @see #preloaded(Collection)
+     */
+    static @NotNull Mqtt5TopicAliasStrategy preloaded(final @NotNull String @NotNull ... topics) {
+        return MqttTopicAliasStrategies.preloaded(topics);
+    }
+
+    /**
+     * Returns a strategy which assigns the Topic Aliases to the most frequently used topics.
+     * <p>
+     * The usage frequency of all topics is estimated with a count-min sketch of fixed size which ages over time, so the
+     * memory does not grow with the number of topics and the Topic Aliases follow a shifting set of hot topics. A
+     * topic only takes over the Topic Alias of another topic if it is used more frequently.
+     *
+     * @return the frequency based strategy.
+     */
+    static @NotNull Mqtt5TopicAliasStrategy frequency() {
+        return MqttTopicAliasStrategies.FREQUENCY;
+    }
+
+    /**
+     * Creates the Topic Alias mapping for a connection.
+     *
+     * @param topicAliasMaximum the maximum amount of Topic Aliases the server allows on the connection, at least 1.
+     * @return the Topic Alias mapping for the connection.
+     */
+    @NotNull Mqtt5TopicAliasMapping createMapping(int topicAliasMaximum);
+}
@@ -109,6 +109,25 @@ public interface Mqtt5Publish extends Mqtt5Message {
      */
     @NotNull Mqtt5UserProperties getUserProperties();
 
+    /**
+     * Returns the hint whether a Topic Alias should be used when this Publish message is sent. The hint is not part of
+     * the PUBLISH packet, so it is always {@link Mqtt5TopicAliasUsage#MAY} for received Publish messages.
+     *
+     * @return the Topic Alias usage of this Publish message.
+     * @since 1.3
+     */
+    @NotNull Mqtt5TopicAliasUsage getTopicAliasUsage();
+
+    /**
+     * Returns the priority of this Publish message relative to the other Publish messages that are queued by the same
+     * client. The priority is not part of the PUBLISH packet, so it is always {@link Mqtt5PublishPriority#NORMAL} for
+     * received Publish messages.
+     *
+     * @return the priority of this Publish message.
+     * @since 1.3
+     */
+    @NotNull Mqtt5PublishPriority getPriority();
+
     /**
      * Acknowledges this Publish message.
      *
@@ -22,12 +22,15 @@ import com.hivemq.client.mqtt.datatypes.MqttQos;
 import com.hivemq.client.mqtt.datatypes.MqttTopic;
 import com.hivemq.client.mqtt.datatypes.MqttTopicBuilder;
 import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperties;
 import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserPropertiesBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 
 /**
  * Builder base for a {@link Mqtt5Publish}.
@@ -95,6 +98,24 @@ public interface Mqtt5PublishBuilderBase<C extends Mqtt5PublishBuilderBase.Compl
         @CheckReturnValue
         @NotNull C payload(@Nullable ByteBuffer payload);
 
+        /**
+         * Sets the optional {@link Mqtt5Publish#getPayload() payload} to a region of a file.
+         * <p>
+         * The region is memory mapped instead of being read into the heap. If neither TLS nor WebSocket is used, the
+         * payload is transferred directly from the file to the socket without being copied.
+         * <p>
+         * The file channel must stay open and the content of the region must not be modified until the Publish message
+         * is acknowledged.
+         *
+         * @param fileChannel the file channel to read the payload from.
+         * @param position    the position of the region in the file.
+         * @param size        the size of the region in bytes.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C payload(@NotNull FileChannel fileChannel, long position, long size);
+
         /**
          * Sets the {@link Mqtt5Publish#getQos() QoS}.
          *
@@ -230,6 +251,46 @@ public interface Mqtt5PublishBuilderBase<C extends Mqtt5PublishBuilderBase.Compl
          */
         @CheckReturnValue
         Mqtt5UserPropertiesBuilder.@NotNull Nested<? extends C> userProperties();
+
+        /**
+         * Sets the {@link Mqtt5Publish#getTopicAliasUsage() Topic Alias usage}.
+         * <p>
+         * Will Publish messages are never sent with a Topic Alias, so the Topic Alias usage has no effect for them.
+         *
+         * @param topicAliasUsage the Topic Alias usage.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C topicAliasUsage(@NotNull Mqtt5TopicAliasUsage topicAliasUsage);
+
+        /**
+         * Sets the {@link Mqtt5Publish#getPriority() priority}.
+         * <p>
+         * Will Publish messages are sent with the CONNECT packet, so the priority has no effect for them.
+         *
+         * @param priority the priority.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C priority(@NotNull Mqtt5PublishPriority priority);
+
+        /**
+         * Sets the optional codec that encodes the payload when the Publish message is built.
+         * <p>
+         * The payload is only replaced if the encoded payload is smaller. An encoded payload is marked with the {@link
+         * Mqtt5PayloadCodecConfig#CONTENT_ENCODING_USER_PROPERTY content encoding User Property}, so it is encoded only
+         * once, even if a {@link Mqtt5PayloadCodecConfig payload codec configuration} is set for the client. A payload
+         * with the {@link Mqtt5PayloadFormatIndicator#UTF_8 UTF-8 payload format indicator} is not encoded, as the
+         * encoded payload would not be UTF-8 anymore.
+         *
+         * @param payloadCodec the codec that encodes the payload or <code>null</code> to not encode the payload.
+         * @return the builder.
+         * @since 1.3
+         */
+        @CheckReturnValue
+        @NotNull C payloadCodec(@Nullable Mqtt5PayloadCodec payloadCodec);
     }
 
     /**
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+/**
+ * Priority of an outgoing Publish message relative to the other Publish messages that are queued by the same client.
+ * <p>
+ * Publish messages with the same priority are sent in the order they are published. Publish messages with different
+ * priorities may be reordered, even if they have the same topic.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public enum Mqtt5PublishPriority {
+
+    /**
+     * The Publish message is sent before queued Publish messages with a lower priority, for example an alarm.
+     */
+    HIGH,
+    /**
+     * The default priority.
+     */
+    NORMAL,
+    /**
+     * The Publish message is sent after queued Publish messages with a higher priority, for example a backfill of
+     * historical data.
+     */
+    LOW
+}
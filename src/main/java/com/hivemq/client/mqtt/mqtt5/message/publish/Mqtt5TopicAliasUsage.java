@@ -0,0 +1,41 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.mqtt.mqtt5.message.publish;
+
+/**
+ * Hint for the {@link com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy topic alias strategy}
+ * whether a Topic Alias should be used for a Publish message.
+ *
+ * @author Silvio Giebl
+ * @since 1.3
+ */
+public enum Mqtt5TopicAliasUsage {
+
+    /**
+     * The Publish message must not use a Topic Alias and must not define a new Topic Alias.
+     */
+    NO,
+    /**
+     * The topic alias strategy decides whether the Publish message uses a Topic Alias.
+     */
+    MAY,
+    /**
+     * The Publish message should use a Topic Alias, even if this means overwriting the Topic Alias of another topic.
+     * The topic alias strategy still decides which Topic Alias is overwritten.
+     */
+    PREFERRED
+}
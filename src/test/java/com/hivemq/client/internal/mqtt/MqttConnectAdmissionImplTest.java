@@ -0,0 +1,92 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttConnectAdmissionImplTest {
+
+    private final @NotNull EventLoop eventLoop = new DefaultEventLoop();
+
+    @AfterEach
+    void tearDown() {
+        eventLoop.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void of_invalid_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttConnectAdmissionImpl.of(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttConnectAdmissionImpl.of(Double.NaN, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttConnectAdmissionImpl.of(1, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttConnectAdmissionImpl.of(1, 1, 0));
+    }
+
+    @Test
+    void admit_maxConcurrentConnects_admittedOnRelease() {
+        final MqttConnectAdmissionImpl admission = MqttConnectAdmissionImpl.of(1_000_000, 100, 2);
+        final AtomicInteger admitted = new AtomicInteger();
+        for (int i = 0; i < 5; i++) {
+            admission.admit(eventLoop, admitted::incrementAndGet);
+        }
+        sync();
+        assertEquals(2, admitted.get());
+        assertEquals(2, admission.getInProgress());
+
+        admission.release();
+        sync();
+        assertEquals(3, admitted.get());
+
+        admission.release();
+        admission.release();
+        sync();
+        assertEquals(5, admitted.get());
+        assertEquals(2, admission.getInProgress());
+    }
+
+    @Test
+    void admit_rateExceeded_admittedAfterRefill() throws InterruptedException {
+        final MqttConnectAdmissionImpl admission = MqttConnectAdmissionImpl.of(20, 2, 100);
+        final CountDownLatch latch = new CountDownLatch(4);
+        final long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            admission.admit(eventLoop, latch::countDown);
+        }
+        sync();
+        assertEquals(2, latch.getCount());
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        // 2 connects in burst, 2 more at 20 per second
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(90));
+    }
+
+    private void sync() {
+        eventLoop.submit(() -> {}).syncUninterruptibly();
+    }
+}
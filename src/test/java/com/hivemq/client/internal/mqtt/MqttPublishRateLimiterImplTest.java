@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishRateLimiterImplTest {
+
+    @Test
+    void of_invalid_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttPublishRateLimiterImpl.of(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttPublishRateLimiterImpl.of(Double.NaN, 1));
+        assertThrows(IllegalArgumentException.class, () -> MqttPublishRateLimiterImpl.of(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> MqttPublishRateLimiterImpl.of(1, Double.NaN));
+    }
+
+    @Test
+    void tryAcquire_messageRateExceeded_returnsDelay() {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(10, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(1_000_000));
+        }
+        final long delayNanos = rateLimiter.tryAcquire(0);
+        assertTrue(delayNanos > 0);
+        assertTrue(delayNanos <= TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    void tryAcquire_byteRateExceeded_returnsDelay() {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(Double.POSITIVE_INFINITY, 1000);
+        assertEquals(0, rateLimiter.tryAcquire(600));
+        assertEquals(0, rateLimiter.tryAcquire(600));
+        // the byte bucket is in debt of about 200 bytes
+        final long delayNanos = rateLimiter.tryAcquire(0);
+        assertTrue(delayNanos > TimeUnit.MILLISECONDS.toNanos(150));
+        assertTrue(delayNanos <= TimeUnit.MILLISECONDS.toNanos(200));
+    }
+
+    @Test
+    void tryAcquire_messageLargerThanBurst_admitted() {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(Double.POSITIVE_INFINITY, 100);
+        assertEquals(0, rateLimiter.tryAcquire(10_000));
+        assertTrue(rateLimiter.tryAcquire(0) > TimeUnit.SECONDS.toNanos(90));
+    }
+
+    @Test
+    void tryAcquire_afterDelay_admitted() throws InterruptedException {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(100, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(0));
+        }
+        final long delayNanos = rateLimiter.tryAcquire(0);
+        assertTrue(delayNanos > 0);
+        // rounded up as Thread.sleep may drop the sub millisecond part of the delay
+        TimeUnit.MILLISECONDS.sleep(TimeUnit.NANOSECONDS.toMillis(delayNanos) + 1);
+        assertEquals(0, rateLimiter.tryAcquire(0));
+    }
+
+    @Test
+    void tryAcquire_unlimited_alwaysAdmitted() {
+        final MqttPublishRateLimiterImpl rateLimiter =
+                MqttPublishRateLimiterImpl.of(Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY);
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    void getCurrentRate() throws InterruptedException {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(1000, 1_000_000);
+        assertEquals(0, rateLimiter.getCurrentMessageRate());
+        assertEquals(0, rateLimiter.getCurrentByteRate());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(100));
+        }
+        TimeUnit.MILLISECONDS.sleep(1100);
+
+        final double messageRate = rateLimiter.getCurrentMessageRate();
+        assertTrue((messageRate > 5) && (messageRate <= 10), "message rate: " + messageRate);
+        final double byteRate = rateLimiter.getCurrentByteRate();
+        assertEquals(messageRate * 100, byteRate, 0.001);
+    }
+
+    @Test
+    void addThrottleTime_accumulated() {
+        final MqttPublishRateLimiterImpl rateLimiter = MqttPublishRateLimiterImpl.of(1, 1);
+        assertEquals(0, rateLimiter.getThrottleTimeNanos());
+        rateLimiter.addThrottleTime(100);
+        rateLimiter.addThrottleTime(50);
+        assertEquals(150, rateLimiter.getThrottleTimeNanos());
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttDeflatePayloadCodecTest {
+
+    private static final byte[] COMPRESSIBLE =
+            String.join("", Collections.nCopies(200, "{\"temperature\":21.5}")).getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void equals() {
+        assertEquals(MqttDeflatePayloadCodec.of(6), MqttDeflatePayloadCodec.of(6));
+        assertEquals(MqttDeflatePayloadCodec.of(6).hashCode(), MqttDeflatePayloadCodec.of(6).hashCode());
+        assertNotEquals(MqttDeflatePayloadCodec.of(6), MqttDeflatePayloadCodec.of(1));
+        assertNotEquals(MqttDeflatePayloadCodec.DEFAULT, MqttDeflatePayloadCodec.of(9));
+    }
+
+    @Test
+    void encode_decode_heapBuffer() {
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(COMPRESSIBLE));
+        assertTrue(encoded.remaining() < COMPRESSIBLE.length);
+
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(encoded, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void encode_decode_directBuffer() {
+        final ByteBuffer payload = ByteBuffer.allocateDirect(COMPRESSIBLE.length);
+        payload.put(COMPRESSIBLE).flip();
+
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(payload);
+        assertEquals(COMPRESSIBLE.length, payload.remaining());
+        final ByteBuffer direct = ByteBuffer.allocateDirect(encoded.remaining());
+        direct.put(encoded.duplicate()).flip();
+
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(direct, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void encode_decode_slicedBuffer() {
+        final byte[] array = new byte[COMPRESSIBLE.length + 20];
+        System.arraycopy(COMPRESSIBLE, 0, array, 10, COMPRESSIBLE.length);
+        final ByteBuffer payload = ByteBuffer.wrap(array, 10, COMPRESSIBLE.length).slice();
+
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(payload);
+
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(encoded, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void encode_decode_largerThanScratchBuffers() {
+        final byte[] payload = new byte[3 * 1024 * 1024];
+        new Random(42).nextBytes(payload);
+        Arrays.fill(payload, 0, payload.length / 2, (byte) 7);
+
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.of(1).encode(ByteBuffer.wrap(payload));
+
+        assertEquals(ByteBuffer.wrap(payload), MqttDeflatePayloadCodec.DEFAULT.decode(encoded, Integer.MAX_VALUE));
+        // the pooled state of the thread is reset after a large payload
+        final ByteBuffer small = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(COMPRESSIBLE));
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(small, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void encode_emptyPayload() {
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.allocate(0));
+
+        assertEquals(0, MqttDeflatePayloadCodec.DEFAULT.decode(encoded, Integer.MAX_VALUE).remaining());
+    }
+
+    @Test
+    void decode_invalid_throws() {
+        final ByteBuffer invalid = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttDeflatePayloadCodec.DEFAULT.decode(invalid, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void decode_truncated_throws() {
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(COMPRESSIBLE));
+        encoded.limit(encoded.limit() / 2);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttDeflatePayloadCodec.DEFAULT.decode(encoded, Integer.MAX_VALUE));
+        // the inflater of the thread is reset after a failure
+        final ByteBuffer valid = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(COMPRESSIBLE));
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(valid, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void decode_largerThanMaximumLength_throws() {
+        final byte[] payload = new byte[10 * 1024 * 1024];
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(payload));
+        assertTrue(encoded.remaining() < 64 * 1024);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> MqttDeflatePayloadCodec.DEFAULT.decode(encoded, payload.length - 1));
+        assertEquals(payload.length, MqttDeflatePayloadCodec.DEFAULT.decode(encoded, payload.length).remaining());
+        // the inflater of the thread is reset after exceeding the maximum length
+        final ByteBuffer valid = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(COMPRESSIBLE));
+        assertEquals(ByteBuffer.wrap(COMPRESSIBLE), MqttDeflatePayloadCodec.DEFAULT.decode(valid, COMPRESSIBLE.length));
+    }
+
+    @Test
+    void of_levelOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttDeflatePayloadCodec.of(-2));
+        assertThrows(IllegalArgumentException.class, () -> MqttDeflatePayloadCodec.of(10));
+        assertEquals("deflate", MqttDeflatePayloadCodec.of(9).getName());
+    }
+}
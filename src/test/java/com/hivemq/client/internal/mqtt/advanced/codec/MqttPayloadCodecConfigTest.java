@@ -0,0 +1,220 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.advanced.codec;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.util.collections.ImmutableIntList;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.datatypes.Mqtt5UserProperty;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPayloadCodecConfigTest {
+
+    private final @NotNull MqttPayloadCodecConfig config =
+            new MqttPayloadCodecConfigBuilder.Default().compressionThreshold(100).build();
+
+    @Test
+    void equals() {
+        EqualsVerifier.forClass(MqttPayloadCodecConfig.class)
+                .withIgnoredFields("scheduler")
+                .withNonnullFields("codec")
+                .suppress(Warning.STRICT_INHERITANCE)
+                .verify();
+    }
+
+    @Test
+    void builder_default() {
+        final MqttPayloadCodecConfig config = new MqttPayloadCodecConfigBuilder.Default().build();
+
+        assertEquals(MqttDeflatePayloadCodec.DEFAULT, config.getCodec());
+        assertEquals(Mqtt5PayloadCodecConfig.DEFAULT_COMPRESSION_THRESHOLD, config.getCompressionThreshold());
+        assertEquals(Mqtt5PayloadCodecConfig.DEFAULT_MAXIMUM_DECODED_SIZE, config.getMaximumDecodedSize());
+        assertFalse(config.getExecutor().isPresent());
+        assertNull(config.getScheduler());
+    }
+
+    @Test
+    void builder_negativeCompressionThreshold_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttPayloadCodecConfigBuilder.Default().compressionThreshold(-1));
+    }
+
+    @Test
+    void builder_maximumDecodedSizeOutOfRange_throws() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttPayloadCodecConfigBuilder.Default().maximumDecodedSize(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new MqttPayloadCodecConfigBuilder.Default().maximumDecodedSize(
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT + 1));
+        assertEquals(100, new MqttPayloadCodecConfigBuilder.Default().maximumDecodedSize(100)
+                .build()
+                .extend()
+                .build()
+                .getMaximumDecodedSize());
+    }
+
+    @Test
+    void builder_executor_createsScheduler() {
+        final MqttPayloadCodecConfig config =
+                new MqttPayloadCodecConfigBuilder.Default().executor(Runnable::run).build();
+
+        assertTrue(config.getExecutor().isPresent());
+        assertNotNull(config.getScheduler());
+        assertEquals(config, config.extend().build());
+    }
+
+    @Test
+    void encode_aboveThreshold_encodesAndMarks() {
+        final byte[] payload = new byte[1000];
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").payload(payload).build();
+
+        final MqttPublish encoded = config.encode(publish);
+
+        assertNotSame(publish, encoded);
+        assertTrue(encoded.getPayloadAsBytes().length < payload.length);
+        assertTrue(MqttPayloadCodecConfig.isEncoded(encoded.getUserProperties()));
+        assertSame(encoded, config.encode(encoded));
+    }
+
+    @Test
+    void encode_notAboveThreshold_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").payload(new byte[100]).build();
+
+        assertSame(publish, config.encode(publish));
+    }
+
+    @Test
+    void encode_utf8PayloadFormat_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test")
+                .payload(new byte[1000])
+                .payloadFormatIndicator(Mqtt5PayloadFormatIndicator.UTF_8)
+                .build();
+
+        assertSame(publish, config.encode(publish));
+    }
+
+    @Test
+    void encode_noPayload_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").build();
+
+        assertSame(publish, config.encode(publish));
+    }
+
+    @Test
+    void encode_incompressible_notMarked() {
+        final byte[] payload = new byte[1000];
+        new Random(42).nextBytes(payload);
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test").payload(payload).build();
+
+        final MqttPublish encoded = config.encode(publish);
+
+        assertArrayEquals(payload, encoded.getPayloadAsBytes());
+        assertFalse(MqttPayloadCodecConfig.isEncoded(encoded.getUserProperties()));
+    }
+
+    @Test
+    void decode_removesMarker() {
+        final byte[] payload = new byte[1000];
+        Arrays.fill(payload, (byte) 'a');
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test")
+                .payload(payload)
+                .userProperties()
+                .add("key", "value")
+                .applyUserProperties()
+                .build();
+        final MqttStatefulPublish received =
+                config.encode(publish).createStateful(1, true, 5, ImmutableIntList.of(3));
+
+        assertTrue(config.isDecodable(received));
+        final MqttStatefulPublish decoded = config.decode(received, Integer.MAX_VALUE);
+
+        assertEquals(publish, decoded.stateless());
+        assertEquals(1, decoded.getPacketIdentifier());
+        assertTrue(decoded.isDup());
+        assertEquals(5, decoded.getTopicAlias());
+        assertEquals(ImmutableIntList.of(3), decoded.getSubscriptionIdentifiers());
+    }
+
+    @Test
+    void decode_otherCodec_unchanged() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("test")
+                .payload(new byte[1000])
+                .userProperties(MqttPayloadCodecConfig.withContentEncoding(
+                        MqttUserPropertiesImpl.NO_USER_PROPERTIES, "zstd"))
+                .build();
+        final MqttStatefulPublish received = publish.createStateful(1, false, 0, ImmutableIntList.of());
+
+        assertFalse(config.isDecodable(received));
+        assertSame(received, config.decode(received, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void decode_largerThanMaximumDecodedSize_throws() {
+        final MqttStatefulPublish received = config.encode(
+                new MqttPublishBuilder.Default().topic("test").payload(new byte[1000]).build())
+                .createStateful(1, false, 0, ImmutableIntList.of());
+        final MqttPayloadCodecConfig config = this.config.extend().maximumDecodedSize(999).build();
+
+        assertThrows(IllegalArgumentException.class, () -> config.decode(received, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> this.config.decode(received, 999));
+        assertEquals(1000, config.extend()
+                .maximumDecodedSize(1000)
+                .build()
+                .decode(received, 1000)
+                .stateless()
+                .getPayloadAsBytes().length);
+    }
+
+    @Test
+    void decode_notEncoded_unchanged() {
+        final MqttStatefulPublish received = new MqttPublishBuilder.Default().topic("test")
+                .payload(new byte[10])
+                .build()
+                .createStateful(1, false, 0, ImmutableIntList.of());
+
+        assertFalse(config.isDecodable(received));
+        assertSame(received, config.decode(received, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void withContentEncoding() {
+        final MqttUserPropertiesImpl userProperties =
+                MqttPayloadCodecConfig.withContentEncoding(MqttUserPropertiesImpl.NO_USER_PROPERTIES, "deflate");
+
+        assertEquals(1, userProperties.asList().size());
+        final Mqtt5UserProperty userProperty = userProperties.asList().get(0);
+        assertEquals(Mqtt5PayloadCodecConfig.CONTENT_ENCODING_USER_PROPERTY, userProperty.getName().toString());
+        assertEquals("deflate", userProperty.getValue().toString());
+    }
+}
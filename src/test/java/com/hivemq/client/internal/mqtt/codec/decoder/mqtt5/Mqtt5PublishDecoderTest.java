@@ -16,13 +16,19 @@
 
 package com.hivemq.client.internal.mqtt.codec.decoder.mqtt5;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfigBuilder;
 import com.hivemq.client.internal.mqtt.codec.decoder.MqttMessageDecoders;
+import com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5PublishEncoder;
 import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertyImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
 import com.hivemq.client.internal.util.collections.ImmutableList;
 import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5Disconnect;
 import com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode;
@@ -33,6 +39,8 @@ import org.junit.jupiter.api.Test;
 
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Optional;
 
 import static com.hivemq.client.mqtt.mqtt5.message.disconnect.Mqtt5DisconnectReasonCode.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -384,6 +392,37 @@ class Mqtt5PublishDecoderTest extends AbstractMqtt5DecoderTest {
         assertEquals("你 好", new String(publish.getPayloadAsBytes(), StandardCharsets.UTF_8));
     }
 
+    @Test
+    void decode_payloadCodecAndPayloadFormatIndicatorUtf8_validatedAndDecoded() {
+        validatePayloadFormat();
+        final MqttPayloadCodecConfig codecConfig =
+                new MqttPayloadCodecConfigBuilder.Default().compressionThreshold(0).build();
+        final String text = String.join("", Collections.nCopies(100, "gr\u00FC\u00DFe "));
+        final MqttPublish publish = codecConfig.encode(new MqttPublishBuilder.Default().topic("topic")
+                .payload(text.getBytes(StandardCharsets.UTF_8))
+                .payloadFormatIndicator(Mqtt5PayloadFormatIndicator.UTF_8)
+                .payloadCodec(Mqtt5PayloadCodec.deflate())
+                .build());
+
+        // the payload and the properties are the same as encoded by the client that sends the publish
+        final byte[] preEncoded = Mqtt5PublishEncoder.preEncode(publish);
+        final int propertyLength = preEncoded.length - publish.getPayloadAsBytes().length;
+        final ByteBuf byteBuf = channel.alloc().buffer();
+        byteBuf.writeByte(0b0011_0000);
+        MqttVariableByteInteger.encode(
+                7 + MqttVariableByteInteger.encodedLength(propertyLength) + preEncoded.length, byteBuf);
+        byteBuf.writeShort(5).writeBytes("topic".getBytes(StandardCharsets.UTF_8));
+        MqttVariableByteInteger.encode(propertyLength, byteBuf);
+        byteBuf.writeBytes(preEncoded);
+        channel.writeInbound(byteBuf);
+
+        final MqttStatefulPublish received = channel.readInbound();
+        assertNotNull(received);
+        final MqttPublish decoded = codecConfig.decode(received, Integer.MAX_VALUE).stateless();
+        assertEquals(Optional.of(Mqtt5PayloadFormatIndicator.UTF_8), decoded.getPayloadFormatIndicator());
+        assertEquals(text, new String(decoded.getPayloadAsBytes(), StandardCharsets.UTF_8));
+    }
+
     @Test
     void decode_invalidPayloadFormatIndicator_returnsNull() {
         validatePayloadFormat();
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.codec.encoder.mqtt3;
+
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.mqtt3.Mqtt3PublishView;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt3.message.Mqtt3MessageType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import org.eclipse.paho.client.mqttv3.MqttException;
+import org.eclipse.paho.client.mqttv3.MqttMessage;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Mqtt3PublishEncoderTest extends AbstractMqtt3EncoderTest {
+
+    Mqtt3PublishEncoderTest() {
+        super(new MqttMessageEncoders() {{
+            encoders[Mqtt3MessageType.PUBLISH.getCode()] = new Mqtt3PublishEncoder();
+        }}, true);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 10, MqttMessageEncoderUtil.WRAP_HEAP_PAYLOAD_THRESHOLD - 1})
+    void matchesPaho_belowWrapThreshold_payloadCopied(final int payloadLength) throws MqttException {
+        final byte[] payload = payload(payloadLength);
+        final MqttPublish publish = publish(payload);
+
+        channel.writeOutbound(Mqtt3PublishView.statefulDelegate(publish, 7, false));
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            assertEquals(1, actual.nioBufferCount());
+            assertArrayEquals(bytesOf(pahoPublish(payload)), ByteBufUtil.getBytes(actual));
+        } finally {
+            actual.release();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {MqttMessageEncoderUtil.WRAP_HEAP_PAYLOAD_THRESHOLD, 100_000})
+    void matchesPaho_aboveWrapThreshold_payloadWrapped(final int payloadLength) throws MqttException {
+        final byte[] payload = payload(payloadLength);
+        final MqttPublish publish = publish(payload);
+
+        channel.writeOutbound(Mqtt3PublishView.statefulDelegate(publish, 7, false));
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            // header and payload are separate components, the payload is not copied
+            assertEquals(2, actual.nioBufferCount());
+            assertArrayEquals(bytesOf(pahoPublish(payload)), ByteBufUtil.getBytes(actual));
+        } finally {
+            actual.release();
+        }
+    }
+
+    @Test
+    void matchesPaho_directPayload_payloadWrapped() throws MqttException {
+        final byte[] payload = payload(10);
+        final ByteBuffer directPayload = ByteBuffer.allocateDirect(payload.length);
+        directPayload.put(payload).flip();
+        final MqttPublish publish =
+                Mqtt3PublishView.delegate(MqttTopicImpl.of("topic"), directPayload, MqttQos.AT_LEAST_ONCE, true);
+
+        channel.writeOutbound(Mqtt3PublishView.statefulDelegate(publish, 7, false));
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            assertEquals(2, actual.nioBufferCount());
+            assertArrayEquals(bytesOf(pahoPublish(payload)), ByteBufUtil.getBytes(actual));
+        } finally {
+            actual.release();
+        }
+    }
+
+    private static byte @NotNull [] payload(final int length) {
+        final byte[] payload = new byte[length];
+        for (int i = 0; i < length; i++) {
+            payload[i] = (byte) i;
+        }
+        return payload;
+    }
+
+    private static @NotNull MqttPublish publish(final byte @NotNull [] payload) {
+        return Mqtt3PublishView.delegate(MqttTopicImpl.of("topic"), ByteBuffer.wrap(payload), MqttQos.AT_LEAST_ONCE,
+                true);
+    }
+
+    private static org.eclipse.paho.client.mqttv3.internal.wire.@NotNull MqttPublish pahoPublish(
+            final byte @NotNull [] payload) {
+
+        final MqttMessage message = new MqttMessage(payload);
+        message.setQos(1);
+        message.setRetained(true);
+        final org.eclipse.paho.client.mqttv3.internal.wire.MqttPublish pahoPublish =
+                new org.eclipse.paho.client.mqttv3.internal.wire.MqttPublish("topic", message);
+        pahoPublish.setMessageId(7);
+        return pahoPublish;
+    }
+}
@@ -16,9 +16,13 @@
 
 package com.hivemq.client.internal.mqtt.codec.encoder.mqtt5;
 
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoderUtil;
 import com.hivemq.client.internal.mqtt.codec.encoder.MqttMessageEncoders;
 import com.hivemq.client.internal.mqtt.datatypes.*;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasMapping;
+import com.hivemq.client.internal.mqtt.handler.publish.outgoing.MqttTopicAliasStaticMapping;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
 import com.hivemq.client.internal.mqtt.message.publish.MqttPublishProperty;
 import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
 import com.hivemq.client.internal.util.collections.ImmutableIntList;
@@ -28,17 +32,30 @@ import com.hivemq.client.mqtt.exceptions.MqttEncodeException;
 import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
 import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.FileRegion;
+import io.netty.util.ReferenceCountUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 import static com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl.NO_USER_PROPERTIES;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
 import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
-import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * @author David Katz
@@ -645,6 +662,122 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encode(expected, publish, -1, false, DEFAULT_NO_TOPIC_ALIAS, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
     }
 
+    @Test
+    void encode_preEncoded() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_1010,
+                //   remaining length
+                44,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   Packet Identifier
+                0, 15,
+                //   properties
+                29,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', 't',
+                //     user properties
+                0x26, 0, 4, 'u', 's', 'e', 'r', 0, 8, 'p', 'r', 'o', 'p', 'e', 'r', 't', 'y',
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}),
+                        MqttQos.AT_LEAST_ONCE, false, 10, null, MqttUtf8StringImpl.of("text"), null, null,
+                        getUserProperties(1), null);
+        final MqttPublish copy = publish.extend().build();
+
+        encodePreEncoded(expected, publish, 15, true, null);
+        // the publish owned by the application is not modified
+        assertEquals(copy, publish);
+    }
+
+    @Test
+    void encode_preEncoded_topicAliasBeforePreEncodedProperties() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_0010,
+                //   remaining length
+                17,
+                // variable header
+                //   topic name
+                0, 0,
+                //   Packet Identifier
+                0, 15,
+                //   properties
+                10,
+                //     topic alias
+                0x23, 0, 8,
+                //     content type
+                0x03, 0, 4, 't', 'e', 'x', 't',
+                // payload
+                1, 2
+        };
+
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(new byte[]{1, 2}), MqttQos.AT_LEAST_ONCE,
+                        false, MqttPublish.NO_MESSAGE_EXPIRY, null, MqttUtf8StringImpl.of("text"), null, null,
+                        NO_USER_PROPERTIES, null);
+        final MqttTopicAliasMapping topicAliasMapping = new MqttTopicAliasStaticMapping(8,
+                ImmutableList.of(MqttTopicImpl.of("a"), MqttTopicImpl.of("b"), MqttTopicImpl.of("c"),
+                        MqttTopicImpl.of("d"), MqttTopicImpl.of("e"), MqttTopicImpl.of("f"), MqttTopicImpl.of("g"),
+                        MqttTopicImpl.of("topic")));
+        topicAliasMapping.onPublish(publish.getTopic(), publish.getTopicAliasUsage()); // defines topic alias 8
+
+        encodePreEncoded(expected, publish, 15, false, topicAliasMapping);
+    }
+
+    @Test
+    void encode_preEncoded_wrappedPayloadNotCopied() {
+        final byte[] payload = new byte[MqttMessageEncoderUtil.WRAP_HEAP_PAYLOAD_THRESHOLD];
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").payload(payload).build();
+        final byte[] preEncoded = Mqtt5PublishEncoder.preEncode(publish);
+        assertEquals(0, preEncoded.length);
+
+        channel.writeOutbound(publish.createStateful(-1, false, null, preEncoded));
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            assertEquals(3 + 7 + 1 + payload.length, actual.readableBytes());
+        } finally {
+            actual.release();
+        }
+    }
+
+    @Test
+    void encode_preEncoded_maximumPacketSizeExceeded_omitUserProperties() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_0000,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   properties
+                2,
+                //     payload format indicator
+                0x01, 0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        connected(expected.length + 2 + userPropertyBytes);
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}),
+                        MqttQos.AT_MOST_ONCE, false, MqttPublish.NO_MESSAGE_EXPIRY,
+                        Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null, getUserProperties(2), null);
+
+        encodePreEncoded(expected, publish, -1, false, null);
+    }
+
     @Test
     void encode_propertyLengthExceeded_omitUserProperties() {
         final ByteBuf expected = Unpooled.buffer(5 + VARIABLE_BYTE_INTEGER_FOUR_BYTES_MAX_VALUE,
@@ -692,6 +825,153 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         expected.release();
     }
 
+    @Test
+    void encode_fixedPropertyLength_cachedForResend() {
+        final byte[] expected = {
+                // fixed header
+                //   type, flags
+                0b0011_1010,
+                //   remaining length
+                22,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   message identifier
+                0, 3,
+                //   properties
+                7,
+                //     message expiry interval
+                0x02, 0, 0, 0, 10,
+                //     payload format indicator
+                0x01, 0,
+                // payload
+                1, 2, 3, 4, 5
+        };
+
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}),
+                        MqttQos.AT_LEAST_ONCE, false, 10, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                        NO_USER_PROPERTIES, null);
+
+        encode(expected, publish, 3, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+        assertEquals(7, publish.fixedPropertyLength(p -> fail("fixed property length must be cached")));
+
+        encode(expected, publish, 3, true, DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    @Test
+    void encodedLength_wholePacket() {
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}),
+                        MqttQos.AT_LEAST_ONCE, false, 10, Mqtt5PayloadFormatIndicator.UNSPECIFIED, null, null, null,
+                        NO_USER_PROPERTIES, null);
+
+        // fixed header 2, topic 7, packet identifier 2, properties 1 + 7, payload 5
+        assertEquals(24, Mqtt5PublishEncoder.encodedLength(publish));
+    }
+
+    @Test
+    void encode_largeHeapPayload_wrapped() {
+        final int payloadLength = MqttMessageEncoderUtil.WRAP_HEAP_PAYLOAD_THRESHOLD;
+        final byte[] payload = new byte[payloadLength];
+        for (int i = 0; i < payloadLength; i++) {
+            payload[i] = (byte) i;
+        }
+        final MqttPublish publish =
+                new MqttPublish(MqttTopicImpl.of("topic"), ByteBuffer.wrap(payload), MqttQos.AT_MOST_ONCE, false,
+                        MqttPublish.NO_MESSAGE_EXPIRY, null, null, null, null, NO_USER_PROPERTIES, null);
+
+        channel.writeOutbound(publish.createStateful(-1, false, null));
+        final ByteBuf actual = channel.readOutbound();
+        try {
+            // header and payload are separate components, the payload is not copied
+            assertEquals(2, actual.nioBufferCount());
+            assertEquals(1 + 2 + 7 + 1 + payloadLength, actual.readableBytes());
+            actual.skipBytes(1 + 2 + 7 + 1);
+            assertArrayEquals(payload, ByteBufUtil.getBytes(actual));
+        } finally {
+            actual.release();
+        }
+    }
+
+    @Test
+    void encode_filePayload(@TempDir final @NotNull Path tempDir) throws IOException {
+        final byte[] expectedHeader = {
+                // fixed header
+                //   type, flags
+                0b0011_0010,
+                //   remaining length
+                15,
+                // variable header
+                //   topic name
+                0, 5, 't', 'o', 'p', 'i', 'c',
+                //   message identifier
+                0, 7,
+                //   properties
+                0
+        };
+
+        final Path file = Files.write(tempDir.resolve("payload"), new byte[]{0, 0, 1, 2, 3, 4, 5, 0});
+        try (final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                    .payload(fileChannel, 2, 5)
+                    .qos(MqttQos.AT_LEAST_ONCE)
+                    .build();
+
+            channel.writeOutbound(publish.createStateful(7, false, null));
+            final ByteBuf header = channel.readOutbound();
+            final FileRegion fileRegion = channel.readOutbound();
+            try {
+                assertArrayEquals(expectedHeader, ByteBufUtil.getBytes(header));
+                assertEquals(2, fileRegion.position());
+                assertEquals(5, fileRegion.count());
+                assertEquals(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}), publish.getPayload().get());
+            } finally {
+                header.release();
+                fileRegion.release();
+            }
+            assertTrue(fileChannel.isOpen());
+        }
+    }
+
+    @Test
+    void encode_filePayload_headerWriteFailed_failsPromise(@TempDir final @NotNull Path tempDir) throws IOException {
+        channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter() {
+            @Override
+            public void write(
+                    final @NotNull ChannelHandlerContext ctx,
+                    final @NotNull Object msg,
+                    final @NotNull ChannelPromise promise) {
+
+                if (msg instanceof ByteBuf) {
+                    ReferenceCountUtil.release(msg);
+                    promise.setFailure(new IOException("header write failed"));
+                } else {
+                    ctx.write(msg, promise);
+                }
+            }
+        });
+
+        final Path file = Files.write(tempDir.resolve("payload"), new byte[]{1, 2, 3, 4, 5});
+        try (final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                    .payload(fileChannel, 0, 5)
+                    .qos(MqttQos.AT_LEAST_ONCE)
+                    .build();
+
+            final ChannelFuture future = channel.writeOneOutbound(publish.createStateful(7, false, null));
+            channel.flushOutbound();
+            final FileRegion fileRegion = channel.readOutbound();
+            try {
+                assertTrue(future.isDone());
+                assertFalse(future.isSuccess());
+                assertEquals("header write failed", future.cause().getMessage());
+            } finally {
+                fileRegion.release();
+            }
+        }
+    }
+
     private void encode(
             final @NotNull byte[] expected,
             final @NotNull MqttPublish publish,
@@ -721,6 +1001,17 @@ class Mqtt5PublishEncoderTest extends AbstractMqtt5EncoderWithUserPropertiesTest
         encodeInternal(expected, publishInternal);
     }
 
+    private void encodePreEncoded(
+            final @NotNull byte[] expected,
+            final @NotNull MqttPublish publish,
+            final int packetIdentifier,
+            final boolean isDup,
+            final @Nullable MqttTopicAliasMapping topicAliasMapping) {
+
+        encodeInternal(expected, publish.createStateful(packetIdentifier, isDup, topicAliasMapping,
+                Mqtt5PublishEncoder.preEncode(publish)));
+    }
+
     private void encodeInternal(final @NotNull byte[] expected, final @NotNull MqttStatefulPublish publishInternal) {
         encode(publishInternal, expected);
     }
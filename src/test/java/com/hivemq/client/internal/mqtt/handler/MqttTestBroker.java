@@ -0,0 +1,337 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler;
+
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal MQTT server on the loopback interface for tests that need a real connection of a client.
+ * <p>
+ * It either serves connections one after another on its own thread and passes every received packet to a {@link
+ * Handler}, or the test accepts connections and reads packets itself as a script.
+ * <p>
+ * Writes are buffered and flushed before a packet is read if no more input is available, so handlers answer a burst
+ * of packets with one flush.
+ *
+ * @author Silvio Giebl
+ */
+public class MqttTestBroker implements Closeable {
+
+    /**
+     * Handles a packet received by a {@link MqttTestBroker} that serves connections itself.
+     */
+    @FunctionalInterface
+    public interface Handler {
+
+        void onPacket(@NotNull Connection connection, @NotNull Packet packet) throws IOException;
+    }
+
+    /**
+     * Answers CONNECT with a successful CONNACK, QoS 1 and 2 PUBLISH with PUBACK or PUBREC, PUBREL with PUBCOMP and
+     * PINGREQ with PINGRESP, and ignores all other packets.
+     */
+    public static final @NotNull Handler ACKNOWLEDGE_ALL = MqttTestBroker::acknowledge;
+
+    private final @NotNull ServerSocket serverSocket;
+    private final @Nullable Thread thread;
+    private volatile @Nullable Connection connection;
+
+    /**
+     * Creates a broker whose connections are accepted by the test with {@link #accept()}.
+     */
+    public MqttTestBroker() throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        thread = null;
+    }
+
+    /**
+     * Creates a broker that serves connections one after another on its own thread.
+     *
+     * @param handler handles every received packet.
+     */
+    public MqttTestBroker(final @NotNull Handler handler) throws IOException {
+        serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        thread = new Thread(() -> serve(handler), "mqtt-test-broker");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public @NotNull InetSocketAddress getAddress() {
+        return new InetSocketAddress(serverSocket.getInetAddress(), serverSocket.getLocalPort());
+    }
+
+    /**
+     * @return the thread which serves the connections.
+     */
+    public @NotNull Thread getThread() {
+        if (thread == null) {
+            throw new IllegalStateException("Connections are accepted by the test.");
+        }
+        return thread;
+    }
+
+    /**
+     * Waits for the next connection.
+     *
+     * @return the accepted connection.
+     */
+    public @NotNull Connection accept() throws IOException {
+        final Connection connection = new Connection(serverSocket.accept());
+        this.connection = connection;
+        return connection;
+    }
+
+    private void serve(final @NotNull Handler handler) {
+        while (!serverSocket.isClosed()) {
+            try (final Connection connection = accept()) {
+                //noinspection InfiniteLoopStatement
+                while (true) {
+                    handler.onPacket(connection, connection.read());
+                }
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        final Connection connection = this.connection;
+        if (connection != null) {
+            connection.socket.close();
+        }
+    }
+
+    private static void acknowledge(final @NotNull Connection connection, final @NotNull Packet packet)
+            throws IOException {
+
+        switch (packet.getType()) {
+            case CONNECT:
+                connection.connAck(packet);
+                break;
+            case PUBLISH:
+                connection.ack(packet);
+                break;
+            case PUBREL:
+                connection.write(0x70, 2, packet.getBody()[0], packet.getBody()[1]);
+                break;
+            case PINGREQ:
+                connection.write(0xD0, 0);
+                break;
+        }
+    }
+
+    /**
+     * Connection of a client to a {@link MqttTestBroker}.
+     */
+    public static class Connection implements Closeable {
+
+        private final @NotNull Socket socket;
+        private final @NotNull DataInputStream in;
+        private final @NotNull OutputStream out;
+
+        Connection(final @NotNull Socket socket) throws IOException {
+            this.socket = socket;
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        /**
+         * Reads the next packet, blocking until it is received.
+         *
+         * @return the received packet.
+         * @throws EOFException if the client closed the connection.
+         */
+        public @NotNull Packet read() throws IOException {
+            if (in.available() == 0) {
+                out.flush();
+            }
+            final int header = in.read();
+            if (header < 0) {
+                throw new EOFException();
+            }
+            int remainingLength = 0;
+            for (int shift = 0; ; shift += 7) {
+                final int b = in.readUnsignedByte();
+                remainingLength |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            final byte[] body = new byte[remainingLength];
+            in.readFully(body);
+            return new Packet(header, body);
+        }
+
+        /**
+         * Reads the next packet if it is received in the given timeout.
+         *
+         * @return the received packet or null if none was received in the timeout.
+         */
+        public @Nullable Packet read(final long timeout, final @NotNull TimeUnit timeUnit) throws IOException {
+            out.flush();
+            socket.setSoTimeout((int) Math.max(1, timeUnit.toMillis(timeout)));
+            try {
+                return read();
+            } catch (final SocketTimeoutException e) {
+                return null;
+            } finally {
+                socket.setSoTimeout(0);
+            }
+        }
+
+        /**
+         * Writes the given bytes, each int is truncated to a byte.
+         */
+        public void write(final int @NotNull ... bytes) throws IOException {
+            for (final int b : bytes) {
+                out.write(b);
+            }
+        }
+
+        public void write(final byte @NotNull [] bytes) throws IOException {
+            out.write(bytes);
+        }
+
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * Writes a successful CONNACK for the protocol version of the given CONNECT.
+         */
+        public void connAck(final @NotNull Packet connect) throws IOException {
+            if (connect.getProtocolVersion() == 5) {
+                write(0x20, 3, 0, 0, 0);
+            } else {
+                write(0x20, 2, 0, 0);
+            }
+        }
+
+        /**
+         * Writes a PUBACK for a QoS 1 or a PUBREC for a QoS 2 PUBLISH, nothing for a QoS 0 PUBLISH.
+         */
+        public void ack(final @NotNull Packet publish) throws IOException {
+            final int qos = publish.getQos();
+            if (qos > 0) {
+                final int packetIdentifier = publish.getPacketIdentifier();
+                write((qos == 1) ? 0x40 : 0x50, 2, packetIdentifier >> 8, packetIdentifier);
+            }
+        }
+
+        /**
+         * Reads packets until the client sends a DISCONNECT or closes the connection, then closes the connection as a
+         * server does after a DISCONNECT.
+         */
+        public void awaitDisconnect() throws IOException {
+            try {
+                //noinspection StatementWithEmptyBody
+                while (read().getType() != Mqtt5MessageType.DISCONNECT) {}
+            } catch (final EOFException ignored) {
+            } finally {
+                close();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.flush();
+            } finally {
+                socket.close();
+            }
+        }
+    }
+
+    /**
+     * MQTT packet received by a {@link MqttTestBroker}.
+     */
+    public static class Packet {
+
+        private final int header;
+        private final byte @NotNull [] body;
+
+        Packet(final int header, final byte @NotNull [] body) {
+            this.header = header;
+            this.body = body;
+        }
+
+        public @NotNull Mqtt5MessageType getType() {
+            final Mqtt5MessageType type = Mqtt5MessageType.fromCode(header >> 4);
+            if (type == null) {
+                throw new IllegalStateException("Invalid packet type " + (header >> 4));
+            }
+            return type;
+        }
+
+        /**
+         * @return the first byte of the fixed header.
+         */
+        public int getHeader() {
+            return header;
+        }
+
+        /**
+         * @return the packet without the fixed header, so starting with the variable header.
+         */
+        public byte @NotNull [] getBody() {
+            return body;
+        }
+
+        public int getQos() {
+            return (header >> 1) & 0b11;
+        }
+
+        /**
+         * @return the packet identifier, which follows the topic for a PUBLISH and otherwise starts the variable
+         *         header.
+         */
+        public int getPacketIdentifier() {
+            final int index = (getType() == Mqtt5MessageType.PUBLISH) ? 2 + readUnsignedShort(0) : 0;
+            return readUnsignedShort(index);
+        }
+
+        /**
+         * @return the protocol version of a CONNECT.
+         */
+        public int getProtocolVersion() {
+            return body[6];
+        }
+
+        public int readUnsignedShort(final int index) {
+            return ((body[index] & 0xFF) << 8) | (body[index + 1] & 0xFF);
+        }
+
+        /**
+         * @return the body decoded as UTF-8, for checking whether it contains a string.
+         */
+        public @NotNull String getBodyAsString() {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+}
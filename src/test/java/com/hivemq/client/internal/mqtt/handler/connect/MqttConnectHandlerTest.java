@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.codec.decoder.MqttDecoder;
+import com.hivemq.client.internal.mqtt.codec.encoder.MqttEncoder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.handler.MqttSession;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnect;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
+import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAck;
+import com.hivemq.client.internal.mqtt.message.connect.connack.MqttConnAckRestrictions;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.datatypes.MqttUtf8String;
+import com.hivemq.client.mqtt.mqtt5.auth.Mqtt5EnhancedAuthMechanism;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAck;
+import com.hivemq.client.mqtt.mqtt5.message.connect.connack.Mqtt5ConnAckReasonCode;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * The connect handler runs on an embedded channel with a mocked session, the encoder and decoder pass the messages
+ * through without encoding or decoding them.
+ *
+ * @author Silvio Giebl
+ */
+class MqttConnectHandlerTest {
+
+    private final @NotNull MqttSession session = mock(MqttSession.class);
+    private final @NotNull MqttEncoder encoder = mock(MqttEncoder.class, CALLS_REAL_METHODS);
+    private final @NotNull TestObserver<Mqtt5ConnAck> connAckObserver = new TestObserver<>();
+    private @Nullable EmbeddedChannel channel;
+
+    @AfterEach
+    void tearDown() {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Test
+    void fastStart_sessionStartedEarlyWithConservativeRestrictions() throws Exception {
+        connect(true, null);
+
+        final ArgumentCaptor<MqttClientConnectionConfig> earlyConfig =
+                ArgumentCaptor.forClass(MqttClientConnectionConfig.class);
+        verify(session).startEarly(earlyConfig.capture(), any(), any());
+        assertEquals(1, earlyConfig.getValue().getSendMaximum());
+        assertFalse(earlyConfig.getValue().isRetainAvailable());
+        assertFalse(earlyConfig.getValue().areSubscriptionIdentifiersAvailable());
+        assertNull(earlyConfig.getValue().getSendTopicAliasMapping());
+        verify(encoder).onConnected(earlyConfig.getValue());
+        verify(session, never()).startOrResume(any(), any(), any(), any());
+
+        final MqttConnAck connAck = connAck();
+        channel.writeInbound(connAck);
+
+        final ArgumentCaptor<MqttClientConnectionConfig> config =
+                ArgumentCaptor.forClass(MqttClientConnectionConfig.class);
+        final InOrder inOrder = inOrder(session);
+        inOrder.verify(session).startEarly(any(), any(), any());
+        inOrder.verify(session).startOrResume(eq(connAck), config.capture(), any(), any());
+        assertEquals(100, config.getValue().getSendMaximum());
+        assertEquals(MqttQos.AT_LEAST_ONCE, config.getValue().getMaximumQos());
+        assertTrue(config.getValue().isRetainAvailable());
+        connAckObserver.assertValue(connAck);
+    }
+
+    @Test
+    void noFastStart_sessionStartedOnConnAck() throws Exception {
+        connect(false, null);
+
+        verify(session, never()).startEarly(any(), any(), any());
+        verify(encoder, never()).onConnected(any());
+
+        final MqttConnAck connAck = connAck();
+        channel.writeInbound(connAck);
+
+        verify(session).startOrResume(eq(connAck), any(), any(), any());
+        verify(session, never()).startEarly(any(), any(), any());
+        connAckObserver.assertValue(connAck);
+    }
+
+    @Test
+    void fastStart_enhancedAuth_sessionStartedOnConnAck() throws Exception {
+        final Mqtt5EnhancedAuthMechanism authMechanism = mock(Mqtt5EnhancedAuthMechanism.class);
+        when(authMechanism.getMethod()).thenReturn(MqttUtf8String.of("test"));
+        connect(true, authMechanism);
+
+        // only AUTH or DISCONNECT may be sent before the CONNACK if an authentication method is set
+        verify(session, never()).startEarly(any(), any(), any());
+
+        final MqttConnAck connAck = connAck();
+        channel.writeInbound(connAck);
+
+        verify(session).startOrResume(eq(connAck), any(), any(), any());
+        verify(session, never()).startEarly(any(), any(), any());
+    }
+
+    /**
+     * Adds the connect handler to an active embedded channel, which writes the CONNECT.
+     */
+    private void connect(final boolean fastStart, final @Nullable Mqtt5EnhancedAuthMechanism authMechanism)
+            throws Exception {
+
+        final MqttClientConfig clientConfig = ((MqttRxClient) MqttClient.builder()
+                .useMqttVersion5()
+                .identifier("test")
+                .transportConfig()
+                .fastStart(fastStart)
+                .applyTransportConfig()
+                .buildRx()).getConfig();
+        final MqttConnect connect = new MqttConnectBuilder.Default().keepAlive(0).enhancedAuth(authMechanism).build();
+        when(session.startEarly(any(), any(), any())).thenReturn(true);
+        doAnswer(invocation -> ((ChannelHandlerContext) invocation.getArgument(0)).write(invocation.getArgument(1),
+                invocation.getArgument(2))).when(encoder)
+                .write(any(ChannelHandlerContext.class), any(), any(ChannelPromise.class));
+        doNothing().when(encoder).onConnected(any());
+        final MqttDecoder decoder = mock(MqttDecoder.class, CALLS_REAL_METHODS);
+        final MqttConnAckFlow connAckFlow = new MqttConnAckFlow(connAckObserver);
+        connAckObserver.onSubscribe(connAckFlow.getDisposable());
+
+        channel = new EmbeddedChannel();
+        channel.pipeline()
+                .addLast(MqttEncoder.NAME, encoder)
+                .addLast(MqttConnectHandler.NAME,
+                        new MqttConnectHandler(connect, connAckFlow, clientConfig, session, decoder));
+        channel.runPendingTasks();
+
+        assertNotNull(channel.readOutbound());
+        assertSame(decoder, channel.pipeline().get(MqttDecoder.NAME));
+    }
+
+    private static @NotNull MqttConnAck connAck() {
+        return new MqttConnAck(Mqtt5ConnAckReasonCode.SUCCESS, false, MqttConnAck.SESSION_EXPIRY_INTERVAL_FROM_CONNECT,
+                MqttConnAck.KEEP_ALIVE_FROM_CONNECT, null, null,
+                new MqttConnAckRestrictions(100, MqttConnAckRestrictions.DEFAULT.getMaximumPacketSize(), 0,
+                        MqttQos.AT_LEAST_ONCE, true, true, true, true), null, null, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.handler.MqttTestBroker;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.mqtt3.Mqtt3BlockingClient;
+import com.hivemq.client.mqtt.mqtt5.message.Mqtt5MessageType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttConnectRaceTest {
+
+    private @NotNull MqttTestBroker broker;
+    private @NotNull InetSocketAddress serverAddress;
+    private @NotNull InetSocketAddress closedAddress;
+    private final @NotNull AtomicInteger connects = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final InetAddress loopback = InetAddress.getLoopbackAddress();
+        try (final ServerSocket closed = new ServerSocket(0, 1, loopback)) {
+            closedAddress = new InetSocketAddress(loopback, closed.getLocalPort());
+        }
+        broker = new MqttTestBroker((connection, packet) -> {
+            if (packet.getType() == Mqtt5MessageType.CONNECT) {
+                connects.incrementAndGet();
+            }
+            MqttTestBroker.ACKNOWLEDGE_ALL.onPacket(connection, packet);
+        });
+        serverAddress = broker.getAddress();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        broker.close();
+    }
+
+    @Test
+    void connect_happyEyeballs_connectsToReachableServerAddress() {
+        final Mqtt3BlockingClient client = MqttClient.builder()
+                .useMqttVersion3()
+                .transportConfig()
+                .serverAddress(closedAddress)
+                .addFailoverServerAddress(serverAddress)
+                .happyEyeballs(true)
+                .applyTransportConfig()
+                .buildBlocking();
+
+        client.connect();
+        assertTrue(client.getState().isConnected());
+        client.disconnect();
+        assertEquals(1, connects.get());
+    }
+
+    @Test
+    void connect_happyEyeballs_doesNotConnectToNextServerAddressIfFirstConnects() throws IOException {
+        try (final ServerSocket next = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            final Mqtt3BlockingClient client = MqttClient.builder()
+                    .useMqttVersion3()
+                    .transportConfig()
+                    .serverAddress(serverAddress)
+                    .addFailoverServerAddress(new InetSocketAddress(next.getInetAddress(), next.getLocalPort()))
+                    .happyEyeballs(true)
+                    .applyTransportConfig()
+                    .buildBlocking();
+
+            client.connect();
+            assertTrue(client.getState().isConnected());
+            client.disconnect();
+            assertEquals(1, connects.get());
+
+            next.setSoTimeout((int) (2 * MqttConnectRace.STAGGER_DELAY_MS));
+            assertThrows(SocketTimeoutException.class, next::accept);
+        }
+    }
+
+    @Test
+    void connect_automaticReconnect_failsOverToNextServerAddress() {
+        final Mqtt3BlockingClient client = MqttClient.builder()
+                .useMqttVersion3()
+                .transportConfig()
+                .serverAddress(closedAddress)
+                .addFailoverServerAddress(serverAddress)
+                .applyTransportConfig()
+                .automaticReconnect()
+                .initialDelay(10, TimeUnit.MILLISECONDS)
+                .applyAutomaticReconnect()
+                .buildBlocking();
+
+        client.connect();
+        assertTrue(client.getState().isConnected());
+        client.disconnect();
+        assertEquals(1, connects.get());
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.connect;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.internal.netty.NettyEventLoopProvider;
+import com.hivemq.client.mqtt.MqttServerAddressSelection;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttServerAddressSelectorTest {
+
+    private static final @NotNull InetSocketAddress ADDRESS_1 = new InetSocketAddress("127.0.0.1", 1883);
+    private static final @NotNull InetSocketAddress ADDRESS_2 = new InetSocketAddress("127.0.0.2", 1883);
+    private static final @NotNull InetSocketAddress ADDRESS_3 = new InetSocketAddress("127.0.0.3", 1883);
+
+    private final @NotNull MqttServerAddressSelector selector = new MqttServerAddressSelector();
+    private @NotNull EventLoop eventLoop;
+
+    @BeforeEach
+    void setUp() {
+        eventLoop = NettyEventLoopProvider.INSTANCE.acquireEventLoop(MqttClientExecutorConfigImpl.DEFAULT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        NettyEventLoopProvider.INSTANCE.releaseEventLoop(eventLoop, MqttClientExecutorConfigImpl.DEFAULT);
+    }
+
+    @Test
+    void select_noFailoverServerAddresses() {
+        final MqttClientTransportConfigImpl transportConfig =
+                new MqttClientTransportConfigImplBuilder.Default().serverAddress(ADDRESS_1).build();
+
+        assertEquals(Arrays.asList(ADDRESS_1), select(transportConfig));
+        assertEquals(Arrays.asList(ADDRESS_1), select(transportConfig));
+    }
+
+    @Test
+    void select_roundRobin() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(ADDRESS_1)
+                .failoverServerAddresses(Arrays.asList(ADDRESS_2, ADDRESS_3))
+                .build();
+
+        assertEquals(Arrays.asList(ADDRESS_1, ADDRESS_2, ADDRESS_3), select(transportConfig));
+        assertEquals(Arrays.asList(ADDRESS_2, ADDRESS_3, ADDRESS_1), select(transportConfig));
+        assertEquals(Arrays.asList(ADDRESS_3, ADDRESS_1, ADDRESS_2), select(transportConfig));
+        assertEquals(Arrays.asList(ADDRESS_1, ADDRESS_2, ADDRESS_3), select(transportConfig));
+    }
+
+    @Test
+    void select_health() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(ADDRESS_1)
+                .addFailoverServerAddress(ADDRESS_2)
+                .addFailoverServerAddress(ADDRESS_3)
+                .serverAddressSelection(MqttServerAddressSelection.HEALTH)
+                .build();
+
+        assertEquals(Arrays.asList(ADDRESS_1, ADDRESS_2, ADDRESS_3), select(transportConfig));
+        selector.onFailure(ADDRESS_1);
+        assertEquals(Arrays.asList(ADDRESS_2, ADDRESS_3, ADDRESS_1), select(transportConfig));
+        selector.onFailure(ADDRESS_2);
+        selector.onFailure(ADDRESS_2);
+        assertEquals(Arrays.asList(ADDRESS_3, ADDRESS_1, ADDRESS_2), select(transportConfig));
+        selector.onSuccess(ADDRESS_2);
+        assertEquals(Arrays.asList(ADDRESS_2, ADDRESS_3, ADDRESS_1), select(transportConfig));
+    }
+
+    @Test
+    void select_transportConfigChanged_resetsState() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(ADDRESS_1)
+                .failoverServerAddresses(Arrays.asList(ADDRESS_2, ADDRESS_3))
+                .build();
+        select(transportConfig);
+
+        final MqttClientTransportConfigImpl changedTransportConfig =
+                transportConfig.extend().mqttConnectTimeout(1, TimeUnit.SECONDS).build();
+        assertEquals(Arrays.asList(ADDRESS_1, ADDRESS_2, ADDRESS_3), select(changedTransportConfig));
+    }
+
+    @Test
+    void select_resolveAllServerAddresses_keepsHostName() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverHost("localhost")
+                .resolveAllServerAddresses(true)
+                .build();
+
+        final List<InetSocketAddress> serverAddresses = select(transportConfig);
+        assertFalse(serverAddresses.isEmpty());
+        for (final InetSocketAddress serverAddress : serverAddresses) {
+            assertFalse(serverAddress.isUnresolved());
+            assertEquals("localhost", serverAddress.getHostString());
+            assertTrue(serverAddress.getAddress().isLoopbackAddress());
+        }
+    }
+
+    @Test
+    void select_resolveAllServerAddresses_keepsResolvedAddresses() {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .serverAddress(ADDRESS_1)
+                .addFailoverServerAddress(ADDRESS_2)
+                .resolveAllServerAddresses(true)
+                .build();
+
+        assertEquals(Arrays.asList(ADDRESS_1, ADDRESS_2), select(transportConfig));
+        assertEquals(Arrays.asList(ADDRESS_2, ADDRESS_1), select(transportConfig));
+    }
+
+    private @NotNull List<InetSocketAddress> select(final @NotNull MqttClientTransportConfigImpl transportConfig) {
+        return selector.select(transportConfig, eventLoop).syncUninterruptibly().getNow();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.ping;
+
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.handler.disconnect.MqttDisconnectEvent;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingReq;
+import com.hivemq.client.internal.mqtt.message.ping.MqttPingResp;
+import com.hivemq.client.internal.netty.NettyTimerWheel;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.ConnectionClosedException;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The time is controlled by the clock of the timer wheel, which is driven directly instead of waiting.
+ *
+ * @author Silvio Giebl
+ */
+class MqttPingHandlerTest {
+
+    private static final int KEEP_ALIVE = 10;
+
+    private long nanoTime;
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull NettyTimerWheel timerWheel = new NettyTimerWheel(channel.eventLoop(), () -> nanoTime);
+    private final @NotNull List<MqttDisconnectEvent> disconnectEvents = new ArrayList<>();
+    private @NotNull MqttClientConnectionConfig connectionConfig;
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void ping_noMessagesForKeepAlive_writesPingReq() {
+        addPingHandler(0);
+
+        advance(9_800);
+        assertNull(channel.readOutbound());
+
+        advance(200);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+    }
+
+    @Test
+    void ping_pingResp_recordsRoundTripTime() {
+        addPingHandler(2_000);
+        advance(10_000);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+        assertFalse(connectionConfig.getPingRoundTripTimeNanos().isPresent());
+
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(30);
+        channel.writeInbound(MqttPingResp.INSTANCE);
+
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(30), connectionConfig.getPingRoundTripTimeNanos().getAsLong());
+        assertNull(channel.readInbound());
+        advance(2_000);
+        assertTrue(disconnectEvents.isEmpty());
+    }
+
+    @Test
+    void ping_noPingRespInPingTimeout_closesConnection() {
+        addPingHandler(2_000);
+        advance(10_000);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+
+        advance(1_900);
+        assertTrue(disconnectEvents.isEmpty());
+
+        // closed after the ping timeout, not after another keep alive interval
+        advance(150);
+        assertEquals(1, disconnectEvents.size());
+        assertTrue(disconnectEvents.get(0).getCause() instanceof ConnectionClosedException);
+        assertEquals("Timeout while waiting for PINGRESP", disconnectEvents.get(0).getCause().getMessage());
+    }
+
+    @Test
+    void ping_noPingTimeout_waitsForKeepAlive() {
+        addPingHandler(0);
+        advance(10_000);
+        assertSame(MqttPingReq.INSTANCE, channel.readOutbound());
+
+        advance(9_800);
+        assertTrue(disconnectEvents.isEmpty());
+
+        advance(200);
+        assertEquals(1, disconnectEvents.size());
+    }
+
+    private void addPingHandler(final int pingTimeoutMs) {
+        final MqttClientTransportConfigImpl transportConfig = new MqttClientTransportConfigImplBuilder.Default()
+                .pingTimeout(pingTimeoutMs, TimeUnit.MILLISECONDS)
+                .pingRespRequired(true)
+                .build();
+        connectionConfig = new MqttClientConnectionConfig(transportConfig, KEEP_ALIVE, true, true, 0, false, false,
+                null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, null, MqttQos.EXACTLY_ONCE, true, true, true, true,
+                channel);
+        channel.pipeline()
+                .addLast(MqttPingHandler.NAME, new MqttPingHandler(connectionConfig, nanoTime, nanoTime, timerWheel))
+                .addLast(new ChannelInboundHandlerAdapter() {
+                    @Override
+                    public void userEventTriggered(
+                            final @NotNull ChannelHandlerContext ctx, final @NotNull Object evt) {
+
+                        if (evt instanceof MqttDisconnectEvent) {
+                            disconnectEvents.add((MqttDisconnectEvent) evt);
+                        }
+                    }
+                });
+    }
+
+    private void advance(final long millis) {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+        timerWheel.run();
+    }
+}
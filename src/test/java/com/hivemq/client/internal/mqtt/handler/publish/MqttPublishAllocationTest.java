@@ -0,0 +1,267 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish;
+
+import com.hivemq.client.internal.mqtt.MqttAsyncClient;
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.handler.connect.MqttConnAckFlow;
+import com.hivemq.client.internal.mqtt.message.connect.MqttConnectBuilder;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.EventLoop;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Pins the bytes allocated per publish and per received publish, so that regressions of the allocation rate of the
+ * publish paths are noticed. The client runs with its real handlers on an embedded channel and an application scheduler
+ * that runs on the same thread, so the allocations of the test thread cover the whole publish path. The limits leave
+ * about 50% headroom for differences between JVMs.
+ * <p>
+ * The socket and the event loop threads are covered end to end by the {@code MqttPublishAllocationBenchmark}.
+ *
+ * @author Silvio Giebl
+ */
+class MqttPublishAllocationTest {
+
+    private static final int WARMUP = 20_000;
+    private static final int MEASURED = 20_000;
+    private static final int ROUNDS = 5;
+    private static final int TOPIC_LENGTH = 5;
+    private static final int PAYLOAD_LENGTH = 16;
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttAsyncClient client = new MqttRxClient(new EmbeddedClientConfig(channel)).toAsync();
+    private int received;
+
+    @BeforeEach
+    void setUp() {
+        final MqttClientConfig clientConfig = client.getConfig();
+        channel.pipeline()
+                .addLast(clientConfig.getClientComponent()
+                        .connectionComponentBuilder()
+                        .connect(new MqttConnectBuilder.Default().keepAlive(0).build())
+                        .connAckFlow(mock(MqttConnAckFlow.class))
+                        .build()
+                        .channelInitializer());
+        channel.runPendingTasks();
+        release(channel.readOutbound()); // CONNECT
+        channel.writeInbound(buffer(0x20, 3, 0, 0, 0)); // CONNACK
+        channel.runPendingTasks();
+        assertEquals(MqttClientState.CONNECTED, clientConfig.getState());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    @ParameterizedTest
+    @EnumSource(MqttQos.class)
+    void publish_bytesPerOperation(final @NotNull MqttQos qos) {
+        final Mqtt5Publish publish =
+                Mqtt5Publish.builder().topic("topic").qos(qos).payload(new byte[PAYLOAD_LENGTH]).build();
+        publish(publish, WARMUP);
+        final long bytesPerOperation = bytesPerOperation(() -> publish(publish, MEASURED));
+
+        assertTrue(bytesPerOperation < maxBytesPerPublish(qos), () -> qos + " publish allocated " + bytesPerOperation +
+                " bytes/op, limit is " + maxBytesPerPublish(qos));
+    }
+
+    @ParameterizedTest
+    @EnumSource(MqttQos.class)
+    void receive_bytesPerOperation(final @NotNull MqttQos qos) {
+        client.publishes(MqttGlobalPublishFilter.ALL, publish -> received++);
+        channel.runPendingTasks();
+        receive(qos, WARMUP);
+        final long bytesPerOperation = bytesPerOperation(() -> receive(qos, MEASURED));
+
+        assertEquals(WARMUP + (ROUNDS * MEASURED), received);
+        assertTrue(bytesPerOperation < maxBytesPerReceive(qos), () -> qos + " receive allocated " + bytesPerOperation +
+                " bytes/op, limit is " + maxBytesPerReceive(qos));
+    }
+
+    private static int maxBytesPerPublish(final @NotNull MqttQos qos) {
+        switch (qos) {
+            case AT_MOST_ONCE:
+                return 450;
+            case AT_LEAST_ONCE:
+                return 550;
+            default:
+                return 900;
+        }
+    }
+
+    private static int maxBytesPerReceive(final @NotNull MqttQos qos) {
+        switch (qos) {
+            case AT_MOST_ONCE:
+                return 700;
+            case AT_LEAST_ONCE:
+                return 850;
+            default:
+                return 1_050;
+        }
+    }
+
+    /**
+     * Publishes one message after the other and acknowledges each of them like a broker would.
+     */
+    private void publish(final @NotNull Mqtt5Publish publish, final int count) {
+        for (int i = 0; i < count; i++) {
+            final CompletableFuture<?> future = client.publish(publish);
+            channel.runPendingTasks();
+            final ByteBuf publishBuffer = channel.readOutbound();
+            final int packetIdentifier = publishBuffer.getUnsignedShort(2 + 2 + TOPIC_LENGTH);
+            release(publishBuffer);
+            releaseOutbound();
+            switch (publish.getQos()) {
+                case AT_LEAST_ONCE:
+                    channel.writeInbound(buffer(0x40, 2, packetIdentifier >> 8, packetIdentifier)); // PUBACK
+                    break;
+                case EXACTLY_ONCE:
+                    channel.writeInbound(buffer(0x50, 2, packetIdentifier >> 8, packetIdentifier)); // PUBREC
+                    channel.runPendingTasks();
+                    release(channel.readOutbound()); // PUBREL
+                    channel.writeInbound(buffer(0x70, 2, packetIdentifier >> 8, packetIdentifier)); // PUBCOMP
+                    break;
+            }
+            channel.runPendingTasks();
+            assertTrue(future.isDone());
+        }
+    }
+
+    /**
+     * Receives one message after the other and reads the acknowledgements of the client.
+     */
+    private void receive(final @NotNull MqttQos qos, final int count) {
+        final int packetIdentifierLength = (qos == MqttQos.AT_MOST_ONCE) ? 0 : 2;
+        final byte[] publish = new byte[2 + 2 + TOPIC_LENGTH + packetIdentifierLength + 1 + PAYLOAD_LENGTH];
+        publish[0] = (byte) (0x30 | (qos.getCode() << 1));
+        publish[1] = (byte) (publish.length - 2);
+        publish[3] = TOPIC_LENGTH;
+        System.arraycopy(new byte[]{'t', 'o', 'p', 'i', 'c'}, 0, publish, 4, TOPIC_LENGTH);
+        if (packetIdentifierLength > 0) {
+            publish[4 + TOPIC_LENGTH + 1] = 1;
+        }
+        for (int i = 0; i < count; i++) {
+            channel.writeInbound(channel.alloc().buffer(publish.length).writeBytes(publish));
+            channel.runPendingTasks();
+            if (qos == MqttQos.EXACTLY_ONCE) {
+                release(channel.readOutbound()); // PUBREC
+                channel.writeInbound(buffer(0x62, 2, 0, 1)); // PUBREL
+                channel.runPendingTasks();
+            }
+            releaseOutbound(); // PUBACK or PUBCOMP
+        }
+    }
+
+    private @NotNull ByteBuf buffer(final int... bytes) {
+        final ByteBuf buffer = channel.alloc().buffer(bytes.length);
+        for (final int b : bytes) {
+            buffer.writeByte(b);
+        }
+        return buffer;
+    }
+
+    private void releaseOutbound() {
+        Object message;
+        while ((message = channel.readOutbound()) != null) {
+            release(message);
+        }
+    }
+
+    private static void release(final @NotNull Object message) {
+        assertTrue(((ByteBuf) message).release());
+    }
+
+    /**
+     * Takes the minimum of several rounds, so that rounds that still run code that is not fully compiled, for example
+     * because the compiler is busy with code of other tests, do not count.
+     *
+     * @return the bytes allocated per operation of the given operations.
+     */
+    private static long bytesPerOperation(final @NotNull Runnable operations) {
+        long bytesPerOperation = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            final long before = allocatedBytes();
+            operations.run();
+            bytesPerOperation = Math.min(bytesPerOperation, (allocatedBytes() - before) / MEASURED);
+        }
+        return bytesPerOperation;
+    }
+
+    /**
+     * @return the bytes allocated by the test thread, which also runs the tasks of the embedded channel.
+     */
+    private static long allocatedBytes() {
+        final com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Client config whose event loop is the event loop of the embedded channel and whose application scheduler runs
+     * the callbacks on the calling thread.
+     */
+    private static class EmbeddedClientConfig extends MqttClientConfig {
+
+        private final @NotNull EventLoop eventLoop;
+
+        EmbeddedClientConfig(final @NotNull EmbeddedChannel channel) {
+            super(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"), MqttClientTransportConfigImpl.DEFAULT,
+                    new MqttClientExecutorConfigImplBuilder.Default().applicationScheduler(Schedulers.trampoline())
+                            .build(), MqttClientAdvancedConfig.DEFAULT, ConnectDefaults.of(null, null, null),
+                    ImmutableList.of(), ImmutableList.of());
+            eventLoop = channel.eventLoop();
+        }
+
+        @Override
+        public @NotNull EventLoop acquireEventLoop() {
+            return eventLoop;
+        }
+
+        @Override
+        public void releaseEventLoop() {}
+
+        @Override
+        public boolean executeInEventLoop(final @NotNull Runnable runnable) {
+            eventLoop.execute(runnable);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttGlobalPublishFilter;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import io.netty.channel.EventLoop;
+import io.reactivex.subscribers.TestSubscriber;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttIncomingPublishServiceTest {
+
+    private @NotNull MqttClientConfig clientConfig;
+    private @NotNull MqttIncomingPublishService incomingPublishService;
+    private @NotNull EventLoop eventLoop;
+    private final @NotNull TestSubscriber<Mqtt5Publish> blocking = TestSubscriber.create(0);
+    private final @NotNull TestSubscriber<Mqtt5Publish> fast = TestSubscriber.create(0);
+
+    @BeforeEach
+    void setUp() {
+        clientConfig =
+                ((MqttRxClient) MqttClient.builder().identifier("test").useMqttVersion5().buildRx()).getConfig();
+        incomingPublishService = clientConfig.getClientComponent().incomingQosHandler().incomingPublishService;
+        eventLoop = clientConfig.acquireEventLoop();
+    }
+
+    @AfterEach
+    void tearDown() {
+        blocking.cancel();
+        fast.cancel();
+        clientConfig.releaseEventLoop();
+    }
+
+    @Test
+    void blockingFlow_doesNotBlockOtherFlows() {
+        subscribe(blocking);
+        subscribe(fast);
+        onEventLoop(() -> {
+            for (int i = 0; i < 100; i++) {
+                incomingPublishService.onPublishQos0(publish(i), 1000);
+            }
+        });
+
+        fast.request(60);
+        onEventLoop(() -> {});
+        assertTopics(fast.values(), 0, 60);
+        assertEquals(0, blocking.values().size());
+
+        onEventLoop(() -> incomingPublishService.onPublishQos0(publish(100), 1000));
+        fast.request(100);
+        onEventLoop(() -> {});
+        assertTopics(fast.values(), 0, 101);
+
+        blocking.request(10);
+        onEventLoop(() -> {});
+        assertTopics(blocking.values(), 0, 10);
+    }
+
+    @Test
+    void qos0Dropped_removedFromBlockingFlow() {
+        subscribe(blocking);
+        final int receiveMaximum = 10;
+        onEventLoop(() -> {
+            for (int i = 0; i < 1000; i++) {
+                incomingPublishService.onPublishQos0(publish(i), receiveMaximum);
+            }
+        });
+        onEventLoop(() -> {
+            final MqttStatefulPublishWithFlows publishWithFlows = publish(0);
+            incomingPublishService.incomingPublishFlows.findMatching(publishWithFlows);
+            final MqttIncomingPublishFlow flow = publishWithFlows.getFirst().getElement();
+            assertTrue(flow.queue.size() <= 2 * receiveMaximum);
+        });
+
+        blocking.request(receiveMaximum + 1);
+        onEventLoop(() -> {});
+        assertTopics(blocking.values(), 1000 - receiveMaximum, 1000);
+    }
+
+    private void subscribe(final @NotNull TestSubscriber<Mqtt5Publish> subscriber) {
+        new MqttGlobalIncomingPublishFlowable(MqttGlobalPublishFilter.ALL, clientConfig, false).subscribe(subscriber);
+    }
+
+    private void onEventLoop(final @NotNull Runnable runnable) {
+        eventLoop.submit(runnable).syncUninterruptibly();
+    }
+
+    private static @NotNull MqttStatefulPublishWithFlows publish(final int i) {
+        final MqttPublish publish = (MqttPublish) Mqtt5Publish.builder().topic("topic/" + i).build();
+        return new MqttStatefulPublishWithFlows(
+                publish.createStateful(NO_PACKET_IDENTIFIER_QOS_0, false, DEFAULT_NO_TOPIC_ALIAS,
+                        DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS));
+    }
+
+    private static void assertTopics(final @NotNull List<Mqtt5Publish> publishes, final int from, final int to) {
+        assertEquals(to - from, publishes.size());
+        for (int i = from; i < to; i++) {
+            assertEquals("topic/" + i, publishes.get(i - from).getTopic().toString());
+        }
+    }
+}
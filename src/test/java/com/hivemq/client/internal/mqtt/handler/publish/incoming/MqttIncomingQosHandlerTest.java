@@ -0,0 +1,159 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.incoming;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttDeflatePayloadCodec;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.MqttClient;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishBuilder;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * The payload codec runs its decode tasks on an executor that is driven by the test, the messages are read on an
+ * embedded channel.
+ *
+ * @author Silvio Giebl
+ */
+class MqttIncomingQosHandlerTest {
+
+    private static final int MAXIMUM_DECODED_SIZE = 2000;
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull List<Runnable> decodeTasks = new ArrayList<>();
+    private final @NotNull List<MqttStatefulPublish> received = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        final MqttClientConfig payloadCodecClientConfig = ((MqttRxClient) MqttClient.builder()
+                .useMqttVersion5()
+                .advancedConfig()
+                .payloadCodecConfig()
+                .maximumDecodedSize(MAXIMUM_DECODED_SIZE)
+                .executor(decodeTasks::add)
+                .applyPayloadCodecConfig()
+                .applyAdvancedConfig()
+                .buildRx()).getConfig();
+        final MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+        when(clientConfig.getMqttVersion()).thenReturn(MqttVersion.MQTT_5_0);
+        when(clientConfig.getAdvancedConfig()).thenReturn(payloadCodecClientConfig.getAdvancedConfig());
+        when(clientConfig.executeInEventLoop(any())).thenAnswer(invocation -> {
+            channel.eventLoop().execute(invocation.getArgument(0));
+            return true;
+        });
+        final MqttIncomingPublishFlows incomingPublishFlows = mock(MqttIncomingPublishFlows.class);
+        doAnswer(invocation -> received.add(((MqttStatefulPublishWithFlows) invocation.getArgument(0)).publish)).when(
+                incomingPublishFlows).findMatching(any());
+
+        final MqttIncomingQosHandler handler = new MqttIncomingQosHandler(clientConfig, incomingPublishFlows);
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, null, MqttQos.EXACTLY_ONCE, true, true,
+                        true, true, channel), channel.eventLoop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void decode_onCodecExecutor_publishesReadInOrder() {
+        channel.writeInbound(publish(MqttQos.AT_LEAST_ONCE, 1, encode(payload('a', MAXIMUM_DECODED_SIZE)), true));
+        channel.writeInbound(publish(MqttQos.AT_MOST_ONCE, 0, "plain".getBytes(StandardCharsets.UTF_8), false));
+        channel.writeInbound(publish(MqttQos.AT_MOST_ONCE, 0, encode(payload(0, MAXIMUM_DECODED_SIZE + 1)), true));
+
+        // the plain publish is queued behind the publish whose payload is decoded
+        assertEquals(2, decodeTasks.size());
+        assertTrue(received.isEmpty());
+        assertNull(channel.readOutbound());
+
+        decodeTasks.get(0).run();
+        channel.runPendingTasks();
+        assertEquals(2, received.size());
+        final MqttPublish decoded = received.get(0).stateless();
+        assertEquals(MqttQos.AT_LEAST_ONCE, decoded.getQos());
+        assertArrayEquals(payload('a', MAXIMUM_DECODED_SIZE), decoded.getPayloadAsBytes());
+        assertTrue(decoded.getUserProperties().asList().isEmpty());
+        assertEquals("plain", new String(received.get(1).stateless().getPayloadAsBytes(), StandardCharsets.UTF_8));
+        final MqttPubAck pubAck = channel.readOutbound();
+        assertEquals(1, pubAck.getPacketIdentifier());
+
+        decodeTasks.get(1).run();
+        channel.runPendingTasks();
+        // decoding stops at the maximum decoded size, the payload is delivered encoded
+        assertEquals(3, received.size());
+        final MqttPublish bomb = received.get(2).stateless();
+        assertTrue(bomb.getPayloadAsBytes().length < MAXIMUM_DECODED_SIZE);
+        assertEquals(1, bomb.getUserProperties().asList().size());
+    }
+
+    private static @NotNull MqttStatefulPublish publish(
+            final @NotNull MqttQos qos, final int packetIdentifier, final byte @NotNull [] payload,
+            final boolean encoded) {
+
+        final Mqtt5PublishBuilder.Complete builder = Mqtt5Publish.builder().topic("topic").qos(qos).payload(payload);
+        if (encoded) {
+            builder.userProperties()
+                    .add(Mqtt5PayloadCodecConfig.CONTENT_ENCODING_USER_PROPERTY, "deflate")
+                    .applyUserProperties();
+        }
+        return ((MqttPublish) builder.build()).createStateful(packetIdentifier, false, DEFAULT_NO_TOPIC_ALIAS,
+                DEFAULT_NO_SUBSCRIPTION_IDENTIFIERS);
+    }
+
+    private static byte @NotNull [] payload(final int value, final int length) {
+        final byte[] payload = new byte[length];
+        Arrays.fill(payload, (byte) value);
+        return payload;
+    }
+
+    private static byte @NotNull [] encode(final byte @NotNull [] payload) {
+        final ByteBuffer encoded = MqttDeflatePayloadCodec.DEFAULT.encode(ByteBuffer.wrap(payload));
+        final byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return bytes;
+    }
+}
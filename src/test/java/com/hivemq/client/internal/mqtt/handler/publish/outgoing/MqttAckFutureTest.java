@@ -0,0 +1,173 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfigBuilder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.ioc.ClientComponent;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.mqtt.MqttClientState;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.schedulers.Schedulers;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The futures are completed by an outgoing QoS handler on an embedded channel, the tasks of the application scheduler
+ * are run by the test.
+ *
+ * @author Silvio Giebl
+ */
+class MqttAckFutureTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull List<Runnable> applicationTasks = new ArrayList<>();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void publish_acknowledged_completesWithMappedResultOnApplicationScheduler() throws Exception {
+        connect(MqttClientAdvancedConfig.DEFAULT);
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").qos(MqttQos.AT_LEAST_ONCE).build();
+
+        final MqttAckFuture<MqttPublish> future =
+                new MqttAckFuture<>(clientConfig, publish, MqttPublishResult::getPublish, Function.identity());
+        channel.runPendingTasks();
+        final MqttStatefulPublish statefulPublish = channel.readOutbound();
+        assertEquals("topic", statefulPublish.stateless().getTopic().toString());
+        assertFalse(future.isDone());
+
+        channel.writeInbound(new MqttPubAck(statefulPublish.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        assertFalse(future.isDone());
+        runApplicationTasks();
+
+        assertSame(publish, future.get());
+    }
+
+    @Test
+    void publish_qos0_completesWithPublishResult() throws Exception {
+        connect(MqttClientAdvancedConfig.DEFAULT);
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").qos(MqttQos.AT_MOST_ONCE).build();
+
+        final MqttAckFuture<MqttPublishResult> future =
+                new MqttAckFuture<>(clientConfig, publish, Function.identity(), Function.identity());
+        channel.runPendingTasks();
+        assertNotNull(channel.readOutbound());
+        runApplicationTasks();
+
+        final MqttPublishResult result = future.get();
+        assertSame(publish, result.getPublish());
+        assertFalse(result.getError().isPresent());
+    }
+
+    @Test
+    void publish_preEncoded_completesWithUnmodifiedPublish() throws Exception {
+        connect(new MqttClientAdvancedConfigBuilder.Default().preEncodePublishes(true).build());
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .payload(new byte[]{1, 2, 3})
+                .contentType("application/octet-stream")
+                .build();
+
+        final MqttAckFuture<MqttPublishResult> future =
+                new MqttAckFuture<>(clientConfig, publish, Function.identity(), Function.identity());
+        channel.runPendingTasks();
+        final MqttStatefulPublish statefulPublish = channel.readOutbound();
+        channel.writeInbound(new MqttPubAck(statefulPublish.getPacketIdentifier(), Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        runApplicationTasks();
+
+        final MqttPublishResult result = future.get();
+        assertSame(publish, result.getPublish());
+        assertFalse(result.getError().isPresent());
+    }
+
+    @Test
+    void publish_notConnected_completesExceptionallyWithMappedError() {
+        when(clientConfig.getState()).thenReturn(MqttClientState.DISCONNECTED);
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+
+        final MqttAckFuture<MqttPublishResult> future = new MqttAckFuture<>(clientConfig, publish, Function.identity(),
+                IllegalStateException::new);
+
+        final ExecutionException exception = assertThrows(ExecutionException.class, future::get);
+        assertTrue(exception.getCause() instanceof IllegalStateException);
+        assertTrue(exception.getCause().getCause() instanceof MqttClientStateException);
+    }
+
+    /**
+     * Starts a session of an outgoing QoS handler on the embedded channel and lets the futures add their publishes to
+     * it.
+     */
+    private void connect(final @NotNull MqttClientAdvancedConfig advancedConfig) {
+        when(clientConfig.getState()).thenReturn(MqttClientState.CONNECTED);
+        when(clientConfig.getMqttVersion()).thenReturn(MqttVersion.MQTT_5_0);
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        when(clientConfig.getAdvancedConfig()).thenReturn(advancedConfig);
+        when(clientConfig.getExecutorConfig()).thenReturn(new MqttClientExecutorConfigImplBuilder.Default()
+                .applicationScheduler(Schedulers.from(applicationTasks::add))
+                .build());
+        final MqttOutgoingQosHandler outgoingQosHandler = new MqttOutgoingQosHandler(clientConfig);
+        final ClientComponent clientComponent = mock(ClientComponent.class);
+        when(clientComponent.outgoingQosHandler()).thenReturn(outgoingQosHandler);
+        when(clientConfig.getClientComponent()).thenReturn(clientComponent);
+
+        channel.pipeline().addLast(outgoingQosHandler);
+        outgoingQosHandler.onSessionStartOrResume(
+                new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                        null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10,
+                        MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, null, MqttQos.EXACTLY_ONCE, true, true,
+                        true, true, channel), channel.eventLoop());
+    }
+
+    private void runApplicationTasks() {
+        assertFalse(applicationTasks.isEmpty());
+        for (final Runnable task : applicationTasks) {
+            task.run();
+        }
+        applicationTasks.clear();
+    }
+}
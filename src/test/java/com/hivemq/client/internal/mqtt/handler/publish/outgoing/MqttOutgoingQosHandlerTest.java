@@ -0,0 +1,424 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttPublishRateLimiterImpl;
+import com.hivemq.client.internal.mqtt.advanced.MqttClientAdvancedConfig;
+import com.hivemq.client.internal.mqtt.codec.encoder.mqtt5.Mqtt5PublishEncoder;
+import com.hivemq.client.internal.mqtt.datatypes.MqttClientIdentifierImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.internal.mqtt.message.publish.puback.MqttPubAck;
+import com.hivemq.client.internal.rx.SingleFlow;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.exceptions.MqttClientStateException;
+import com.hivemq.client.mqtt.exceptions.MqttEncodeException;
+import com.hivemq.client.mqtt.exceptions.MqttMessageExpiredException;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.puback.Mqtt5PubAckReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttOutgoingQosHandlerTest {
+
+    // the handler on an embedded channel, the message expiry is measured by a clock that is driven directly
+    private @Nullable EmbeddedChannel channel;
+    private @NotNull MqttOutgoingQosHandler handler;
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+    private long nanoTime;
+    private @NotNull MqttClientExecutorConfigImpl executorConfig = MqttClientExecutorConfigImpl.DEFAULT;
+
+    @Test
+    void drain_acknowledged_noUndeliveredPublishes() {
+        startSession();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        final TestObserver<List<Mqtt5Publish>> drain = new TestObserver<>();
+        handler.drain(singleFlow(drain), TimeUnit.SECONDS.toNanos(10));
+        channel.runPendingTasks();
+        drain.assertNoValues();
+
+        channel.writeInbound(new MqttPubAck(1, Mqtt5PubAckReasonCode.SUCCESS, null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+        channel.runPendingTasks();
+
+        drain.assertValue(List::isEmpty);
+        assertFalse(nextResult().getError().isPresent());
+    }
+
+    @Test
+    void drain_notAcknowledged_reportsUndeliveredPublishes() {
+        startSession();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        final TestObserver<List<Mqtt5Publish>> drain = new TestObserver<>();
+        handler.drain(singleFlow(drain), 0);
+        channel.runPendingTasks();
+
+        drain.assertValue(undelivered -> (undelivered.size() == 1) &&
+                undelivered.get(0).getTopic().toString().equals("topic"));
+        // the sent publish stays in the session
+        verify(ackFlow, never()).onNext(any());
+    }
+
+    @Test
+    void drain_disposed_drainEnds() {
+        startSession();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        final TestObserver<List<Mqtt5Publish>> disposedDrain = new TestObserver<>();
+        final SingleFlow<List<Mqtt5Publish>> disposedFlow = singleFlow(disposedDrain);
+        handler.drain(disposedFlow, TimeUnit.SECONDS.toNanos(10));
+        channel.runPendingTasks();
+        disposedDrain.dispose();
+        handler.endDrain(disposedFlow);
+        channel.runPendingTasks();
+
+        // the disposed drain neither rejects the next drain nor fails the publishes
+        final TestObserver<List<Mqtt5Publish>> drain = new TestObserver<>();
+        handler.drain(singleFlow(drain), 0);
+        channel.runPendingTasks();
+
+        drain.assertValue(undelivered -> undelivered.size() == 1);
+        disposedDrain.assertNoValues();
+        disposedDrain.assertNoErrors();
+        verify(ackFlow, never()).onNext(any());
+    }
+
+    @Test
+    void drain_concurrentDrainRejected_publishesStillRejected() {
+        startSession();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        final TestObserver<List<Mqtt5Publish>> drain = new TestObserver<>();
+        handler.drain(singleFlow(drain), TimeUnit.SECONDS.toNanos(10));
+        final TestObserver<List<Mqtt5Publish>> rejectedDrain = new TestObserver<>();
+        final SingleFlow<List<Mqtt5Publish>> rejectedFlow = singleFlow(rejectedDrain);
+        handler.drain(rejectedFlow, TimeUnit.SECONDS.toNanos(10));
+        channel.runPendingTasks();
+        rejectedDrain.assertError(MqttClientStateException.class);
+
+        // the rejected drain must not end the running drain
+        handler.endDrain(rejectedFlow);
+        channel.runPendingTasks();
+        handler.onNext(publishWithFlow(MqttQos.AT_MOST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+
+        assertNull(channel.readOutbound());
+        assertTrue(nextResult().getError().get() instanceof MqttClientStateException);
+        drain.assertNoValues();
+        drain.assertNoErrors();
+    }
+
+    @Test
+    void drain_notConnected_fails() {
+        final MqttOutgoingQosHandler handler = new MqttOutgoingQosHandler(clientConfig());
+
+        final TestObserver<List<Mqtt5Publish>> drain = new TestObserver<>();
+        handler.drain(singleFlow(drain), TimeUnit.SECONDS.toNanos(1));
+
+        drain.assertError(MqttClientStateException.class);
+    }
+
+    @Test
+    void run_rateLimited_delayedAndNotDropped() throws InterruptedException {
+        final MqttPublishRateLimiterImpl rateLimiter = mock(MqttPublishRateLimiterImpl.class);
+        when(rateLimiter.tryAcquire(anyInt())).thenReturn(0L, 0L, TimeUnit.MILLISECONDS.toNanos(100), 0L);
+        executorConfig = new MqttClientExecutorConfigImplBuilder.Default().publishRateLimiter(rateLimiter).build();
+        startSession();
+
+        for (int i = 0; i < 4; i++) {
+            handler.onNext(publishWithFlow(MqttQos.AT_MOST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        }
+        channel.runPendingTasks();
+        readOutbound();
+        readOutbound();
+        assertNull(channel.readOutbound());
+
+        // the publishes are sent when the delay returned by the rate limiter elapsed
+        long delayNanos;
+        while ((delayNanos = channel.runScheduledPendingTasks()) != -1) {
+            TimeUnit.NANOSECONDS.sleep(delayNanos);
+        }
+        channel.runPendingTasks();
+        readOutbound();
+        readOutbound();
+        assertNull(channel.readOutbound());
+        verify(ackFlow, times(4)).onNext(argThat(result -> !result.getError().isPresent()));
+        // the rate limiter is charged with the encoded length of the whole packet
+        verify(rateLimiter, times(5)).tryAcquire(
+                Mqtt5PublishEncoder.encodedLength(publishWithFlow(MqttQos.AT_MOST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY)
+                        .getPublish()));
+        verify(rateLimiter).addThrottleTime(anyLong());
+    }
+
+    @Test
+    void run_queuedPublishExpired_failsWithoutWrite() {
+        startSession();
+        final MqttPublishWithFlow publishWithFlow = publishWithFlow(MqttQos.AT_LEAST_ONCE, 1);
+
+        advance(1_000);
+        handler.onNext(publishWithFlow);
+        channel.runPendingTasks();
+
+        assertNull(channel.readOutbound());
+        assertTrue(nextResult().getError().get() instanceof MqttMessageExpiredException);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = MqttQos.class, names = {"AT_LEAST_ONCE", "EXACTLY_ONCE"})
+    void run_pendingPublishExpired_resentWithSmallestInterval(final @NotNull MqttQos qos) {
+        startSession();
+        handler.onNext(publishWithFlow(qos, 1));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        advance(5_000);
+        startSession();
+        handler.onNext(publishWithFlow(qos, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+
+        // the server may already have received the publish, so neither the publish nor its packet identifier is dropped
+        final MqttStatefulPublish resent = readOutbound();
+        assertTrue(resent.isDup());
+        assertEquals(1, resent.getPacketIdentifier());
+        assertEquals(1, resent.stateless().getRawMessageExpiryInterval());
+        final MqttStatefulPublish next = readOutbound();
+        assertFalse(next.isDup());
+        assertEquals(2, next.getPacketIdentifier());
+        verify(ackFlow, never()).onNext(any());
+    }
+
+    @Test
+    void run_pendingPublishResent_remainingMessageExpiryInterval() {
+        startSession();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, 10));
+        channel.runPendingTasks();
+        assertEquals(10, this.<MqttStatefulPublish>readOutbound().stateless().getRawMessageExpiryInterval());
+
+        advance(3_500);
+        startSession();
+        channel.runPendingTasks();
+
+        final MqttStatefulPublish resent = readOutbound();
+        assertTrue(resent.isDup());
+        assertEquals(1, resent.getPacketIdentifier());
+        assertEquals(7, resent.stateless().getRawMessageExpiryInterval());
+        verify(ackFlow, never()).onNext(any());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = MqttQos.class, names = {"AT_LEAST_ONCE", "EXACTLY_ONCE"})
+    void onSessionStartConfirmed_pendingPublishExceedsMaximumQos_failedAndNotResent(final @NotNull MqttQos qos) {
+        startSessionEarly();
+        handler.onNext(publishWithFlow(qos, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        handler.onSessionStartConfirmed(
+                connectionConfig(10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.AT_MOST_ONCE),
+                channel.eventLoop());
+        channel.runPendingTasks();
+
+        assertTrue(nextResult().getError().get() instanceof MqttEncodeException);
+        startSession();
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void onSessionStartConfirmed_pendingPublishExceedsMaximumPacketSize_failedAndNotResent() {
+        startSessionEarly();
+        handler.onNext(MqttPublishWithFlow.of(
+                new MqttPublishBuilder.Default().topic("topic").qos(MqttQos.AT_LEAST_ONCE).payload(new byte[100])
+                        .build(), ackFlow, () -> nanoTime));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        handler.onSessionStartConfirmed(connectionConfig(10, 100, MqttQos.EXACTLY_ONCE), channel.eventLoop());
+        channel.runPendingTasks();
+
+        assertTrue(nextResult().getError().get() instanceof MqttEncodeException);
+        startSession();
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void onSessionStartConfirmed_pendingPublishWithinRestrictions_staysPending() {
+        startSessionEarly();
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertEquals(1, this.<MqttStatefulPublish>readOutbound().getPacketIdentifier());
+
+        handler.onSessionStartConfirmed(
+                connectionConfig(10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.AT_LEAST_ONCE),
+                channel.eventLoop());
+        channel.runPendingTasks();
+
+        verify(ackFlow, never()).onNext(any());
+        startSession();
+        channel.runPendingTasks();
+        assertTrue(this.<MqttStatefulPublish>readOutbound().isDup());
+    }
+
+    @Test
+    void onSessionStartEarly_retainedPublish_heldBackUntilConfirmed() {
+        startSessionEarly();
+        handler.onNext(MqttPublishWithFlow.of(
+                new MqttPublishBuilder.Default().topic("topic/r").retain(true).build(), ackFlow, () -> nanoTime));
+        handler.onNext(publishWithFlow(MqttQos.AT_MOST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        handler.onSessionStartConfirmed(
+                connectionConfig(10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.EXACTLY_ONCE),
+                channel.eventLoop());
+        channel.runPendingTasks();
+
+        // the publishes are sent in order, so the publish queued after the retained publish is held back as well
+        assertTrue(this.<MqttStatefulPublish>readOutbound().stateless().isRetain());
+        assertFalse(this.<MqttStatefulPublish>readOutbound().stateless().isRetain());
+    }
+
+    @Test
+    void run_queuedPublishExceedsMaximumQos_failsWithoutWrite() {
+        startSession(connectionConfig(10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.AT_MOST_ONCE));
+        handler.onNext(publishWithFlow(MqttQos.AT_LEAST_ONCE, MqttPublish.NO_MESSAGE_EXPIRY));
+        channel.runPendingTasks();
+
+        assertNull(channel.readOutbound());
+        assertTrue(nextResult().getError().get() instanceof MqttEncodeException);
+    }
+
+    /**
+     * Starts or resumes the session on an embedded channel, which resends the pending publishes.
+     */
+    private void startSession() {
+        startSession(connectionConfig(10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.EXACTLY_ONCE));
+    }
+
+    /**
+     * Starts a session before the ConnAck message is received (fast start) after a first session ended, as the first
+     * session is only started when it is confirmed.
+     */
+    private void startSessionEarly() {
+        startSession();
+        handler.onSessionEnd(new Exception("session expired"));
+        handler.onSessionStartEarly(
+                connectionConfig(1, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, MqttQos.EXACTLY_ONCE),
+                channel.eventLoop());
+    }
+
+    private void startSession(final @NotNull MqttClientConnectionConfig connectionConfig) {
+        handler.onSessionStartOrResume(connectionConfig, channel.eventLoop());
+    }
+
+    private @NotNull MqttClientConnectionConfig connectionConfig(
+            final int sendMaximum, final int sendMaximumPacketSize, final @NotNull MqttQos maximumQos) {
+
+        if (channel == null) {
+            final MqttClientConfig clientConfig = spy(clientConfig());
+            handler = new MqttOutgoingQosHandler(clientConfig);
+            final EmbeddedChannel channel = new EmbeddedChannel(handler);
+            this.channel = channel;
+            when(ackFlow.getEventLoop()).thenReturn(channel.eventLoop());
+            doAnswer(invocation -> {
+                channel.eventLoop().execute(invocation.getArgument(0));
+                return true;
+            }).when(clientConfig).executeInEventLoop(any());
+        }
+        return new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, sendMaximum,
+                sendMaximumPacketSize, null, maximumQos, true, true, true, true, channel);
+    }
+
+    private @NotNull MqttClientConfig clientConfig() {
+        return new MqttClientConfig(MqttVersion.MQTT_5_0, MqttClientIdentifierImpl.of("test"),
+                MqttClientTransportConfigImpl.DEFAULT, executorConfig,
+                MqttClientAdvancedConfig.DEFAULT, MqttClientConfig.ConnectDefaults.of(null, null, null),
+                ImmutableList.of(), ImmutableList.of());
+    }
+
+    private @NotNull MqttPublishWithFlow publishWithFlow(final @NotNull MqttQos qos, final long messageExpiryInterval) {
+        final MqttPublishBuilder.Default builder = new MqttPublishBuilder.Default().topic("topic").qos(qos);
+        if (messageExpiryInterval != MqttPublish.NO_MESSAGE_EXPIRY) {
+            builder.messageExpiryInterval(messageExpiryInterval);
+        }
+        return MqttPublishWithFlow.of(builder.build(), ackFlow, () -> nanoTime);
+    }
+
+    private void advance(final long millis) {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private <T> @NotNull T readOutbound() {
+        assertNotNull(channel);
+        final T message = channel.readOutbound();
+        assertNotNull(message);
+        return message;
+    }
+
+    private static @NotNull SingleFlow<List<Mqtt5Publish>> singleFlow(
+            final @NotNull TestObserver<List<Mqtt5Publish>> observer) {
+
+        final SingleFlow<List<Mqtt5Publish>> flow = new SingleFlow<>(observer);
+        observer.onSubscribe(flow);
+        return flow;
+    }
+
+    private @NotNull MqttPublishResult nextResult() {
+        final ArgumentCaptor<MqttPublishResult> result = ArgumentCaptor.forClass(MqttPublishResult.class);
+        verify(ackFlow).onNext(result.capture());
+        return result.getValue();
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PublishPriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttPublishLanesTest {
+
+    private final @NotNull MqttPublishLanes lanes = new MqttPublishLanes();
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+
+    @Test
+    void peek_empty_returnsNull() {
+        assertNull(lanes.peek(false));
+        assertNull(lanes.peek(true));
+        assertNull(lanes.pollAny());
+    }
+
+    @Test
+    void poll_strict_higherPriorityFirst() {
+        offer("low1", Mqtt5PublishPriority.LOW);
+        offer("normal1", Mqtt5PublishPriority.NORMAL);
+        offer("low2", Mqtt5PublishPriority.LOW);
+        offer("high1", Mqtt5PublishPriority.HIGH);
+        offer("normal2", Mqtt5PublishPriority.NORMAL);
+
+        assertEquals(Arrays.asList("high1", "normal1", "normal2", "low1", "low2"), pollAll(true));
+    }
+
+    @Test
+    void poll_strict_newHigherPriorityOvertakes() {
+        offer("low1", Mqtt5PublishPriority.LOW);
+        offer("low2", Mqtt5PublishPriority.LOW);
+        assertEquals("low1", poll(true));
+
+        offer("high1", Mqtt5PublishPriority.HIGH);
+        assertEquals(Arrays.asList("high1", "low2"), pollAll(true));
+    }
+
+    @Test
+    void poll_weighted_lowerPrioritiesNotStarved() {
+        for (int i = 0; i < 8; i++) {
+            offer("high" + i, Mqtt5PublishPriority.HIGH);
+            offer("normal" + i, Mqtt5PublishPriority.NORMAL);
+            offer("low" + i, Mqtt5PublishPriority.LOW);
+        }
+
+        final List<String> topics = pollAll(false);
+        assertEquals(Arrays.asList("high0", "high1", "high2", "high3", "normal0", "normal1", "low0", "high4", "high5",
+                "high6", "high7", "normal2", "normal3", "low1"), topics.subList(0, 14));
+        assertEquals(24, topics.size());
+        assertEquals(Arrays.asList("low6", "low7"), topics.subList(22, 24));
+    }
+
+    @Test
+    void poll_weighted_emptyLanesSkipped() {
+        offer("low0", Mqtt5PublishPriority.LOW);
+        offer("low1", Mqtt5PublishPriority.LOW);
+        offer("low2", Mqtt5PublishPriority.LOW);
+
+        assertEquals(Arrays.asList("low0", "low1", "low2"), pollAll(false));
+    }
+
+    @Test
+    void poll_samePriority_keepsOrder() {
+        for (int i = 0; i < 100; i++) {
+            offer("normal" + i, Mqtt5PublishPriority.NORMAL);
+        }
+        final List<String> topics = pollAll(false);
+        for (int i = 0; i < 100; i++) {
+            assertEquals("normal" + i, topics.get(i));
+        }
+    }
+
+    @Test
+    void pollAny_highestPriorityFirst() {
+        offer("low", Mqtt5PublishPriority.LOW);
+        offer("high", Mqtt5PublishPriority.HIGH);
+
+        assertEquals("high", topic(lanes.pollAny()));
+        assertEquals("low", topic(lanes.pollAny()));
+        assertNull(lanes.pollAny());
+    }
+
+    private void offer(final @NotNull String topic, final @NotNull Mqtt5PublishPriority priority) {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic(topic).priority(priority).build();
+        lanes.offer(MqttPublishWithFlow.of(publish, ackFlow));
+    }
+
+    private @Nullable String poll(final boolean strict) {
+        final MqttPublishWithFlow peeked = lanes.peek(strict);
+        if (peeked == null) {
+            return null;
+        }
+        final MqttPublishWithFlow polled = lanes.poll();
+        assertEquals(peeked, polled);
+        return topic(polled);
+    }
+
+    private @NotNull List<String> pollAll(final boolean strict) {
+        final List<String> topics = new ArrayList<>();
+        for (String topic = poll(strict); topic != null; topic = poll(strict)) {
+            topics.add(topic);
+        }
+        return topics;
+    }
+
+    private static @Nullable String topic(final @Nullable MqttPublishWithFlow publishWithFlow) {
+        return (publishWithFlow == null) ? null : publishWithFlow.getPublish().getTopic().toString();
+    }
+}
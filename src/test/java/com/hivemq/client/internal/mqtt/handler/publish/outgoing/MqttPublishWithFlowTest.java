@@ -0,0 +1,119 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishBuilder;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The elapsed time is controlled by the clock passed to the publishes instead of waiting.
+ *
+ * @author Silvio Giebl
+ */
+class MqttPublishWithFlowTest {
+
+    private final @NotNull MqttAckFlow ackFlow = mock(MqttAckFlow.class);
+    private long nanoTime;
+
+    @Test
+    void getPublishToSend_noMessageExpiry_samePublish() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(1_100);
+        assertSame(publish, publishWithFlow.getPublishToSend());
+        publishWithFlow.recycle();
+    }
+
+    @Test
+    void getPublishToSend_lessThanOneSecond_samePublish() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").messageExpiryInterval(10).build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(999);
+        assertSame(publish, publishWithFlow.getPublishToSend());
+        publishWithFlow.recycle();
+    }
+
+    @Test
+    void getPublishToSend_elapsedPartially_remainingMessageExpiryInterval() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .qos(MqttQos.AT_LEAST_ONCE)
+                .messageExpiryInterval(10)
+                .userProperties()
+                .add("key", "value")
+                .applyUserProperties()
+                .build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(1_100);
+        final MqttPublish publishToSend = publishWithFlow.getPublishToSend();
+        assertNotNull(publishToSend);
+        assertEquals(9, publishToSend.getRawMessageExpiryInterval());
+        assertEquals(publish, publishToSend.extend().messageExpiryInterval(10).build());
+        // the result still contains the original publish
+        assertSame(publish, publishWithFlow.getPublish());
+        publishWithFlow.recycle();
+    }
+
+    @Test
+    void getPublishToSend_elapsed_null() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").messageExpiryInterval(1).build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(1_100);
+        assertNull(publishWithFlow.getPublishToSend());
+        publishWithFlow.recycle();
+    }
+
+    @Test
+    void getPublishToSend_zeroMessageExpiry_samePublish() {
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").messageExpiryInterval(0).build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(1_100);
+        assertSame(publish, publishWithFlow.getPublishToSend());
+        publishWithFlow.recycle();
+    }
+
+    @Test
+    void getPublishToSend_clockStartsAtCreation() {
+        advance(5_000);
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic").messageExpiryInterval(2).build();
+        final MqttPublishWithFlow publishWithFlow = MqttPublishWithFlow.of(publish, ackFlow, () -> nanoTime);
+
+        advance(1_999);
+        final MqttPublish publishToSend = publishWithFlow.getPublishToSend();
+        assertNotNull(publishToSend);
+        assertEquals(1, publishToSend.getRawMessageExpiryInterval());
+        advance(1);
+        assertNull(publishWithFlow.getPublishToSend());
+        publishWithFlow.recycle();
+    }
+
+    private void advance(final long millis) {
+        nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.junit.jupiter.api.Test;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasAutoMappingTest {
+
+    @Test
+    void onPublish_preferred_overwritesTopicAliasImmediately() {
+        final MqttTopicAliasAutoMapping mapping = new MqttTopicAliasAutoMapping(2);
+        for (int i = 0; i < 10; i++) {
+            mapping.onPublish(MqttTopicImpl.of("a"), Mqtt5TopicAliasUsage.MAY);
+            mapping.onPublish(MqttTopicImpl.of("b"), Mqtt5TopicAliasUsage.MAY);
+        }
+
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("c"), Mqtt5TopicAliasUsage.MAY));
+        final int topicAlias = mapping.onPublish(MqttTopicImpl.of("d"), Mqtt5TopicAliasUsage.PREFERRED);
+        assertEquals(TOPIC_ALIAS_FLAG_NEW, topicAlias & TOPIC_ALIAS_FLAG_NEW);
+        assertEquals(topicAlias & TOPIC_ALIAS_FLAG,
+                mapping.onPublish(MqttTopicImpl.of("d"), Mqtt5TopicAliasUsage.MAY));
+    }
+}
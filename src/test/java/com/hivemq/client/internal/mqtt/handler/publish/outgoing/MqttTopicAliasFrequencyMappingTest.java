@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.junit.jupiter.api.Test;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasFrequencyMappingTest {
+
+    @Test
+    void onPublish_freeTopicAliases_assignsInOrder() {
+        final MqttTopicAliasFrequencyMapping mapping = new MqttTopicAliasFrequencyMapping(2);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(topic(0), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(topic(1), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1, mapping.onPublish(topic(0), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2, mapping.onPublish(topic(1), Mqtt5TopicAliasUsage.MAY));
+    }
+
+    @Test
+    void onPublish_rareTopic_doesNotOverwriteHotTopics() {
+        final MqttTopicAliasFrequencyMapping mapping = new MqttTopicAliasFrequencyMapping(4);
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 4; j++) {
+                mapping.onPublish(topic(j), Mqtt5TopicAliasUsage.MAY);
+            }
+        }
+
+        for (int i = 4; i < 100; i++) {
+            assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(topic(i), Mqtt5TopicAliasUsage.MAY));
+        }
+        for (int j = 0; j < 4; j++) {
+            assertEquals(j + 1, mapping.onPublish(topic(j), Mqtt5TopicAliasUsage.MAY));
+        }
+    }
+
+    @Test
+    void onPublish_preferred_overwritesTopicAlias() {
+        final MqttTopicAliasFrequencyMapping mapping = new MqttTopicAliasFrequencyMapping(1);
+        mapping.onPublish(topic(0), Mqtt5TopicAliasUsage.MAY);
+        mapping.onPublish(topic(0), Mqtt5TopicAliasUsage.MAY);
+
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(topic(1), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(topic(1), Mqtt5TopicAliasUsage.PREFERRED));
+        assertEquals(1, mapping.onPublish(topic(1), Mqtt5TopicAliasUsage.MAY));
+    }
+
+    @Test
+    void onPublish_shiftingHotSet_followsHotTopics() {
+        final int topicAliasMaximum = 8;
+        final MqttTopicAliasFrequencyMapping mapping = new MqttTopicAliasFrequencyMapping(topicAliasMaximum);
+        for (int i = 0; i < 1000; i++) {
+            mapping.onPublish(topic(i % topicAliasMaximum), Mqtt5TopicAliasUsage.MAY);
+        }
+
+        int aliased = 0;
+        for (int i = 0; i < 10_000; i++) {
+            final int topicAlias = mapping.onPublish(topic(100 + (i % topicAliasMaximum)), Mqtt5TopicAliasUsage.MAY);
+            if ((i >= 9_000) && ((topicAlias & TOPIC_ALIAS_FLAG) != DEFAULT_NO_TOPIC_ALIAS)) {
+                aliased++;
+            }
+        }
+        assertEquals(1000, aliased);
+    }
+
+    @Test
+    void onPublish_manyTopics_topicAliasesStayInRange() {
+        final MqttTopicAliasFrequencyMapping mapping = new MqttTopicAliasFrequencyMapping(16);
+        for (int i = 0; i < 100_000; i++) {
+            final int topicAlias = mapping.onPublish(topic((i * 31) % 1000), Mqtt5TopicAliasUsage.MAY);
+            assertTrue((topicAlias & TOPIC_ALIAS_FLAG) <= 16);
+        }
+    }
+
+    private static MqttTopicImpl topic(final int i) {
+        return MqttTopicImpl.of("site/building/floor/room/device-" + i + "/sensor/temperature");
+    }
+}
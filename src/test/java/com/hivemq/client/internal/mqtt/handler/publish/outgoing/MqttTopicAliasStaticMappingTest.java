@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.junit.jupiter.api.Test;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasStaticMappingTest {
+
+    private static final MqttTopicImpl TOPIC_A = MqttTopicImpl.of("a");
+    private static final MqttTopicImpl TOPIC_B = MqttTopicImpl.of("b");
+    private static final MqttTopicImpl TOPIC_C = MqttTopicImpl.of("c");
+    private static final MqttTopicImpl TOPIC_D = MqttTopicImpl.of("d");
+
+    @Test
+    void onPublish_knownTopics_defineTopicAliasOnFirstPublish() {
+        final MqttTopicAliasStaticMapping mapping =
+                new MqttTopicAliasStaticMapping(2, ImmutableList.of(TOPIC_A, TOPIC_B));
+
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_B, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_A, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1, mapping.onPublish(TOPIC_A, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2, mapping.onPublish(TOPIC_B, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(TOPIC_C, Mqtt5TopicAliasUsage.PREFERRED));
+    }
+
+    @Test
+    void onPublish_moreTopicsThanTopicAliasMaximum_ignoresLastTopics() {
+        final MqttTopicAliasStaticMapping mapping =
+                new MqttTopicAliasStaticMapping(2, ImmutableList.of(TOPIC_A, TOPIC_A, TOPIC_B, TOPIC_C));
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_A, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_B, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(TOPIC_C, Mqtt5TopicAliasUsage.MAY));
+    }
+
+    @Test
+    void onPublish_lessTopicsThanTopicAliasMaximum_assignsRemainingTopicAliasesAutomatically() {
+        final MqttTopicAliasStaticMapping mapping = new MqttTopicAliasStaticMapping(3, ImmutableList.of(TOPIC_A));
+
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_C, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(3 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_D, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(TOPIC_A, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2, mapping.onPublish(TOPIC_C, Mqtt5TopicAliasUsage.MAY));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(TOPIC_B, Mqtt5TopicAliasUsage.MAY));
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.publish.outgoing;
+
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicImpl;
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublish;
+import com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish;
+import com.hivemq.client.mqtt.mqtt5.advanced.topicalias.Mqtt5TopicAliasStrategy;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5Publish;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5TopicAliasUsage;
+import org.junit.jupiter.api.Test;
+
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.DEFAULT_NO_TOPIC_ALIAS;
+import static com.hivemq.client.internal.mqtt.message.publish.MqttStatefulPublish.TOPIC_ALIAS_FLAG_NEW;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttTopicAliasStrategiesTest {
+
+    @Test
+    void createMapping_zeroTopicAliasMaximum_returnsNull() {
+        assertNull(MqttTopicAliasStrategies.createMapping(Mqtt5TopicAliasStrategy.auto(), 0));
+    }
+
+    @Test
+    void createMapping_builtInStrategies() {
+        assertTrue(MqttTopicAliasStrategies.createMapping(
+                Mqtt5TopicAliasStrategy.auto(), 5) instanceof MqttTopicAliasAutoMapping);
+        assertTrue(MqttTopicAliasStrategies.createMapping(
+                Mqtt5TopicAliasStrategy.frequency(), 5) instanceof MqttTopicAliasFrequencyMapping);
+        assertTrue(MqttTopicAliasStrategies.createMapping(
+                Mqtt5TopicAliasStrategy.preloaded("a", "b"), 5) instanceof MqttTopicAliasStaticMapping);
+    }
+
+    @Test
+    void createMapping_customMapping_tracksDefinedTopicAliases() {
+        final MqttTopicAliasMapping mapping = MqttTopicAliasStrategies.createMapping(
+                topicAliasMaximum -> (topic, usage) -> topic.toString().length(), 3);
+        assertNotNull(mapping);
+
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("a"), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1, mapping.onPublish(MqttTopicImpl.of("a"), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(1 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("b"), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(2 | TOPIC_ALIAS_FLAG_NEW, mapping.onPublish(MqttTopicImpl.of("cc"), Mqtt5TopicAliasUsage.MAY));
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, mapping.onPublish(MqttTopicImpl.of("dddd"), Mqtt5TopicAliasUsage.MAY));
+    }
+
+    @Test
+    void createStateful_topicAliasUsageNo_doesNotUseTopicAlias() {
+        final MqttTopicAliasMapping mapping = new MqttTopicAliasAutoMapping(5);
+        final MqttPublish publish = (MqttPublish) Mqtt5Publish.builder()
+                .topic("topic")
+                .topicAliasUsage(Mqtt5TopicAliasUsage.NO)
+                .build();
+
+        final MqttStatefulPublish statefulPublish = publish.createStateful(1, false, mapping);
+        assertEquals(DEFAULT_NO_TOPIC_ALIAS, statefulPublish.getTopicAlias());
+        assertEquals(Mqtt5TopicAliasUsage.NO, publish.extend().build().getTopicAliasUsage());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.ssl;
+
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientSslConfigImplBuilder;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttSslContextCacheTest {
+
+    private final @NotNull MqttSslContextCache cache = new MqttSslContextCache();
+
+    @Test
+    void acquire_equalConfigs_sharesContext() throws Exception {
+        final MqttSslContextCache.Entry entry1 = cache.acquire(new MqttClientSslConfigImplBuilder.Default().build());
+        final MqttSslContextCache.Entry entry2 = cache.acquire(new MqttClientSslConfigImplBuilder.Default().build());
+
+        assertSame(entry1, entry2);
+        assertSame(entry1.getSslContext(), entry2.getSslContext());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void acquire_differentConfigs_separateContexts() throws Exception {
+        final MqttSslContextCache.Entry entry1 = cache.acquire(new MqttClientSslConfigImplBuilder.Default().build());
+        final MqttSslContextCache.Entry entry2 = cache.acquire(new MqttClientSslConfigImplBuilder.Default().protocols(
+                Collections.singletonList("TLSv1.2")).build());
+
+        assertNotSame(entry1.getSslContext(), entry2.getSslContext());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void release_lastReference_removesContext() throws Exception {
+        final MqttClientSslConfigImpl sslConfig = new MqttClientSslConfigImplBuilder.Default().build();
+        final MqttSslContextCache.Entry entry = cache.acquire(sslConfig);
+        cache.acquire(sslConfig);
+
+        cache.release(entry);
+        assertEquals(1, cache.size());
+        cache.release(entry);
+        assertEquals(0, cache.size());
+
+        assertNotSame(entry, cache.acquire(sslConfig));
+    }
+
+    @Test
+    void onHandshake_countsResumedHandshakes() throws Exception {
+        final MqttSslContextCache.Entry entry = cache.acquire(new MqttClientSslConfigImplBuilder.Default().build());
+
+        entry.onHandshake(1_000, false);
+        entry.onHandshake(200, true);
+        entry.onHandshake(300, true);
+
+        assertEquals(3, entry.getHandshakeCount());
+        assertEquals(2, entry.getResumedHandshakeCount());
+        assertEquals(1_500, entry.getHandshakeNanos());
+    }
+}
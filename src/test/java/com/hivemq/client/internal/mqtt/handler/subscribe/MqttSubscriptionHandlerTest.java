@@ -0,0 +1,389 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.subscribe;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttClientConnectionConfig;
+import com.hivemq.client.internal.mqtt.MqttClientTransportConfigImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttTopicFilterImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttUserPropertiesImpl;
+import com.hivemq.client.internal.mqtt.datatypes.MqttVariableByteInteger;
+import com.hivemq.client.internal.mqtt.handler.publish.incoming.MqttIncomingPublishFlows;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttStatefulSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribe;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscribeBuilder;
+import com.hivemq.client.internal.mqtt.message.subscribe.MqttSubscription;
+import com.hivemq.client.internal.mqtt.message.subscribe.suback.MqttSubAck;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttStatefulUnsubscribe;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribe;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.MqttUnsubscribeBuilder;
+import com.hivemq.client.internal.mqtt.message.unsubscribe.unsuback.MqttUnsubAck;
+import com.hivemq.client.internal.util.collections.ImmutableList;
+import com.hivemq.client.mqtt.MqttVersion;
+import com.hivemq.client.mqtt.datatypes.MqttQos;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5SubAckException;
+import com.hivemq.client.mqtt.mqtt5.exceptions.Mqtt5UnsubAckException;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAck;
+import com.hivemq.client.mqtt.mqtt5.message.subscribe.suback.Mqtt5SubAckReasonCode;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAck;
+import com.hivemq.client.mqtt.mqtt5.message.unsubscribe.unsuback.Mqtt5UnsubAckReasonCode;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.reactivex.observers.TestObserver;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The server is played by the test: the written (UN)SUBSCRIBE packets are read from the embedded channel and answered
+ * with a distinct reason code per topic filter, so that it is visible which reason codes a caller receives.
+ *
+ * @author Silvio Giebl
+ */
+class MqttSubscriptionHandlerTest {
+
+    private static final int MAXIMUM_PACKET_SIZE = 100;
+    private static final @NotNull List<Mqtt5SubAckReasonCode> SUBACK_REASON_CODES =
+            Arrays.asList(Mqtt5SubAckReasonCode.values());
+    private static final @NotNull List<Mqtt5UnsubAckReasonCode> UNSUBACK_REASON_CODES =
+            Arrays.asList(Mqtt5UnsubAckReasonCode.values());
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig = mock(MqttClientConfig.class);
+    private final @NotNull MqttSubscriptionHandler handler =
+            new MqttSubscriptionHandler(clientConfig, mock(MqttIncomingPublishFlows.class));
+
+    @BeforeEach
+    void setUp() {
+        when(clientConfig.getMqttVersion()).thenReturn(MqttVersion.MQTT_5_0);
+        when(clientConfig.acquireEventLoop()).thenReturn(channel.eventLoop());
+        channel.pipeline().addLast(handler);
+        handler.onSessionStartOrResume(connectionConfig(true, true), channel.eventLoop());
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void subscribe_exceedingMaximumPacketSize_splitIntoMultipleSubscribes() {
+        final TestObserver<MqttSubAck> subAck = subscribe(topicFilters("topic/", 0, 20));
+        channel.runPendingTasks();
+
+        final List<MqttStatefulSubscribe> subscribes = readSubscribes();
+        assertTrue(subscribes.size() > 1);
+        int subscriptions = 0;
+        for (final MqttStatefulSubscribe subscribe : subscribes) {
+            assertTrue(encodedLength(subscribe.stateless()) <= MAXIMUM_PACKET_SIZE);
+            subscriptions += subscribe.stateless().getSubscriptions().size();
+        }
+        assertEquals(20, subscriptions);
+        subAck.assertNotComplete();
+
+        subscribes.forEach(this::subAck);
+
+        assertSubAck(subAck, 0, 20);
+    }
+
+    @Test
+    void subscribe_pendingSubscribes_mergedIntoOneSubscribe() {
+        final TestObserver<MqttSubAck> subAck1 = subscribe(topicFilters("topic/", 0, 1));
+        final TestObserver<MqttSubAck> subAck2 = subscribe(topicFilters("topic/", 1, 3));
+        final TestObserver<MqttSubAck> subAck3 = subscribe(topicFilters("topic/", 3, 4));
+        channel.runPendingTasks();
+
+        final List<MqttStatefulSubscribe> subscribes = readSubscribes();
+        assertEquals(1, subscribes.size());
+        assertEquals(4, subscribes.get(0).stateless().getSubscriptions().size());
+
+        subAck(subscribes.get(0));
+
+        assertSubAck(subAck1, 0, 1);
+        assertSubAck(subAck2, 1, 3);
+        assertSubAck(subAck3, 3, 4);
+    }
+
+    @Test
+    void subscribe_pendingSubscribesExceedingMaximumPacketSize_mergedAndSplit() {
+        final TestObserver<MqttSubAck> subAck1 = subscribe(topicFilters("topic/", 0, 5));
+        final TestObserver<MqttSubAck> subAck2 = subscribe(topicFilters("topic/", 5, 17));
+        final TestObserver<MqttSubAck> subAck3 = subscribe(topicFilters("topic/", 17, 20));
+        channel.runPendingTasks();
+
+        final List<MqttStatefulSubscribe> subscribes = readSubscribes();
+        assertTrue(subscribes.size() > 1);
+        assertTrue(subscribes.size() < 20);
+
+        // acknowledged in reverse order, so the reason codes are not mapped back by the order of sending
+        for (int i = subscribes.size() - 1; i >= 0; i--) {
+            subAck(subscribes.get(i));
+        }
+
+        assertSubAck(subAck1, 0, 5);
+        assertSubAck(subAck2, 5, 17);
+        assertSubAck(subAck3, 17, 20);
+    }
+
+    @Test
+    void unsubscribe_pendingUnsubscribes_mergedAndSplit() {
+        final TestObserver<MqttUnsubAck> unsubAck1 = unsubscribe(topicFilters("topic/", 0, 1));
+        final TestObserver<MqttUnsubAck> unsubAck2 = unsubscribe(topicFilters("topic/", 1, 3));
+        final TestObserver<MqttUnsubAck> unsubAck3 = unsubscribe(topicFilters("topic/", 3, 20));
+        channel.runPendingTasks();
+
+        final List<MqttStatefulUnsubscribe> unsubscribes = readUnsubscribes();
+        assertTrue(unsubscribes.size() > 1);
+        int topicFilters = 0;
+        for (final MqttStatefulUnsubscribe unsubscribe : unsubscribes) {
+            assertTrue(encodedLength(unsubscribe.stateless()) <= MAXIMUM_PACKET_SIZE);
+            topicFilters += unsubscribe.stateless().getTopicFilters().size();
+        }
+        assertEquals(20, topicFilters);
+        // the first two unsubscribes are merged into the first packet
+        assertTrue(unsubscribes.get(0).stateless().getTopicFilters().size() > 3);
+
+        for (int i = unsubscribes.size() - 1; i >= 0; i--) {
+            unsubAck(unsubscribes.get(i));
+        }
+
+        assertUnsubAck(unsubAck1, 0, 1);
+        assertUnsubAck(unsubAck2, 1, 3);
+        assertUnsubAck(unsubAck3, 3, 20);
+    }
+
+    @Test
+    void onSessionStartEarly_wildcardOrSharedSubscribes_heldBackUntilConfirmed() {
+        startSessionEarly();
+        final TestObserver<MqttSubAck> subAck1 = subscribe(topicFilters("topic/", 0, 1));
+        final TestObserver<MqttSubAck> subAck2 = subscribe(Arrays.asList("topic/+/01", "$share/group/topic/02"));
+        channel.runPendingTasks();
+
+        final List<MqttStatefulSubscribe> subscribes = readSubscribes();
+        assertEquals(1, subscribes.size());
+        assertEquals(1, subscribes.get(0).stateless().getSubscriptions().size());
+
+        handler.onSessionStartConfirmed(connectionConfig(true, true), channel.eventLoop());
+        channel.runPendingTasks();
+
+        final List<MqttStatefulSubscribe> heldBack = readSubscribes();
+        assertEquals(1, heldBack.size());
+        assertEquals(2, heldBack.get(0).stateless().getSubscriptions().size());
+        subAck(subscribes.get(0));
+        subAck(heldBack.get(0));
+        assertSubAck(subAck1, 0, 1);
+        assertSubAck(subAck2, 1, 3);
+    }
+
+    @Test
+    void onSessionStartConfirmed_wildcardOrSharedNotSupported_heldBackSubscribesFailed() {
+        startSessionEarly();
+        final TestObserver<MqttSubAck> subAck1 = subscribe(Arrays.asList("topic/+/00", "topic/01"));
+        final TestObserver<MqttSubAck> subAck2 = subscribe(Collections.singletonList("$share/group/topic/02"));
+        final TestObserver<MqttSubAck> subAck3 = subscribe(topicFilters("topic/", 3, 4));
+        channel.runPendingTasks();
+        assertNull(channel.readOutbound());
+
+        handler.onSessionStartConfirmed(connectionConfig(false, false), channel.eventLoop());
+        channel.runPendingTasks();
+
+        assertEquals(Arrays.asList(Mqtt5SubAckReasonCode.WILDCARD_SUBSCRIPTIONS_NOT_SUPPORTED,
+                Mqtt5SubAckReasonCode.UNSPECIFIED_ERROR), subAckError(subAck1).getReasonCodes());
+        assertEquals(Collections.singletonList(Mqtt5SubAckReasonCode.SHARED_SUBSCRIPTIONS_NOT_SUPPORTED),
+                subAckError(subAck2).getReasonCodes());
+        final List<MqttStatefulSubscribe> subscribes = readSubscribes();
+        assertEquals(1, subscribes.size());
+        assertEquals(1, subscribes.get(0).stateless().getSubscriptions().size());
+        subAck(subscribes.get(0));
+        assertSubAck(subAck3, 3, 4);
+    }
+
+    /**
+     * Starts a session before the ConnAck message is received (fast start), the restrictions of the server are not
+     * known yet.
+     */
+    private void startSessionEarly() {
+        handler.onSessionEnd(new Exception("session expired"));
+        handler.onSessionStartEarly(connectionConfig(true, true), channel.eventLoop());
+    }
+
+    /**
+     * Creates a connection config with a small maximum packet size and without subscription identifiers.
+     */
+    private @NotNull MqttClientConnectionConfig connectionConfig(
+            final boolean wildcardSubscriptionAvailable, final boolean sharedSubscriptionAvailable) {
+
+        return new MqttClientConnectionConfig(MqttClientTransportConfigImpl.DEFAULT, 10, true, true, 0, false, false,
+                null, 10, MqttVariableByteInteger.MAXIMUM_PACKET_SIZE_LIMIT, 0, true, false, 10, MAXIMUM_PACKET_SIZE,
+                null, MqttQos.EXACTLY_ONCE, true, wildcardSubscriptionAvailable, sharedSubscriptionAvailable, false,
+                channel);
+    }
+
+    private @NotNull TestObserver<MqttSubAck> subscribe(final @NotNull List<String> topicFilters) {
+        final MqttSubscribeBuilder.Default builder = new MqttSubscribeBuilder.Default();
+        for (final String topicFilter : topicFilters) {
+            builder.addSubscription().topicFilter(topicFilter).qos(MqttQos.AT_LEAST_ONCE).applySubscription();
+        }
+        final TestObserver<MqttSubAck> observer = new TestObserver<>();
+        final MqttSubOrUnsubAckFlow<MqttSubAck> flow = new MqttSubOrUnsubAckFlow<>(observer, clientConfig);
+        observer.onSubscribe(flow);
+        handler.subscribe(builder.build(), flow);
+        return observer;
+    }
+
+    private @NotNull TestObserver<MqttUnsubAck> unsubscribe(final @NotNull List<String> topicFilters) {
+        final MqttUnsubscribeBuilder.Default builder = new MqttUnsubscribeBuilder.Default();
+        for (final String topicFilter : topicFilters) {
+            builder.addTopicFilter(topicFilter);
+        }
+        final TestObserver<MqttUnsubAck> observer = new TestObserver<>();
+        final MqttSubOrUnsubAckFlow<MqttUnsubAck> flow = new MqttSubOrUnsubAckFlow<>(observer, clientConfig);
+        observer.onSubscribe(flow);
+        handler.unsubscribe(builder.build(), flow);
+        return observer;
+    }
+
+    private @NotNull List<MqttStatefulSubscribe> readSubscribes() {
+        final List<MqttStatefulSubscribe> subscribes = new ArrayList<>();
+        for (Object message; (message = channel.readOutbound()) != null; ) {
+            subscribes.add((MqttStatefulSubscribe) message);
+        }
+        return subscribes;
+    }
+
+    private @NotNull List<MqttStatefulUnsubscribe> readUnsubscribes() {
+        final List<MqttStatefulUnsubscribe> unsubscribes = new ArrayList<>();
+        for (Object message; (message = channel.readOutbound()) != null; ) {
+            unsubscribes.add((MqttStatefulUnsubscribe) message);
+        }
+        return unsubscribes;
+    }
+
+    /**
+     * Answers a SUBSCRIBE with the reason code of {@link #subAckReasonCode(MqttTopicFilterImpl)} for each subscription.
+     */
+    private void subAck(final @NotNull MqttStatefulSubscribe subscribe) {
+        final ImmutableList<MqttSubscription> subscriptions = subscribe.stateless().getSubscriptions();
+        final ImmutableList.Builder<Mqtt5SubAckReasonCode> reasonCodes = ImmutableList.builder(subscriptions.size());
+        for (final MqttSubscription subscription : subscriptions) {
+            reasonCodes.add(subAckReasonCode(subscription.getTopicFilter()));
+        }
+        channel.writeInbound(new MqttSubAck(subscribe.getPacketIdentifier(), reasonCodes.build(), null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+    }
+
+    /**
+     * Answers an UNSUBSCRIBE with the reason code of {@link #unsubAckReasonCode(MqttTopicFilterImpl)} for each topic
+     * filter.
+     */
+    private void unsubAck(final @NotNull MqttStatefulUnsubscribe unsubscribe) {
+        final ImmutableList<MqttTopicFilterImpl> topicFilters = unsubscribe.stateless().getTopicFilters();
+        final ImmutableList.Builder<Mqtt5UnsubAckReasonCode> reasonCodes = ImmutableList.builder(topicFilters.size());
+        for (final MqttTopicFilterImpl topicFilter : topicFilters) {
+            reasonCodes.add(unsubAckReasonCode(topicFilter));
+        }
+        channel.writeInbound(new MqttUnsubAck(unsubscribe.getPacketIdentifier(), reasonCodes.build(), null,
+                MqttUserPropertiesImpl.NO_USER_PROPERTIES));
+    }
+
+    private static @NotNull List<String> topicFilters(final @NotNull String prefix, final int from, final int to) {
+        final List<String> topicFilters = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            topicFilters.add(String.format("%s%02d", prefix, i));
+        }
+        return topicFilters;
+    }
+
+    private static int index(final @NotNull MqttTopicFilterImpl topicFilter) {
+        final String string = topicFilter.toString();
+        return Integer.parseInt(string.substring(string.length() - 2));
+    }
+
+    private static @NotNull Mqtt5SubAckReasonCode subAckReasonCode(final @NotNull MqttTopicFilterImpl topicFilter) {
+        return SUBACK_REASON_CODES.get(index(topicFilter) % SUBACK_REASON_CODES.size());
+    }
+
+    private static @NotNull Mqtt5UnsubAckReasonCode unsubAckReasonCode(final @NotNull MqttTopicFilterImpl topicFilter) {
+        return UNSUBACK_REASON_CODES.get(index(topicFilter) % UNSUBACK_REASON_CODES.size());
+    }
+
+    private static @NotNull List<Mqtt5SubAckReasonCode> subAckReasonCodes(final int from, final int to) {
+        final List<Mqtt5SubAckReasonCode> reasonCodes = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            reasonCodes.add(SUBACK_REASON_CODES.get(i % SUBACK_REASON_CODES.size()));
+        }
+        return reasonCodes;
+    }
+
+    private static @NotNull List<Mqtt5UnsubAckReasonCode> unsubAckReasonCodes(final int from, final int to) {
+        final List<Mqtt5UnsubAckReasonCode> reasonCodes = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            reasonCodes.add(UNSUBACK_REASON_CODES.get(i % UNSUBACK_REASON_CODES.size()));
+        }
+        return reasonCodes;
+    }
+
+    /**
+     * Asserts that the caller received the reason codes for its own topic filters. A caller whose reason codes are all
+     * errors receives them with the exception.
+     */
+    private static void assertSubAck(final @NotNull TestObserver<MqttSubAck> observer, final int from, final int to) {
+        observer.assertTerminated();
+        final Mqtt5SubAck subAck = (observer.errorCount() == 0) ? observer.values().get(0) :
+                ((Mqtt5SubAckException) observer.errors().get(0)).getMqttMessage();
+        assertEquals(subAckReasonCodes(from, to), subAck.getReasonCodes());
+    }
+
+    private static @NotNull Mqtt5SubAck subAckError(final @NotNull TestObserver<MqttSubAck> observer) {
+        observer.assertError(Mqtt5SubAckException.class);
+        return ((Mqtt5SubAckException) observer.errors().get(0)).getMqttMessage();
+    }
+
+    private static void assertUnsubAck(
+            final @NotNull TestObserver<MqttUnsubAck> observer, final int from, final int to) {
+
+        observer.assertTerminated();
+        final Mqtt5UnsubAck unsubAck = (observer.errorCount() == 0) ? observer.values().get(0) :
+                ((Mqtt5UnsubAckException) observer.errors().get(0)).getMqttMessage();
+        assertEquals(unsubAckReasonCodes(from, to), unsubAck.getReasonCodes());
+    }
+
+    private static int encodedLength(final @NotNull MqttSubscribe subscribe) {
+        int remainingLength = 2 + 1; // packet identifier + property length 0
+        for (final MqttSubscription subscription : subscribe.getSubscriptions()) {
+            remainingLength += subscription.getTopicFilter().encodedLength() + 1;
+        }
+        return 1 + MqttVariableByteInteger.encodedLength(remainingLength) + remainingLength;
+    }
+
+    private static int encodedLength(final @NotNull MqttUnsubscribe unsubscribe) {
+        int remainingLength = 2 + 1; // packet identifier + property length 0
+        for (final MqttTopicFilterImpl topicFilter : unsubscribe.getTopicFilters()) {
+            remainingLength += topicFilter.encodedLength();
+        }
+        return 1 + MqttVariableByteInteger.encodedLength(remainingLength) + remainingLength;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.http.websocketx.BinaryWebSocketFrame;
+import io.netty.handler.codec.http.websocketx.PingWebSocketFrame;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttWebSocketFramePackerTest {
+
+    private final @NotNull EmbeddedChannel channel =
+            new EmbeddedChannel(new MqttWebSocketCodec(), new MqttWebSocketFramePacker(10));
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void write_packetsOfOneFlush_packedIntoSingleFrame() {
+        final ChannelFuture future1 = channel.write(buffer(1, 2));
+        final ChannelFuture future2 = channel.write(buffer(3));
+        final ChannelFuture future3 = channel.write(buffer(4, 5, 6));
+        assertNull(channel.readOutbound());
+        channel.flush();
+
+        assertFrame(channel.readOutbound(), 1, 2, 3, 4, 5, 6);
+        assertNull(channel.readOutbound());
+        assertTrue(future1.isSuccess());
+        assertTrue(future2.isSuccess());
+        assertTrue(future3.isSuccess());
+    }
+
+    @Test
+    void write_exceedingMaxFrameSize_splitIntoMultipleFrames() {
+        channel.write(buffer(1, 2, 3, 4, 5, 6));
+        channel.write(buffer(7, 8, 9, 10, 11));
+        channel.write(buffer(12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23));
+        channel.flush();
+
+        assertFrame(channel.readOutbound(), 1, 2, 3, 4, 5, 6);
+        assertFrame(channel.readOutbound(), 7, 8, 9, 10, 11);
+        assertFrame(channel.readOutbound(), 12, 13, 14, 15, 16, 17, 18, 19, 20, 21, 22, 23);
+        assertNull(channel.readOutbound());
+    }
+
+    @Test
+    void write_otherMessage_keepsOrder() {
+        channel.write(buffer(1));
+        final PingWebSocketFrame ping = new PingWebSocketFrame();
+        channel.write(ping);
+        channel.write(buffer(2));
+        channel.flush();
+
+        assertFrame(channel.readOutbound(), 1);
+        assertSame(ping, channel.readOutbound());
+        assertFrame(channel.readOutbound(), 2);
+        assertNull(channel.readOutbound());
+    }
+
+    private static @NotNull ByteBuf buffer(final int... bytes) {
+        final ByteBuf byteBuf = Unpooled.buffer(bytes.length);
+        for (final int b : bytes) {
+            byteBuf.writeByte(b);
+        }
+        return byteBuf;
+    }
+
+    private static void assertFrame(final @NotNull Object frame, final int... bytes) {
+        assertTrue(frame instanceof BinaryWebSocketFrame);
+        final ByteBuf content = ((BinaryWebSocketFrame) frame).content();
+        assertEquals(buffer(bytes), content);
+        content.release();
+    }
+}
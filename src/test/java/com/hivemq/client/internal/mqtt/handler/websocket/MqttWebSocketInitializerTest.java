@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.handler.websocket;
+
+import com.hivemq.client.internal.mqtt.MqttClientConfig;
+import com.hivemq.client.internal.mqtt.MqttRxClient;
+import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttWebSocketConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttClient;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttWebSocketInitializerTest {
+
+    private final @NotNull EmbeddedChannel channel = new EmbeddedChannel();
+    private final @NotNull MqttClientConfig clientConfig =
+            ((MqttRxClient) MqttClient.builder().useMqttVersion5().buildRx()).getConfig();
+    private final @NotNull MqttWebSocketInitializer webSocketInitializer =
+            new MqttWebSocketInitializer(new MqttWebSocketCodec());
+
+    @AfterEach
+    void tearDown() {
+        channel.close();
+    }
+
+    @Test
+    void initChannel_default() {
+        final MqttWebSocketConfigImpl webSocketConfig = new MqttWebSocketConfigImplBuilder.Default().build();
+        webSocketInitializer.initChannel(channel, clientConfig, webSocketConfig, c -> {}, (c, t) -> fail(t));
+
+        assertFalse(readHandshakeRequest().contains("permessage-deflate"));
+        assertNull(channel.pipeline().get(MqttWebSocketFramePacker.NAME));
+    }
+
+    @Test
+    void initChannel_compressionAndFramePacking() {
+        final MqttWebSocketConfigImpl webSocketConfig = new MqttWebSocketConfigImplBuilder.Default()
+                .compressionEnabled(true)
+                .framePackingEnabled(true)
+                .build();
+        webSocketInitializer.initChannel(channel, clientConfig, webSocketConfig, c -> {}, (c, t) -> fail(t));
+
+        assertTrue(readHandshakeRequest().contains("permessage-deflate"));
+        assertNotNull(channel.pipeline().get(MqttWebSocketFramePacker.NAME));
+    }
+
+    private @NotNull String readHandshakeRequest() {
+        final ByteBuf request = channel.readOutbound();
+        assertNotNull(request);
+        final String string = request.toString(StandardCharsets.US_ASCII);
+        request.release();
+        return string;
+    }
+}
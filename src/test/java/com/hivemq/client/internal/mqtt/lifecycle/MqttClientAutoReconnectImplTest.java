@@ -0,0 +1,62 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.mqtt.lifecycle;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class MqttClientAutoReconnectImplTest {
+
+    @Test
+    void decorrelatedJitterDelay_withinBounds() {
+        final MqttClientAutoReconnectImpl autoReconnect = new MqttClientAutoReconnectImplBuilder.Default().initialDelay(
+                1, TimeUnit.SECONDS).maxDelay(10, TimeUnit.SECONDS).decorrelatedJitter(true).build();
+        final long initial = TimeUnit.SECONDS.toNanos(1);
+        final long max = TimeUnit.SECONDS.toNanos(10);
+
+        long previous = 0;
+        for (int i = 0; i < 1000; i++) {
+            final long delay = autoReconnect.decorrelatedJitterDelay(previous);
+            assertTrue(delay >= initial);
+            assertTrue(delay <= Math.min(3 * Math.max(previous, initial), max));
+            previous = delay;
+        }
+    }
+
+    @Test
+    void decorrelatedJitterDelay_maxDelayBelowInitialDelay_usesMaxDelay() {
+        final MqttClientAutoReconnectImpl autoReconnect = new MqttClientAutoReconnectImplBuilder.Default().initialDelay(
+                10, TimeUnit.SECONDS).maxDelay(1, TimeUnit.SECONDS).decorrelatedJitter(true).build();
+
+        assertEquals(TimeUnit.SECONDS.toNanos(1), autoReconnect.decorrelatedJitterDelay(0));
+    }
+
+    @Test
+    void extend_keepsDecorrelatedJitter() {
+        final MqttClientAutoReconnectImpl autoReconnect =
+                new MqttClientAutoReconnectImplBuilder.Default().decorrelatedJitter(true).build();
+
+        assertTrue(autoReconnect.extend().build().isDecorrelatedJitter());
+        assertFalse(MqttClientAutoReconnectImpl.DEFAULT.isDecorrelatedJitter());
+    }
+}
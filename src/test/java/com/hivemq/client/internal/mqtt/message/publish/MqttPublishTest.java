@@ -16,6 +16,9 @@
 
 package com.hivemq.client.internal.mqtt.message.publish;
 
+import com.hivemq.client.internal.mqtt.advanced.codec.MqttPayloadCodecConfig;
+import com.hivemq.client.mqtt.mqtt5.advanced.codec.Mqtt5PayloadCodec;
+import com.hivemq.client.mqtt.mqtt5.message.publish.Mqtt5PayloadFormatIndicator;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
@@ -35,12 +38,51 @@ class MqttPublishTest {
     void equals() {
         EqualsVerifier.forClass(MqttPublish.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withNonnullFields("topic", "qos", "userProperties", "topicAliasUsage", "priority")
+                .withIgnoredFields("confirmable", "fixedPropertyLength")
                 .withRedefinedSubclass(MqttWillPublish.class)
                 .verify();
     }
 
+    @Test
+    void payloadCodec_encodesPayloadOnBuild() {
+        final byte[] payload = new byte[1000];
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload)
+                .payloadCodec(Mqtt5PayloadCodec.deflate())
+                .build();
+
+        assertTrue(publish.getPayloadAsBytes().length < payload.length);
+        assertTrue(MqttPayloadCodecConfig.isEncoded(publish.getUserProperties()));
+        assertArrayEquals(payload, Mqtt5PayloadCodec.deflate().decode(publish.getRawPayload(), payload.length).array());
+        assertEquals(publish, publish.extend().payloadCodec(Mqtt5PayloadCodec.deflate()).build());
+    }
+
+    @Test
+    void payloadCodec_utf8PayloadFormat_notEncoded() {
+        final byte[] payload = new byte[1000];
+        final MqttPublish publish = new MqttPublishBuilder.Default().topic("topic")
+                .payload(payload)
+                .payloadFormatIndicator(Mqtt5PayloadFormatIndicator.UTF_8)
+                .payloadCodec(Mqtt5PayloadCodec.deflate())
+                .build();
+
+        assertArrayEquals(payload, publish.getPayloadAsBytes());
+        assertFalse(MqttPayloadCodecConfig.isEncoded(publish.getUserProperties()));
+    }
+
+    @Test
+    void payloadCodec_willPublish_encodesPayloadOnBuild() {
+        final byte[] payload = new byte[1000];
+        final MqttWillPublish willPublish = new MqttPublishBuilder.WillDefault().topic("topic")
+                .payload(payload)
+                .payloadCodec(Mqtt5PayloadCodec.deflate())
+                .build();
+
+        assertTrue(willPublish.getPayloadAsBytes().length < payload.length);
+        assertTrue(MqttPayloadCodecConfig.isEncoded(willPublish.getUserProperties()));
+    }
+
     @Test
     void getPayloadAsBytes() {
         final byte[] payload = {1, 2, 3, 4, 5};
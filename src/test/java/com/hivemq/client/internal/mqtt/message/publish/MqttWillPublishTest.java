@@ -30,8 +30,8 @@ class MqttWillPublishTest {
     void equals() {
         EqualsVerifier.forClass(MqttWillPublish.class)
                 .withIgnoredAnnotations(NotNull.class) // EqualsVerifier thinks @NotNull Optional is @NotNull
-                .withNonnullFields("topic", "qos", "userProperties")
-                .withIgnoredFields("confirmable")
+                .withNonnullFields("topic", "qos", "userProperties", "topicAliasUsage", "priority")
+                .withIgnoredFields("confirmable", "fixedPropertyLength")
                 .withRedefinedSuperclass()
                 .suppress(Warning.STRICT_INHERITANCE)
                 .verify();
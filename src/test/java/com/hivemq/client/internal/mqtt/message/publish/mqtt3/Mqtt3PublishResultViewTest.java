@@ -16,10 +16,14 @@
 
 package com.hivemq.client.internal.mqtt.message.publish.mqtt3;
 
+import com.hivemq.client.internal.mqtt.message.publish.MqttPublishResult;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import nl.jqno.equalsverifier.Warning;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
 /**
  * @author Silvio Giebl
  */
@@ -29,4 +33,14 @@ class Mqtt3PublishResultViewTest {
     void equals() {
         EqualsVerifier.forClass(Mqtt3PublishResultView.class).suppress(Warning.STRICT_INHERITANCE).verify();
     }
+
+    @Test
+    void getPublish_returnsPublishOfMqtt3Api() {
+        final Mqtt3PublishView publish = new Mqtt3PublishViewBuilder.Default().topic("topic").build();
+        final Mqtt3PublishResultView result =
+                Mqtt3PublishResultView.of(new MqttPublishResult(publish.getDelegate(), null));
+
+        assertEquals(publish, result.getPublish());
+        assertFalse(result.getError().isPresent());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImplBuilder;
+import com.hivemq.client.mqtt.MqttEventLoopPlacement;
+import io.netty.channel.EventLoop;
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.dns.DnsAddressResolverGroup;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettyEventLoopProviderTest {
+
+    private final @NotNull NettyEventLoopProvider provider = NettyEventLoopProvider.INSTANCE;
+
+    @Test
+    void acquireEventLoop_groupsDoNotShareThreads() {
+        final MqttClientExecutorConfigImpl controlConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyGroup("control").nettyThreads(1).build();
+        final MqttClientExecutorConfigImpl bulkConfig =
+                new MqttClientExecutorConfigImplBuilder.Default().nettyGroup("bulk").nettyThreads(2).build();
+
+        final EventLoop control = provider.acquireEventLoop(controlConfig);
+        final EventLoop bulk1 = provider.acquireEventLoop(bulkConfig);
+        final EventLoop bulk2 = provider.acquireEventLoop(bulkConfig);
+        try {
+            assertNotSame(control.parent(), bulk1.parent());
+            assertSame(bulk1.parent(), bulk2.parent());
+            assertNotSame(control, bulk1);
+            assertNotSame(control, bulk2);
+        } finally {
+            provider.releaseEventLoop(control, controlConfig);
+            provider.releaseEventLoop(bulk1, bulkConfig);
+            provider.releaseEventLoop(bulk2, bulkConfig);
+        }
+        assertTrue(control.parent().isShuttingDown());
+        assertTrue(bulk1.parent().isShuttingDown());
+    }
+
+    @Test
+    void acquireEventLoop_leastClients() {
+        final MqttClientExecutorConfigImpl config = new MqttClientExecutorConfigImplBuilder.Default().nettyGroup(
+                "leastClients").nettyThreads(3).nettyEventLoopPlacement(MqttEventLoopPlacement.leastClients()).build();
+
+        final EventLoop eventLoop1 = provider.acquireEventLoop(config);
+        final EventLoop eventLoop2 = provider.acquireEventLoop(config);
+        final EventLoop eventLoop3 = provider.acquireEventLoop(config);
+        final Set<EventLoop> eventLoops = new HashSet<>();
+        eventLoops.add(eventLoop1);
+        eventLoops.add(eventLoop2);
+        eventLoops.add(eventLoop3);
+        assertEquals(3, eventLoops.size());
+
+        provider.releaseEventLoop(eventLoop2, config);
+        final EventLoop eventLoop4 = provider.acquireEventLoop(config);
+        assertSame(eventLoop2, eventLoop4);
+
+        provider.releaseEventLoop(eventLoop1, config);
+        provider.releaseEventLoop(eventLoop3, config);
+        provider.releaseEventLoop(eventLoop4, config);
+    }
+
+    @Test
+    void acquireEventLoop_index() {
+        final MqttClientExecutorConfigImpl config = new MqttClientExecutorConfigImplBuilder.Default().nettyGroup(
+                "index").nettyThreads(2).nettyEventLoopPlacement(MqttEventLoopPlacement.index(3)).build();
+
+        final EventLoop eventLoop1 = provider.acquireEventLoop(config);
+        final EventLoop eventLoop2 = provider.acquireEventLoop(config);
+        assertSame(eventLoop1, eventLoop2);
+
+        provider.releaseEventLoop(eventLoop1, config);
+        provider.releaseEventLoop(eventLoop2, config);
+    }
+
+    @Test
+    void getAddressResolverGroup_resolvesAsynchronously() {
+        assertTrue(provider.getAddressResolverGroup() instanceof DnsAddressResolverGroup);
+
+        final EventLoop eventLoop = provider.acquireEventLoop(MqttClientExecutorConfigImpl.DEFAULT);
+        final AddressResolver<InetSocketAddress> resolver = provider.getAddressResolverGroup().getResolver(eventLoop);
+        assertSame(resolver, provider.getAddressResolverGroup().getResolver(eventLoop));
+
+        final InetSocketAddress address =
+                resolver.resolve(InetSocketAddress.createUnresolved("localhost", 1883)).syncUninterruptibly().getNow();
+        assertTrue(address.getAddress().isLoopbackAddress());
+        assertEquals(1883, address.getPort());
+
+        provider.releaseEventLoop(eventLoop, MqttClientExecutorConfigImpl.DEFAULT);
+    }
+
+    @Test
+    void index_negative_throws() {
+        assertThrows(IllegalArgumentException.class, () -> MqttEventLoopPlacement.index(-1));
+    }
+}
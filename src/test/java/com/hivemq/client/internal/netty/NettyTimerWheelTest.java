@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.netty;
+
+import com.hivemq.client.internal.mqtt.MqttClientExecutorConfigImpl;
+import io.netty.channel.EventLoop;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class NettyTimerWheelTest {
+
+    private @NotNull EventLoop eventLoop;
+
+    @BeforeEach
+    void setUp() {
+        eventLoop = NettyEventLoopProvider.INSTANCE.acquireEventLoop(MqttClientExecutorConfigImpl.DEFAULT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        NettyEventLoopProvider.INSTANCE.releaseEventLoop(eventLoop, MqttClientExecutorConfigImpl.DEFAULT);
+    }
+
+    @Test
+    void of_sameEventLoop_sameWheel() throws Exception {
+        final NettyTimerWheel wheel1 = eventLoop.submit(() -> NettyTimerWheel.of(eventLoop)).get();
+        final NettyTimerWheel wheel2 = eventLoop.submit(() -> NettyTimerWheel.of(eventLoop)).get();
+
+        assertSame(wheel1, wheel2);
+    }
+
+    @Test
+    void schedule_expiresNotBeforeDeadlineInOrder() throws Exception {
+        final List<long[]> expired = new CopyOnWriteArrayList<>(); // {delay in milliseconds, elapsed nanoseconds}
+        final CountDownLatch latch = new CountDownLatch(3);
+        final long startNanos = System.nanoTime();
+        eventLoop.submit(() -> {
+            final NettyTimerWheel wheel = NettyTimerWheel.of(eventLoop);
+            for (final int delayMs : new int[]{300, 100, 200}) {
+                wheel.newTimeout(() -> {
+                    expired.add(new long[]{delayMs, System.nanoTime() - startNanos});
+                    latch.countDown();
+                }).schedule(TimeUnit.MILLISECONDS.toNanos(delayMs));
+            }
+        }).get();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(3, expired.size());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(100 * (i + 1), expired.get(i)[0]);
+            assertTrue(expired.get(i)[1] >= TimeUnit.MILLISECONDS.toNanos(expired.get(i)[0]));
+        }
+    }
+
+    @Test
+    void cancel_doesNotExpire() throws Exception {
+        final List<String> expired = new CopyOnWriteArrayList<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        eventLoop.submit(() -> {
+            final NettyTimerWheel wheel = NettyTimerWheel.of(eventLoop);
+            final NettyTimerWheel.Timeout cancelled = wheel.newTimeout(() -> expired.add("cancelled"));
+            cancelled.schedule(TimeUnit.MILLISECONDS.toNanos(50));
+            wheel.newTimeout(() -> {
+                expired.add("expired");
+                latch.countDown();
+            }).schedule(TimeUnit.MILLISECONDS.toNanos(150));
+            cancelled.cancel();
+            assertFalse(cancelled.isScheduled());
+        }).get();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(Collections.singletonList("expired"), expired);
+    }
+
+    @Test
+    void schedule_reschedule_expiresOnceAtNewDeadline() throws Exception {
+        final AtomicLong expiredNanos = new AtomicLong();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long startNanos = System.nanoTime();
+        eventLoop.submit(() -> {
+            final NettyTimerWheel.Timeout timeout = NettyTimerWheel.of(eventLoop).newTimeout(() -> {
+                expiredNanos.set(System.nanoTime());
+                latch.countDown();
+            });
+            timeout.schedule(TimeUnit.MILLISECONDS.toNanos(50));
+            timeout.schedule(TimeUnit.MILLISECONDS.toNanos(250));
+        }).get();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertTrue(expiredNanos.get() - startNanos >= TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    void schedule_fromExpiredTask_periodic() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        eventLoop.submit(() -> {
+            final NettyTimerWheel.Timeout[] timeout = new NettyTimerWheel.Timeout[1];
+            timeout[0] = NettyTimerWheel.of(eventLoop).newTimeout(() -> {
+                latch.countDown();
+                if (latch.getCount() > 0) {
+                    timeout[0].schedule(TimeUnit.MILLISECONDS.toNanos(20));
+                }
+            });
+            timeout[0].schedule(TimeUnit.MILLISECONDS.toNanos(20));
+        }).get();
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * @author Silvio Giebl
+ */
+class IdBitmapTest {
+
+    @CsvSource({"0, 10", "1, 10", "9, 10", "1, 64", "1, 65535"})
+    @ParameterizedTest
+    void getId_sequential(final int minId, final int maxId) {
+        final IdBitmap ids = new IdBitmap(minId, maxId);
+        for (int i = minId; i <= maxId; i++) {
+            assertEquals(i, ids.getId());
+        }
+        assertEquals(-1, ids.getId());
+    }
+
+    @Test
+    void getId_lowest() {
+        final IdBitmap ids = new IdBitmap(0, 10);
+        assertEquals(0, ids.getId());
+        assertEquals(1, ids.getId());
+        assertEquals(2, ids.getId());
+        ids.returnId(1);
+        assertEquals(1, ids.getId());
+        assertEquals(3, ids.getId());
+    }
+
+    @Test
+    void returnId_randomOrder() {
+        final IdBitmap ids = new IdBitmap(1, 65535);
+        final ArrayList<Integer> allocated = new ArrayList<>();
+        for (int i = 1; i <= 65535; i++) {
+            allocated.add(ids.getId());
+        }
+        Collections.shuffle(allocated, new Random(0));
+        for (final int id : allocated.subList(0, 1000)) {
+            ids.returnId(id);
+        }
+        final ArrayList<Integer> returned = new ArrayList<>(allocated.subList(0, 1000));
+        Collections.sort(returned);
+        for (final int id : returned) {
+            assertEquals(id, ids.getId());
+        }
+        assertEquals(-1, ids.getId());
+    }
+
+    @ValueSource(ints = {0, 1, 10})
+    @ParameterizedTest
+    void returnId_alreadyPresent(final int id) {
+        final IdBitmap ids = new IdBitmap(0, 10);
+        assertThrows(IllegalStateException.class, () -> ids.returnId(id));
+    }
+
+    @ValueSource(ints = {11, 12})
+    @ParameterizedTest
+    void returnId_greaterThanMaxId(final int id) {
+        final IdBitmap ids = new IdBitmap(0, 10);
+        assertThrows(IllegalStateException.class, () -> ids.returnId(id));
+    }
+
+    @ValueSource(ints = {5, 15, 100})
+    @ParameterizedTest
+    void resize(final int maxId) {
+        final IdBitmap ids = new IdBitmap(0, 10);
+        assertEquals(0, ids.resize(maxId));
+        for (int i = 0; i <= maxId; i++) {
+            assertEquals(i, ids.getId());
+        }
+        assertEquals(-1, ids.getId());
+    }
+
+    @Test
+    void resize_fromEmpty() {
+        final IdBitmap ids = new IdBitmap(1, 0);
+        assertEquals(-1, ids.getId());
+        assertEquals(0, ids.resize(3));
+        assertEquals(1, ids.getId());
+        assertEquals(2, ids.getId());
+        assertEquals(3, ids.getId());
+        assertEquals(-1, ids.getId());
+    }
+
+    @CsvSource({"2, 2", "3, 3", "4, 4", "5, 4"})
+    @ParameterizedTest
+    void resize_notReturned(final int gap, final int count) {
+        final IdBitmap ids = new IdBitmap(0, 10);
+        for (int i = 0; i <= 10; i++) {
+            assertEquals(i, ids.getId());
+        }
+        for (int i = 0; i <= 10; i += gap) {
+            ids.returnId(i);
+        }
+        assertEquals(count, ids.resize(5));
+    }
+}
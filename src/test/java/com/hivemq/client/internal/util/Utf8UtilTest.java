@@ -17,9 +17,12 @@
 package com.hivemq.client.internal.util;
 
 import com.google.common.base.Utf8;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -43,6 +46,57 @@ class Utf8UtilTest {
         }
     }
 
+    @Test
+    void isWellFormed_byteBuffer() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        for (int i = 0; i < 10_000; i++) {
+            random.nextBytes(bytes);
+            final byte[] stringBytes = new String(bytes, StandardCharsets.UTF_8).getBytes(StandardCharsets.UTF_8);
+            assertByteBufferEquals(bytes);
+            assertByteBufferEquals(stringBytes);
+        }
+    }
+
+    @Test
+    void isWellFormed_byteBuffer_asciiRuns() {
+        final Random random = new Random();
+        final byte[] bytes = new byte[100];
+        for (int i = 0; i < 10_000; i++) {
+            for (int j = 0; j < bytes.length; j++) {
+                bytes[j] = (byte) random.nextInt(0x80);
+            }
+            final int nonAsciiIndex = random.nextInt(bytes.length);
+            bytes[nonAsciiIndex] = (byte) (0x80 + random.nextInt(0x80));
+            if (random.nextBoolean() && (nonAsciiIndex + 1 < bytes.length)) {
+                bytes[nonAsciiIndex + 1] = (byte) (0x80 + random.nextInt(0x40));
+            }
+            assertByteBufferEquals(bytes);
+        }
+    }
+
+    private static void assertByteBufferEquals(final byte @NotNull [] bytes) {
+        final long expected = Utf8Util.isWellFormed(bytes);
+        assertEquals(Utf8.isWellFormed(bytes), expected == 0);
+        assertEquals(expected, Utf8Util.isWellFormed(ByteBuffer.wrap(bytes)));
+
+        final byte[] padded = new byte[bytes.length + 5];
+        Arrays.fill(padded, (byte) 0xFF); // malformed padding around the validated bytes
+        System.arraycopy(bytes, 0, padded, 3, bytes.length);
+        final ByteBuffer heap = ByteBuffer.wrap(padded, 1, bytes.length + 3).slice(); // array offset 1
+        heap.position(2).limit(2 + bytes.length);
+        assertEquals(expected, Utf8Util.isWellFormed(heap));
+        assertEquals(2, heap.position());
+        assertEquals(expected, Utf8Util.isWellFormed(heap.asReadOnlyBuffer()));
+
+        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length + 3);
+        direct.position(3);
+        direct.put(bytes);
+        direct.position(3);
+        assertEquals(expected, Utf8Util.isWellFormed(direct));
+        assertEquals(3, direct.position());
+    }
+
     @Test
     void encodedLength() {
         final Random random = new Random();
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018-present HiveMQ and the HiveMQ Community
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.client.internal.util.collections;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Silvio Giebl
+ */
+class DirectIntIndexTest {
+
+    @Test
+    void put_get() {
+        final DirectIntIndex<Entry> index = new DirectIntIndex<>(e -> e.id);
+        final Entry entry0 = new Entry(0);
+        final Entry entry256 = new Entry(256);
+        final Entry entry65535 = new Entry(65535);
+        assertNull(index.put(entry0));
+        assertNull(index.put(entry256));
+        assertNull(index.put(entry65535));
+        assertSame(entry0, index.get(0));
+        assertSame(entry256, index.get(256));
+        assertSame(entry65535, index.get(65535));
+        assertNull(index.get(1));
+        assertNull(index.get(-1));
+        assertNull(index.get(65536));
+        assertEquals(3, index.size());
+    }
+
+    @Test
+    void put_present_overwrites() {
+        final DirectIntIndex<Entry> index = new DirectIntIndex<>(e -> e.id);
+        final Entry entry1 = new Entry(10);
+        final Entry entry2 = new Entry(10);
+        assertNull(index.put(entry1));
+        assertSame(entry1, index.put(entry2));
+        assertSame(entry2, index.get(10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void putIfAbsent_present_keeps() {
+        final DirectIntIndex<Entry> index = new DirectIntIndex<>(e -> e.id);
+        final Entry entry1 = new Entry(10);
+        final Entry entry2 = new Entry(10);
+        assertNull(index.putIfAbsent(entry1));
+        assertSame(entry1, index.putIfAbsent(entry2));
+        assertSame(entry1, index.get(10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void remove() {
+        final DirectIntIndex<Entry> index = new DirectIntIndex<>(e -> e.id);
+        final Entry entry = new Entry(300);
+        index.put(entry);
+        assertNull(index.remove(301));
+        assertNull(index.remove(70000));
+        assertSame(entry, index.remove(300));
+        assertNull(index.remove(300));
+        assertNull(index.get(300));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void clear_forEach() {
+        final DirectIntIndex<Entry> index = new DirectIntIndex<>(e -> e.id);
+        for (int i = 0; i < 65536; i += 97) {
+            index.put(new Entry(i));
+        }
+        final HashSet<Integer> ids = new HashSet<>();
+        index.forEach(e -> assertTrue(ids.add(e.id)));
+        assertEquals(index.size(), ids.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        index.forEach(e -> fail());
+        assertNull(index.get(97));
+    }
+
+    private static class Entry {
+
+        final int id;
+
+        Entry(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "Entry{id=" + id + '}';
+        }
+    }
+}